@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.constraint.streams.bavet.jmh.workload.WorkloadDriver;
+import org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering.NurseRosteringConstraintProvider;
+import org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering.NurseRosteringWorkload;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+
+/**
+ * Isolates a single node type of the Bavet network,
+ * by running a change move against a single nurse rostering constraint.
+ * Every constraint also contains a forEach node and a scorer, which are cheap in comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class NodeBenchmark {
+
+    public enum NodeType {
+        /**
+         * IndexedJoinBiNode with an EqualsIndexer -> ComparisonIndexer -> ComparisonIndexer chain.
+         */
+        JOIN_OVERLAPPING(NurseRosteringConstraintProvider::overlappingShifts),
+        /**
+         * IndexedJoinBiNode with an EqualsIndexer on a composite key.
+         */
+        JOIN_EQUAL(NurseRosteringConstraintProvider::oneShiftPerDay),
+        /**
+         * IndexedIfExistsUniNode with an EqualsIndexer on a composite key.
+         */
+        IF_EXISTS(NurseRosteringConstraintProvider::unavailableEmployee),
+        /**
+         * Group1Mapping1CollectorUniNode with a count() collector.
+         */
+        GROUP_BY(NurseRosteringConstraintProvider::maximumShiftCount);
+
+        private final Function<ConstraintFactory, Constraint> constraintFunction;
+
+        NodeType(Function<ConstraintFactory, Constraint> constraintFunction) {
+            this.constraintFunction = constraintFunction;
+        }
+
+    }
+
+    @Param
+    public NodeType nodeType;
+
+    @Param({ "1000", "10000" })
+    public int entityCount;
+
+    private WorkloadDriver<?, ?, ?> driver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = new WorkloadDriver<>(new NurseRosteringWorkload(),
+                constraintFactory -> new Constraint[] { nodeType.constraintFunction.apply(constraintFactory) },
+                entityCount, 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        driver.close();
+    }
+
+    /**
+     * Every operation retracts and reinserts a tuple in the node (or updates it) twice.
+     *
+     * @return never null
+     */
+    @Benchmark
+    public Score<?> changeMove() {
+        return driver.doAndUndoChangeMove();
+    }
+
+    /**
+     * Every operation inserts every tuple in the node once.
+     *
+     * @return never null
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Score<?> insertAll() {
+        return driver.resetWorkingSolution();
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.collection;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleList;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.TupleList;
+import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+
+/**
+ * Compares the linked {@link TupleList} with the {@link ArrayTupleList}, which backs the index buckets.
+ * Before measuring, every list has been churned by removing and adding random elements,
+ * so the linked entries are scattered across the heap, as they are after a while of local search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TupleListBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int elementCount;
+
+    private TupleList<UniTuple<Integer>> tupleList;
+    private TupleListEntry<UniTuple<Integer>>[] tupleListEntries;
+    private ArrayTupleList<UniTuple<Integer>> arrayTupleList;
+    private ArrayTupleListEntry<UniTuple<Integer>>[] arrayTupleListEntries;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tupleList = new TupleList<>();
+        tupleListEntries = new TupleListEntry[elementCount];
+        arrayTupleList = new ArrayTupleList<>();
+        arrayTupleListEntries = new ArrayTupleListEntry[elementCount];
+        for (int i = 0; i < elementCount; i++) {
+            UniTuple<Integer> tuple = new UniTupleImpl<>(i, 0);
+            tupleListEntries[i] = tupleList.add(tuple);
+            arrayTupleListEntries[i] = arrayTupleList.add(tuple);
+        }
+        random = new Random(0L);
+        for (int i = 0; i < elementCount * 10; i++) {
+            churnTupleList();
+            churnArrayTupleList();
+        }
+    }
+
+    @Benchmark
+    public void tupleListForEach(Blackhole blackhole) {
+        tupleList.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void arrayTupleListForEach(Blackhole blackhole) {
+        arrayTupleList.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public TupleListEntry<UniTuple<Integer>> tupleListRemoveAndAdd() {
+        return churnTupleList();
+    }
+
+    @Benchmark
+    public ArrayTupleListEntry<UniTuple<Integer>> arrayTupleListRemoveAndAdd() {
+        return churnArrayTupleList();
+    }
+
+    private TupleListEntry<UniTuple<Integer>> churnTupleList() {
+        int i = random.nextInt(elementCount);
+        TupleListEntry<UniTuple<Integer>> entry = tupleListEntries[i];
+        entry.remove();
+        tupleListEntries[i] = tupleList.add(entry.getElement());
+        return entry;
+    }
+
+    private ArrayTupleListEntry<UniTuple<Integer>> churnArrayTupleList() {
+        int i = random.nextInt(elementCount);
+        ArrayTupleListEntry<UniTuple<Integer>> entry = arrayTupleListEntries[i];
+        entry.remove();
+        arrayTupleListEntries[i] = arrayTupleList.add(entry.getElement());
+        return entry;
+    }
+
+}
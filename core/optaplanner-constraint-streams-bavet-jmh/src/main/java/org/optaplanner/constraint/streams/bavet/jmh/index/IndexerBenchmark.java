@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.index;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.index.IndexProperties;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
+import org.optaplanner.constraint.streams.bavet.common.index.IndexerFactory;
+import org.optaplanner.constraint.streams.bavet.common.index.JoinerUtils;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+import org.optaplanner.constraint.streams.common.AbstractJoiner;
+import org.optaplanner.core.api.score.stream.Joiners;
+
+/**
+ * Measures the {@link Indexer} operations that every join and ifExists node does
+ * for every insert, update and retract of a tuple.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexerBenchmark {
+
+    private static final int PROPERTIES_SIZE = 1024;
+
+    public enum JoinerType {
+        EQUAL(() -> Joiners.equal(Element::getKey1)),
+        EQUAL_EQUAL(() -> Joiners.equal(Element::getKey1)
+                .and(Joiners.equal(Element::getKey2))),
+        EQUAL_LESS_THAN(() -> Joiners.equal(Element::getKey1)
+                .and(Joiners.lessThan(Element::getKey2))),
+        LESS_THAN(() -> Joiners.lessThan(Element::getKey2));
+
+        private final Supplier<Object> joinerSupplier;
+
+        JoinerType(Supplier<Object> joinerSupplier) {
+            this.joinerSupplier = joinerSupplier;
+        }
+
+        private AbstractJoiner<Element> buildJoiner() {
+            return (AbstractJoiner<Element>) joinerSupplier.get();
+        }
+
+    }
+
+    @Param
+    public JoinerType joinerType;
+
+    /**
+     * The number of tuples already in the indexer.
+     */
+    @Param({ "1000", "100000" })
+    public int elementCount;
+
+    /**
+     * The number of distinct values for every key, which determines the size of every bucket.
+     */
+    @Param({ "10", "1000" })
+    public int keyCardinality;
+
+    private Indexer<UniTuple<Element>> indexer;
+    private IndexProperties[] indexPropertiesArray;
+    private UniTuple<Element>[] tupleArray;
+    private int cursor = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AbstractJoiner<Element> joiner = joinerType.buildJoiner();
+        indexer = new IndexerFactory(joiner).buildIndexer(true);
+        Function<Element, IndexProperties> mapping = JoinerUtils.combineRightMappings(joiner);
+        Random random = new Random(0L);
+        for (int i = 0; i < elementCount; i++) {
+            Element element = new Element(random.nextInt(keyCardinality), random.nextInt(keyCardinality));
+            indexer.put(mapping.apply(element), new UniTupleImpl<>(element, 0));
+        }
+        indexPropertiesArray = new IndexProperties[PROPERTIES_SIZE];
+        tupleArray = new UniTuple[PROPERTIES_SIZE];
+        for (int i = 0; i < PROPERTIES_SIZE; i++) {
+            Element element = new Element(random.nextInt(keyCardinality), random.nextInt(keyCardinality));
+            indexPropertiesArray[i] = mapping.apply(element);
+            tupleArray[i] = new UniTupleImpl<>(element, 0);
+        }
+    }
+
+    private int nextCursor() {
+        cursor = (cursor + 1) & (PROPERTIES_SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public ArrayTupleListEntry<UniTuple<Element>> putAndRemove() {
+        int i = nextCursor();
+        IndexProperties indexProperties = indexPropertiesArray[i];
+        ArrayTupleListEntry<UniTuple<Element>> entry = indexer.put(indexProperties, tupleArray[i]);
+        indexer.remove(indexProperties, entry);
+        return entry;
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        indexer.forEach(indexPropertiesArray[nextCursor()], blackhole::consume);
+    }
+
+    @Benchmark
+    public int size() {
+        return indexer.size(indexPropertiesArray[nextCursor()]);
+    }
+
+    public static final class Element {
+
+        private final int key1;
+        private final int key2;
+
+        public Element(int key1, int key2) {
+            this.key1 = key1;
+            this.key2 = key2;
+        }
+
+        public int getKey1() {
+            return key1;
+        }
+
+        public int getKey2() {
+            return key2;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.inliner;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
+import org.optaplanner.constraint.streams.common.inliner.JustificationsSupplier;
+import org.optaplanner.constraint.streams.common.inliner.UndoScoreImpacter;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.DefaultConstraintJustification;
+import org.optaplanner.core.impl.score.buildin.BendableBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.BendableLongScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.BendableScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardMediumSoftBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardMediumSoftLongScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardMediumSoftScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardSoftBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardSoftLongScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardSoftScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.SimpleBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.SimpleLongScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.SimpleScoreDefinition;
+import org.optaplanner.core.impl.score.definition.ScoreDefinition;
+
+/**
+ * Measures the cost of a single match weight impact and its undo, as done by every scorer node
+ * for every tuple it inserts or retracts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreInlinerBenchmark {
+
+    public enum ScoreType {
+        SIMPLE(new SimpleScoreDefinition(), "1"),
+        SIMPLE_LONG(new SimpleLongScoreDefinition(), "1"),
+        SIMPLE_BIG_DECIMAL(new SimpleBigDecimalScoreDefinition(), "1.5"),
+        HARD_SOFT(new HardSoftScoreDefinition(), "1hard/2soft"),
+        HARD_SOFT_LONG(new HardSoftLongScoreDefinition(), "1hard/2soft"),
+        HARD_SOFT_BIG_DECIMAL(new HardSoftBigDecimalScoreDefinition(), "1.5hard/2.5soft"),
+        HARD_MEDIUM_SOFT(new HardMediumSoftScoreDefinition(), "1hard/2medium/3soft"),
+        HARD_MEDIUM_SOFT_LONG(new HardMediumSoftLongScoreDefinition(), "1hard/2medium/3soft"),
+        HARD_MEDIUM_SOFT_BIG_DECIMAL(new HardMediumSoftBigDecimalScoreDefinition(), "1.5hard/2.5medium/3.5soft"),
+        BENDABLE(new BendableScoreDefinition(2, 3), "[1/2]hard/[3/4/5]soft"),
+        BENDABLE_LONG(new BendableLongScoreDefinition(2, 3), "[1/2]hard/[3/4/5]soft"),
+        BENDABLE_BIG_DECIMAL(new BendableBigDecimalScoreDefinition(2, 3), "[1.5/2.5]hard/[3.5/4.5/5.5]soft");
+
+        private final ScoreDefinition<?> scoreDefinition;
+        private final String constraintWeightString;
+
+        ScoreType(ScoreDefinition<?> scoreDefinition, String constraintWeightString) {
+            this.scoreDefinition = scoreDefinition;
+            this.constraintWeightString = constraintWeightString;
+        }
+
+    }
+
+    @Param
+    public ScoreType scoreType;
+
+    @Param({ "false", "true" })
+    public boolean constraintMatchEnabled;
+
+    private AbstractScoreInliner<?> scoreInliner;
+    private WeightedScoreImpacter<?, ?> scoreImpacter;
+    private Class<?> numericType;
+    private JustificationsSupplier justificationsSupplier;
+    private int matchWeight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        setUp(scoreType.scoreDefinition);
+    }
+
+    private <Score_ extends Score<Score_>> void setUp(ScoreDefinition<Score_> scoreDefinition) {
+        AbstractScoreInliner<Score_> inliner =
+                AbstractScoreInliner.buildScoreInliner(scoreDefinition, constraintMatchEnabled);
+        Score_ constraintWeight = scoreDefinition.parseScore(scoreType.constraintWeightString);
+        scoreInliner = inliner;
+        Constraint constraint = new BenchmarkConstraint();
+        scoreImpacter = inliner.buildWeightedScoreImpacter(constraint, constraintWeight);
+        numericType = scoreDefinition.getNumericType();
+        justificationsSupplier = constraintMatchEnabled
+                ? JustificationsSupplier.of(constraint, (a, score) -> DefaultConstraintJustification.of(score, a),
+                        List::of, (Object) "A")
+                : JustificationsSupplier.empty();
+        matchWeight = 1;
+    }
+
+    @Benchmark
+    public void impactAndUndo(Blackhole blackhole) {
+        UndoScoreImpacter undoScoreImpacter;
+        if (numericType == int.class) {
+            undoScoreImpacter = scoreImpacter.impactScore(matchWeight, justificationsSupplier);
+        } else if (numericType == long.class) {
+            undoScoreImpacter = scoreImpacter.impactScore((long) matchWeight, justificationsSupplier);
+        } else {
+            undoScoreImpacter = scoreImpacter.impactScore(BigDecimal.valueOf(matchWeight), justificationsSupplier);
+        }
+        blackhole.consume(undoScoreImpacter);
+        undoScoreImpacter.run();
+    }
+
+    @Benchmark
+    public Score<?> extractScore() {
+        return scoreInliner.extractScore(0);
+    }
+
+    private static final class BenchmarkConstraint implements Constraint {
+
+        @Override
+        public ConstraintFactory getConstraintFactory() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getConstraintPackage() {
+            return BenchmarkConstraint.class.getPackageName();
+        }
+
+        @Override
+        public String getConstraintName() {
+            return "Benchmark constraint";
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload;
+
+import java.util.List;
+import java.util.Random;
+
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+
+/**
+ * A canned, reproducible planning problem to drive the Bavet benchmarks with.
+ * Every workload has exactly one genuine basic planning variable,
+ * so that a change move can be simulated without the overhead of the move selectors.
+ *
+ * @param <Solution_> the solution type, the class with the
+ *        {@link org.optaplanner.core.api.domain.solution.PlanningSolution} annotation
+ * @param <Entity_> the planning entity type
+ * @param <Value_> the planning value type
+ */
+public abstract class Workload<Solution_, Entity_, Value_> {
+
+    private final SolutionDescriptor<Solution_> solutionDescriptor;
+    private final String variableName;
+
+    protected Workload(Class<Solution_> solutionClass, Class<Entity_> entityClass, String variableName) {
+        this.solutionDescriptor = SolutionDescriptor.buildSolutionDescriptor(solutionClass, entityClass);
+        this.variableName = variableName;
+    }
+
+    public SolutionDescriptor<Solution_> getSolutionDescriptor() {
+        return solutionDescriptor;
+    }
+
+    public String getVariableName() {
+        return variableName;
+    }
+
+    public abstract ConstraintProvider createConstraintProvider();
+
+    /**
+     * @param entityCount {@code > 0}
+     * @param random never null, seeded by the caller for reproducibility
+     * @return never null, a fully initialized solution
+     */
+    public abstract Solution_ createSolution(int entityCount, Random random);
+
+    public abstract List<Entity_> getEntityList(Solution_ solution);
+
+    public abstract List<Value_> getValueList(Solution_ solution);
+
+    public abstract Value_ getValue(Entity_ entity);
+
+    public abstract void setValue(Entity_ entity, Value_ value);
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload;
+
+import java.util.List;
+import java.util.Random;
+
+import org.optaplanner.constraint.streams.bavet.BavetConstraintStreamScoreDirectorFactory;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Drives a Bavet score director over a {@link Workload} the way a local search step does,
+ * without the overhead of the move selectors, acceptors and foragers.
+ *
+ * @param <Solution_> the solution type, the class with the
+ *        {@link org.optaplanner.core.api.domain.solution.PlanningSolution} annotation
+ * @param <Entity_> the planning entity type
+ * @param <Value_> the planning value type
+ */
+public final class WorkloadDriver<Solution_, Entity_, Value_> {
+
+    private final Workload<Solution_, Entity_, Value_> workload;
+    private final Solution_ solution;
+    private final List<Entity_> entityList;
+    private final List<Value_> valueList;
+    private final String variableName;
+    private final Random random;
+    private final InnerScoreDirector<Solution_, ?> scoreDirector;
+
+    public WorkloadDriver(Workload<Solution_, Entity_, Value_> workload, int entityCount, long seed) {
+        this(workload, workload.createConstraintProvider(), entityCount, seed);
+    }
+
+    /**
+     * @param workload never null
+     * @param constraintProvider never null, allows to benchmark a subset of the workload's constraints
+     * @param entityCount {@code > 0}
+     * @param seed the same seed results in the same solution and the same sequence of moves
+     */
+    public WorkloadDriver(Workload<Solution_, Entity_, Value_> workload, ConstraintProvider constraintProvider,
+            int entityCount, long seed) {
+        this.workload = workload;
+        this.random = new Random(seed);
+        this.solution = workload.createSolution(entityCount, random);
+        this.entityList = workload.getEntityList(solution);
+        this.valueList = workload.getValueList(solution);
+        this.variableName = workload.getVariableName();
+        BavetConstraintStreamScoreDirectorFactory<Solution_, ?> scoreDirectorFactory =
+                new BavetConstraintStreamScoreDirectorFactory<>(workload.getSolutionDescriptor(), constraintProvider,
+                        EnvironmentMode.REPRODUCIBLE);
+        this.scoreDirector = scoreDirectorFactory.buildScoreDirector(false, false);
+        resetWorkingSolution();
+    }
+
+    /**
+     * Builds a new session and inserts every fact and entity into it,
+     * as happens at the start of every solver phase.
+     *
+     * @return never null
+     */
+    public Score<?> resetWorkingSolution() {
+        scoreDirector.setWorkingSolution(solution);
+        return scoreDirector.calculateScore();
+    }
+
+    /**
+     * Changes the planning variable of a random entity to a random value, calculates the score
+     * and then undoes the change and calculates the score again, as a move evaluation does.
+     *
+     * @return never null, the score after the change and before the undo
+     */
+    public Score<?> doAndUndoChangeMove() {
+        Entity_ entity = entityList.get(random.nextInt(entityList.size()));
+        Value_ oldValue = workload.getValue(entity);
+        Value_ newValue = valueList.get(random.nextInt(valueList.size()));
+        changeValue(entity, newValue);
+        Score<?> score = scoreDirector.calculateScore();
+        changeValue(entity, oldValue);
+        scoreDirector.calculateScore();
+        return score;
+    }
+
+    private void changeValue(Entity_ entity, Value_ value) {
+        scoreDirector.beforeVariableChanged(entity, variableName);
+        workload.setValue(entity, value);
+        scoreDirector.afterVariableChanged(entity, variableName);
+    }
+
+    public void close() {
+        scoreDirector.close();
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload;
+
+import java.util.function.Supplier;
+
+import org.optaplanner.constraint.streams.bavet.jmh.workload.cloudbalancing.CloudBalancingWorkload;
+import org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering.NurseRosteringWorkload;
+import org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting.VehicleRoutingWorkload;
+
+/**
+ * Usable as a JMH {@code @Param}.
+ */
+public enum WorkloadType {
+    /**
+     * Exercises groupBy with sum() and ifExists, as in the cloud balancing example.
+     */
+    CLOUD_BALANCING(CloudBalancingWorkload::new),
+    /**
+     * Exercises forEachUniquePair with equal() and overlapping() joiners, ifExists and groupBy with count(),
+     * as in the nurse rostering example.
+     */
+    NURSE_ROSTERING(NurseRosteringWorkload::new),
+    /**
+     * Exercises join, groupBy with sum() and long score impacts, as in the vehicle routing example.
+     */
+    VEHICLE_ROUTING(VehicleRoutingWorkload::new);
+
+    private final Supplier<Workload<?, ?, ?>> workloadSupplier;
+
+    WorkloadType(Supplier<Workload<?, ?, ?>> workloadSupplier) {
+        this.workloadSupplier = workloadSupplier;
+    }
+
+    public <Solution_, Entity_, Value_> Workload<Solution_, Entity_, Value_> createWorkload() {
+        return (Workload<Solution_, Entity_, Value_>) workloadSupplier.get();
+    }
+
+}
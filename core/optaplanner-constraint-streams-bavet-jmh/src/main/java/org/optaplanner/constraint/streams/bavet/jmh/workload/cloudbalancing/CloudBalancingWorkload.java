@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.cloudbalancing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.optaplanner.constraint.streams.bavet.jmh.workload.Workload;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+
+public final class CloudBalancingWorkload extends Workload<CloudBalance, CloudProcess, CloudComputer> {
+
+    /**
+     * Same ratio as the cloud balancing example datasets.
+     */
+    private static final int PROCESS_COUNT_PER_COMPUTER = 3;
+
+    public CloudBalancingWorkload() {
+        super(CloudBalance.class, CloudProcess.class, "computer");
+    }
+
+    @Override
+    public ConstraintProvider createConstraintProvider() {
+        return new CloudBalancingConstraintProvider();
+    }
+
+    @Override
+    public CloudBalance createSolution(int entityCount, Random random) {
+        int computerCount = Math.max(1, entityCount / PROCESS_COUNT_PER_COMPUTER);
+        List<CloudComputer> computerList = new ArrayList<>(computerCount);
+        for (int i = 0; i < computerCount; i++) {
+            computerList.add(new CloudComputer(i, 6 + random.nextInt(18), 4 + random.nextInt(28),
+                    2 + random.nextInt(10), 100 + random.nextInt(4900)));
+        }
+        List<CloudProcess> processList = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            CloudProcess process = new CloudProcess(i, 1 + random.nextInt(5), 1 + random.nextInt(8),
+                    1 + random.nextInt(3));
+            process.setComputer(computerList.get(random.nextInt(computerCount)));
+            processList.add(process);
+        }
+        return new CloudBalance(computerList, processList);
+    }
+
+    @Override
+    public List<CloudProcess> getEntityList(CloudBalance solution) {
+        return solution.getProcessList();
+    }
+
+    @Override
+    public List<CloudComputer> getValueList(CloudBalance solution) {
+        return solution.getComputerList();
+    }
+
+    @Override
+    public CloudComputer getValue(CloudProcess process) {
+        return process.getComputer();
+    }
+
+    @Override
+    public void setValue(CloudProcess process, CloudComputer computer) {
+        process.setComputer(computer);
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
+import org.optaplanner.core.api.domain.solution.PlanningScore;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.domain.solution.ProblemFactCollectionProperty;
+import org.optaplanner.core.api.domain.valuerange.ValueRangeProvider;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+
+@PlanningSolution
+public class NurseRoster {
+
+    private List<Employee> employeeList;
+    private List<EmployeeUnavailability> unavailabilityList;
+    private List<Shift> shiftList;
+
+    private HardSoftScore score;
+
+    NurseRoster() {
+    }
+
+    public NurseRoster(List<Employee> employeeList, List<EmployeeUnavailability> unavailabilityList,
+            List<Shift> shiftList) {
+        this.employeeList = employeeList;
+        this.unavailabilityList = unavailabilityList;
+        this.shiftList = shiftList;
+    }
+
+    @ValueRangeProvider
+    @ProblemFactCollectionProperty
+    public List<Employee> getEmployeeList() {
+        return employeeList;
+    }
+
+    @ProblemFactCollectionProperty
+    public List<EmployeeUnavailability> getUnavailabilityList() {
+        return unavailabilityList;
+    }
+
+    @PlanningEntityCollectionProperty
+    public List<Shift> getShiftList() {
+        return shiftList;
+    }
+
+    @PlanningScore
+    public HardSoftScore getScore() {
+        return score;
+    }
+
+    public void setScore(HardSoftScore score) {
+        this.score = score;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering;
+
+import static org.optaplanner.core.api.score.stream.ConstraintCollectors.count;
+import static org.optaplanner.core.api.score.stream.Joiners.equal;
+import static org.optaplanner.core.api.score.stream.Joiners.overlapping;
+
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+
+/**
+ * A subset of the nurse rostering example's constraints,
+ * chosen to cover the most expensive constraint stream shapes of that example.
+ * The individual constraints are public, so that node-level benchmarks can isolate them.
+ */
+public final class NurseRosteringConstraintProvider implements ConstraintProvider {
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        return new Constraint[] {
+                overlappingShifts(constraintFactory),
+                oneShiftPerDay(constraintFactory),
+                unavailableEmployee(constraintFactory),
+                maximumShiftCount(constraintFactory),
+                balancedShiftCount(constraintFactory)
+        };
+    }
+
+    public static Constraint overlappingShifts(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEachUniquePair(Shift.class,
+                equal(Shift::getEmployee),
+                overlapping(Shift::getStart, Shift::getEnd))
+                .penalize(HardSoftScore.ONE_HARD)
+                .asConstraint("overlappingShifts");
+    }
+
+    public static Constraint oneShiftPerDay(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Shift.class)
+                .join(Shift.class,
+                        equal(Shift::getEmployee),
+                        equal(Shift::getDay))
+                .filter((shift1, shift2) -> shift1 != shift2)
+                .penalize(HardSoftScore.ONE_HARD)
+                .asConstraint("oneShiftPerDay");
+    }
+
+    public static Constraint unavailableEmployee(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Shift.class)
+                .ifExists(EmployeeUnavailability.class,
+                        equal(Shift::getEmployee, EmployeeUnavailability::getEmployee),
+                        equal(Shift::getDay, EmployeeUnavailability::getDay))
+                .penalize(HardSoftScore.ONE_HARD)
+                .asConstraint("unavailableEmployee");
+    }
+
+    public static Constraint maximumShiftCount(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Shift.class)
+                .groupBy(Shift::getEmployee, count())
+                .filter((employee, shiftCount) -> shiftCount > employee.getMaxShiftCount())
+                .penalize(HardSoftScore.ONE_HARD,
+                        (employee, shiftCount) -> shiftCount - employee.getMaxShiftCount())
+                .asConstraint("maximumShiftCount");
+    }
+
+    public static Constraint balancedShiftCount(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Shift.class)
+                .groupBy(Shift::getEmployee, count())
+                .penalize(HardSoftScore.ONE_SOFT,
+                        (employee, shiftCount) -> shiftCount * shiftCount)
+                .asConstraint("balancedShiftCount");
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.optaplanner.constraint.streams.bavet.jmh.workload.Workload;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+
+public final class NurseRosteringWorkload extends Workload<NurseRoster, Shift, Employee> {
+
+    private static final int SHIFT_COUNT_PER_DAY = 20;
+    private static final int SHIFT_COUNT_PER_EMPLOYEE = 8;
+    private static final int UNAVAILABILITY_COUNT_PER_EMPLOYEE = 3;
+
+    public NurseRosteringWorkload() {
+        super(NurseRoster.class, Shift.class, "employee");
+    }
+
+    @Override
+    public ConstraintProvider createConstraintProvider() {
+        return new NurseRosteringConstraintProvider();
+    }
+
+    @Override
+    public NurseRoster createSolution(int entityCount, Random random) {
+        int employeeCount = Math.max(1, entityCount / SHIFT_COUNT_PER_EMPLOYEE);
+        int dayCount = Math.max(1, entityCount / SHIFT_COUNT_PER_DAY);
+        List<Employee> employeeList = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            employeeList.add(new Employee(i, SHIFT_COUNT_PER_EMPLOYEE - 2 + random.nextInt(4)));
+        }
+        List<EmployeeUnavailability> unavailabilityList =
+                new ArrayList<>(employeeCount * UNAVAILABILITY_COUNT_PER_EMPLOYEE);
+        for (Employee employee : employeeList) {
+            for (int i = 0; i < UNAVAILABILITY_COUNT_PER_EMPLOYEE; i++) {
+                unavailabilityList.add(new EmployeeUnavailability(employee, random.nextInt(dayCount)));
+            }
+        }
+        List<Shift> shiftList = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            // Early, late and night shifts of 8 hours, with a random overlap of up to 2 hours.
+            int startMinuteOfDay = (i % 3) * 8 * 60 - random.nextInt(3) * 60;
+            Shift shift = new Shift(i, i / SHIFT_COUNT_PER_DAY, Math.max(0, startMinuteOfDay), 8 * 60);
+            shift.setEmployee(employeeList.get(random.nextInt(employeeCount)));
+            shiftList.add(shift);
+        }
+        return new NurseRoster(employeeList, unavailabilityList, shiftList);
+    }
+
+    @Override
+    public List<Shift> getEntityList(NurseRoster solution) {
+        return solution.getShiftList();
+    }
+
+    @Override
+    public List<Employee> getValueList(NurseRoster solution) {
+        return solution.getEmployeeList();
+    }
+
+    @Override
+    public Employee getValue(Shift shift) {
+        return shift.getEmployee();
+    }
+
+    @Override
+    public void setValue(Shift shift, Employee employee) {
+        shift.setEmployee(employee);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.nurserostering;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+
+@PlanningEntity
+public class Shift {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private Long id;
+    private int day;
+    /**
+     * In minutes since the start of the planning window.
+     */
+    private Integer start;
+    /**
+     * In minutes since the start of the planning window, exclusive.
+     */
+    private Integer end;
+
+    private Employee employee;
+
+    Shift() {
+    }
+
+    public Shift(long id, int day, int startMinuteOfDay, int durationInMinutes) {
+        this.id = id;
+        this.day = day;
+        this.start = day * MINUTES_PER_DAY + startMinuteOfDay;
+        this.end = start + durationInMinutes;
+    }
+
+    @PlanningId
+    public Long getId() {
+        return id;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public Integer getStart() {
+        return start;
+    }
+
+    public Integer getEnd() {
+        return end;
+    }
+
+    @PlanningVariable
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+
+    @Override
+    public String toString() {
+        return "Shift-" + id;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+
+/**
+ * Unlike in the vehicle routing example, the customer is assigned to a vehicle through a basic planning variable,
+ * because the benchmarks focus on the constraint streams and not on the chained or list variable listeners.
+ */
+@PlanningEntity
+public class Customer {
+
+    private long id;
+    private Location location;
+    private int demand;
+
+    private Vehicle vehicle;
+
+    Customer() {
+    }
+
+    public Customer(long id, Location location, int demand) {
+        this.id = id;
+        this.location = location;
+        this.demand = demand;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public int getDemand() {
+        return demand;
+    }
+
+    @PlanningVariable
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public void setVehicle(Vehicle vehicle) {
+        this.vehicle = vehicle;
+    }
+
+    @Override
+    public String toString() {
+        return "Customer-" + id;
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting;
+
+public final class Location {
+
+    private final double latitude;
+    private final double longitude;
+
+    public Location(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * @param other never null
+     * @return in meters, rounded up, a road distance approximation like the vehicle routing example's air distance
+     */
+    public long getDistanceTo(Location other) {
+        double latitudeDifference = other.latitude - latitude;
+        double longitudeDifference = other.longitude - longitude;
+        return (long) Math.ceil(Math.sqrt(latitudeDifference * latitudeDifference
+                + longitudeDifference * longitudeDifference) * 1000.0);
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting;
+
+public final class Vehicle {
+
+    private final long id;
+    private final int capacity;
+    private final Location depot;
+
+    public Vehicle(long id, int capacity, Location depot) {
+        this.id = id;
+        this.capacity = capacity;
+        this.depot = depot;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Location getDepot() {
+        return depot;
+    }
+
+    @Override
+    public String toString() {
+        return "Vehicle-" + id;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting;
+
+import static org.optaplanner.core.api.score.stream.ConstraintCollectors.sum;
+import static org.optaplanner.core.api.score.stream.Joiners.equal;
+
+import java.util.function.Function;
+
+import org.optaplanner.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+
+public final class VehicleRoutingConstraintProvider implements ConstraintProvider {
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        return new Constraint[] {
+                vehicleCapacity(constraintFactory),
+                distanceFromDepot(constraintFactory)
+        };
+    }
+
+    Constraint vehicleCapacity(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Customer.class)
+                .groupBy(Customer::getVehicle, sum(Customer::getDemand))
+                .filter((vehicle, demand) -> demand > vehicle.getCapacity())
+                .penalizeLong(HardSoftLongScore.ONE_HARD,
+                        (vehicle, demand) -> demand - vehicle.getCapacity())
+                .asConstraint("vehicleCapacity");
+    }
+
+    Constraint distanceFromDepot(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Customer.class)
+                .join(Vehicle.class, equal(Customer::getVehicle, Function.identity()))
+                .penalizeLong(HardSoftLongScore.ONE_SOFT,
+                        (customer, vehicle) -> customer.getLocation().getDistanceTo(vehicle.getDepot()))
+                .asConstraint("distanceFromDepot");
+    }
+
+}
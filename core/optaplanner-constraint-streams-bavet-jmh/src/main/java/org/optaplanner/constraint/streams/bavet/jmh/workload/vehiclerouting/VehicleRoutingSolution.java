@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
+import org.optaplanner.core.api.domain.solution.PlanningScore;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.domain.solution.ProblemFactCollectionProperty;
+import org.optaplanner.core.api.domain.valuerange.ValueRangeProvider;
+import org.optaplanner.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+@PlanningSolution
+public class VehicleRoutingSolution {
+
+    private List<Vehicle> vehicleList;
+    private List<Customer> customerList;
+
+    private HardSoftLongScore score;
+
+    VehicleRoutingSolution() {
+    }
+
+    public VehicleRoutingSolution(List<Vehicle> vehicleList, List<Customer> customerList) {
+        this.vehicleList = vehicleList;
+        this.customerList = customerList;
+    }
+
+    @ValueRangeProvider
+    @ProblemFactCollectionProperty
+    public List<Vehicle> getVehicleList() {
+        return vehicleList;
+    }
+
+    @PlanningEntityCollectionProperty
+    public List<Customer> getCustomerList() {
+        return customerList;
+    }
+
+    @PlanningScore
+    public HardSoftLongScore getScore() {
+        return score;
+    }
+
+    public void setScore(HardSoftLongScore score) {
+        this.score = score;
+    }
+
+}
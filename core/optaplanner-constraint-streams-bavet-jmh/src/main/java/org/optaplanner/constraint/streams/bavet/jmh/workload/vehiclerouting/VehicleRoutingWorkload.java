@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.jmh.workload.vehiclerouting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.optaplanner.constraint.streams.bavet.jmh.workload.Workload;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+
+public final class VehicleRoutingWorkload extends Workload<VehicleRoutingSolution, Customer, Vehicle> {
+
+    private static final int CUSTOMER_COUNT_PER_VEHICLE = 10;
+    private static final int DEPOT_COUNT = 5;
+
+    public VehicleRoutingWorkload() {
+        super(VehicleRoutingSolution.class, Customer.class, "vehicle");
+    }
+
+    @Override
+    public ConstraintProvider createConstraintProvider() {
+        return new VehicleRoutingConstraintProvider();
+    }
+
+    @Override
+    public VehicleRoutingSolution createSolution(int entityCount, Random random) {
+        List<Location> depotList = new ArrayList<>(DEPOT_COUNT);
+        for (int i = 0; i < DEPOT_COUNT; i++) {
+            depotList.add(new Location(random.nextDouble() * 100.0, random.nextDouble() * 100.0));
+        }
+        int vehicleCount = Math.max(1, entityCount / CUSTOMER_COUNT_PER_VEHICLE);
+        List<Vehicle> vehicleList = new ArrayList<>(vehicleCount);
+        for (int i = 0; i < vehicleCount; i++) {
+            vehicleList.add(new Vehicle(i, 100 + random.nextInt(100), depotList.get(i % DEPOT_COUNT)));
+        }
+        List<Customer> customerList = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            Customer customer = new Customer(i,
+                    new Location(random.nextDouble() * 100.0, random.nextDouble() * 100.0), 1 + random.nextInt(20));
+            customer.setVehicle(vehicleList.get(random.nextInt(vehicleCount)));
+            customerList.add(customer);
+        }
+        return new VehicleRoutingSolution(vehicleList, customerList);
+    }
+
+    @Override
+    public List<Customer> getEntityList(VehicleRoutingSolution solution) {
+        return solution.getCustomerList();
+    }
+
+    @Override
+    public List<Vehicle> getValueList(VehicleRoutingSolution solution) {
+        return solution.getVehicleList();
+    }
+
+    @Override
+    public Vehicle getValue(Customer customer) {
+        return customer.getVehicle();
+    }
+
+    @Override
+    public void setValue(Customer customer, Vehicle vehicle) {
+        customer.setVehicle(vehicle);
+    }
+
+}
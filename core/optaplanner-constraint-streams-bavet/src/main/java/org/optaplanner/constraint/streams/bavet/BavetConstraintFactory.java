@@ -22,6 +22,7 @@ package org.optaplanner.constraint.streams.bavet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.optaplanner.constraint.streams.bavet.common.BavetAbstractConstraintStream;
@@ -94,6 +95,14 @@ public final class BavetConstraintFactory<Solution_>
         return share(new BavetForEachUniConstraintStream<>(this, sourceClass, RetrievalSemantics.STANDARD));
     }
 
+    @Override
+    protected <A> UniConstraintStream<A> forEachIncludingNullVars(Class<A> sourceClass,
+            Set<String> observedVariableNameSet) {
+        assertValidFromType(sourceClass);
+        return share(new BavetForEachUniConstraintStream<>(this, sourceClass, observedVariableNameSet,
+                RetrievalSemantics.STANDARD));
+    }
+
     @Override
     public <A> BavetAbstractUniConstraintStream<Solution_, A> fromUnfiltered(Class<A> fromClass) {
         assertValidFromType(fromClass);
@@ -19,35 +19,123 @@
 
 package org.optaplanner.constraint.streams.bavet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.optaplanner.constraint.streams.bavet.common.AbstractNode;
+import org.optaplanner.constraint.streams.bavet.common.AbstractScorer;
+import org.optaplanner.constraint.streams.bavet.common.NodeProfiler;
 import org.optaplanner.constraint.streams.bavet.uni.ForEachUniNode;
 import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.impl.score.constraint.DefaultIndictment;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
 
 final class BavetConstraintSession<Score_ extends Score<Score_>> {
 
-    private final AbstractScoreInliner<Score_> scoreInliner;
-    private final Map<Class<?>, ForEachUniNode<Object>> declaredClassToNodeMap;
-    private final AbstractNode[] nodes; // Indexed by nodeIndex
+    private final BavetConstraintSessionPartition<Score_> sharedForEachPartition; // Null if the partitions share no nodes
+    private BavetConstraintSessionPartition<Score_>[] partitions; // Only grows, see attachPartition()
     private final Map<Class<?>, ForEachUniNode<Object>[]> effectiveClassToNodeArrayMap;
+    private final List<NodeProfiler> scorerProfilerList; // Null if node profiling is disabled
+    private final Map<AbstractNode, NodeProfiler> forEachNodeProfilerMap; // Null if node profiling is disabled
+    private boolean primed;
 
     public BavetConstraintSession(AbstractScoreInliner<Score_> scoreInliner,
-            Map<Class<?>, ForEachUniNode<Object>> declaredClassToNodeMap,
+            Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap,
             AbstractNode[] nodes) {
-        this.scoreInliner = scoreInliner;
-        this.declaredClassToNodeMap = declaredClassToNodeMap;
-        this.nodes = nodes;
-        this.effectiveClassToNodeArrayMap = new IdentityHashMap<>(declaredClassToNodeMap.size());
+        this(List.of(new BavetConstraintSessionPartition<>(scoreInliner, declaredClassToNodeMap, nodes)));
+    }
+
+    /**
+     * @param partitionList never null, not empty, the partitions share no nodes
+     *        and every constraint belongs to exactly one partition
+     */
+    public BavetConstraintSession(List<BavetConstraintSessionPartition<Score_>> partitionList) {
+        this(partitionList, null);
+    }
+
+    /**
+     * @param partitionList never null, not empty, the partitions share no nodes
+     *        and every constraint belongs to exactly one partition
+     * @param scorerProfilerList null if node profiling is disabled
+     */
+    public BavetConstraintSession(List<BavetConstraintSessionPartition<Score_>> partitionList,
+            List<NodeProfiler> scorerProfilerList) {
+        this(null, partitionList, scorerProfilerList);
+    }
+
+    /**
+     * @param sharedForEachPartition null if every partition has its own forEach nodes,
+     *        otherwise the forEach nodes that every partition of the partitionList shares
+     * @param partitionList never null, not empty, the partitions share no nodes
+     *        and every constraint belongs to exactly one partition
+     * @param scorerProfilerList null if node profiling is disabled
+     */
+    public BavetConstraintSession(BavetConstraintSessionPartition<Score_> sharedForEachPartition,
+            List<BavetConstraintSessionPartition<Score_>> partitionList, List<NodeProfiler> scorerProfilerList) {
+        if (partitionList.isEmpty()) {
+            throw new IllegalArgumentException("The partitionList (" + partitionList + ") must not be empty.");
+        }
+        if (sharedForEachPartition != null && partitionList.size() == 1) {
+            throw new IllegalArgumentException("The sharedForEachPartition (" + sharedForEachPartition
+                    + ") requires multiple partitions in the partitionList (" + partitionList + ").");
+        }
+        this.sharedForEachPartition = sharedForEachPartition;
+        this.partitions = partitionList.toArray(new BavetConstraintSessionPartition[0]);
+        int declaredClassCount = 0;
+        for (BavetConstraintSessionPartition<Score_> partition : getAllPartitions()) {
+            declaredClassCount += partition.getDeclaredClassToNodeMap().size();
+        }
+        this.effectiveClassToNodeArrayMap = new IdentityHashMap<>(declaredClassCount);
+        this.scorerProfilerList = scorerProfilerList;
+        if (scorerProfilerList != null) {
+            // Facts enter the forEach nodes directly, not through a tuple lifecycle that counts them.
+            forEachNodeProfilerMap = new IdentityHashMap<>(declaredClassCount);
+            for (BavetConstraintSessionPartition<Score_> partition : getAllPartitions()) {
+                for (NodeProfiler nodeProfiler : partition.getNodeProfilers()) {
+                    if (nodeProfiler.getNode() instanceof ForEachUniNode) {
+                        forEachNodeProfilerMap.put(nodeProfiler.getNode(), nodeProfiler);
+                    }
+                }
+            }
+        } else {
+            forEachNodeProfilerMap = null;
+        }
+        // A single partition has nothing to do in parallel.
+        this.primed = partitions.length == 1;
+    }
+
+    /**
+     * @return never null, the partition of the shared forEach nodes first, if any
+     */
+    private List<BavetConstraintSessionPartition<Score_>> getAllPartitions() {
+        if (sharedForEachPartition == null) {
+            return Arrays.asList(partitions);
+        }
+        List<BavetConstraintSessionPartition<Score_>> allPartitionList = new ArrayList<>(partitions.length + 1);
+        allPartitionList.add(sharedForEachPartition);
+        allPartitionList.addAll(Arrays.asList(partitions));
+        return allPartitionList;
     }
 
     public void insert(Object fact) {
         Class<?> factClass = fact.getClass();
         for (ForEachUniNode<Object> node : findNodes(factClass)) {
+            if (forEachNodeProfilerMap != null) {
+                forEachNodeProfilerMap.get(node).recordInsert();
+            }
             node.insert(fact);
         }
     }
@@ -56,10 +144,10 @@ final class BavetConstraintSession<Score_ extends Score<Score_>> {
         // Map.computeIfAbsent() would have created lambdas on the hot path, this will not.
         ForEachUniNode<Object>[] nodeArray = effectiveClassToNodeArrayMap.get(factClass);
         if (nodeArray == null) {
-            nodeArray = declaredClassToNodeMap.entrySet()
-                    .stream()
+            nodeArray = getAllPartitions().stream()
+                    .flatMap(partition -> partition.getDeclaredClassToNodeMap().entrySet().stream())
                     .filter(entry -> entry.getKey().isAssignableFrom(factClass))
-                    .map(Map.Entry::getValue)
+                    .flatMap(entry -> entry.getValue().stream())
                     .toArray(ForEachUniNode[]::new);
             effectiveClassToNodeArrayMap.put(factClass, nodeArray);
         }
@@ -69,34 +157,217 @@ final class BavetConstraintSession<Score_ extends Score<Score_>> {
     public void update(Object fact) {
         Class<?> factClass = fact.getClass();
         for (ForEachUniNode<Object> node : findNodes(factClass)) {
+            if (forEachNodeProfilerMap != null) {
+                forEachNodeProfilerMap.get(node).recordUpdate();
+            }
             node.update(fact);
         }
     }
 
+    /**
+     * As defined by {@link #update(Object)},
+     * but skips the nodes of which the streams do not observe the changed variable.
+     *
+     * @param entity never null
+     * @param variableName never null, the name of the changed genuine or shadow variable
+     */
+    public void updateVariable(Object entity, String variableName) {
+        Class<?> entityClass = entity.getClass();
+        for (ForEachUniNode<Object> node : findNodes(entityClass)) {
+            if (!node.observesVariable(variableName)) {
+                continue;
+            }
+            if (forEachNodeProfilerMap != null) {
+                forEachNodeProfilerMap.get(node).recordUpdate();
+            }
+            node.update(entity);
+        }
+    }
+
     public void retract(Object fact) {
         Class<?> factClass = fact.getClass();
         for (ForEachUniNode<Object> node : findNodes(factClass)) {
+            if (forEachNodeProfilerMap != null) {
+                forEachNodeProfilerMap.get(node).recordRetract();
+            }
             node.retract(fact);
         }
     }
 
     public Score_ calculateScore(int initScore) {
-        for (AbstractNode node : nodes) {
-            node.calculateScore();
+        if (partitions.length == 1) {
+            BavetConstraintSessionPartition<Score_> partition = partitions[0];
+            partition.calculateScore();
+            return partition.getScoreInliner().extractScore(initScore);
+        }
+        if (!primed) {
+            // The first calculation propagates the entire working solution, which is worth spreading over threads.
+            // Every later calculation only propagates the changes of a single move, which is not.
+            primeInParallel();
+            primed = true;
+        } else {
+            if (sharedForEachPartition != null) {
+                // Its nodes propagate to the nodes of the other partitions, so it goes first.
+                sharedForEachPartition.calculateScore();
+            }
+            for (BavetConstraintSessionPartition<Score_> partition : partitions) {
+                partition.calculateScore();
+            }
+        }
+        Score_ score = partitions[0].getScoreInliner().extractScore(0);
+        for (int i = 1; i < partitions.length; i++) {
+            score = score.add(partitions[i].getScoreInliner().extractScore(0));
+        }
+        return score.withInitScore(initScore);
+    }
+
+    private void primeInParallel() {
+        List<Callable<Void>> taskList = new ArrayList<>(partitions.length);
+        for (BavetConstraintSessionPartition<Score_> partition : partitions) {
+            taskList.add(() -> {
+                partition.prime();
+                return null;
+            });
+        }
+        for (Future<Void> future : ForkJoinPool.commonPool().invokeAll(taskList)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The parallel score calculation was interrupted.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("The parallel score calculation failed.", cause);
+            }
+        }
+        if (sharedForEachPartition != null) {
+            sharedForEachPartition.finishPriming();
+        }
+    }
+
+    /**
+     * @param constraint never null
+     * @return null if the constraint has no scorer in this session, because it had a zero weight when it was built
+     */
+    AbstractScorer<?> findScorer(Constraint constraint) {
+        for (BavetConstraintSessionPartition<Score_> partition : partitions) {
+            AbstractScorer<?> scorer = partition.getConstraintToScorerMap().get(constraint);
+            if (scorer != null) {
+                return scorer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the nodes of constraints that were culled when this session was built,
+     * without rebuilding the nodes of the other constraints.
+     * The caller must insert every fact that is already in this session into the partition
+     * through {@link BavetConstraintSessionPartition#insert(Object)},
+     * because the partition receives only the later changes from this session.
+     *
+     * @param partition never null, shares no nodes with the other partitions
+     * @throws IllegalStateException if node profiling is enabled
+     */
+    void attachPartition(BavetConstraintSessionPartition<Score_> partition) {
+        if (isNodeProfilingEnabled()) {
+            throw new IllegalStateException("Impossible state: node profiling requires a rebuild of the session"
+                    + " to add a partition.");
+        }
+        partitions = Arrays.copyOf(partitions, partitions.length + 1);
+        partitions[partitions.length - 1] = partition;
+        // The cached node arrays don't contain the nodes of the new partition.
+        effectiveClassToNodeArrayMap.clear();
+    }
+
+    public boolean isNodeProfilingEnabled() {
+        return scorerProfilerList != null;
+    }
+
+    /**
+     * @return never null, a snapshot of every node, followed by every scorer
+     * @throws IllegalStateException if node profiling is disabled
+     */
+    public List<ConstraintStreamNodeProfile> getNodeProfileList() {
+        if (!isNodeProfilingEnabled()) {
+            throw new IllegalStateException("Node profiling is disabled."
+                    + " Maybe enable constraintStreamNodeProfilingEnabled in the scoreDirectorFactory configuration.");
+        }
+        List<ConstraintStreamNodeProfile> nodeProfileList = new ArrayList<>();
+        for (BavetConstraintSessionPartition<Score_> partition : getAllPartitions()) {
+            for (NodeProfiler nodeProfiler : partition.getNodeProfilers()) {
+                nodeProfileList.add(nodeProfiler.createProfile());
+            }
+        }
+        for (NodeProfiler scorerProfiler : scorerProfilerList) {
+            nodeProfileList.add(scorerProfiler.createProfile());
         }
-        return scoreInliner.extractScore(initScore);
+        return nodeProfileList;
     }
 
+    int getPartitionCount() {
+        return partitions.length;
+    }
+
+    int getNodeCount() {
+        int nodeCount = 0;
+        for (BavetConstraintSessionPartition<Score_> partition : getAllPartitions()) {
+            nodeCount += partition.getNodeCount();
+        }
+        return nodeCount;
+    }
+
+    boolean isConstraintMatchEnabled() {
+        return partitions[0].getScoreInliner().isConstraintMatchEnabled();
+    }
+
+    /**
+     * @return never null
+     * @throws IllegalStateException if the session is split into multiple partitions
+     */
     public AbstractScoreInliner<Score_> getScoreInliner() {
-        return scoreInliner;
+        if (partitions.length != 1) {
+            throw new IllegalStateException("Impossible state: the session is split into multiple partitions ("
+                    + partitions.length + "), each with its own score inliner.");
+        }
+        return partitions[0].getScoreInliner();
     }
 
     public Map<String, ConstraintMatchTotal<Score_>> getConstraintMatchTotalMap() {
-        return scoreInliner.getConstraintMatchTotalMap();
+        if (partitions.length == 1) {
+            return partitions[0].getScoreInliner().getConstraintMatchTotalMap();
+        }
+        // Every constraint belongs to exactly one partition, so the maps do not overlap.
+        Map<String, ConstraintMatchTotal<Score_>> constraintMatchTotalMap = new LinkedHashMap<>();
+        for (BavetConstraintSessionPartition<Score_> partition : partitions) {
+            constraintMatchTotalMap.putAll(partition.getScoreInliner().getConstraintMatchTotalMap());
+        }
+        return constraintMatchTotalMap;
     }
 
     public Map<Object, Indictment<Score_>> getIndictmentMap() {
-        return scoreInliner.getIndictmentMap();
+        if (partitions.length == 1) {
+            return partitions[0].getScoreInliner().getIndictmentMap();
+        }
+        // The same object can be indicted by constraints of different partitions.
+        Map<Object, DefaultIndictment<Score_>> indictmentMap = new LinkedHashMap<>();
+        for (BavetConstraintSessionPartition<Score_> partition : partitions) {
+            for (Indictment<Score_> indictment : partition.getScoreInliner().getIndictmentMap().values()) {
+                Object indictedObject = indictment.getIndictedObject();
+                DefaultIndictment<Score_> mergedIndictment = indictmentMap.computeIfAbsent(indictedObject,
+                        key -> new DefaultIndictment<>(key, indictment.getScore().zero()));
+                for (ConstraintMatch<Score_> constraintMatch : indictment.getConstraintMatchSet()) {
+                    mergedIndictment.addConstraintMatch(constraintMatch);
+                }
+            }
+        }
+        // Unchecked assignment necessary as Indictment and DefaultIndictment incompatible in the Map generics.
+        return (Map) indictmentMap;
     }
 
 }
@@ -21,20 +21,35 @@ package org.optaplanner.constraint.streams.bavet;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.optaplanner.constraint.streams.bavet.common.AbstractNode;
+import org.optaplanner.constraint.streams.bavet.common.AbstractScorer;
 import org.optaplanner.constraint.streams.bavet.common.BavetAbstractConstraintStream;
+import org.optaplanner.constraint.streams.bavet.common.GizmoAggregatedTupleLifecycleImplementor;
 import org.optaplanner.constraint.streams.bavet.common.NodeBuildHelper;
+import org.optaplanner.constraint.streams.bavet.common.NodeProfiler;
+import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.uni.BavetAbstractUniConstraintStream;
+import org.optaplanner.constraint.streams.bavet.uni.BavetFilterUniConstraintStream;
+import org.optaplanner.constraint.streams.bavet.uni.BavetForEachUniConstraintStream;
 import org.optaplanner.constraint.streams.bavet.uni.ForEachUniNode;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintStream;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 
@@ -42,11 +57,50 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
 
     private final SolutionDescriptor<Solution_> solutionDescriptor;
     private final List<BavetConstraint<Solution_>> constraintList;
+    private final boolean parallelPrimingEnabled;
+    private final boolean nodeProfilingEnabled;
+    private final GizmoAggregatedTupleLifecycleImplementor aggregatedTupleLifecycleImplementor; // Null if disabled
 
     public BavetConstraintSessionFactory(SolutionDescriptor<Solution_> solutionDescriptor,
             List<BavetConstraint<Solution_>> constraintList) {
+        this(solutionDescriptor, constraintList, false, false);
+    }
+
+    public BavetConstraintSessionFactory(SolutionDescriptor<Solution_> solutionDescriptor,
+            List<BavetConstraint<Solution_>> constraintList, boolean parallelPrimingEnabled, boolean nodeProfilingEnabled) {
+        this(solutionDescriptor, constraintList, parallelPrimingEnabled, nodeProfilingEnabled, false);
+    }
+
+    /**
+     * @param solutionDescriptor never null
+     * @param constraintList never null
+     * @param parallelPrimingEnabled if true, constraints which share no nodes other than forEach nodes
+     *        are built into separate partitions, which calculate the first score of every session in parallel
+     * @param nodeProfilingEnabled if true, every node and scorer of every session is instrumented
+     *        by a {@link NodeProfiler}
+     * @param fanOutCompilationEnabled if true, a stream that propagates to multiple child streams does so
+     *        through a class generated by {@link GizmoAggregatedTupleLifecycleImplementor}
+     */
+    public BavetConstraintSessionFactory(SolutionDescriptor<Solution_> solutionDescriptor,
+            List<BavetConstraint<Solution_>> constraintList, boolean parallelPrimingEnabled, boolean nodeProfilingEnabled,
+            boolean fanOutCompilationEnabled) {
         this.solutionDescriptor = solutionDescriptor;
         this.constraintList = constraintList;
+        this.parallelPrimingEnabled = parallelPrimingEnabled;
+        this.nodeProfilingEnabled = nodeProfilingEnabled;
+        if (fanOutCompilationEnabled) {
+            try {
+                // Check if Gizmo on the classpath by verifying we can access one of its classes
+                Class.forName("io.quarkus.gizmo.ClassCreator", false, Thread.currentThread().getContextClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("When constraintStreamFanOutCompilationEnabled is true,"
+                        + " the classpath or modulepath must contain io.quarkus.gizmo:gizmo.\n"
+                        + "Maybe add a dependency to io.quarkus.gizmo:gizmo.", e);
+            }
+            this.aggregatedTupleLifecycleImplementor = new GizmoAggregatedTupleLifecycleImplementor();
+        } else {
+            this.aggregatedTupleLifecycleImplementor = null;
+        }
     }
 
     // ************************************************************************
@@ -55,13 +109,22 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
 
     public BavetConstraintSession<Score_> buildSession(boolean constraintMatchEnabled,
             Solution_ workingSolution) {
-        ScoreDefinition<Score_> scoreDefinition = solutionDescriptor.getScoreDefinition();
-        AbstractScoreInliner<Score_> scoreInliner = AbstractScoreInliner.buildScoreInliner(scoreDefinition,
-                constraintMatchEnabled);
+        int maxPartitionCount = parallelPrimingEnabled ? ForkJoinPool.commonPool().getParallelism() : 1;
+        return buildSession(constraintMatchEnabled, workingSolution, maxPartitionCount);
+    }
 
+    /**
+     * @param constraintMatchEnabled true if the session needs to track constraint matches
+     * @param workingSolution sometimes null, to extract the constraint weights from
+     * @param maxPartitionCount {@code >= 1}, 1 to build a single partition, regardless of {@link #parallelPrimingEnabled}
+     * @return never null
+     */
+    public BavetConstraintSession<Score_> buildSession(boolean constraintMatchEnabled,
+            Solution_ workingSolution, int maxPartitionCount) {
+        ScoreDefinition<Score_> scoreDefinition = solutionDescriptor.getScoreDefinition();
         Score_ zeroScore = scoreDefinition.getZeroScore();
         Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet = new LinkedHashSet<>();
-        Map<Constraint, Score_> constraintWeightMap = new HashMap<>(constraintList.size());
+        Map<Constraint, Score_> constraintWeightMap = new LinkedHashMap<>(constraintList.size());
         for (BavetConstraint<Solution_> constraint : constraintList) {
             Score_ constraintWeight = constraint.extractConstraintWeight(workingSolution);
             // Filter out nodes that only lead to constraints with zero weight.
@@ -73,29 +136,355 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
                 constraintWeightMap.put(constraint, constraintWeight);
             }
         }
-        NodeBuildHelper<Score_> buildHelper = new NodeBuildHelper<>(constraintStreamSet, constraintWeightMap, scoreInliner);
+        Set<BavetAbstractConstraintStream<Solution_>> sharedStreamSet = collectSharedStreamSet(constraintStreamSet);
+        List<Map<Constraint, Score_>> partitionWeightMapList = maxPartitionCount > 1
+                ? partitionConstraints(constraintWeightMap, sharedStreamSet, maxPartitionCount)
+                : List.of(constraintWeightMap);
+        List<NodeProfiler> scorerProfilerList = nodeProfilingEnabled ? new ArrayList<>() : null;
+        if (partitionWeightMapList.size() > 1) {
+            return buildPartitionedSession(constraintMatchEnabled, constraintWeightMap, constraintStreamSet,
+                    sharedStreamSet, partitionWeightMapList, scorerProfilerList);
+        }
+        BavetConstraintSessionPartition<Score_> partition = buildPartition(constraintMatchEnabled,
+                constraintWeightMap, constraintStreamSet, 0L, scorerProfilerList);
+        if (nodeProfilingEnabled) {
+            setScorerIds(scorerProfilerList, partition.getNodeCount());
+            return new BavetConstraintSession<>(List.of(partition), scorerProfilerList);
+        }
+        return new BavetConstraintSession<>(List.of(partition));
+    }
+
+    /**
+     * @param constraintStreamSet never null, every parent stream precedes its child streams
+     * @return never null, the forEach streams and the filters directly on top of them, in the same order,
+     *         which hold no tuples of their own
+     */
+    private Set<BavetAbstractConstraintStream<Solution_>> collectSharedStreamSet(
+            Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet) {
+        Set<BavetAbstractConstraintStream<Solution_>> sharedStreamSet = new LinkedHashSet<>();
+        for (BavetAbstractConstraintStream<Solution_> stream : constraintStreamSet) {
+            if (stream instanceof BavetForEachUniConstraintStream || sharedStreamSet.contains(stream)) {
+                sharedStreamSet.add(stream);
+                for (BavetAbstractUniConstraintStream<Solution_, ?> childStream
+                        : ((BavetAbstractUniConstraintStream<Solution_, ?>) stream).getChildStreamList()) {
+                    if (childStream instanceof BavetFilterUniConstraintStream
+                            && constraintStreamSet.contains(childStream)) {
+                        sharedStreamSet.add(childStream);
+                    }
+                }
+            }
+        }
+        return sharedStreamSet;
+    }
+
+    /**
+     * Builds the forEach nodes once, shared by every partition,
+     * so the session does the same work per fact change as an unpartitioned session,
+     * while its partitions can still calculate the first score in parallel.
+     */
+    private BavetConstraintSession<Score_> buildPartitionedSession(boolean constraintMatchEnabled,
+            Map<Constraint, Score_> constraintWeightMap, Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet,
+            Set<BavetAbstractConstraintStream<Solution_>> sharedStreamSet,
+            List<Map<Constraint, Score_>> partitionWeightMapList, List<NodeProfiler> scorerProfilerList) {
+        // The shared streams have no scorers and propagate to every partition, so they are built last.
+        NodeBuildHelper<Score_> sharedForEachBuildHelper = new NodeBuildHelper<>(constraintStreamSet,
+                Map.<Constraint, Score_> of(), null,
+                nodeProfilingEnabled ? buildStreamToConstraintIdSetMap(constraintWeightMap.keySet()) : null,
+                aggregatedTupleLifecycleImplementor);
+        int partitionCount = partitionWeightMapList.size();
+        List<AbstractScoreInliner<Score_>> scoreInlinerList = new ArrayList<>(partitionCount);
+        List<NodeBuildHelper<Score_>> buildHelperList = new ArrayList<>(partitionCount);
+        List<Set<BavetAbstractConstraintStream<Solution_>>> partitionStreamSetList = new ArrayList<>(partitionCount);
+        List<List<AbstractNode>> nodeListList = new ArrayList<>(partitionCount);
+        for (Map<Constraint, Score_> partitionWeightMap : partitionWeightMapList) {
+            AbstractScoreInliner<Score_> scoreInliner = AbstractScoreInliner.buildScoreInliner(
+                    solutionDescriptor.getScoreDefinition(), constraintMatchEnabled);
+            NodeBuildHelper<Score_> buildHelper = sharedForEachBuildHelper.fork(partitionWeightMap, scoreInliner);
+            Set<BavetAbstractConstraintStream<Solution_>> partitionStreamSet =
+                    collectPartitionStreamSet(partitionWeightMap.keySet(), constraintStreamSet);
+            Set<BavetAbstractConstraintStream<Solution_>> unsharedStreamSet = new LinkedHashSet<>(partitionStreamSet);
+            unsharedStreamSet.removeAll(sharedStreamSet);
+            scoreInlinerList.add(scoreInliner);
+            buildHelperList.add(buildHelper);
+            partitionStreamSetList.add(partitionStreamSet);
+            nodeListList.add(buildNodeList(unsharedStreamSet, buildHelper));
+        }
+        List<BavetForEachUniConstraintStream<Solution_, Object>> forEachStreamList = sharedStreamSet.stream()
+                .filter(stream -> stream instanceof BavetForEachUniConstraintStream)
+                .map(stream -> (BavetForEachUniConstraintStream<Solution_, Object>) stream)
+                .collect(Collectors.toList());
+        List<AbstractNode> forEachNodeList = buildNodeList(sharedStreamSet, sharedForEachBuildHelper);
+        if (forEachNodeList.size() != forEachStreamList.size()) {
+            throw new IllegalStateException("Impossible state: the forEachNodeList size (" + forEachNodeList.size()
+                    + ") differs from the forEachStreamList size (" + forEachStreamList.size() + ").");
+        }
+        BavetConstraintSessionPartition<Score_> sharedForEachPartition = createPartition(null,
+                sharedForEachBuildHelper, forEachNodeList, 0L, scorerProfilerList,
+                new ForEachUniNode[0], new TupleLifecycle[0]);
+        long nextNodeId = sharedForEachPartition.getNodeCount();
+        List<BavetConstraintSessionPartition<Score_>> partitionList = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            NodeBuildHelper<Score_> buildHelper = buildHelperList.get(i);
+            List<ForEachUniNode<Object>> sharedForEachNodeList = new ArrayList<>(forEachNodeList.size());
+            List<TupleLifecycle<UniTuple<Object>>> sharedForEachTupleLifecycleList = new ArrayList<>(forEachNodeList.size());
+            for (int j = 0; j < forEachNodeList.size(); j++) {
+                TupleLifecycle<UniTuple<Object>> tupleLifecycle = sharedForEachBuildHelper.getPartitionTupleLifecycle(
+                        forEachStreamList.get(j).getChildStreamList(), partitionStreamSetList.get(i));
+                if (tupleLifecycle != null) {
+                    sharedForEachNodeList.add((ForEachUniNode<Object>) forEachNodeList.get(j));
+                    sharedForEachTupleLifecycleList.add(tupleLifecycle);
+                }
+            }
+            BavetConstraintSessionPartition<Score_> partition = createPartition(scoreInlinerList.get(i), buildHelper,
+                    nodeListList.get(i), nextNodeId, scorerProfilerList,
+                    sharedForEachNodeList.toArray(new ForEachUniNode[0]),
+                    sharedForEachTupleLifecycleList.toArray(new TupleLifecycle[0]));
+            nextNodeId += partition.getNodeCount();
+            partitionList.add(partition);
+        }
+        if (nodeProfilingEnabled) {
+            setScorerIds(scorerProfilerList, nextNodeId);
+        }
+        return new BavetConstraintSession<>(sharedForEachPartition, partitionList, scorerProfilerList);
+    }
+
+    private static void setScorerIds(List<NodeProfiler> scorerProfilerList, long firstScorerId) {
+        // Scorers are not nodes, but their ids must not collide with those of the nodes.
+        long nextScorerId = firstScorerId;
+        for (NodeProfiler scorerProfiler : scorerProfilerList) {
+            scorerProfiler.setScorerId(nextScorerId++);
+        }
+    }
+
+    private Set<BavetAbstractConstraintStream<Solution_>> collectPartitionStreamSet(Set<Constraint> partitionConstraintSet,
+            Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet) {
+        Set<BavetAbstractConstraintStream<Solution_>> partitionStreamSubset = new LinkedHashSet<>();
+        for (Constraint constraint : partitionConstraintSet) {
+            ((BavetConstraint<Solution_>) constraint).collectActiveConstraintStreams(partitionStreamSubset);
+        }
+        // Retain the order of constraintStreamSet, in which every parent stream precedes its child streams.
+        return constraintStreamSet.stream()
+                .filter(partitionStreamSubset::contains)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private BavetConstraintSessionPartition<Score_> buildPartition(boolean constraintMatchEnabled,
+            Map<Constraint, Score_> partitionWeightMap, Set<BavetAbstractConstraintStream<Solution_>> partitionStreamSet,
+            long firstNodeId, List<NodeProfiler> scorerProfilerList) {
+        AbstractScoreInliner<Score_> scoreInliner = AbstractScoreInliner.buildScoreInliner(
+                solutionDescriptor.getScoreDefinition(), constraintMatchEnabled);
+        NodeBuildHelper<Score_> buildHelper = new NodeBuildHelper<>(partitionStreamSet, partitionWeightMap,
+                scoreInliner, nodeProfilingEnabled ? buildStreamToConstraintIdSetMap(partitionWeightMap.keySet()) : null,
+                aggregatedTupleLifecycleImplementor);
+        List<AbstractNode> nodeList = buildNodeList(partitionStreamSet, buildHelper);
+        return createPartition(scoreInliner, buildHelper, nodeList, firstNodeId, scorerProfilerList,
+                new ForEachUniNode[0], new TupleLifecycle[0]);
+    }
+
+    private BavetConstraintSessionPartition<Score_> createPartition(AbstractScoreInliner<Score_> scoreInliner,
+            NodeBuildHelper<Score_> buildHelper, List<AbstractNode> nodeList, long firstNodeId,
+            List<NodeProfiler> scorerProfilerList, ForEachUniNode<Object>[] sharedForEachNodes,
+            TupleLifecycle<UniTuple<Object>>[] sharedForEachTupleLifecycles) {
+        Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap = new LinkedHashMap<>();
+        long nextNodeId = firstNodeId;
+        for (AbstractNode node : nodeList) {
+            node.setId(nextNodeId++);
+            if (node instanceof ForEachUniNode) {
+                ForEachUniNode<Object> forEachUniNode = (ForEachUniNode<Object>) node;
+                // A class has multiple nodes if its streams observe different variables.
+                declaredClassToNodeMap.computeIfAbsent(forEachUniNode.getForEachClass(), key -> new ArrayList<>(1))
+                        .add(forEachUniNode);
+            }
+        }
+        NodeProfiler[] nodeProfilers = null;
+        if (nodeProfilingEnabled) {
+            List<NodeProfiler> nodeProfilerList = new ArrayList<>(nodeList.size());
+            for (NodeProfiler nodeProfiler : buildHelper.destroyAndGetNodeProfilerList()) {
+                if (nodeProfiler.getNode() == null) {
+                    scorerProfilerList.add(nodeProfiler);
+                } else {
+                    if (nodeProfiler.getNode() != nodeList.get(nodeProfilerList.size())) {
+                        throw new IllegalStateException("Impossible state: the nodeProfiler (" + nodeProfiler
+                                + ") is out of order with the node (" + nodeList.get(nodeProfilerList.size()) + ").");
+                    }
+                    nodeProfilerList.add(nodeProfiler);
+                }
+            }
+            nodeProfilers = nodeProfilerList.toArray(new NodeProfiler[0]);
+        }
+        return new BavetConstraintSessionPartition<>(scoreInliner, declaredClassToNodeMap,
+                nodeList.toArray(new AbstractNode[0]), nodeProfilers, buildHelper.getConstraintToScorerMap(),
+                sharedForEachNodes, sharedForEachTupleLifecycles);
+    }
+
+    /**
+     * Changes the constraint weights of the session to those of the constraint configuration of the workingSolution,
+     * without rebuilding the nodes of the session.
+     * Every scorer of a constraint with a changed weight re-impacts its current matches,
+     * even if the new weight is zero.
+     * The constraints that had a zero weight when the session was built have no nodes at all,
+     * so if their weight is no longer zero, their nodes are built into a new partition
+     * that receives every fact of the workingSolution.
+     * That partition shares no nodes with the rest of the session,
+     * so it can duplicate nodes which a rebuild of the session would share.
+     *
+     * @param session never null, built by this factory
+     * @param workingSolution never null, already inserted into the session
+     * @return false if the session must be rebuilt instead, because node profiling is enabled
+     *         and a new partition is needed, in which case the session is left unchanged
+     */
+    public boolean updateConstraintWeights(BavetConstraintSession<Score_> session, Solution_ workingSolution) {
+        Map<Constraint, Score_> newConstraintWeightMap = new LinkedHashMap<>(constraintList.size());
+        Map<AbstractScorer<?>, Score_> reweightMap = new LinkedHashMap<>(constraintList.size());
+        for (BavetConstraint<Solution_> constraint : constraintList) {
+            Score_ constraintWeight = constraint.extractConstraintWeight(workingSolution);
+            AbstractScorer<?> scorer = session.findScorer(constraint);
+            if (scorer == null) {
+                if (!constraintWeight.isZero()) {
+                    newConstraintWeightMap.put(constraint, constraintWeight);
+                }
+            } else if (!constraintWeight.equals(scorer.getConstraintWeight())) {
+                if (!scorer.isReweightable()) {
+                    throw new IllegalStateException("Impossible state: the constraint (" + constraint
+                            + ") has a fixed constraintWeight (" + scorer.getConstraintWeight()
+                            + ") which changed to (" + constraintWeight + ").");
+                }
+                reweightMap.put(scorer, constraintWeight);
+            }
+        }
+        if (!newConstraintWeightMap.isEmpty() && nodeProfilingEnabled) {
+            // The node ids and profiles of a session cover all its nodes.
+            return false;
+        }
+        reweightMap.forEach(AbstractScorer::reweight);
+        if (!newConstraintWeightMap.isEmpty()) {
+            Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet = new LinkedHashSet<>();
+            for (Constraint constraint : newConstraintWeightMap.keySet()) {
+                ((BavetConstraint<Solution_>) constraint).collectActiveConstraintStreams(constraintStreamSet);
+            }
+            BavetConstraintSessionPartition<Score_> partition = buildPartition(
+                    session.isConstraintMatchEnabled(), newConstraintWeightMap, constraintStreamSet,
+                    session.getNodeCount(), null);
+            solutionDescriptor.visitAll(workingSolution, partition::insert);
+            session.attachPartition(partition);
+        }
+        return true;
+    }
+
+    private Map<ConstraintStream, Set<String>> buildStreamToConstraintIdSetMap(Set<Constraint> constraintSet) {
+        Map<ConstraintStream, Set<String>> streamToConstraintIdSetMap = new HashMap<>();
+        for (Constraint constraint : constraintSet) {
+            Set<BavetAbstractConstraintStream<Solution_>> streamSet = new LinkedHashSet<>();
+            ((BavetConstraint<Solution_>) constraint).collectActiveConstraintStreams(streamSet);
+            for (BavetAbstractConstraintStream<Solution_> stream : streamSet) {
+                streamToConstraintIdSetMap.computeIfAbsent(stream, key -> new TreeSet<>())
+                        .add(constraint.getConstraintId());
+            }
+        }
+        return streamToConstraintIdSetMap;
+    }
+
+    private List<AbstractNode> buildNodeList(Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet,
+            NodeBuildHelper<Score_> buildHelper) {
         // Build constraintStreamSet in reverse order to create downstream nodes first
         // so every node only has final variables (some of which have downstream node method references).
         List<BavetAbstractConstraintStream<Solution_>> reversedConstraintStreamList = new ArrayList<>(constraintStreamSet);
         Collections.reverse(reversedConstraintStreamList);
         for (BavetAbstractConstraintStream<Solution_> constraintStream : reversedConstraintStreamList) {
-            constraintStream.buildNode(buildHelper);
+            buildHelper.buildNode(constraintStream);
         }
-        List<AbstractNode> nodeList = buildHelper.destroyAndGetNodeList();
-        Map<Class<?>, ForEachUniNode<Object>> declaredClassToNodeMap = new LinkedHashMap<>();
-        long nextNodeId = 0;
-        for (AbstractNode node : nodeList) {
-            node.setId(nextNodeId++);
-            if (node instanceof ForEachUniNode) {
-                ForEachUniNode<Object> forEachUniNode = (ForEachUniNode<Object>) node;
-                ForEachUniNode<Object> old = declaredClassToNodeMap.put(forEachUniNode.getForEachClass(), forEachUniNode);
-                if (old != null) {
-                    throw new IllegalStateException("Impossible state: For class (" + forEachUniNode.getForEachClass()
-                            + ") there are 2 nodes (" + forEachUniNode + ", " + old + ").");
+        return buildHelper.destroyAndGetNodeList();
+    }
+
+    /**
+     * Groups the constraints into partitions that share no streams, except for the shared streams,
+     * of which the forEach nodes are shared by every partition.
+     * Constraints that share any other stream always end up in the same partition.
+     *
+     * @param constraintWeightMap never null
+     * @param sharedStreamSet never null, see {@link #collectSharedStreamSet(Set)}
+     * @param maxPartitionCount {@code > 1}
+     * @return never null, never empty
+     */
+    private List<Map<Constraint, Score_>> partitionConstraints(Map<Constraint, Score_> constraintWeightMap,
+            Set<BavetAbstractConstraintStream<Solution_>> sharedStreamSet, int maxPartitionCount) {
+        int constraintCount = constraintWeightMap.size();
+        if (constraintCount <= 1) {
+            return List.of(constraintWeightMap);
+        }
+        // Union-find over the constraint indexes, joined by the streams they share, except for the shared streams.
+        List<Constraint> activeConstraintList = new ArrayList<>(constraintWeightMap.keySet());
+        List<Set<BavetAbstractConstraintStream<Solution_>>> streamSetList = new ArrayList<>(constraintCount);
+        int[] parents = new int[constraintCount];
+        Map<BavetAbstractConstraintStream<Solution_>, Integer> streamToConstraintIndexMap = new IdentityHashMap<>();
+        for (int i = 0; i < constraintCount; i++) {
+            parents[i] = i;
+            Set<BavetAbstractConstraintStream<Solution_>> streamSet = new LinkedHashSet<>();
+            ((BavetConstraint<Solution_>) activeConstraintList.get(i)).collectActiveConstraintStreams(streamSet);
+            streamSetList.add(streamSet);
+            for (BavetAbstractConstraintStream<Solution_> stream : streamSet) {
+                if (sharedStreamSet.contains(stream)) {
+                    continue;
+                }
+                Integer otherIndex = streamToConstraintIndexMap.putIfAbsent(stream, i);
+                if (otherIndex != null) {
+                    parents[findRoot(parents, i)] = findRoot(parents, otherIndex);
                 }
             }
         }
-        return new BavetConstraintSession<>(scoreInliner, declaredClassToNodeMap, nodeList.toArray(new AbstractNode[0]));
+        Map<Integer, List<Integer>> componentMap = new LinkedHashMap<>();
+        for (int i = 0; i < constraintCount; i++) {
+            componentMap.computeIfAbsent(findRoot(parents, i), root -> new ArrayList<>()).add(i);
+        }
+        int partitionCount = Math.min(componentMap.size(), maxPartitionCount);
+        if (partitionCount <= 1) {
+            return List.of(constraintWeightMap);
+        }
+        // Greedy bin packing: the biggest component goes to the smallest partition, sized by stream count.
+        List<List<Integer>> componentList = new ArrayList<>(componentMap.values());
+        Map<List<Integer>, Integer> componentSizeMap = new IdentityHashMap<>(componentList.size());
+        for (List<Integer> component : componentList) {
+            Set<BavetAbstractConstraintStream<Solution_>> componentStreamSet = new HashSet<>();
+            for (int constraintIndex : component) {
+                componentStreamSet.addAll(streamSetList.get(constraintIndex));
+            }
+            componentSizeMap.put(component, componentStreamSet.size());
+        }
+        componentList.sort(Comparator.comparing((List<Integer> component) -> componentSizeMap.get(component)).reversed());
+        int[] partitionSizes = new int[partitionCount];
+        List<List<Integer>> partitionConstraintIndexList = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitionConstraintIndexList.add(new ArrayList<>());
+        }
+        for (List<Integer> component : componentList) {
+            int smallestPartition = 0;
+            for (int i = 1; i < partitionCount; i++) {
+                if (partitionSizes[i] < partitionSizes[smallestPartition]) {
+                    smallestPartition = i;
+                }
+            }
+            partitionSizes[smallestPartition] += componentSizeMap.get(component);
+            partitionConstraintIndexList.get(smallestPartition).addAll(component);
+        }
+        List<Map<Constraint, Score_>> partitionWeightMapList = new ArrayList<>(partitionCount);
+        for (List<Integer> constraintIndexList : partitionConstraintIndexList) {
+            Collections.sort(constraintIndexList); // Keep the constraint order reproducible.
+            Map<Constraint, Score_> partitionWeightMap = new LinkedHashMap<>(constraintIndexList.size());
+            for (int constraintIndex : constraintIndexList) {
+                Constraint constraint = activeConstraintList.get(constraintIndex);
+                partitionWeightMap.put(constraint, constraintWeightMap.get(constraint));
+            }
+            partitionWeightMapList.add(partitionWeightMap);
+        }
+        return partitionWeightMapList;
+    }
+
+    private static int findRoot(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
     }
 
 }
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.constraint.streams.bavet.common.AbstractNode;
+import org.optaplanner.constraint.streams.bavet.common.AbstractScorer;
+import org.optaplanner.constraint.streams.bavet.common.NodeProfiler;
+import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.uni.ForEachUniNode;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+
+/**
+ * A self-contained part of the node network of a {@link BavetConstraintSession}.
+ * It shares no nodes and no {@link AbstractScoreInliner} with any other partition,
+ * so different partitions can calculate their score on different threads.
+ * The only exception are the forEach nodes of a session that primes its partitions in parallel:
+ * those are shared by every partition, so they are held by a separate partition, without a score inliner,
+ * that calculates before the others.
+ *
+ * @param <Score_> the score type
+ */
+final class BavetConstraintSessionPartition<Score_ extends Score<Score_>> {
+
+    private final AbstractScoreInliner<Score_> scoreInliner;
+    private final Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap;
+    private final AbstractNode[] nodes; // Indexed by nodeIndex, in topological order
+    private final BitSet dirtyNodeIndexSet; // The nodes with pending work, see AbstractNode#markDirty()
+    private final NodeProfiler[] nodeProfilers; // Indexed by nodeIndex, null if node profiling is disabled
+    private final Map<Constraint, AbstractScorer<?>> constraintToScorerMap;
+    private final ForEachUniNode<Object>[] sharedForEachNodes; // The shared forEach nodes that propagate to this partition
+    private final TupleLifecycle<UniTuple<Object>>[] sharedForEachTupleLifecycles; // Indexed like sharedForEachNodes
+
+    public BavetConstraintSessionPartition(AbstractScoreInliner<Score_> scoreInliner,
+            Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap, AbstractNode[] nodes) {
+        this(scoreInliner, declaredClassToNodeMap, nodes, null);
+    }
+
+    public BavetConstraintSessionPartition(AbstractScoreInliner<Score_> scoreInliner,
+            Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap, AbstractNode[] nodes,
+            NodeProfiler[] nodeProfilers) {
+        this(scoreInliner, declaredClassToNodeMap, nodes, nodeProfilers, Collections.emptyMap());
+    }
+
+    /**
+     * @param scoreInliner never null
+     * @param declaredClassToNodeMap never null
+     * @param nodes never null, every node precedes the nodes it propagates to
+     * @param nodeProfilers null if node profiling is disabled, otherwise the same length as nodes
+     * @param constraintToScorerMap never null, the scorer of every constraint of this partition
+     */
+    public BavetConstraintSessionPartition(AbstractScoreInliner<Score_> scoreInliner,
+            Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap, AbstractNode[] nodes,
+            NodeProfiler[] nodeProfilers, Map<Constraint, AbstractScorer<?>> constraintToScorerMap) {
+        this(scoreInliner, declaredClassToNodeMap, nodes, nodeProfilers, constraintToScorerMap,
+                new ForEachUniNode[0], new TupleLifecycle[0]);
+    }
+
+    /**
+     * @param scoreInliner null if this partition only holds the forEach nodes that the other partitions share
+     * @param declaredClassToNodeMap never null
+     * @param nodes never null, every node precedes the nodes it propagates to
+     * @param nodeProfilers null if node profiling is disabled, otherwise the same length as nodes
+     * @param constraintToScorerMap never null, the scorer of every constraint of this partition
+     * @param sharedForEachNodes never null, the forEach nodes of another partition that propagate to this partition
+     * @param sharedForEachTupleLifecycles never null, the same length as sharedForEachNodes,
+     *        through which each of them propagates to the nodes of this partition only
+     */
+    public BavetConstraintSessionPartition(AbstractScoreInliner<Score_> scoreInliner,
+            Map<Class<?>, List<ForEachUniNode<Object>>> declaredClassToNodeMap, AbstractNode[] nodes,
+            NodeProfiler[] nodeProfilers, Map<Constraint, AbstractScorer<?>> constraintToScorerMap,
+            ForEachUniNode<Object>[] sharedForEachNodes, TupleLifecycle<UniTuple<Object>>[] sharedForEachTupleLifecycles) {
+        this.scoreInliner = scoreInliner;
+        this.declaredClassToNodeMap = declaredClassToNodeMap;
+        this.nodes = nodes;
+        this.nodeProfilers = nodeProfilers;
+        this.constraintToScorerMap = constraintToScorerMap;
+        this.sharedForEachNodes = sharedForEachNodes;
+        this.sharedForEachTupleLifecycles = sharedForEachTupleLifecycles;
+        if (nodeProfilers != null && nodeProfilers.length != nodes.length) {
+            throw new IllegalArgumentException("The nodeProfilers length (" + nodeProfilers.length
+                    + ") differs from the nodes length (" + nodes.length + ").");
+        }
+        if (sharedForEachTupleLifecycles.length != sharedForEachNodes.length) {
+            throw new IllegalArgumentException("The sharedForEachTupleLifecycles length ("
+                    + sharedForEachTupleLifecycles.length + ") differs from the sharedForEachNodes length ("
+                    + sharedForEachNodes.length + ").");
+        }
+        this.dirtyNodeIndexSet = new BitSet(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i].setDirtyNodeIndexSet(dirtyNodeIndexSet, i);
+        }
+    }
+
+    /**
+     * @return null if this partition only holds the forEach nodes that the other partitions share
+     */
+    public AbstractScoreInliner<Score_> getScoreInliner() {
+        return scoreInliner;
+    }
+
+    public Map<Class<?>, List<ForEachUniNode<Object>>> getDeclaredClassToNodeMap() {
+        return declaredClassToNodeMap;
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @return null if node profiling is disabled
+     */
+    public NodeProfiler[] getNodeProfilers() {
+        return nodeProfilers;
+    }
+
+    /**
+     * @return never null
+     */
+    public Map<Constraint, AbstractScorer<?>> getConstraintToScorerMap() {
+        return constraintToScorerMap;
+    }
+
+    /**
+     * Inserts the fact into the forEach nodes of this partition only.
+     * Unlike {@link BavetConstraintSession#insert(Object)}, it doesn't cache the nodes per fact class,
+     * because it is only used to fill a partition that is attached to a session that already holds the facts.
+     *
+     * @param fact never null
+     */
+    public void insert(Object fact) {
+        Class<?> factClass = fact.getClass();
+        for (Map.Entry<Class<?>, List<ForEachUniNode<Object>>> entry : declaredClassToNodeMap.entrySet()) {
+            if (entry.getKey().isAssignableFrom(factClass)) {
+                for (ForEachUniNode<Object> node : entry.getValue()) {
+                    node.insert(fact);
+                }
+            }
+        }
+    }
+
+    /**
+     * Only visits the nodes with pending work, typically a small fraction of all nodes after a single move.
+     * A node only propagates to nodes with a higher index,
+     * so a single ascending pass also visits every node that becomes dirty during that pass.
+     */
+    public void calculateScore() {
+        if (nodeProfilers == null) {
+            for (int i = dirtyNodeIndexSet.nextSetBit(0); i >= 0; i = dirtyNodeIndexSet.nextSetBit(i + 1)) {
+                dirtyNodeIndexSet.clear(i);
+                nodes[i].calculateScore();
+            }
+        } else {
+            for (int i = dirtyNodeIndexSet.nextSetBit(0); i >= 0; i = dirtyNodeIndexSet.nextSetBit(i + 1)) {
+                dirtyNodeIndexSet.clear(i);
+                long start = System.nanoTime();
+                nodes[i].calculateScore();
+                nodeProfilers[i].addTimeSpentNanos(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Calculates the first score of this partition,
+     * including the pending inserts of the shared forEach nodes that propagate to this partition.
+     * Different partitions can prime on different threads.
+     * Once every partition has primed, the partition of the shared forEach nodes must {@link #finishPriming()}.
+     */
+    public void prime() {
+        for (int i = 0; i < sharedForEachNodes.length; i++) {
+            sharedForEachNodes[i].primeInserts(sharedForEachTupleLifecycles[i]);
+        }
+        calculateScore();
+    }
+
+    /**
+     * Only for the partition that holds the shared forEach nodes,
+     * instead of {@link #calculateScore()} after every other partition has {@link #prime() primed}.
+     */
+    public void finishPriming() {
+        for (int i = dirtyNodeIndexSet.nextSetBit(0); i >= 0; i = dirtyNodeIndexSet.nextSetBit(i + 1)) {
+            dirtyNodeIndexSet.clear(i);
+            int propagationCount = ((ForEachUniNode<?>) nodes[i]).finishPrimingInserts();
+            if (nodeProfilers != null) {
+                nodeProfilers[i].recordPropagations(propagationCount);
+            }
+        }
+    }
+
+}
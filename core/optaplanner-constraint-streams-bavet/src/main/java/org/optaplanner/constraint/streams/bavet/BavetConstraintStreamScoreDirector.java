@@ -19,6 +19,7 @@
 
 package org.optaplanner.constraint.streams.bavet;
 
+import java.util.List;
 import java.util.Map;
 
 import org.optaplanner.core.api.domain.entity.PlanningEntity;
@@ -31,6 +32,8 @@ import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.ListVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirector;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfiler;
 
 /**
  * FP streams implementation of {@link ScoreDirector}, which only recalculates the {@link Score}
@@ -41,7 +44,8 @@ import org.optaplanner.core.impl.score.director.AbstractScoreDirector;
  * @see ScoreDirector
  */
 public final class BavetConstraintStreamScoreDirector<Solution_, Score_ extends Score<Score_>>
-        extends AbstractScoreDirector<Solution_, Score_, BavetConstraintStreamScoreDirectorFactory<Solution_, Score_>> {
+        extends AbstractScoreDirector<Solution_, Score_, BavetConstraintStreamScoreDirectorFactory<Solution_, Score_>>
+        implements ConstraintStreamNodeProfiler {
 
     protected BavetConstraintSession<Score_> session;
 
@@ -131,14 +135,14 @@ public final class BavetConstraintStreamScoreDirector<Solution_, Score_ extends
 
     @Override
     public void afterVariableChanged(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
-        session.update(entity);
+        session.updateVariable(entity, variableDescriptor.getVariableName());
         super.afterVariableChanged(variableDescriptor, entity);
     }
 
     @Override
     public void afterListVariableChanged(ListVariableDescriptor<Solution_> variableDescriptor, Object entity, int fromIndex,
             int toIndex) {
-        session.update(entity);
+        session.updateVariable(entity, variableDescriptor.getVariableName());
         super.afterListVariableChanged(variableDescriptor, entity, fromIndex, toIndex);
     }
 
@@ -173,6 +177,15 @@ public final class BavetConstraintStreamScoreDirector<Solution_, Score_ extends
         super.afterProblemPropertyChanged(problemFactOrEntity);
     }
 
+    @Override
+    protected void afterConstraintConfigurationChanged() {
+        // The forEach nodes of the constraint configuration, if any, have already been updated.
+        // Constraint weights affect no planning or shadow variable, so the variable listeners are left alone.
+        if (!scoreDirectorFactory.updateConstraintWeights(session, workingSolution)) {
+            super.afterConstraintConfigurationChanged();
+        }
+    }
+
     // public void beforeProblemFactRemoved(Object problemFact) // Do nothing
 
     @Override
@@ -181,6 +194,24 @@ public final class BavetConstraintStreamScoreDirector<Solution_, Score_ extends
         super.afterProblemFactRemoved(problemFact);
     }
 
+    // ************************************************************************
+    // Node profiling
+    // ************************************************************************
+
+    @Override
+    public boolean isNodeProfilingEnabled() {
+        return scoreDirectorFactory.isNodeProfilingEnabled();
+    }
+
+    @Override
+    public List<ConstraintStreamNodeProfile> getNodeProfileList() {
+        if (session == null) {
+            throw new IllegalStateException("The method setWorkingSolution() must be called before the method"
+                    + " getNodeProfileList().");
+        }
+        return session.getNodeProfileList();
+    }
+
     // ************************************************************************
     // Getters/setters
     // ************************************************************************
@@ -35,13 +35,48 @@ public final class BavetConstraintStreamScoreDirectorFactory<Solution_, Score_ e
 
     private final BavetConstraintSessionFactory<Solution_, Score_> constraintSessionFactory;
     private final List<BavetConstraint<Solution_>> constraintList;
+    private final boolean nodeProfilingEnabled;
 
     public BavetConstraintStreamScoreDirectorFactory(SolutionDescriptor<Solution_> solutionDescriptor,
             ConstraintProvider constraintProvider, EnvironmentMode environmentMode) {
+        this(solutionDescriptor, constraintProvider, environmentMode, false, false);
+    }
+
+    /**
+     * @param solutionDescriptor never null
+     * @param constraintProvider never null, its constraints must be thread-safe if parallelPrimingEnabled is true
+     * @param environmentMode never null
+     * @param parallelPrimingEnabled true to calculate the first score of every session on multiple threads
+     * @param nodeProfilingEnabled true to count the work done by every node of every session
+     */
+    public BavetConstraintStreamScoreDirectorFactory(SolutionDescriptor<Solution_> solutionDescriptor,
+            ConstraintProvider constraintProvider, EnvironmentMode environmentMode, boolean parallelPrimingEnabled,
+            boolean nodeProfilingEnabled) {
+        this(solutionDescriptor, constraintProvider, environmentMode, parallelPrimingEnabled, nodeProfilingEnabled,
+                false);
+    }
+
+    /**
+     * @param solutionDescriptor never null
+     * @param constraintProvider never null, its constraints must be thread-safe if parallelPrimingEnabled is true
+     * @param environmentMode never null
+     * @param parallelPrimingEnabled true to calculate the first score of every session on multiple threads
+     * @param nodeProfilingEnabled true to count the work done by every node of every session
+     * @param fanOutCompilationEnabled true to generate bytecode for the fan-out between nodes, requires Gizmo
+     */
+    public BavetConstraintStreamScoreDirectorFactory(SolutionDescriptor<Solution_> solutionDescriptor,
+            ConstraintProvider constraintProvider, EnvironmentMode environmentMode, boolean parallelPrimingEnabled,
+            boolean nodeProfilingEnabled, boolean fanOutCompilationEnabled) {
         super(solutionDescriptor);
         BavetConstraintFactory<Solution_> constraintFactory = new BavetConstraintFactory<>(solutionDescriptor, environmentMode);
         constraintList = constraintFactory.buildConstraints(constraintProvider);
-        constraintSessionFactory = new BavetConstraintSessionFactory<>(solutionDescriptor, constraintList);
+        this.nodeProfilingEnabled = nodeProfilingEnabled;
+        constraintSessionFactory = new BavetConstraintSessionFactory<>(solutionDescriptor, constraintList,
+                parallelPrimingEnabled, nodeProfilingEnabled, fanOutCompilationEnabled);
+    }
+
+    public boolean isNodeProfilingEnabled() {
+        return nodeProfilingEnabled;
     }
 
     @Override
@@ -54,9 +89,20 @@ public final class BavetConstraintStreamScoreDirectorFactory<Solution_, Score_ e
         return constraintSessionFactory.buildSession(constraintMatchEnabled, workingSolution);
     }
 
+    /**
+     * @param session never null, built by {@link #newSession(boolean, Object)}
+     * @param workingSolution never null
+     * @return false if the session must be rebuilt to apply the constraint weights of the workingSolution
+     * @see BavetConstraintSessionFactory#updateConstraintWeights(BavetConstraintSession, Object)
+     */
+    public boolean updateConstraintWeights(BavetConstraintSession<Score_> session, Solution_ workingSolution) {
+        return constraintSessionFactory.updateConstraintWeights(session, workingSolution);
+    }
+
     @Override
     public AbstractScoreInliner<Score_> fireAndForget(Object... facts) {
-        BavetConstraintSession<Score_> session = newSession(true, null);
+        // The caller needs a single score inliner.
+        BavetConstraintSession<Score_> session = constraintSessionFactory.buildSession(true, null, 1);
         Arrays.stream(facts).forEach(session::insert);
         session.calculateScore(0);
         return session.getScoreInliner();
@@ -21,6 +21,7 @@ package org.optaplanner.constraint.streams.bavet;
 
 import static org.optaplanner.core.api.score.stream.ConstraintStreamImplType.DROOLS;
 
+import java.util.Objects;
 import java.util.function.Supplier;
 
 import org.optaplanner.constraint.streams.common.AbstractConstraintStreamScoreDirectorFactory;
@@ -35,10 +36,14 @@ import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.ScoreDirectorType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class BavetConstraintStreamScoreDirectorFactoryService<Solution_, Score_ extends Score<Score_>>
         extends AbstractConstraintStreamScoreDirectorFactoryService<Solution_, Score_> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(BavetConstraintStreamScoreDirectorFactoryService.class);
+
     @Override
     public int getPriority() {
         return Integer.MIN_VALUE;
@@ -68,7 +73,21 @@ public final class BavetConstraintStreamScoreDirectorFactoryService<Solution_, S
                         "constraintProviderClass", config.getConstraintProviderClass());
                 ConfigUtils.applyCustomProperties(constraintProvider, "constraintProviderClass",
                         config.getConstraintProviderCustomProperties(), "constraintProviderCustomProperties");
-                return buildScoreDirectorFactory(solutionDescriptor, constraintProvider, environmentMode, false);
+                boolean parallelPrimingEnabled =
+                        Objects.requireNonNullElse(config.getConstraintStreamParallelPrimingEnabled(), false);
+                boolean nodeProfilingEnabled =
+                        Objects.requireNonNullElse(config.getConstraintStreamNodeProfilingEnabled(), false);
+                boolean fanOutCompilationEnabled =
+                        Objects.requireNonNullElse(config.getConstraintStreamFanOutCompilationEnabled(), false);
+                if (fanOutCompilationEnabled && ConfigUtils.isNativeImage()) {
+                    // Generating classes at runtime does not work in native images, where there is no JIT to benefit.
+                    LOGGER.warn("The constraintStreamFanOutCompilationEnabled ({}) is ignored in a native image,"
+                            + " because classes cannot be generated at runtime there.",
+                            config.getConstraintStreamFanOutCompilationEnabled());
+                    fanOutCompilationEnabled = false;
+                }
+                return new BavetConstraintStreamScoreDirectorFactory<>(solutionDescriptor, constraintProvider,
+                        environmentMode, parallelPrimingEnabled, nodeProfilingEnabled, fanOutCompilationEnabled);
             };
         } else {
             if (config.getConstraintProviderCustomProperties() != null) {
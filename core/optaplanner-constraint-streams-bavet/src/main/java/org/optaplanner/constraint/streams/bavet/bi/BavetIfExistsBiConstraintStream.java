@@ -26,9 +26,11 @@ import org.optaplanner.constraint.streams.bavet.common.AbstractIfExistsNode;
 import org.optaplanner.constraint.streams.bavet.common.BavetAbstractConstraintStream;
 import org.optaplanner.constraint.streams.bavet.common.NodeBuildHelper;
 import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
 import org.optaplanner.constraint.streams.bavet.common.index.IndexerFactory;
 import org.optaplanner.constraint.streams.bavet.common.index.JoinerUtils;
 import org.optaplanner.constraint.streams.bavet.uni.BavetIfExistsBridgeUniConstraintStream;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.common.tri.DefaultTriJoiner;
 import org.optaplanner.core.api.function.TriPredicate;
 import org.optaplanner.core.api.score.Score;
@@ -81,33 +83,42 @@ public final class BavetIfExistsBiConstraintStream<Solution_, A, B, C>
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<BiTuple<A, B>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
         IndexerFactory indexerFactory = new IndexerFactory(joiner);
-        AbstractIfExistsNode<BiTuple<A, B>, C> node = indexerFactory.hasJoiners()
-                ? (filtering == null ? new IndexedIfExistsBiNode<>(shouldExist,
-                        JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                        buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                        downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false))
-                        : new IndexedIfExistsBiNode<>(shouldExist,
-                                JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                                buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                                downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false),
-                                filtering))
-                : (filtering == null ? new UnindexedIfExistsBiNode<>(shouldExist,
-                        buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()), downstream)
-                        : new UnindexedIfExistsBiNode<>(shouldExist,
-                                buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
-                                downstream, filtering));
+        AbstractIfExistsNode<BiTuple<A, B>, C> node;
+        if (indexerFactory.hasJoiners()) {
+            int inputStoreIndexRightProperties = buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource());
+            // Without filtering, the node only needs to know how many right tuples match, not which ones.
+            boolean sizeOnly = filtering == null;
+            Indexer<UniTuple<C>> indexerRight = buildHelper.buildRightIndexer(indexerFactory, joiner,
+                    parentAB.getTupleSource(), parentBridgeC, parentBridgeC.getParent(), inputStoreIndexRightProperties,
+                    sizeOnly);
+            node = filtering == null ? new IndexedIfExistsBiNode<>(shouldExist,
+                    JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                    buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                    inputStoreIndexRightProperties,
+                    buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
+                    downstream, indexerFactory.buildIndexer(true), indexerRight)
+                    : new IndexedIfExistsBiNode<>(shouldExist,
+                            JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                            buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                            inputStoreIndexRightProperties,
+                            buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
+                            downstream, indexerFactory.buildIndexer(true), indexerRight,
+                            filtering);
+        } else {
+            node = filtering == null ? new UnindexedIfExistsBiNode<>(shouldExist,
+                    buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()), downstream)
+                    : new UnindexedIfExistsBiNode<>(shouldExist,
+                            buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentAB.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeC.getTupleSource()),
+                            downstream, filtering);
+        }
         buildHelper.addNode(node, this, parentBridgeC);
     }
 
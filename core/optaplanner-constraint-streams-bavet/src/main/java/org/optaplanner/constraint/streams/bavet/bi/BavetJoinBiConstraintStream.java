@@ -19,9 +19,12 @@
 
 package org.optaplanner.constraint.streams.bavet.bi;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 import org.optaplanner.constraint.streams.bavet.BavetConstraintFactory;
 import org.optaplanner.constraint.streams.bavet.common.AbstractJoinNode;
@@ -35,6 +38,7 @@ import org.optaplanner.constraint.streams.bavet.uni.BavetJoinBridgeUniConstraint
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.common.bi.DefaultBiJoiner;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.stream.JoinerType;
 
 public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbstractBiConstraintStream<Solution_, A, B>
         implements BavetJoinConstraintStream<Solution_> {
@@ -75,29 +79,88 @@ public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbs
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         int outputStoreSize = buildHelper.extractTupleStoreSize(this);
         TupleLifecycle<BiTuple<A, B>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
+        if (isUniquePairSelfJoin()) {
+            buildSelfJoinNode(buildHelper, outputStoreSize, (TupleLifecycle) downstream);
+            return;
+        }
         IndexerFactory indexerFactory = new IndexerFactory(joiner);
-        AbstractJoinNode<UniTuple<A>, B, BiTuple<A, B>, BiTupleImpl<A, B>> node = indexerFactory.hasJoiners()
-                ? new IndexedJoinBiNode<>(
-                        JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                        buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                        downstream, filtering, outputStoreSize + 2,
-                        outputStoreSize, outputStoreSize + 1,
-                        indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false))
-                : new UnindexedJoinBiNode<>(
-                        buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                        downstream, filtering, outputStoreSize + 2,
-                        outputStoreSize, outputStoreSize + 1);
+        AbstractJoinNode<UniTuple<A>, B, BiTuple<A, B>, BiTupleImpl<A, B>> node;
+        if (indexerFactory.hasJoiners()) {
+            int inputStoreIndexRightProperties = buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource());
+            node = new IndexedJoinBiNode<>(
+                    JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    inputStoreIndexRightProperties,
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    downstream, filtering, outputStoreSize + 2,
+                    outputStoreSize, outputStoreSize + 1,
+                    indexerFactory.buildIndexer(true),
+                    buildHelper.buildRightIndexer(indexerFactory, joiner, leftParent.getTupleSource(), rightParent,
+                            rightParent.getParent(), inputStoreIndexRightProperties));
+        } else {
+            node = new UnindexedJoinBiNode<>(
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    downstream, filtering, outputStoreSize + 2,
+                    outputStoreSize, outputStoreSize + 1);
+        }
         buildHelper.addNode(node, leftParent, rightParent);
     }
 
+    /**
+     * A join of a stream with itself, with only equal joiners that use the same mapping on both sides,
+     * followed by a lessThan joiner that uses the same mapping on both sides,
+     * such as {@link org.optaplanner.core.api.score.stream.ConstraintFactory#forEachUniquePair(Class,
+     * org.optaplanner.core.api.score.stream.bi.BiJoiner[])}.
+     *
+     * @return true if {@link SelfJoinBiNode} can replace the general join node
+     */
+    private boolean isUniquePairSelfJoin() {
+        if (leftParent.getParent() != rightParent.getParent()) {
+            return false;
+        }
+        int lastJoinerIndex = joiner.getJoinerCount() - 1;
+        if (lastJoinerIndex < 0 || joiner.getJoinerType(lastJoinerIndex) != JoinerType.LESS_THAN) {
+            return false;
+        }
+        for (int i = 0; i <= lastJoinerIndex; i++) {
+            if (i < lastJoinerIndex && joiner.getJoinerType(i) != JoinerType.EQUAL) {
+                return false;
+            }
+            if (joiner.getLeftMapping(i) != joiner.getRightMapping(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <Score_ extends Score<Score_>> void buildSelfJoinNode(NodeBuildHelper<Score_> buildHelper,
+            int outputStoreSize, TupleLifecycle<BiTuple<A, A>> downstream) {
+        int lastJoinerIndex = joiner.getJoinerCount() - 1;
+        List<DefaultBiJoiner<A, A>> equalJoinerList = new ArrayList<>(lastJoinerIndex);
+        for (int i = 0; i < lastJoinerIndex; i++) {
+            Function<A, Object> mapping = joiner.getLeftMapping(i);
+            equalJoinerList.add(new DefaultBiJoiner<>(mapping, JoinerType.EQUAL, mapping));
+        }
+        DefaultBiJoiner<A, A> equalJoiner = DefaultBiJoiner.merge(equalJoinerList);
+        Function<A, Comparable> idMapping = (Function) joiner.getLeftMapping(lastJoinerIndex);
+        BavetAbstractConstraintStream<Solution_> tupleSource = leftParent.getTupleSource();
+        SelfJoinBiNode<A> node = new SelfJoinBiNode<>(JoinerUtils.combineLeftMappings(equalJoiner), idMapping,
+                buildHelper.reserveTupleStoreIndex(tupleSource),
+                buildHelper.reserveTupleStoreIndex(tupleSource),
+                buildHelper.reserveTupleStoreIndex(tupleSource),
+                buildHelper.reserveTupleStoreIndex(tupleSource),
+                downstream, (BiPredicate<A, A>) filtering, outputStoreSize + 2,
+                outputStoreSize, outputStoreSize + 1,
+                new IndexerFactory(equalJoiner).buildIndexer(true));
+        buildHelper.addSelfJoinNode(node, leftParent, rightParent);
+    }
+
     // ************************************************************************
     // Equality for node sharing
     // ************************************************************************
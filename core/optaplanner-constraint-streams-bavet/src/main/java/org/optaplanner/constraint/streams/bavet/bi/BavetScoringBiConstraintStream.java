@@ -119,9 +119,7 @@ public final class BavetScoringBiConstraintStream<Solution_, A, B>
             throw new IllegalStateException("Impossible state: the stream (" + this
                     + ") has an non-empty childStreamList (" + childStreamList + ") but it's an endpoint.");
         }
-        Score_ constraintWeight = buildHelper.getConstraintWeight(constraint);
-        WeightedScoreImpacter<Score_, ?> weightedScoreImpacter =
-                buildHelper.getScoreInliner().buildWeightedScoreImpacter(constraint, constraintWeight);
+        WeightedScoreImpacter<Score_, ?> weightedScoreImpacter = buildHelper.buildWeightedScoreImpacter(constraint);
         boolean constraintMatchEnabled = buildHelper.getScoreInliner().isConstraintMatchEnabled();
         BiFunction<A, B, UndoScoreImpacter> scoreImpacter;
         if (intMatchWeigher != null) {
@@ -186,8 +184,9 @@ public final class BavetScoringBiConstraintStream<Solution_, A, B>
             throw new IllegalStateException("Impossible state: neither of the supported match weighers provided.");
         }
         BiScorer<A, B> scorer = new BiScorer<>(constraint.getConstraintPackage(), constraint.getConstraintName(),
-                constraintWeight, scoreImpacter, buildHelper.reserveTupleStoreIndex(parent.getTupleSource()));
-        buildHelper.putInsertUpdateRetract(this, scorer);
+                weightedScoreImpacter, scoreImpacter, buildHelper.reserveTupleStoreIndex(parent.getTupleSource()),
+                buildHelper.reserveScorerEntryStoreIndex(weightedScoreImpacter, parent.getTupleSource()));
+        buildHelper.putScorer(this, constraint, scorer);
     }
 
     // ************************************************************************
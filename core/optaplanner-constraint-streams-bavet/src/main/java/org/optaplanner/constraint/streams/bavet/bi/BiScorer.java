@@ -23,15 +23,16 @@ import java.util.function.BiFunction;
 
 import org.optaplanner.constraint.streams.bavet.common.AbstractScorer;
 import org.optaplanner.constraint.streams.common.inliner.UndoScoreImpacter;
-import org.optaplanner.core.api.score.Score;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
 
 final class BiScorer<A, B> extends AbstractScorer<BiTuple<A, B>> {
 
     private final BiFunction<A, B, UndoScoreImpacter> scoreImpacter;
 
-    public BiScorer(String constraintPackage, String constraintName, Score<?> constraintWeight,
-            BiFunction<A, B, UndoScoreImpacter> scoreImpacter, int inputStoreIndex) {
-        super(constraintPackage, constraintName, constraintWeight, inputStoreIndex);
+    public BiScorer(String constraintPackage, String constraintName,
+            WeightedScoreImpacter<?, ?> weightedScoreImpacter, BiFunction<A, B, UndoScoreImpacter> scoreImpacter,
+            int inputStoreIndex, int entryStoreIndex) {
+        super(constraintPackage, constraintName, weightedScoreImpacter, inputStoreIndex, entryStoreIndex);
         this.scoreImpacter = scoreImpacter;
     }
 
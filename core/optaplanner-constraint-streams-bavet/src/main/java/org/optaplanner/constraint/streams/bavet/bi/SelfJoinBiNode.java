@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.bi;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.optaplanner.constraint.streams.bavet.common.AbstractJoinNode;
+import org.optaplanner.constraint.streams.bavet.common.AbstractNode;
+import org.optaplanner.constraint.streams.bavet.common.BavetTupleState;
+import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.common.TuplePool;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.TupleList;
+import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.index.IndexProperties;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+
+/**
+ * Joins a stream with itself, such as {@code forEachUniquePair(A.class, equal(A::getX))},
+ * which is {@code forEach(A.class).join(A.class, equal(A::getX), lessThan(A::getId))}.
+ * Both sides of such a join receive the same tuples and use the same equal mappings,
+ * so instead of a left index and a right index (each with a comparison index for the ids),
+ * this node indexes every tuple once by the equal properties
+ * and compares the ids of the tuples in the same bucket itself,
+ * emitting every pair once, with the tuple with the lowest id as {@code A}.
+ * <p>
+ * The out tuple bookkeeping mirrors {@link AbstractJoinNode},
+ * except that every input tuple has a single out tuple list,
+ * regardless if it is {@code A} or {@code B} in the out tuple.
+ * Therefore any change to that class should be inspected if it applies here too.
+ *
+ * @param <A>
+ */
+final class SelfJoinBiNode<A> extends AbstractNode implements TupleLifecycle<UniTuple<A>> {
+
+    private final Function<A, IndexProperties> mapping;
+    private final Function<A, Comparable> idMapping;
+    private final int inputStoreIndexProperties;
+    private final int inputStoreIndexId;
+    private final int inputStoreIndexEntry;
+    private final int inputStoreIndexOutTupleList;
+    private final TupleLifecycle<BiTuple<A, A>> nextNodesTupleLifecycle;
+    private final BiPredicate<A, A> filtering;
+    private final int outputStoreSize;
+    private final int outputStoreIndexOutEntryA;
+    private final int outputStoreIndexOutEntryB;
+    private final Indexer<UniTuple<A>> indexer;
+    private final Queue<BiTupleImpl<A, A>> dirtyTupleQueue;
+    /**
+     * Dead out tuples, reused together with their out entries.
+     */
+    private final TuplePool<BiTupleImpl<A, A>> deadTuplePool;
+
+    public SelfJoinBiNode(Function<A, IndexProperties> mapping, Function<A, Comparable> idMapping,
+            int inputStoreIndexProperties, int inputStoreIndexId, int inputStoreIndexEntry,
+            int inputStoreIndexOutTupleList,
+            TupleLifecycle<BiTuple<A, A>> nextNodesTupleLifecycle, BiPredicate<A, A> filtering,
+            int outputStoreSize, int outputStoreIndexOutEntryA, int outputStoreIndexOutEntryB,
+            Indexer<UniTuple<A>> indexer) {
+        this.mapping = mapping;
+        this.idMapping = idMapping;
+        this.inputStoreIndexProperties = inputStoreIndexProperties;
+        this.inputStoreIndexId = inputStoreIndexId;
+        this.inputStoreIndexEntry = inputStoreIndexEntry;
+        this.inputStoreIndexOutTupleList = inputStoreIndexOutTupleList;
+        this.nextNodesTupleLifecycle = nextNodesTupleLifecycle;
+        this.filtering = filtering;
+        this.outputStoreSize = outputStoreSize;
+        this.outputStoreIndexOutEntryA = outputStoreIndexOutEntryA;
+        this.outputStoreIndexOutEntryB = outputStoreIndexOutEntryB;
+        this.indexer = indexer;
+        dirtyTupleQueue = new ArrayDeque<>(1000);
+        deadTuplePool = new TuplePool<>(TuplePool.DEFAULT_MAX_SIZE, outputStoreIndexOutEntryA, outputStoreIndexOutEntryB);
+    }
+
+    @Override
+    public void insert(UniTuple<A> tuple) {
+        if (tuple.getStore(inputStoreIndexProperties) != null) {
+            throw new IllegalStateException("Impossible state: the input for the tuple (" + tuple
+                    + ") was already added in the tupleStore.");
+        }
+        tuple.setStore(inputStoreIndexOutTupleList, new TupleList<BiTupleImpl<A, A>>());
+        A fact = tuple.getFactA();
+        indexAndPropagate(tuple, mapping.apply(fact), idMapping.apply(fact));
+    }
+
+    @Override
+    public void update(UniTuple<A> tuple) {
+        IndexProperties oldIndexProperties = tuple.getStore(inputStoreIndexProperties);
+        if (oldIndexProperties == null) {
+            // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
+            insert(tuple);
+            return;
+        }
+        A fact = tuple.getFactA();
+        IndexProperties newIndexProperties = mapping.apply(fact);
+        Comparable newId = idMapping.apply(fact);
+        if (oldIndexProperties.equals(newIndexProperties) && Objects.equals(tuple.getStore(inputStoreIndexId), newId)) {
+            // No need for re-indexing because the index properties and the id didn't change
+            // Prefer an update over retract-insert if possible
+            innerUpdate(tuple, oldIndexProperties, newId);
+        } else {
+            ArrayTupleListEntry<UniTuple<A>> entry = tuple.getStore(inputStoreIndexEntry);
+            TupleList<BiTupleImpl<A, A>> outTupleList = tuple.getStore(inputStoreIndexOutTupleList);
+            indexer.remove(oldIndexProperties, entry);
+            outTupleList.forEach(this::retractOutTuple);
+            // outTupleList is now empty
+            indexAndPropagate(tuple, newIndexProperties, newId);
+        }
+    }
+
+    private void indexAndPropagate(UniTuple<A> tuple, IndexProperties indexProperties, Comparable id) {
+        // Visit the bucket before adding the tuple to it, so the tuple doesn't pair with itself
+        indexer.forEach(indexProperties, otherTuple -> {
+            int comparison = compareIds(id, otherTuple);
+            if (comparison < 0) {
+                insertOutTupleFiltered(tuple, otherTuple);
+            } else if (comparison > 0) {
+                insertOutTupleFiltered(otherTuple, tuple);
+            }
+        });
+        tuple.setStore(inputStoreIndexProperties, indexProperties);
+        tuple.setStore(inputStoreIndexId, id);
+        tuple.setStore(inputStoreIndexEntry, indexer.put(indexProperties, tuple));
+    }
+
+    private int compareIds(Comparable id, UniTuple<A> otherTuple) {
+        // Same as the lessThan() joiner: tuples with an equal id never pair
+        return id.compareTo(otherTuple.getStore(inputStoreIndexId));
+    }
+
+    private void innerUpdate(UniTuple<A> tuple, IndexProperties indexProperties, Comparable id) {
+        TupleList<BiTupleImpl<A, A>> outTupleList = tuple.getStore(inputStoreIndexOutTupleList);
+        if (filtering == null) {
+            // Propagate the update for downstream filters, matchWeighers, ...
+            outTupleList.forEach(outTuple -> {
+                if (isOutTupleA(outTuple, outTupleList)) {
+                    outTuple.factA = tuple.getFactA();
+                } else {
+                    outTuple.factB = tuple.getFactA();
+                }
+                doUpdateOutTuple(outTuple);
+            });
+        } else {
+            // Hack: the outTuple has no input tuple reference, use the outList reference of the other tuple instead
+            Map<TupleList<BiTupleImpl<A, A>>, BiTupleImpl<A, A>> otherToOutMap =
+                    new IdentityHashMap<>(outTupleList.size());
+            outTupleList.forEach(outTuple -> {
+                TupleListEntry<BiTupleImpl<A, A>> otherOutEntry = isOutTupleA(outTuple, outTupleList)
+                        ? outTuple.getStore(outputStoreIndexOutEntryB)
+                        : outTuple.getStore(outputStoreIndexOutEntryA);
+                otherToOutMap.put(otherOutEntry.getList(), outTuple);
+            });
+            indexer.forEach(indexProperties, otherTuple -> {
+                if (otherTuple == tuple) {
+                    return;
+                }
+                int comparison = compareIds(id, otherTuple);
+                if (comparison != 0) {
+                    BiTupleImpl<A, A> outTuple = otherToOutMap.get(otherTuple.getStore(inputStoreIndexOutTupleList));
+                    if (comparison < 0) {
+                        processOutTupleUpdate(tuple, otherTuple, outTuple);
+                    } else {
+                        processOutTupleUpdate(otherTuple, tuple, outTuple);
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean isOutTupleA(BiTupleImpl<A, A> outTuple, TupleList<BiTupleImpl<A, A>> outTupleList) {
+        TupleListEntry<BiTupleImpl<A, A>> outEntryA = outTuple.getStore(outputStoreIndexOutEntryA);
+        return outEntryA.getList() == outTupleList;
+    }
+
+    private void processOutTupleUpdate(UniTuple<A> tupleA, UniTuple<A> tupleB, BiTupleImpl<A, A> outTuple) {
+        if (filtering.test(tupleA.getFactA(), tupleB.getFactA())) {
+            if (outTuple == null) {
+                insertOutTuple(tupleA, tupleB);
+            } else {
+                outTuple.factA = tupleA.getFactA();
+                outTuple.factB = tupleB.getFactA();
+                doUpdateOutTuple(outTuple);
+            }
+        } else {
+            if (outTuple != null) {
+                retractOutTuple(outTuple);
+            }
+        }
+    }
+
+    @Override
+    public void retract(UniTuple<A> tuple) {
+        IndexProperties indexProperties = tuple.removeStore(inputStoreIndexProperties);
+        if (indexProperties == null) {
+            // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
+            return;
+        }
+        tuple.removeStore(inputStoreIndexId);
+        ArrayTupleListEntry<UniTuple<A>> entry = tuple.removeStore(inputStoreIndexEntry);
+        TupleList<BiTupleImpl<A, A>> outTupleList = tuple.removeStore(inputStoreIndexOutTupleList);
+        indexer.remove(indexProperties, entry);
+        outTupleList.forEach(this::retractOutTuple);
+    }
+
+    private void insertOutTupleFiltered(UniTuple<A> tupleA, UniTuple<A> tupleB) {
+        if (filtering == null || filtering.test(tupleA.getFactA(), tupleB.getFactA())) {
+            insertOutTuple(tupleA, tupleB);
+        }
+    }
+
+    private void insertOutTuple(UniTuple<A> tupleA, UniTuple<A> tupleB) {
+        TupleList<BiTupleImpl<A, A>> outTupleListA = tupleA.getStore(inputStoreIndexOutTupleList);
+        TupleList<BiTupleImpl<A, A>> outTupleListB = tupleB.getStore(inputStoreIndexOutTupleList);
+        TupleListEntry<BiTupleImpl<A, A>> outEntryA;
+        TupleListEntry<BiTupleImpl<A, A>> outEntryB;
+        BiTupleImpl<A, A> outTuple = deadTuplePool.poll();
+        if (outTuple == null) {
+            outTuple = new BiTupleImpl<>(tupleA.getFactA(), tupleB.getFactA(), outputStoreSize);
+            outEntryA = outTupleListA.add(outTuple);
+            outEntryB = outTupleListB.add(outTuple);
+        } else {
+            // The out entries were removed from their lists by retractOutTuple(), but the pool kept them in the store
+            outEntryA = outTuple.getStore(outputStoreIndexOutEntryA);
+            outEntryB = outTuple.getStore(outputStoreIndexOutEntryB);
+            outTuple.factA = tupleA.getFactA();
+            outTuple.factB = tupleB.getFactA();
+            outTupleListA.reattach(outEntryA);
+            outTupleListB.reattach(outEntryB);
+        }
+        outTuple.setStore(outputStoreIndexOutEntryA, outEntryA);
+        outTuple.setStore(outputStoreIndexOutEntryB, outEntryB);
+        dirtyTupleQueue.add(outTuple);
+        markDirty();
+    }
+
+    private void doUpdateOutTuple(BiTupleImpl<A, A> outTuple) {
+        switch (outTuple.getState()) {
+            case CREATING:
+            case UPDATING:
+                // Don't add the tuple to the dirtyTupleQueue twice
+                break;
+            case OK:
+                outTuple.setState(BavetTupleState.UPDATING);
+                dirtyTupleQueue.add(outTuple);
+                markDirty();
+                break;
+            // Impossible because they shouldn't linger in the indexes
+            case DYING:
+            case ABORTING:
+            case DEAD:
+            default:
+                throw new IllegalStateException("Impossible state: The tuple (" + outTuple.getState() + ") in node (" +
+                        this + ") is in an unexpected state (" + outTuple.getState() + ").");
+        }
+    }
+
+    private void retractOutTuple(BiTupleImpl<A, A> outTuple) {
+        // Keep the out entries in the store, so they can be reused together with the out tuple
+        TupleListEntry<BiTupleImpl<A, A>> outEntryA = outTuple.getStore(outputStoreIndexOutEntryA);
+        outEntryA.remove();
+        TupleListEntry<BiTupleImpl<A, A>> outEntryB = outTuple.getStore(outputStoreIndexOutEntryB);
+        outEntryB.remove();
+        switch (outTuple.getState()) {
+            case CREATING:
+                // Don't add the tuple to the dirtyTupleQueue twice
+                // Kill it before it propagates
+                outTuple.setState(BavetTupleState.ABORTING);
+                break;
+            case OK:
+                outTuple.setState(BavetTupleState.DYING);
+                dirtyTupleQueue.add(outTuple);
+                markDirty();
+                break;
+            case UPDATING:
+                // Don't add the tuple to the dirtyTupleQueue twice
+                // Kill the original propagation
+                outTuple.setState(BavetTupleState.DYING);
+                break;
+            // Impossible because they shouldn't linger in the indexes
+            case DYING:
+            case ABORTING:
+            case DEAD:
+            default:
+                throw new IllegalStateException("Impossible state: The tuple (" + outTuple.getState() + ") in node (" +
+                        this + ") is in an unexpected state (" + outTuple.getState() + ").");
+        }
+    }
+
+    @Override
+    public void calculateScore() {
+        // Tuples recycled in a previous pass are no longer read downstream
+        deadTuplePool.release();
+        for (BiTupleImpl<A, A> tuple : dirtyTupleQueue) {
+            switch (tuple.getState()) {
+                case CREATING:
+                    nextNodesTupleLifecycle.insert(tuple);
+                    tuple.setState(BavetTupleState.OK);
+                    break;
+                case UPDATING:
+                    nextNodesTupleLifecycle.update(tuple);
+                    tuple.setState(BavetTupleState.OK);
+                    break;
+                case DYING:
+                    nextNodesTupleLifecycle.retract(tuple);
+                    tuple.setState(BavetTupleState.DEAD);
+                    deadTuplePool.recycle(tuple);
+                    break;
+                case ABORTING:
+                    tuple.setState(BavetTupleState.DEAD);
+                    deadTuplePool.recycle(tuple);
+                    break;
+                case OK:
+                case DEAD:
+                default:
+                    throw new IllegalStateException("Impossible state: The tuple (" + tuple + ") in node (" +
+                            this + ") is in an unexpected state (" + tuple.getState() + ").");
+            }
+        }
+        dirtyTupleQueue.clear();
+        if (deadTuplePool.hasUnreleasedTuples()) {
+            // Release them in the next pass, even if this node has no other work then
+            markDirty();
+        }
+    }
+
+    @Override
+    public int getIndexSize() {
+        return indexer.totalSize();
+    }
+
+}
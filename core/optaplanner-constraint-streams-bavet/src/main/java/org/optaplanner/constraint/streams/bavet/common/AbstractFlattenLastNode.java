@@ -66,6 +66,7 @@ public abstract class AbstractFlattenLastNode<InTuple_ extends Tuple, OutTuple_
         OutTuple_ tuple = createTuple(originalTuple, item);
         outTupleList.add(tuple);
         dirtyTupleQueue.add(tuple);
+        markDirty();
     }
 
     protected abstract OutTuple_ createTuple(InTuple_ originalTuple, FlattenedItem_ item);
@@ -110,6 +111,7 @@ public abstract class AbstractFlattenLastNode<InTuple_ extends Tuple, OutTuple_
             } else {
                 outTuple.setState(BavetTupleState.UPDATING);
                 dirtyTupleQueue.add(outTuple);
+                markDirty();
             }
         }
         // Whatever is left in the input needs to be added.
@@ -148,6 +150,7 @@ public abstract class AbstractFlattenLastNode<InTuple_ extends Tuple, OutTuple_
                         ") is in an unexpected state (" + outTuple.getState() + ").");
         }
         dirtyTupleQueue.add(outTuple);
+        markDirty();
     }
 
     @Override
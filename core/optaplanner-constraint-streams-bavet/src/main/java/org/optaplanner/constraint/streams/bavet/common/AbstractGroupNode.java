@@ -124,6 +124,7 @@ public abstract class AbstractGroupNode<InTuple_ extends Tuple, OutTuple_ extend
             case OK:
                 outTuple.setState(BavetTupleState.UPDATING);
                 dirtyGroupQueue.add(newGroup);
+                markDirty();
                 break;
             case DYING:
                 outTuple.setState(BavetTupleState.UPDATING);
@@ -177,6 +178,7 @@ public abstract class AbstractGroupNode<InTuple_ extends Tuple, OutTuple_ extend
                         : new GroupWithoutAccumulate<>(groupMapKey, outTuple);
         // Don't add it if (state == CREATING), but (newGroup != null), which is a 2nd insert of the same newGroupKey.
         dirtyGroupQueue.add(group);
+        markDirty();
         return group;
     }
 
@@ -209,6 +211,7 @@ public abstract class AbstractGroupNode<InTuple_ extends Tuple, OutTuple_ extend
                 case OK:
                     outTuple.setState(BavetTupleState.UPDATING);
                     dirtyGroupQueue.add(oldGroup);
+                    markDirty();
                     break;
                 case DYING:
                 case ABORTING:
@@ -250,6 +253,7 @@ public abstract class AbstractGroupNode<InTuple_ extends Tuple, OutTuple_ extend
             case OK:
                 outTuple.setState(killGroup ? BavetTupleState.DYING : BavetTupleState.UPDATING);
                 dirtyGroupQueue.add(group);
+                markDirty();
                 break;
             case DYING:
             case ABORTING:
@@ -73,6 +73,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
             // Counters start out dead
             counter.state = BavetTupleState.CREATING;
             dirtyCounterQueue.add(counter);
+            markDirty();
         }
     }
 
@@ -89,6 +90,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
                 // Still needed to propagate the update for downstream filters, matchWeighers, ...
                 counter.state = BavetTupleState.UPDATING;
                 dirtyCounterQueue.add(counter);
+                markDirty();
                 break;
             default:
                 throw new IllegalStateException("Impossible state: The counter (" + counter.state + ") in node (" +
@@ -107,6 +109,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
                 case OK:
                     counter.state = BavetTupleState.UPDATING;
                     dirtyCounterQueue.add(counter);
+                    markDirty();
                     break;
                 case DYING:
                     counter.state = BavetTupleState.UPDATING;
@@ -114,6 +117,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
                 case DEAD:
                     counter.state = BavetTupleState.CREATING;
                     dirtyCounterQueue.add(counter);
+                    markDirty();
                     break;
                 case ABORTING:
                     counter.state = BavetTupleState.CREATING;
@@ -136,6 +140,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
                 case OK:
                     counter.state = BavetTupleState.DYING;
                     dirtyCounterQueue.add(counter);
+                    markDirty();
                     break;
                 case DYING:
                 case DEAD:
@@ -213,6 +218,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
             case DEAD:
                 counter.state = BavetTupleState.CREATING;
                 dirtyCounterQueue.add(counter);
+                markDirty();
                 break;
             case ABORTING:
                 counter.state = BavetTupleState.CREATING;
@@ -236,6 +242,7 @@ public abstract class AbstractIfExistsNode<LeftTuple_ extends Tuple, Right_>
             case OK:
                 counter.state = BavetTupleState.DYING;
                 dirtyCounterQueue.add(counter);
+                markDirty();
                 break;
             default:
                 throw new IllegalStateException("Impossible state: The counter (" + counter
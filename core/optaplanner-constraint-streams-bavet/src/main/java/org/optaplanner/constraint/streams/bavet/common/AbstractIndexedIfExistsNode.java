@@ -21,8 +21,8 @@ package org.optaplanner.constraint.streams.bavet.common;
 
 import java.util.function.Function;
 
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.constraint.streams.bavet.common.collection.TupleList;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
 import org.optaplanner.constraint.streams.bavet.common.index.IndexProperties;
 import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
@@ -44,7 +44,7 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
     private final int inputStoreIndexRightProperties;
     private final int inputStoreIndexRightEntry;
     private final Indexer<ExistsCounter<LeftTuple_>> indexerLeft;
-    private final Indexer<UniTuple<Right_>> indexerRight;
+    private final Indexer<UniTuple<Right_>> indexerRight; // Possibly only counts the right tuples, unless filtering
 
     protected AbstractIndexedIfExistsNode(boolean shouldExist,
             Function<Right_, IndexProperties> mappingRight,
@@ -75,7 +75,7 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
         leftTuple.setStore(inputStoreIndexLeftProperties, indexProperties);
 
         ExistsCounter<LeftTuple_> counter = new ExistsCounter<>(leftTuple);
-        TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = indexerLeft.put(indexProperties, counter);
+        ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = indexerLeft.put(indexProperties, counter);
         leftTuple.setStore(inputStoreIndexLeftCounterEntry, counterEntry);
 
         if (!isFiltering) {
@@ -98,7 +98,7 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
             return;
         }
         IndexProperties newIndexProperties = createIndexProperties(leftTuple);
-        TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.getStore(inputStoreIndexLeftCounterEntry);
+        ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.getStore(inputStoreIndexLeftCounterEntry);
         ExistsCounter<LeftTuple_> counter = counterEntry.getElement();
 
         if (oldIndexProperties.equals(newIndexProperties)) {
@@ -140,13 +140,13 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
         }
-        TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.getStore(inputStoreIndexLeftCounterEntry);
+        ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.getStore(inputStoreIndexLeftCounterEntry);
         ExistsCounter<LeftTuple_> counter = counterEntry.getElement();
         updateIndexerLeft(indexProperties, counterEntry, leftTuple);
         killCounterLeft(counter);
     }
 
-    private void updateIndexerLeft(IndexProperties indexProperties, TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry,
+    private void updateIndexerLeft(IndexProperties indexProperties, ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry,
             LeftTuple_ leftTuple) {
         indexerLeft.remove(indexProperties, counterEntry);
         if (isFiltering) {
@@ -164,7 +164,7 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
         IndexProperties indexProperties = mappingRight.apply(rightTuple.getFactA());
         rightTuple.setStore(inputStoreIndexRightProperties, indexProperties);
 
-        TupleListEntry<UniTuple<Right_>> rightEntry = indexerRight.put(indexProperties, rightTuple);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = indexerRight.put(indexProperties, rightTuple);
         rightTuple.setStore(inputStoreIndexRightEntry, rightEntry);
         if (!isFiltering) {
             indexerLeft.forEach(indexProperties, this::incrementCounterRight);
@@ -193,7 +193,7 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
                         counter -> updateCounterFromRight(rightTuple, counter, rightTrackerList));
             }
         } else {
-            TupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.getStore(inputStoreIndexRightEntry);
+            ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.getStore(inputStoreIndexRightEntry);
             indexerRight.remove(oldIndexProperties, rightEntry);
             if (!isFiltering) {
                 indexerLeft.forEach(oldIndexProperties, this::decrementCounterRight);
@@ -221,7 +221,7 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
         }
-        TupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.removeStore(inputStoreIndexRightEntry);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.removeStore(inputStoreIndexRightEntry);
         indexerRight.remove(indexProperties, rightEntry);
         if (!isFiltering) {
             indexerLeft.forEach(indexProperties, this::decrementCounterRight);
@@ -232,4 +232,9 @@ public abstract class AbstractIndexedIfExistsNode<LeftTuple_ extends Tuple, Righ
 
     protected abstract IndexProperties createIndexProperties(LeftTuple_ leftTuple);
 
+    @Override
+    public final int getIndexSize() {
+        return indexerLeft.totalSize() + indexerRight.totalSize();
+    }
+
 }
@@ -21,8 +21,8 @@ package org.optaplanner.constraint.streams.bavet.common;
 
 import java.util.function.Function;
 
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.constraint.streams.bavet.common.collection.TupleList;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
 import org.optaplanner.constraint.streams.bavet.common.index.IndexProperties;
 import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
@@ -92,7 +92,7 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
             // Prefer an update over retract-insert if possible
             innerUpdateLeft(leftTuple, consumer -> indexerRight.forEach(oldIndexProperties, consumer));
         } else {
-            TupleListEntry<LeftTuple_> leftEntry = leftTuple.getStore(inputStoreIndexLeftEntry);
+            ArrayTupleListEntry<LeftTuple_> leftEntry = leftTuple.getStore(inputStoreIndexLeftEntry);
             TupleList<MutableOutTuple_> outTupleListLeft = leftTuple.getStore(inputStoreIndexLeftOutTupleList);
             indexerLeft.remove(oldIndexProperties, leftEntry);
             outTupleListLeft.forEach(this::retractOutTuple);
@@ -104,7 +104,7 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
 
     private void indexAndPropagateLeft(LeftTuple_ leftTuple, IndexProperties indexProperties) {
         leftTuple.setStore(inputStoreIndexLeftProperties, indexProperties);
-        TupleListEntry<LeftTuple_> leftEntry = indexerLeft.put(indexProperties, leftTuple);
+        ArrayTupleListEntry<LeftTuple_> leftEntry = indexerLeft.put(indexProperties, leftTuple);
         leftTuple.setStore(inputStoreIndexLeftEntry, leftEntry);
         indexerRight.forEach(indexProperties, rightTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
     }
@@ -116,7 +116,7 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
         }
-        TupleListEntry<LeftTuple_> leftEntry = leftTuple.removeStore(inputStoreIndexLeftEntry);
+        ArrayTupleListEntry<LeftTuple_> leftEntry = leftTuple.removeStore(inputStoreIndexLeftEntry);
         TupleList<MutableOutTuple_> outTupleListLeft = leftTuple.removeStore(inputStoreIndexLeftOutTupleList);
         indexerLeft.remove(indexProperties, leftEntry);
         outTupleListLeft.forEach(this::retractOutTuple);
@@ -149,7 +149,7 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
             // Prefer an update over retract-insert if possible
             innerUpdateRight(rightTuple, consumer -> indexerLeft.forEach(oldIndexProperties, consumer));
         } else {
-            TupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.getStore(inputStoreIndexRightEntry);
+            ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.getStore(inputStoreIndexRightEntry);
             TupleList<MutableOutTuple_> outTupleListRight = rightTuple.getStore(inputStoreIndexRightOutTupleList);
             indexerRight.remove(oldIndexProperties, rightEntry);
             outTupleListRight.forEach(this::retractOutTuple);
@@ -161,7 +161,7 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
 
     private void indexAndPropagateRight(UniTuple<Right_> rightTuple, IndexProperties indexProperties) {
         rightTuple.setStore(inputStoreIndexRightProperties, indexProperties);
-        TupleListEntry<UniTuple<Right_>> rightEntry = indexerRight.put(indexProperties, rightTuple);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = indexerRight.put(indexProperties, rightTuple);
         rightTuple.setStore(inputStoreIndexRightEntry, rightEntry);
         indexerLeft.forEach(indexProperties, leftTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
     }
@@ -173,7 +173,7 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
         }
-        TupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.removeStore(inputStoreIndexRightEntry);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.removeStore(inputStoreIndexRightEntry);
         TupleList<MutableOutTuple_> outTupleListRight = rightTuple.removeStore(inputStoreIndexRightOutTupleList);
         indexerRight.remove(indexProperties, rightEntry);
         outTupleListRight.forEach(this::retractOutTuple);
@@ -181,4 +181,9 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends Tuple, Right_,
 
     protected abstract IndexProperties createIndexPropertiesLeft(LeftTuple_ leftTuple);
 
+    @Override
+    public final int getIndexSize() {
+        return indexerLeft.totalSize() + indexerRight.totalSize();
+    }
+
 }
@@ -51,7 +51,11 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
     private final boolean isFiltering;
     private final int outputStoreIndexLeftOutEntry;
     private final int outputStoreIndexRightOutEntry;
-    protected final Queue<OutTuple_> dirtyTupleQueue;
+    protected final Queue<MutableOutTuple_> dirtyTupleQueue;
+    /**
+     * Dead out tuples, reused together with their left and right out entries.
+     */
+    private final TuplePool<MutableOutTuple_> deadTuplePool;
 
     protected AbstractJoinNode(int inputStoreIndexLeftOutTupleList, int inputStoreIndexRightOutTupleList,
             TupleLifecycle<OutTuple_> nextNodesTupleLifecycle, boolean isFiltering,
@@ -63,6 +67,8 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
         this.outputStoreIndexLeftOutEntry = outputStoreIndexLeftOutEntry;
         this.outputStoreIndexRightOutEntry = outputStoreIndexRightOutEntry;
         dirtyTupleQueue = new ArrayDeque<>(1000);
+        deadTuplePool = new TuplePool<>(TuplePool.DEFAULT_MAX_SIZE,
+                outputStoreIndexLeftOutEntry, outputStoreIndexRightOutEntry);
     }
 
     protected abstract MutableOutTuple_ createOutTuple(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple);
@@ -74,14 +80,28 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
     protected abstract boolean testFiltering(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple);
 
     protected final void insertOutTuple(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple) {
-        MutableOutTuple_ outTuple = createOutTuple(leftTuple, rightTuple);
         TupleList<MutableOutTuple_> outTupleListLeft = leftTuple.getStore(inputStoreIndexLeftOutTupleList);
-        TupleListEntry<MutableOutTuple_> outEntryLeft = outTupleListLeft.add(outTuple);
-        outTuple.setStore(outputStoreIndexLeftOutEntry, outEntryLeft);
         TupleList<MutableOutTuple_> outTupleListRight = rightTuple.getStore(inputStoreIndexRightOutTupleList);
-        TupleListEntry<MutableOutTuple_> outEntryRight = outTupleListRight.add(outTuple);
+        TupleListEntry<MutableOutTuple_> outEntryLeft;
+        TupleListEntry<MutableOutTuple_> outEntryRight;
+        MutableOutTuple_ outTuple = deadTuplePool.poll();
+        if (outTuple == null) {
+            outTuple = createOutTuple(leftTuple, rightTuple);
+            outEntryLeft = outTupleListLeft.add(outTuple);
+            outEntryRight = outTupleListRight.add(outTuple);
+        } else {
+            // The out entries were removed from their lists by retractOutTuple(), but the pool kept them in the store
+            outEntryLeft = outTuple.getStore(outputStoreIndexLeftOutEntry);
+            outEntryRight = outTuple.getStore(outputStoreIndexRightOutEntry);
+            setOutTupleLeftFacts(outTuple, leftTuple);
+            setOutTupleRightFact(outTuple, rightTuple);
+            outTupleListLeft.reattach(outEntryLeft);
+            outTupleListRight.reattach(outEntryRight);
+        }
+        outTuple.setStore(outputStoreIndexLeftOutEntry, outEntryLeft);
         outTuple.setStore(outputStoreIndexRightOutEntry, outEntryRight);
         dirtyTupleQueue.add(outTuple);
+        markDirty();
     }
 
     protected final void insertOutTupleFiltered(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple) {
@@ -116,7 +136,7 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
         doUpdateOutTuple(outTuple);
     }
 
-    private void doUpdateOutTuple(OutTuple_ outTuple) {
+    private void doUpdateOutTuple(MutableOutTuple_ outTuple) {
         switch (outTuple.getState()) {
             case CREATING:
             case UPDATING:
@@ -125,6 +145,7 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
             case OK:
                 outTuple.setState(BavetTupleState.UPDATING);
                 dirtyTupleQueue.add(outTuple);
+                markDirty();
                 break;
             // Impossible because they shouldn't linger in the indexes
             case DYING:
@@ -176,9 +197,10 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
     }
 
     protected final void retractOutTuple(MutableOutTuple_ outTuple) {
-        TupleListEntry<MutableOutTuple_> outEntryLeft = outTuple.removeStore(outputStoreIndexLeftOutEntry);
+        // Keep the out entries in the store, so they can be reused together with the out tuple
+        TupleListEntry<MutableOutTuple_> outEntryLeft = outTuple.getStore(outputStoreIndexLeftOutEntry);
         outEntryLeft.remove();
-        TupleListEntry<MutableOutTuple_> outEntryRight = outTuple.removeStore(outputStoreIndexRightOutEntry);
+        TupleListEntry<MutableOutTuple_> outEntryRight = outTuple.getStore(outputStoreIndexRightOutEntry);
         outEntryRight.remove();
         switch (outTuple.getState()) {
             case CREATING:
@@ -189,6 +211,7 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
             case OK:
                 outTuple.setState(BavetTupleState.DYING);
                 dirtyTupleQueue.add(outTuple);
+                markDirty();
                 break;
             case UPDATING:
                 // Don't add the tuple to the dirtyTupleQueue twice
@@ -207,7 +230,9 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
 
     @Override
     public final void calculateScore() {
-        for (OutTuple_ tuple : dirtyTupleQueue) {
+        // Tuples recycled in a previous pass are no longer read downstream
+        deadTuplePool.release();
+        for (MutableOutTuple_ tuple : dirtyTupleQueue) {
             switch (tuple.getState()) {
                 case CREATING:
                     nextNodesTupleLifecycle.insert(tuple);
@@ -220,9 +245,11 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
                 case DYING:
                     nextNodesTupleLifecycle.retract(tuple);
                     tuple.setState(BavetTupleState.DEAD);
+                    deadTuplePool.recycle(tuple);
                     break;
                 case ABORTING:
                     tuple.setState(BavetTupleState.DEAD);
+                    deadTuplePool.recycle(tuple);
                     break;
                 case OK:
                 case DEAD:
@@ -232,6 +259,10 @@ public abstract class AbstractJoinNode<LeftTuple_ extends Tuple, Right_, OutTupl
             }
         }
         dirtyTupleQueue.clear();
+        if (deadTuplePool.hasUnreleasedTuples()) {
+            // Release them in the next pass, even if this node has no other work then
+            markDirty();
+        }
     }
 
 }
@@ -35,7 +35,8 @@ public abstract class AbstractMapNode<InTuple_ extends Tuple, Right_>
      */
     private final TupleLifecycle<UniTuple<Right_>> nextNodesTupleLifecycle;
     private final int outputStoreSize;
-    private final Queue<UniTuple<Right_>> dirtyTupleQueue;
+    private final Queue<UniTupleImpl<Right_>> dirtyTupleQueue;
+    private final TuplePool<UniTupleImpl<Right_>> deadTuplePool = new TuplePool<>(TuplePool.DEFAULT_MAX_SIZE);
 
     protected AbstractMapNode(int inputStoreIndex, TupleLifecycle<UniTuple<Right_>> nextNodesTupleLifecycle,
             int outputStoreSize) {
@@ -52,9 +53,15 @@ public abstract class AbstractMapNode<InTuple_ extends Tuple, Right_>
                     + ") was already added in the tupleStore.");
         }
         Right_ mapped = map(tuple);
-        UniTuple<Right_> outTuple = new UniTupleImpl<>(mapped, outputStoreSize);
+        UniTupleImpl<Right_> outTuple = deadTuplePool.poll();
+        if (outTuple == null) {
+            outTuple = new UniTupleImpl<>(mapped, outputStoreSize);
+        } else {
+            outTuple.factA = mapped;
+        }
         tuple.setStore(inputStoreIndex, outTuple);
         dirtyTupleQueue.add(outTuple);
+        markDirty();
     }
 
     protected abstract Right_ map(InTuple_ tuple);
@@ -74,23 +81,27 @@ public abstract class AbstractMapNode<InTuple_ extends Tuple, Right_>
             outTuple.factA = mapped;
             outTuple.state = BavetTupleState.UPDATING;
             dirtyTupleQueue.add(outTuple);
+            markDirty();
         }
     }
 
     @Override
     public void retract(InTuple_ tuple) {
-        UniTuple<Right_> outTuple = tuple.removeStore(inputStoreIndex);
+        UniTupleImpl<Right_> outTuple = tuple.removeStore(inputStoreIndex);
         if (outTuple == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
         }
         outTuple.setState(BavetTupleState.DYING);
         dirtyTupleQueue.add(outTuple);
+        markDirty();
     }
 
     @Override
     public void calculateScore() {
-        for (UniTuple<Right_> tuple : dirtyTupleQueue) {
+        // Tuples recycled in a previous pass are no longer read downstream
+        deadTuplePool.release();
+        for (UniTupleImpl<Right_> tuple : dirtyTupleQueue) {
             switch (tuple.getState()) {
                 case CREATING:
                     nextNodesTupleLifecycle.insert(tuple);
@@ -103,9 +114,11 @@ public abstract class AbstractMapNode<InTuple_ extends Tuple, Right_>
                 case DYING:
                     nextNodesTupleLifecycle.retract(tuple);
                     tuple.setState(BavetTupleState.DEAD);
+                    deadTuplePool.recycle(tuple);
                     break;
                 case ABORTING:
                     tuple.setState(BavetTupleState.DEAD);
+                    deadTuplePool.recycle(tuple);
                     break;
                 case OK:
                 case DEAD:
@@ -115,6 +128,10 @@ public abstract class AbstractMapNode<InTuple_ extends Tuple, Right_>
             }
         }
         dirtyTupleQueue.clear();
+        if (deadTuplePool.hasUnreleasedTuples()) {
+            // Release them in the next pass, even if this node has no other work then
+            markDirty();
+        }
     }
 
 }
@@ -19,16 +19,56 @@
 
 package org.optaplanner.constraint.streams.bavet.common;
 
+import java.util.BitSet;
+
 public abstract class AbstractNode {
 
     private long id;
+    private BitSet dirtyNodeIndexSet = null;
+    private int nodeIndex = -1;
 
+    /**
+     * Propagates the pending work of this node downstream.
+     * The session only calls this if the node {@link #markDirty() marked itself dirty} since the previous call.
+     */
     public abstract void calculateScore();
 
+    /**
+     * @param dirtyNodeIndexSet never null, shared by all nodes of the same session partition
+     * @param nodeIndex {@code >= 0}, the index of this node in the topologically ordered nodes of that partition
+     */
+    public void setDirtyNodeIndexSet(BitSet dirtyNodeIndexSet, int nodeIndex) {
+        this.dirtyNodeIndexSet = dirtyNodeIndexSet;
+        this.nodeIndex = nodeIndex;
+    }
+
+    /**
+     * Must be called whenever this node queues work for its next {@link #calculateScore()}.
+     * A node without a session partition (such as in a unit test) ignores this.
+     */
+    protected final void markDirty() {
+        if (dirtyNodeIndexSet != null) {
+            dirtyNodeIndexSet.set(nodeIndex);
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
     public void setId(long id) {
         this.id = id;
     }
 
+    /**
+     * Only used by {@link NodeProfiler}, so it is not meant for the hot path.
+     *
+     * @return {@code >= 0}, the number of tuples in the indexes of this node, 0 if it has no indexes
+     */
+    public int getIndexSize() {
+        return 0;
+    }
+
     @Override
     public String toString() {
         // Useful for debugging if a constraint has multiple nodes of the same type
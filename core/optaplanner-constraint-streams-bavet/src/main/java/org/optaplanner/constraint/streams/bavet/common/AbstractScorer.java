@@ -19,21 +19,49 @@
 
 package org.optaplanner.constraint.streams.bavet.common;
 
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleList;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.constraint.streams.common.inliner.UndoScoreImpacter;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 
 public abstract class AbstractScorer<Tuple_ extends Tuple> implements TupleLifecycle<Tuple_> {
 
     private final String constraintId;
-    private final Score<?> constraintWeight;
+    private final WeightedScoreImpacter<?, ?> weightedScoreImpacter;
     private final int inputStoreIndex;
+    // Only if the constraint weight can change, the scorer tracks its tuples, so it can re-impact them.
+    private final ReweightableScoreImpacter<?> reweightableScoreImpacter; // Null if the weight is fixed
+    private final int entryStoreIndex; // -1 if the weight is fixed
+    private final ArrayTupleList<Tuple_> tupleList; // Null if the weight is fixed
 
+    /**
+     * @param constraintPackage never null
+     * @param constraintName never null
+     * @param weightedScoreImpacter never null, the impacter that the scoreImpacter of the subclass calls
+     * @param inputStoreIndex the store index where the scorer keeps the {@link UndoScoreImpacter} of a tuple
+     * @param entryStoreIndex the store index where the scorer keeps the tracking entry of a tuple,
+     *        if the weightedScoreImpacter is a {@link ReweightableScoreImpacter}, otherwise -1
+     */
     protected AbstractScorer(String constraintPackage, String constraintName,
-            Score<?> constraintWeight, int inputStoreIndex) {
+            WeightedScoreImpacter<?, ?> weightedScoreImpacter, int inputStoreIndex, int entryStoreIndex) {
         this.constraintId = ConstraintMatchTotal.composeConstraintId(constraintPackage, constraintName);
-        this.constraintWeight = constraintWeight;
+        this.weightedScoreImpacter = weightedScoreImpacter;
         this.inputStoreIndex = inputStoreIndex;
+        if (weightedScoreImpacter instanceof ReweightableScoreImpacter) {
+            if (entryStoreIndex < 0) {
+                throw new IllegalArgumentException("Impossible state: the constraint (" + constraintId
+                        + ") has a reweightable constraint weight, but no entryStoreIndex (" + entryStoreIndex + ").");
+            }
+            this.reweightableScoreImpacter = (ReweightableScoreImpacter<?>) weightedScoreImpacter;
+            this.entryStoreIndex = entryStoreIndex;
+            this.tupleList = new ArrayTupleList<>();
+        } else {
+            this.reweightableScoreImpacter = null;
+            this.entryStoreIndex = -1;
+            this.tupleList = null;
+        }
     }
 
     @Override
@@ -43,6 +71,9 @@ public abstract class AbstractScorer<Tuple_ extends Tuple> implements TupleLifec
                     + ") was already added in the tupleStore.");
         }
         tuple.setStore(inputStoreIndex, impact(tuple));
+        if (tupleList != null) {
+            track(tuple);
+        }
     }
 
     @Override
@@ -53,6 +84,16 @@ public abstract class AbstractScorer<Tuple_ extends Tuple> implements TupleLifec
             undoScoreImpacter.run();
         }
         tuple.setStore(inputStoreIndex, impact(tuple));
+        if (tupleList != null) {
+            track(tuple);
+        }
+    }
+
+    private void track(Tuple_ tuple) {
+        // An update can be the first call for a tuple, if it didn't make it through the filter predicate(s) before.
+        if (tuple.getStore(entryStoreIndex) == null) {
+            tuple.setStore(entryStoreIndex, tupleList.add(tuple));
+        }
     }
 
     protected abstract UndoScoreImpacter impact(Tuple_ tuple);
@@ -78,11 +119,51 @@ public abstract class AbstractScorer<Tuple_ extends Tuple> implements TupleLifec
             undoScoreImpacter.run();
             tuple.setStore(inputStoreIndex, null);
         }
+        if (tupleList != null) {
+            ArrayTupleListEntry<Tuple_> entry = tuple.removeStore(entryStoreIndex);
+            if (entry != null) {
+                tupleList.remove(entry);
+            }
+        }
+    }
+
+    public final boolean isReweightable() {
+        return reweightableScoreImpacter != null;
+    }
+
+    /**
+     * Undoes the impact of every current match and impacts it again with the new constraint weight.
+     * A change from or to a zero constraint weight is no exception:
+     * while the constraint weight is zero, the scorer keeps tracking its matches, but they don't impact the score.
+     *
+     * @param constraintWeight never null, may be zero
+     * @throws IllegalStateException if the constraint weight of this scorer is fixed
+     */
+    public final void reweight(Score<?> constraintWeight) {
+        if (reweightableScoreImpacter == null) {
+            throw new IllegalStateException("Impossible state: the constraint (" + constraintId
+                    + ") has a fixed constraint weight (" + getConstraintWeight() + ").");
+        }
+        tupleList.forEach(tuple -> {
+            UndoScoreImpacter undoScoreImpacter = tuple.getStore(inputStoreIndex);
+            if (undoScoreImpacter != null) {
+                undoScoreImpacter.run();
+            }
+        });
+        ((ReweightableScoreImpacter) reweightableScoreImpacter).setConstraintWeight(constraintWeight);
+        tupleList.forEach(tuple -> tuple.setStore(inputStoreIndex, impact(tuple)));
+    }
+
+    public final Score<?> getConstraintWeight() {
+        if (reweightableScoreImpacter != null) {
+            return reweightableScoreImpacter.getConstraintWeight();
+        }
+        return weightedScoreImpacter.getContext().getConstraintWeight();
     }
 
     @Override
     public final String toString() {
-        return getClass().getSimpleName() + "(" + constraintId + ") with constraintWeight (" + constraintWeight + ")";
+        return getClass().getSimpleName() + "(" + constraintId + ") with constraintWeight (" + getConstraintWeight() + ")";
     }
 
 }
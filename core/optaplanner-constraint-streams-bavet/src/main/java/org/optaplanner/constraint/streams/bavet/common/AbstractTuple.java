@@ -19,6 +19,8 @@
 
 package org.optaplanner.constraint.streams.bavet.common;
 
+import java.util.Arrays;
+
 public abstract class AbstractTuple implements Tuple {
 
     /*
@@ -77,4 +79,13 @@ public abstract class AbstractTuple implements Tuple {
         return value;
     }
 
+    @Override
+    public final void clearStore() {
+        if (storeIsArray) {
+            Arrays.fill((Object[]) store, null);
+        } else {
+            store = null;
+        }
+    }
+
 }
@@ -19,8 +19,9 @@
 
 package org.optaplanner.constraint.streams.bavet.common;
 
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleList;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.constraint.streams.bavet.common.collection.TupleList;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 
 /**
@@ -39,8 +40,8 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
     private final int inputStoreIndexRightEntry;
 
     // Acts as a leftTupleList too
-    private final TupleList<ExistsCounter<LeftTuple_>> leftCounterList = new TupleList<>();
-    private final TupleList<UniTuple<Right_>> rightTupleList = new TupleList<>();
+    private final ArrayTupleList<ExistsCounter<LeftTuple_>> leftCounterList = new ArrayTupleList<>();
+    private final ArrayTupleList<UniTuple<Right_>> rightTupleList = new ArrayTupleList<>();
 
     protected AbstractUnindexedIfExistsNode(boolean shouldExist,
             int inputStoreIndexLeftCounterEntry, int inputStoreIndexLeftTrackerList,
@@ -60,7 +61,7 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
                     + ") was already added in the tupleStore.");
         }
         ExistsCounter<LeftTuple_> counter = new ExistsCounter<>(leftTuple);
-        TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftCounterList.add(counter);
+        ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftCounterList.add(counter);
         leftTuple.setStore(inputStoreIndexLeftCounterEntry, counterEntry);
 
         if (!isFiltering) {
@@ -75,7 +76,7 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
 
     @Override
     public final void updateLeft(LeftTuple_ leftTuple) {
-        TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.getStore(inputStoreIndexLeftCounterEntry);
+        ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.getStore(inputStoreIndexLeftCounterEntry);
         if (counterEntry == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             insertLeft(leftTuple);
@@ -97,7 +98,7 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
 
     @Override
     public final void retractLeft(LeftTuple_ leftTuple) {
-        TupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.removeStore(inputStoreIndexLeftCounterEntry);
+        ArrayTupleListEntry<ExistsCounter<LeftTuple_>> counterEntry = leftTuple.removeStore(inputStoreIndexLeftCounterEntry);
         if (counterEntry == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
@@ -117,7 +118,7 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
             throw new IllegalStateException("Impossible state: the input for the tuple (" + rightTuple
                     + ") was already added in the tupleStore.");
         }
-        TupleListEntry<UniTuple<Right_>> rightEntry = rightTupleList.add(rightTuple);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTupleList.add(rightTuple);
         rightTuple.setStore(inputStoreIndexRightEntry, rightEntry);
         if (!isFiltering) {
             leftCounterList.forEach(this::incrementCounterRight);
@@ -130,7 +131,7 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
 
     @Override
     public final void updateRight(UniTuple<Right_> rightTuple) {
-        TupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.getStore(inputStoreIndexRightEntry);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.getStore(inputStoreIndexRightEntry);
         if (rightEntry == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             insertRight(rightTuple);
@@ -144,7 +145,7 @@ public abstract class AbstractUnindexedIfExistsNode<LeftTuple_ extends Tuple, Ri
 
     @Override
     public final void retractRight(UniTuple<Right_> rightTuple) {
-        TupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.removeStore(inputStoreIndexRightEntry);
+        ArrayTupleListEntry<UniTuple<Right_>> rightEntry = rightTuple.removeStore(inputStoreIndexRightEntry);
         if (rightEntry == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
             return;
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.optaplanner.core.api.score.stream.ConstraintStream;
+import org.optaplanner.core.impl.domain.common.accessor.gizmo.GizmoClassLoader;
+import org.optaplanner.core.impl.util.MutableReference;
+import org.optaplanner.core.impl.util.Pair;
+
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.ClassOutput;
+import io.quarkus.gizmo.FieldDescriptor;
+import io.quarkus.gizmo.MethodCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+
+/**
+ * Generates the bytecode of a {@link TupleLifecycle} per stream that propagates to multiple child streams.
+ * Unlike {@link AggregatedTupleLifecycle}, which calls every child from the same loop,
+ * the generated class calls every child from its own call site.
+ * Every call site therefore only ever sees a single receiver class,
+ * so the JIT compiler can inline the child node into it,
+ * even if the network has hundreds of nodes of the same class.
+ * <p>
+ * The generated classes are cached per stream and child count,
+ * so every session built by the same {@link org.optaplanner.constraint.streams.bavet.BavetConstraintSessionFactory}
+ * reuses them.
+ * This class is thread-safe.
+ */
+public final class GizmoAggregatedTupleLifecycleImplementor {
+
+    private static final String LIFECYCLE_FIELD_PREFIX = "lifecycle";
+    private static final String[] LIFECYCLE_METHOD_NAMES = { "insert", "update", "retract" };
+
+    private final GizmoClassLoader gizmoClassLoader = new GizmoClassLoader();
+    private final Map<Pair<ConstraintStream, Integer>, Constructor<?>> constructorMap = new ConcurrentHashMap<>();
+    private final AtomicLong nextClassId = new AtomicLong(0L);
+
+    /**
+     * @param stream never null, the stream that propagates to the tupleLifecycles
+     * @param tupleLifecycles never null, at least 2 elements
+     * @return never null
+     * @param <Tuple_> the tuple type
+     */
+    public <Tuple_ extends Tuple> TupleLifecycle<Tuple_> aggregate(ConstraintStream stream,
+            TupleLifecycle<Tuple_>[] tupleLifecycles) {
+        Constructor<?> constructor = constructorMap.computeIfAbsent(Pair.of(stream, tupleLifecycles.length),
+                key -> defineClass(key.getValue()));
+        try {
+            return (TupleLifecycle<Tuple_>) constructor.newInstance((Object) tupleLifecycles);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Impossible state: the generated class (" + constructor.getDeclaringClass()
+                    + ") for the stream (" + stream + ") failed to instantiate.", e);
+        }
+    }
+
+    private Constructor<?> defineClass(int lifecycleCount) {
+        String className = AggregatedTupleLifecycle.class.getName() + "$Gizmo" + nextClassId.getAndIncrement();
+        MutableReference<byte[]> classBytecodeHolder = new MutableReference<>(null);
+        ClassOutput classOutput = (path, byteCode) -> classBytecodeHolder.setValue(byteCode);
+        defineClass(className, classOutput, lifecycleCount);
+        gizmoClassLoader.storeBytecode(className, classBytecodeHolder.getValue());
+        try {
+            return gizmoClassLoader.loadClass(className).getConstructor(TupleLifecycle[].class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException("Impossible state: the generated class (" + className
+                    + ") failed to load.", e);
+        }
+    }
+
+    static void defineClass(String className, ClassOutput classOutput, int lifecycleCount) {
+        try (ClassCreator classCreator = ClassCreator.builder()
+                .className(className)
+                .interfaces(TupleLifecycle.class)
+                .classOutput(classOutput)
+                .setFinal(true)
+                .build()) {
+            FieldDescriptor[] lifecycleFields = new FieldDescriptor[lifecycleCount];
+            for (int i = 0; i < lifecycleCount; i++) {
+                lifecycleFields[i] = classCreator.getFieldCreator(LIFECYCLE_FIELD_PREFIX + i, TupleLifecycle.class)
+                        .setModifiers(Modifier.PRIVATE | Modifier.FINAL)
+                        .getFieldDescriptor();
+            }
+            createConstructor(classCreator, lifecycleFields);
+            for (String methodName : LIFECYCLE_METHOD_NAMES) {
+                createLifecycleMethod(classCreator, lifecycleFields, methodName);
+            }
+            createToString(classCreator, lifecycleCount);
+        }
+    }
+
+    private static void createConstructor(ClassCreator classCreator, FieldDescriptor[] lifecycleFields) {
+        MethodCreator methodCreator = classCreator.getMethodCreator(
+                MethodDescriptor.ofConstructor(classCreator.getClassName(), TupleLifecycle[].class));
+        ResultHandle thisObj = methodCreator.getThis();
+        methodCreator.invokeSpecialMethod(MethodDescriptor.ofConstructor(Object.class), thisObj);
+        ResultHandle lifecycles = methodCreator.getMethodParam(0);
+        for (int i = 0; i < lifecycleFields.length; i++) {
+            methodCreator.writeInstanceField(lifecycleFields[i], thisObj, methodCreator.readArrayValue(lifecycles, i));
+        }
+        methodCreator.returnValue(null);
+    }
+
+    private static void createLifecycleMethod(ClassCreator classCreator, FieldDescriptor[] lifecycleFields,
+            String methodName) {
+        MethodCreator methodCreator = classCreator.getMethodCreator(methodName, void.class, Tuple.class);
+        MethodDescriptor lifecycleMethod = MethodDescriptor.ofMethod(TupleLifecycle.class, methodName, void.class,
+                Tuple.class);
+        ResultHandle thisObj = methodCreator.getThis();
+        ResultHandle tuple = methodCreator.getMethodParam(0);
+        // Unrolled, so every child has its own call site.
+        for (FieldDescriptor lifecycleField : lifecycleFields) {
+            methodCreator.invokeInterfaceMethod(lifecycleMethod, methodCreator.readInstanceField(lifecycleField, thisObj),
+                    tuple);
+        }
+        methodCreator.returnValue(null);
+    }
+
+    private static void createToString(ClassCreator classCreator, int lifecycleCount) {
+        MethodCreator methodCreator = classCreator.getMethodCreator("toString", String.class);
+        methodCreator.returnValue(methodCreator.load("size = " + lifecycleCount + " (compiled)"));
+    }
+
+}
@@ -21,14 +21,27 @@ package org.optaplanner.constraint.streams.bavet.common;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.optaplanner.constraint.streams.bavet.common.index.CountingIndexer;
+import org.optaplanner.constraint.streams.bavet.common.index.IndexProperties;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
+import org.optaplanner.constraint.streams.bavet.common.index.IndexerFactory;
+import org.optaplanner.constraint.streams.bavet.common.index.SharedIndexer;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.common.AbstractConstraint;
 import org.optaplanner.constraint.streams.common.AbstractConstraintStream;
+import org.optaplanner.constraint.streams.common.AbstractJoiner;
 import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.stream.Constraint;
 import org.optaplanner.core.api.score.stream.ConstraintStream;
@@ -40,18 +53,107 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
     private final AbstractScoreInliner<Score_> scoreInliner;
     private final Map<ConstraintStream, TupleLifecycle<? extends Tuple>> tupleLifecycleMap;
     private final Map<ConstraintStream, Integer> storeIndexMap;
+    private final Map<ConstraintStream, Set<String>> streamToConstraintIdSetMap;
+    private final GizmoAggregatedTupleLifecycleImplementor aggregatedTupleLifecycleImplementor;
+    private final Map<List<Object>, RightIndexerOwner> rightIndexerOwnerMap = new HashMap<>();
+    private final Set<ConstraintStream> sharedRightIndexerOwnerBridgeSet;
+    private final Set<ConstraintStream> inputlessBridgeSet;
+    private final Map<ConstraintStream, FilterInput> filterInputMap;
+    private final Map<Constraint, AbstractScorer<?>> constraintToScorerMap = new LinkedHashMap<>();
 
     private List<AbstractNode> reversedNodeList;
+    private List<NodeProfiler> reversedNodeProfilerList;
+    private ConstraintStream buildingStream = null;
+    private NodeProfiler pendingNodeProfiler = null;
 
     public NodeBuildHelper(Set<? extends ConstraintStream> activeStreamSet, Map<Constraint, Score_> constraintWeightMap,
             AbstractScoreInliner<Score_> scoreInliner) {
+        this(activeStreamSet, constraintWeightMap, scoreInliner, null);
+    }
+
+    /**
+     * @param activeStreamSet never null
+     * @param constraintWeightMap never null
+     * @param scoreInliner never null
+     * @param streamToConstraintIdSetMap null if node profiling is disabled,
+     *        otherwise the ids of the constraints that use each stream of activeStreamSet
+     */
+    public NodeBuildHelper(Set<? extends ConstraintStream> activeStreamSet, Map<Constraint, Score_> constraintWeightMap,
+            AbstractScoreInliner<Score_> scoreInliner, Map<ConstraintStream, Set<String>> streamToConstraintIdSetMap) {
+        this(activeStreamSet, constraintWeightMap, scoreInliner, streamToConstraintIdSetMap, null);
+    }
+
+    /**
+     * @param activeStreamSet never null
+     * @param constraintWeightMap never null
+     * @param scoreInliner null if the helper builds no scorers, as it only builds the forEach nodes
+     *        that the partitions built by its {@link #fork(Map, AbstractScoreInliner) forks} share
+     * @param streamToConstraintIdSetMap null if node profiling is disabled,
+     *        otherwise the ids of the constraints that use each stream of activeStreamSet
+     * @param aggregatedTupleLifecycleImplementor null if fan-out compilation is disabled
+     */
+    public NodeBuildHelper(Set<? extends ConstraintStream> activeStreamSet, Map<Constraint, Score_> constraintWeightMap,
+            AbstractScoreInliner<Score_> scoreInliner, Map<ConstraintStream, Set<String>> streamToConstraintIdSetMap,
+            GizmoAggregatedTupleLifecycleImplementor aggregatedTupleLifecycleImplementor) {
         this.activeStreamSet = activeStreamSet;
         this.constraintWeightMap = constraintWeightMap;
         this.scoreInliner = scoreInliner;
+        this.streamToConstraintIdSetMap = streamToConstraintIdSetMap;
+        this.aggregatedTupleLifecycleImplementor = aggregatedTupleLifecycleImplementor;
         int activeStreamSetSize = activeStreamSet.size();
         this.tupleLifecycleMap = new HashMap<>(Math.max(16, activeStreamSetSize));
         this.storeIndexMap = new HashMap<>(Math.max(16, activeStreamSetSize / 2));
+        this.sharedRightIndexerOwnerBridgeSet = new HashSet<>();
+        this.inputlessBridgeSet = new HashSet<>();
+        this.filterInputMap = new HashMap<>();
         this.reversedNodeList = new ArrayList<>(activeStreamSetSize);
+        this.reversedNodeProfilerList = streamToConstraintIdSetMap == null ? null : new ArrayList<>(activeStreamSetSize);
+    }
+
+    private NodeBuildHelper(NodeBuildHelper<Score_> sharedBuildHelper, Map<Constraint, Score_> constraintWeightMap,
+            AbstractScoreInliner<Score_> scoreInliner) {
+        this.activeStreamSet = sharedBuildHelper.activeStreamSet;
+        this.constraintWeightMap = constraintWeightMap;
+        this.scoreInliner = scoreInliner;
+        this.streamToConstraintIdSetMap = sharedBuildHelper.streamToConstraintIdSetMap;
+        this.aggregatedTupleLifecycleImplementor = sharedBuildHelper.aggregatedTupleLifecycleImplementor;
+        this.tupleLifecycleMap = sharedBuildHelper.tupleLifecycleMap;
+        this.storeIndexMap = sharedBuildHelper.storeIndexMap;
+        this.sharedRightIndexerOwnerBridgeSet = sharedBuildHelper.sharedRightIndexerOwnerBridgeSet;
+        this.inputlessBridgeSet = sharedBuildHelper.inputlessBridgeSet;
+        this.filterInputMap = sharedBuildHelper.filterInputMap;
+        this.reversedNodeList = new ArrayList<>();
+        this.reversedNodeProfilerList = streamToConstraintIdSetMap == null ? null : new ArrayList<>();
+    }
+
+    /**
+     * Creates a helper for another partition of the same session.
+     * It shares the tuple lifecycles and the tuple store indexes with this helper,
+     * so a node that one of them builds can propagate to the nodes that the other builds.
+     * It doesn't share the right indexers, nor the nodes and scorers it builds,
+     * because different partitions might calculate on different threads.
+     *
+     * @param constraintWeightMap never null, the constraints of the other partition
+     * @param scoreInliner null if the other partition has no scorers, otherwise not shared with this helper
+     * @return never null
+     */
+    public NodeBuildHelper<Score_> fork(Map<Constraint, Score_> constraintWeightMap,
+            AbstractScoreInliner<Score_> scoreInliner) {
+        return new NodeBuildHelper<>(this, constraintWeightMap, scoreInliner);
+    }
+
+    public boolean isNodeProfilingEnabled() {
+        return streamToConstraintIdSetMap != null;
+    }
+
+    public void buildNode(BavetAbstractConstraintStream<?> constraintStream) {
+        buildingStream = constraintStream;
+        constraintStream.buildNode(this);
+        buildingStream = null;
+        if (pendingNodeProfiler != null) {
+            throw new IllegalStateException("Impossible state: the stream (" + constraintStream
+                    + ") aggregated its downstream tuple lifecycles but did not add a node.");
+        }
     }
 
     public boolean isStreamActive(ConstraintStream stream) {
@@ -66,47 +168,203 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
         return constraintWeightMap.get(constraint);
     }
 
+    /**
+     * If the constraint weight comes from the constraint configuration, it can change during the lifetime of the session,
+     * so the impacter is a {@link ReweightableScoreImpacter}.
+     *
+     * @param constraint never null
+     * @return never null
+     */
+    public WeightedScoreImpacter<Score_, ?> buildWeightedScoreImpacter(Constraint constraint) {
+        Score_ constraintWeight = getConstraintWeight(constraint);
+        if (((AbstractConstraint<?, ?, ?>) constraint).isConstraintWeightConfigurable()) {
+            return new ReweightableScoreImpacter<>(scoreInliner, constraint, constraintWeight);
+        }
+        return scoreInliner.buildWeightedScoreImpacter(constraint, constraintWeight);
+    }
+
+    /**
+     * @param weightedScoreImpacter never null, built by {@link #buildWeightedScoreImpacter(Constraint)}
+     * @param tupleSourceStream never null
+     * @return -1 if the scorer doesn't track its tuples, because its constraint weight is fixed
+     */
+    public int reserveScorerEntryStoreIndex(WeightedScoreImpacter<Score_, ?> weightedScoreImpacter,
+            ConstraintStream tupleSourceStream) {
+        if (!(weightedScoreImpacter instanceof ReweightableScoreImpacter)) {
+            return -1;
+        }
+        return reserveTupleStoreIndex(tupleSourceStream);
+    }
+
+    public <Tuple_ extends Tuple> void putScorer(ConstraintStream stream, Constraint constraint,
+            AbstractScorer<Tuple_> scorer) {
+        constraintToScorerMap.put(constraint, scorer);
+        putInsertUpdateRetract(stream, scorer);
+    }
+
+    /**
+     * @return never null, the scorer of every constraint that was built, in the order they were built
+     */
+    public Map<Constraint, AbstractScorer<?>> getConstraintToScorerMap() {
+        return constraintToScorerMap;
+    }
+
     public void addNode(AbstractNode node) {
         reversedNodeList.add(node);
+        if (isNodeProfilingEnabled()) {
+            NodeProfiler nodeProfiler = pendingNodeProfiler != null ? pendingNodeProfiler : createNodeProfiler();
+            pendingNodeProfiler = null;
+            nodeProfiler.attachNode(node);
+            reversedNodeProfilerList.add(nodeProfiler);
+        }
     }
 
     public void addNode(AbstractNode node, ConstraintStream parent) {
         addNode(node);
-        putInsertUpdateRetract(parent, (TupleLifecycle<? extends Tuple>) node);
+        putNodeInput(parent, (TupleLifecycle<? extends Tuple>) node);
     }
 
     public void addNode(AbstractNode node, ConstraintStream leftParent, ConstraintStream rightParent) {
         addNode(node);
-        putInsertUpdateRetract(leftParent, TupleLifecycle.ofLeft((LeftTupleLifecycle<? extends Tuple>) node));
-        putInsertUpdateRetract(rightParent, TupleLifecycle.ofRight((RightTupleLifecycle<? extends Tuple>) node));
+        putNodeInput(leftParent, TupleLifecycle.ofLeft((LeftTupleLifecycle<? extends Tuple>) node));
+        putNodeInput(rightParent, TupleLifecycle.ofRight((RightTupleLifecycle<? extends Tuple>) node));
+    }
+
+    /**
+     * Adds a node that joins a stream with itself,
+     * so it receives every tuple once, through its left bridge, instead of through both of its bridges.
+     *
+     * @param node never null
+     * @param leftParent never null, the bridge through which the node receives its tuples
+     * @param rightParent never null, the other bridge, which no longer propagates anything
+     */
+    public void addSelfJoinNode(AbstractNode node, ConstraintStream leftParent, ConstraintStream rightParent) {
+        addNode(node);
+        putNodeInput(leftParent, (TupleLifecycle<? extends Tuple>) node);
+        inputlessBridgeSet.add(rightParent);
+    }
+
+    private <Tuple_ extends Tuple> void putNodeInput(ConstraintStream stream, TupleLifecycle<Tuple_> tupleLifecycle) {
+        if (isNodeProfilingEnabled()) {
+            // The node was just added, so its profiler is the last one.
+            NodeProfiler nodeProfiler = reversedNodeProfilerList.get(reversedNodeProfilerList.size() - 1);
+            // A node does its work in calculateScore(), which the session times, not when it receives a tuple.
+            tupleLifecycle = new ProfiledInputTupleLifecycle<>(tupleLifecycle, nodeProfiler, false);
+        }
+        tupleLifecycleMap.put(stream, tupleLifecycle);
     }
 
     public <Tuple_ extends Tuple> void putInsertUpdateRetract(ConstraintStream stream, TupleLifecycle<Tuple_> tupleLifecycle) {
+        if (isNodeProfilingEnabled() && tupleLifecycle instanceof AbstractScorer) {
+            NodeProfiler nodeProfiler = createNodeProfiler();
+            nodeProfiler.attachScorer((AbstractScorer<?>) tupleLifecycle);
+            reversedNodeProfilerList.add(nodeProfiler);
+            // A scorer does all its work when it receives a tuple.
+            tupleLifecycle = new ProfiledInputTupleLifecycle<>(tupleLifecycle, nodeProfiler, true);
+        }
         tupleLifecycleMap.put(stream, tupleLifecycle);
     }
 
+    private NodeProfiler createNodeProfiler() {
+        if (buildingStream == null) {
+            throw new IllegalStateException("Impossible state: node profiling requires building every stream"
+                    + " through buildNode(" + BavetAbstractConstraintStream.class.getSimpleName() + ").");
+        }
+        return new NodeProfiler(streamToConstraintIdSetMap.getOrDefault(buildingStream, Set.of()));
+    }
+
     public <Tuple_ extends Tuple> void putInsertUpdateRetract(ConstraintStream stream,
             List<? extends AbstractConstraintStream> childStreamList,
             Function<TupleLifecycle<Tuple_>, AbstractConditionalTupleLifecycle<Tuple_>> tupleLifecycleFunction) {
-        TupleLifecycle<Tuple_> tupleLifecycle = getAggregatedTupleLifecycle(childStreamList);
+        // A filter is not a node, so there is nothing to profile.
+        TupleLifecycle<Tuple_> tupleLifecycle = aggregateTupleLifecycle(childStreamList);
         putInsertUpdateRetract(stream, tupleLifecycleFunction.apply(tupleLifecycle));
+        filterInputMap.put(stream, new FilterInput(childStreamList, (Function) tupleLifecycleFunction));
     }
 
+    /**
+     * Every call must be followed by a call to one of the addNode() methods, for the node that propagates to it.
+     *
+     * @param streamList never null
+     * @return never null
+     * @param <Tuple_> the tuple type
+     */
     public <Tuple_ extends Tuple> TupleLifecycle<Tuple_> getAggregatedTupleLifecycle(
             List<? extends ConstraintStream> streamList) {
-        TupleLifecycle<Tuple_>[] tupleLifecycles = streamList.stream()
+        TupleLifecycle<Tuple_> tupleLifecycle = aggregateTupleLifecycle(streamList);
+        if (isNodeProfilingEnabled()) {
+            pendingNodeProfiler = createNodeProfiler();
+            tupleLifecycle = new ProfiledOutputTupleLifecycle<>(tupleLifecycle, pendingNodeProfiler);
+        }
+        return tupleLifecycle;
+    }
+
+    /**
+     * As defined by {@link #getAggregatedTupleLifecycle(List)},
+     * but only to the streams of a single partition and without node profiling.
+     * A filter stream in that partition only propagates to its own child streams in that partition.
+     * Unlike that method, it can be called after all nodes are built.
+     *
+     * @param streamList never null
+     * @param partitionStreamSet never null
+     * @return null if none of the streamList in the partitionStreamSet receive tuples
+     * @param <Tuple_> the tuple type
+     */
+    public <Tuple_ extends Tuple> TupleLifecycle<Tuple_> getPartitionTupleLifecycle(
+            List<? extends ConstraintStream> streamList, Set<? extends ConstraintStream> partitionStreamSet) {
+        List<TupleLifecycle<Tuple_>> tupleLifecycleList = new ArrayList<>(streamList.size());
+        for (ConstraintStream stream : sortActiveStreams(streamList)) {
+            if (!partitionStreamSet.contains(stream)) {
+                continue;
+            }
+            FilterInput filterInput = filterInputMap.get(stream);
+            if (filterInput == null) {
+                tupleLifecycleList.add(getTupleLifecycle(stream, tupleLifecycleMap));
+            } else {
+                TupleLifecycle<Tuple_> childTupleLifecycle =
+                        getPartitionTupleLifecycle(filterInput.childStreamList, partitionStreamSet);
+                if (childTupleLifecycle != null) {
+                    tupleLifecycleList.add((TupleLifecycle<Tuple_>) filterInput.tupleLifecycleFunction
+                            .apply((TupleLifecycle) childTupleLifecycle));
+                }
+            }
+        }
+        if (tupleLifecycleList.isEmpty()) {
+            return null;
+        }
+        return aggregateTupleLifecycles(tupleLifecycleList.toArray(new TupleLifecycle[0]));
+    }
+
+    private List<? extends ConstraintStream> sortActiveStreams(List<? extends ConstraintStream> streamList) {
+        return streamList.stream()
                 .filter(this::isStreamActive)
+                .filter(s -> !inputlessBridgeSet.contains(s))
+                // Stable sort: the owners of a shared right indexer first, otherwise in the original order.
+                .sorted(Comparator.comparing(s -> !sharedRightIndexerOwnerBridgeSet.contains(s)))
+                .collect(Collectors.toList());
+    }
+
+    private <Tuple_ extends Tuple> TupleLifecycle<Tuple_> aggregateTupleLifecycle(
+            List<? extends ConstraintStream> streamList) {
+        TupleLifecycle<Tuple_>[] tupleLifecycles = sortActiveStreams(streamList).stream()
                 .map(s -> getTupleLifecycle(s, tupleLifecycleMap))
                 .toArray(TupleLifecycle[]::new);
-        switch (tupleLifecycles.length) {
-            case 0:
-                throw new IllegalStateException("Impossible state: None of the streamList (" + streamList
-                        + ") are active.");
-            case 1:
-                return tupleLifecycles[0];
-            default:
-                return new AggregatedTupleLifecycle<>(tupleLifecycles);
+        if (tupleLifecycles.length == 0) {
+            throw new IllegalStateException("Impossible state: None of the streamList (" + streamList
+                    + ") are active.");
+        }
+        return aggregateTupleLifecycles(tupleLifecycles);
+    }
+
+    private <Tuple_ extends Tuple> TupleLifecycle<Tuple_> aggregateTupleLifecycles(
+            TupleLifecycle<Tuple_>[] tupleLifecycles) {
+        if (tupleLifecycles.length == 1) {
+            return tupleLifecycles[0];
         }
+        if (aggregatedTupleLifecycleImplementor != null && buildingStream != null) {
+            return aggregatedTupleLifecycleImplementor.aggregate(buildingStream, tupleLifecycles);
+        }
+        return new AggregatedTupleLifecycle<>(tupleLifecycles);
     }
 
     private static <Tuple_ extends Tuple> TupleLifecycle<Tuple_> getTupleLifecycle(ConstraintStream stream,
@@ -118,6 +376,75 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
         return tupleLifecycle;
     }
 
+    /**
+     * Builds the right indexer of a join or ifExists node.
+     * The first node that builds it for a right input stream and right index properties, owns it.
+     * Every later node with the same right input stream and the same right index properties
+     * reads it through a {@link SharedIndexer}, instead of indexing the same right tuples again.
+     * The right index properties are the same if the joiners have the same types and the same right mapping instances,
+     * so sharing a joiner (or its mapping functions) between constraints also shares its right index,
+     * even if the constraints differ in their left stream or filtering.
+     *
+     * @param indexerFactory never null
+     * @param joiner never null, the joiner that indexerFactory was built from
+     * @param leftTupleSource never null, the tuple source of the left input of the node
+     * @param rightBridge never null, the bridge stream through which the node receives its right tuples
+     * @param rightParent never null, the parent of rightBridge
+     * @param inputStoreIndexRightProperties the store index where the node keeps the index properties of a right tuple
+     * @return never null
+     * @param <Right_> the type of the right fact
+     */
+    public <Right_> Indexer<UniTuple<Right_>> buildRightIndexer(IndexerFactory indexerFactory,
+            AbstractJoiner<Right_> joiner, ConstraintStream leftTupleSource, BavetAbstractConstraintStream<?> rightBridge,
+            ConstraintStream rightParent, int inputStoreIndexRightProperties) {
+        return buildRightIndexer(indexerFactory, joiner, leftTupleSource, rightBridge, rightParent,
+                inputStoreIndexRightProperties, false);
+    }
+
+    /**
+     * As defined by {@link #buildRightIndexer(IndexerFactory, AbstractJoiner, ConstraintStream,
+     * BavetAbstractConstraintStream, ConstraintStream, int)},
+     * but if sizeOnly is true, the node never reads through a {@link SharedIndexer} that would count by visiting
+     * the right tuples, because it counts on every left insert and update.
+     * Instead, it builds an indexer of its own, which is a {@link CountingIndexer} if all joiners are equal joiners.
+     * Other nodes never share a {@link CountingIndexer}, because it can't visit its tuples.
+     *
+     * @param sizeOnly true if the node only ever calls {@link Indexer#size(IndexProperties)} on the right indexer
+     */
+    public <Right_> Indexer<UniTuple<Right_>> buildRightIndexer(IndexerFactory indexerFactory,
+            AbstractJoiner<Right_> joiner, ConstraintStream leftTupleSource, BavetAbstractConstraintStream<?> rightBridge,
+            ConstraintStream rightParent, int inputStoreIndexRightProperties, boolean sizeOnly) {
+        int joinerCount = joiner.getJoinerCount();
+        List<Object> key = new ArrayList<>(1 + (2 * joinerCount));
+        key.add(rightParent);
+        for (int i = 0; i < joinerCount; i++) {
+            key.add(joiner.getJoinerType(i));
+            key.add(joiner.getRightMapping(i));
+        }
+        RightIndexerOwner owner = rightIndexerOwnerMap.get(key);
+        // Only if the left tuples and the right tuples come from the same tuple source,
+        // can a node receive a left tuple in between the owner and itself receiving a right tuple.
+        boolean sameTupleSource = leftTupleSource == rightBridge.getTupleSource();
+        if (sizeOnly) {
+            if (indexerFactory.hasOnlyEqualJoiners() && (owner == null || sameTupleSource)) {
+                return new CountingIndexer<>();
+            }
+            if (owner != null && sameTupleSource) {
+                // A shared indexer would count by visiting the right tuples, so it doesn't share with the owner.
+                return indexerFactory.buildIndexer(false);
+            }
+        }
+        if (owner == null) {
+            Indexer<UniTuple<Right_>> indexer = indexerFactory.buildIndexer(false);
+            rightIndexerOwnerMap.put(key, new RightIndexerOwner(rightBridge, inputStoreIndexRightProperties, indexer));
+            return indexer;
+        }
+        // The owner must update the indexer before any node reads it.
+        sharedRightIndexerOwnerBridgeSet.add(owner.bridge);
+        return new SharedIndexer<>((Indexer<UniTuple<Right_>>) owner.indexer, owner.storeIndexProperties,
+                sameTupleSource ? inputStoreIndexRightProperties : -1);
+    }
+
     public int reserveTupleStoreIndex(ConstraintStream tupleSourceStream) {
         return storeIndexMap.compute(tupleSourceStream, (k, index) -> {
             if (index == null) {
@@ -143,4 +470,49 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
         return nodeList;
     }
 
+    /**
+     * @return never null, one profiler per node and per scorer, in the same order as {@link #destroyAndGetNodeList()}
+     *         for the nodes
+     * @throws IllegalStateException if node profiling is disabled
+     */
+    public List<NodeProfiler> destroyAndGetNodeProfilerList() {
+        if (!isNodeProfilingEnabled()) {
+            throw new IllegalStateException("Impossible state: node profiling is disabled.");
+        }
+        List<NodeProfiler> nodeProfilerList = this.reversedNodeProfilerList;
+        Collections.reverse(nodeProfilerList);
+        this.reversedNodeProfilerList = null;
+        return nodeProfilerList;
+    }
+
+    private static final class RightIndexerOwner {
+
+        private final ConstraintStream bridge;
+        private final int storeIndexProperties;
+        private final Indexer<?> indexer;
+
+        private RightIndexerOwner(ConstraintStream bridge, int storeIndexProperties, Indexer<?> indexer) {
+            this.bridge = bridge;
+            this.storeIndexProperties = storeIndexProperties;
+            this.indexer = indexer;
+        }
+
+    }
+
+    /**
+     * What a filter stream needs to rebuild its tuple lifecycle for a subset of its child streams.
+     */
+    private static final class FilterInput {
+
+        private final List<? extends ConstraintStream> childStreamList;
+        private final Function<TupleLifecycle<Tuple>, AbstractConditionalTupleLifecycle<Tuple>> tupleLifecycleFunction;
+
+        private FilterInput(List<? extends ConstraintStream> childStreamList,
+                Function<TupleLifecycle<Tuple>, AbstractConditionalTupleLifecycle<Tuple>> tupleLifecycleFunction) {
+            this.childStreamList = childStreamList;
+            this.tupleLifecycleFunction = tupleLifecycleFunction;
+        }
+
+    }
+
 }
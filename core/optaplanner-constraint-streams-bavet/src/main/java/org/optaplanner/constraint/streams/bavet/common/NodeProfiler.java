@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import java.util.Set;
+
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
+
+/**
+ * Counts the work done by a single {@link AbstractNode} or {@link AbstractScorer}.
+ * Only exists if node profiling is enabled, so the nodes themselves never pay for it.
+ * Not thread-safe: every node is only ever touched by the thread that calculates the score of its session.
+ *
+ * @see ProfiledInputTupleLifecycle
+ * @see ProfiledOutputTupleLifecycle
+ */
+public final class NodeProfiler {
+
+    private final Set<String> constraintIdSet;
+
+    private AbstractNode node = null;
+    private String nodeType = null;
+    private long scorerId = -1L;
+
+    private long insertCount = 0L;
+    private long updateCount = 0L;
+    private long retractCount = 0L;
+    private long propagationCount = 0L;
+    private long timeSpentNanos = 0L;
+
+    public NodeProfiler(Set<String> constraintIdSet) {
+        this.constraintIdSet = constraintIdSet;
+    }
+
+    public void attachNode(AbstractNode node) {
+        this.node = node;
+        this.nodeType = node.getClass().getSimpleName();
+    }
+
+    public void attachScorer(AbstractScorer<?> scorer) {
+        this.nodeType = scorer.getClass().getSimpleName();
+    }
+
+    public AbstractNode getNode() {
+        return node;
+    }
+
+    /**
+     * Scorers are not nodes, so they get an id from outside of the node list.
+     *
+     * @param scorerId unique among the ids of the nodes and the other scorers
+     */
+    public void setScorerId(long scorerId) {
+        this.scorerId = scorerId;
+    }
+
+    public void recordInsert() {
+        insertCount++;
+    }
+
+    public void recordUpdate() {
+        updateCount++;
+    }
+
+    public void recordRetract() {
+        retractCount++;
+    }
+
+    public void recordPropagation() {
+        propagationCount++;
+    }
+
+    public void recordPropagations(long count) {
+        propagationCount += count;
+    }
+
+    public void addTimeSpentNanos(long nanos) {
+        timeSpentNanos += nanos;
+    }
+
+    public ConstraintStreamNodeProfile createProfile() {
+        if (nodeType == null) {
+            throw new IllegalStateException("Impossible state: the profiler for constraints (" + constraintIdSet
+                    + ") was never attached to a node or scorer.");
+        }
+        long nodeId = node == null ? scorerId : node.getId();
+        int indexSize = node == null ? 0 : node.getIndexSize();
+        return new ConstraintStreamNodeProfile(nodeId, nodeType, constraintIdSet,
+                insertCount, updateCount, retractCount, propagationCount, indexSize, timeSpentNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "Profiler of " + (node == null ? nodeType + "-" + scorerId : node);
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import java.util.Objects;
+
+/**
+ * Counts the tuples that a node propagates to the nodes downstream.
+ */
+final class ProfiledOutputTupleLifecycle<Tuple_ extends Tuple>
+        implements TupleLifecycle<Tuple_> {
+
+    private final TupleLifecycle<Tuple_> tupleLifecycle;
+    private final NodeProfiler nodeProfiler;
+
+    ProfiledOutputTupleLifecycle(TupleLifecycle<Tuple_> tupleLifecycle, NodeProfiler nodeProfiler) {
+        this.tupleLifecycle = Objects.requireNonNull(tupleLifecycle);
+        this.nodeProfiler = Objects.requireNonNull(nodeProfiler);
+    }
+
+    @Override
+    public void insert(Tuple_ tuple) {
+        nodeProfiler.recordPropagation();
+        tupleLifecycle.insert(tuple);
+    }
+
+    @Override
+    public void update(Tuple_ tuple) {
+        nodeProfiler.recordPropagation();
+        tupleLifecycle.update(tuple);
+    }
+
+    @Override
+    public void retract(Tuple_ tuple) {
+        nodeProfiler.recordPropagation();
+        tupleLifecycle.retract(tuple);
+    }
+
+    @Override
+    public String toString() {
+        return "Profiled " + tupleLifecycle;
+    }
+
+}
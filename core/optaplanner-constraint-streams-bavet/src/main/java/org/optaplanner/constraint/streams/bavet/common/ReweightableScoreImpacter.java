@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import java.math.BigDecimal;
+
+import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
+import org.optaplanner.constraint.streams.common.inliner.JustificationsSupplier;
+import org.optaplanner.constraint.streams.common.inliner.ScoreContext;
+import org.optaplanner.constraint.streams.common.inliner.UndoScoreImpacter;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+
+/**
+ * Impacts the score with a constraint weight that can change during the lifetime of the session,
+ * because it comes from the {@link org.optaplanner.core.api.domain.constraintweight.ConstraintConfiguration}.
+ * Every call to {@link #setConstraintWeight(Score)} replaces the delegate {@link WeightedScoreImpacter},
+ * so every later impact uses the new constraint weight,
+ * but an {@link UndoScoreImpacter} returned earlier still undoes the impact with the old one.
+ * While the constraint weight is zero, impacts do nothing.
+ * <p>
+ * The {@link AbstractScorer} that uses it is responsible for re-impacting its current matches after a change.
+ *
+ * @param <Score_> the score type
+ */
+public final class ReweightableScoreImpacter<Score_ extends Score<Score_>>
+        implements WeightedScoreImpacter<Score_, ScoreContext<Score_>> {
+
+    private static final UndoScoreImpacter NO_OP_UNDO = () -> {
+    };
+
+    private final AbstractScoreInliner<Score_> scoreInliner;
+    private final Constraint constraint;
+    private Score_ constraintWeight;
+    private WeightedScoreImpacter<Score_, ScoreContext<Score_>> delegate; // Null if the constraintWeight is zero
+
+    public ReweightableScoreImpacter(AbstractScoreInliner<Score_> scoreInliner, Constraint constraint,
+            Score_ constraintWeight) {
+        this.scoreInliner = scoreInliner;
+        this.constraint = constraint;
+        setConstraintWeight(constraintWeight);
+    }
+
+    public Score_ getConstraintWeight() {
+        return constraintWeight;
+    }
+
+    /**
+     * Does not affect the impacts done before this call.
+     *
+     * @param constraintWeight never null, may be zero
+     */
+    public void setConstraintWeight(Score_ constraintWeight) {
+        this.constraintWeight = constraintWeight;
+        this.delegate = constraintWeight.isZero() ? null
+                : (WeightedScoreImpacter<Score_, ScoreContext<Score_>>) scoreInliner.buildWeightedScoreImpacter(
+                        constraint, constraintWeight);
+    }
+
+    @Override
+    public UndoScoreImpacter impactScore(int matchWeight, JustificationsSupplier justificationsSupplier) {
+        return delegate == null ? NO_OP_UNDO : delegate.impactScore(matchWeight, justificationsSupplier);
+    }
+
+    @Override
+    public UndoScoreImpacter impactScore(long matchWeight, JustificationsSupplier justificationsSupplier) {
+        return delegate == null ? NO_OP_UNDO : delegate.impactScore(matchWeight, justificationsSupplier);
+    }
+
+    @Override
+    public UndoScoreImpacter impactScore(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
+        return delegate == null ? NO_OP_UNDO : delegate.impactScore(matchWeight, justificationsSupplier);
+    }
+
+    /**
+     * @return null if the constraint weight is zero
+     */
+    @Override
+    public ScoreContext<Score_> getContext() {
+        return delegate == null ? null : delegate.getContext();
+    }
+
+}
@@ -43,4 +43,15 @@ public interface Tuple {
 
     <Value_> Value_ removeStore(int index);
 
+    /**
+     * Only called by the {@link TuplePool} of the tuple's origin node, when it releases a {@link BavetTupleState#DEAD} tuple.
+     */
+    void clearStore();
+
+    /**
+     * Only called by the {@link TuplePool} of the tuple's origin node, when it releases a {@link BavetTupleState#DEAD} tuple,
+     * so that tuple doesn't keep its facts reachable while it waits to be reused.
+     */
+    void clearFacts();
+
 }
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Holds the {@link BavetTupleState#DEAD} out tuples of a single node,
+ * so that node can reuse them (including their store array) instead of creating new tuples.
+ * It lives as long as its node, so as long as the session.
+ * <p>
+ * A tuple is recycled as soon as its node has propagated its retract,
+ * but some nodes downstream (such as an ifExists node, which propagates the same tuple instance)
+ * might still read its facts and store until the end of the same {@link AbstractNode#calculateScore()} pass.
+ * Therefore a recycled tuple is only released in a later pass,
+ * when the node {@link #poll() polls} or {@link #release() releases} explicitly:
+ * then its facts and store are cleared (except for the kept store indexes),
+ * so the pool doesn't keep removed facts reachable.
+ * At most {@code maxSize} released tuples are kept, the others are left to the garbage collector.
+ *
+ * @param <Tuple_> the mutable out tuple type of the node
+ */
+public final class TuplePool<Tuple_ extends Tuple> {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final int maxSize;
+    private final int[] keptStoreIndexes;
+    private final Object[] keptStoreValues;
+    private List<Tuple_> recycledTupleList = new ArrayList<>();
+    private final Deque<Tuple_> deadTupleDeque = new ArrayDeque<>();
+
+    /**
+     * @param maxSize {@code >= 0}, the maximum number of released tuples kept for reuse
+     * @param keptStoreIndexes the store indexes that survive the release,
+     *        such as the out entries which a join node reattaches when it reuses the tuple
+     */
+    public TuplePool(int maxSize, int... keptStoreIndexes) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maxSize (" + maxSize + ") must be positive or zero.");
+        }
+        this.maxSize = maxSize;
+        this.keptStoreIndexes = keptStoreIndexes;
+        this.keptStoreValues = new Object[keptStoreIndexes.length];
+    }
+
+    /**
+     * @param tuple never null, in the {@link BavetTupleState#DEAD} state
+     */
+    public void recycle(Tuple_ tuple) {
+        if (tuple.getState() != BavetTupleState.DEAD) {
+            throw new IllegalStateException("Impossible state: The tuple (" + tuple
+                    + ") is recycled in an unexpected state (" + tuple.getState() + ").");
+        }
+        recycledTupleList.add(tuple);
+    }
+
+    /**
+     * @return true if {@link #release()} has work to do,
+     *         in which case the node must make sure it is called in a later pass
+     */
+    public boolean hasUnreleasedTuples() {
+        return !recycledTupleList.isEmpty();
+    }
+
+    /**
+     * Must not be called in the same pass as the {@link #recycle(Tuple)} calls it releases.
+     */
+    public void release() {
+        int recycledSize = recycledTupleList.size();
+        if (recycledSize == 0) {
+            return;
+        }
+        for (Tuple_ tuple : recycledTupleList) {
+            if (deadTupleDeque.size() >= maxSize) {
+                break;
+            }
+            clear(tuple);
+            // LIFO, to reuse the tuple which is most likely still in the CPU cache
+            deadTupleDeque.push(tuple);
+        }
+        if (recycledSize > maxSize) {
+            // Don't hold on to the backing array of an exceptionally large retract
+            recycledTupleList = new ArrayList<>();
+        } else {
+            recycledTupleList.clear();
+        }
+    }
+
+    private void clear(Tuple_ tuple) {
+        for (int i = 0; i < keptStoreIndexes.length; i++) {
+            keptStoreValues[i] = tuple.getStore(keptStoreIndexes[i]);
+        }
+        tuple.clearStore();
+        tuple.clearFacts();
+        for (int i = 0; i < keptStoreIndexes.length; i++) {
+            tuple.setStore(keptStoreIndexes[i], keptStoreValues[i]);
+            keptStoreValues[i] = null;
+        }
+    }
+
+    /**
+     * Must not be called in the same pass as any {@link #recycle(Tuple)} call.
+     *
+     * @return null if there is no tuple to reuse, otherwise a tuple in the {@link BavetTupleState#CREATING} state,
+     *         without facts and with an empty store (except for the kept store indexes)
+     */
+    public Tuple_ poll() {
+        release();
+        Tuple_ tuple = deadTupleDeque.poll();
+        if (tuple != null) {
+            tuple.setState(BavetTupleState.CREATING);
+        }
+        return tuple;
+    }
+
+    /**
+     * @return the number of released tuples ready for reuse
+     */
+    public int size() {
+        return deadTupleDeque.size();
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + deadTupleDeque.size() + ", unreleased = " + recycledTupleList.size();
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.collection;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Like {@link TupleList}, but backed by an array, so that {@link #forEach(Consumer)} iterates contiguous memory
+ * instead of chasing the pointers of a linked list across the heap.
+ * Nodes and indexes directly reference an {@link ArrayTupleListEntry}, which knows its position in the array,
+ * so {@link #remove(ArrayTupleListEntry)} is still O(1).
+ * <p>
+ * A removed element leaves a tombstone (null) behind, to keep the insertion order
+ * and to not disturb a running {@link #forEach(Consumer)}.
+ * Once the tombstones outnumber the elements, the array is compacted,
+ * but never during a {@link #forEach(Consumer)}, because that would move elements that are yet to be visited.
+ * <p>
+ * Prefer {@link TupleList} for small lists, such as the out tuples of a single tuple,
+ * which are rarely iterated and for which the array would be mostly empty.
+ *
+ * @param <T> The element type. Often a tuple.
+ */
+public final class ArrayTupleList<T> {
+
+    private static final int INITIAL_CAPACITY = 4;
+    /**
+     * Don't bother compacting tiny arrays, it costs more than iterating their tombstones.
+     */
+    private static final int MIN_COMPACTION_LENGTH = 16;
+
+    private T[] elements;
+    private ArrayTupleListEntry<T>[] entries;
+    /**
+     * The index after the last element or tombstone.
+     */
+    private int tail = 0;
+    private int size = 0;
+    private int iterationDepth = 0;
+
+    public ArrayTupleList() {
+        this.elements = (T[]) new Object[INITIAL_CAPACITY];
+        this.entries = new ArrayTupleListEntry[INITIAL_CAPACITY];
+    }
+
+    public ArrayTupleListEntry<T> add(T element) {
+        if (tail == elements.length) {
+            if (iterationDepth == 0 && (tail - size) * 2 >= tail) {
+                compact();
+            } else {
+                int newLength = elements.length * 2;
+                elements = Arrays.copyOf(elements, newLength);
+                entries = Arrays.copyOf(entries, newLength);
+            }
+        }
+        ArrayTupleListEntry<T> entry = new ArrayTupleListEntry<>(this, element, tail);
+        elements[tail] = element;
+        entries[tail] = entry;
+        tail++;
+        size++;
+        return entry;
+    }
+
+    public void remove(ArrayTupleListEntry<T> entry) {
+        int index = entry.index;
+        if (entries[index] != entry) {
+            throw new IllegalStateException("Impossible state: the entry (" + entry + ") is not at its index ("
+                    + index + ") in the list (" + this + ").");
+        }
+        elements[index] = null;
+        entries[index] = null;
+        size--;
+        if (iterationDepth == 0) {
+            if (size == 0) {
+                // Only tombstones left, which are all null already
+                tail = 0;
+            } else if (index == tail - 1) {
+                tail--;
+            } else if (tail >= MIN_COMPACTION_LENGTH && (tail - size) * 2 > tail) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Moves all elements to the front of the array, in the same order, and updates the index of their entries.
+     */
+    private void compact() {
+        int newTail = 0;
+        for (int i = 0; i < tail; i++) {
+            ArrayTupleListEntry<T> entry = entries[i];
+            if (entry != null) {
+                if (i != newTail) {
+                    elements[newTail] = elements[i];
+                    entries[newTail] = entry;
+                    entry.index = newTail;
+                }
+                newTail++;
+            }
+        }
+        Arrays.fill(elements, newTail, tail, null);
+        Arrays.fill(entries, newTail, tail, null);
+        tail = newTail;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * The consumer may remove any element, including the one it is called for, and add elements,
+     * which will also be visited.
+     *
+     * @param elementConsumer never null
+     */
+    public void forEach(Consumer<T> elementConsumer) {
+        iterationDepth++;
+        try {
+            // Read the fields on every iteration, because the consumer may add elements and grow the array.
+            for (int i = 0; i < tail; i++) {
+                T element = elements[i];
+                if (element != null) {
+                    elementConsumer.accept(element);
+                }
+            }
+        } finally {
+            iterationDepth--;
+        }
+        if (iterationDepth == 0 && tail >= MIN_COMPACTION_LENGTH && (tail - size) * 2 > tail) {
+            compact();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + size;
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.collection;
+
+/**
+ * An entry of {@link ArrayTupleList}, which remains valid when the list moves its element in the array.
+ *
+ * @param <T> The element type. Often a tuple.
+ */
+public final class ArrayTupleListEntry<T> {
+
+    private ArrayTupleList<T> list;
+    private final T element;
+    int index;
+
+    ArrayTupleListEntry(ArrayTupleList<T> list, T element, int index) {
+        this.list = list;
+        this.element = element;
+        this.index = index;
+    }
+
+    public void remove() {
+        if (list == null) {
+            throw new IllegalStateException("The element (" + element + ") was already removed.");
+        }
+        list.remove(this);
+        list = null;
+    }
+
+    public T getElement() {
+        return element;
+    }
+
+    public ArrayTupleList<T> getList() {
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return element.toString();
+    }
+
+}
@@ -49,6 +49,26 @@ public final class TupleList<T> {
         return entry;
     }
 
+    /**
+     * Adds an entry again after it was {@link TupleListEntry#remove() removed} from this or another list,
+     * so the node which owns its element can reuse it instead of creating a new entry.
+     *
+     * @param entry never null, not in any list
+     */
+    public void reattach(TupleListEntry<T> entry) {
+        if (entry.getList() != null) {
+            throw new IllegalStateException("Impossible state: the entry (" + entry + ") is still in a list.");
+        }
+        entry.attach(this, last);
+        if (first == null) {
+            first = entry;
+        } else {
+            last.next = entry;
+        }
+        last = entry;
+        size++;
+    }
+
     public void remove(TupleListEntry<T> entry) {
         if (first == entry) {
             first = entry.next;
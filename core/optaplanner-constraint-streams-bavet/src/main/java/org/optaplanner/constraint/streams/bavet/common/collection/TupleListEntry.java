@@ -38,6 +38,12 @@ public final class TupleListEntry<T> {
         this.next = null;
     }
 
+    void attach(TupleList<T> list, TupleListEntry<T> previous) {
+        this.list = list;
+        this.previous = previous;
+        this.next = null;
+    }
+
     public TupleListEntry<T> next() {
         return next;
     }
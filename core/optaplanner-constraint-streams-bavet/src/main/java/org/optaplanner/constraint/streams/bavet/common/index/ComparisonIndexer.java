@@ -27,7 +27,7 @@ import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.core.impl.score.stream.JoinerType;
 
 final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Indexer<T> {
@@ -37,6 +37,7 @@ final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Index
     private final Comparator<Key_> keyComparator;
     private final boolean hasOrEquals;
     private final NavigableMap<Key_, Indexer<T>> comparisonMap;
+    private int totalSize = 0;
 
     public ComparisonIndexer(JoinerType comparisonJoinerType, Supplier<Indexer<T>> downstreamIndexerSupplier) {
         this(comparisonJoinerType, 0, downstreamIndexerSupplier);
@@ -61,7 +62,7 @@ final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Index
     }
 
     @Override
-    public TupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
         Key_ indexKey = indexProperties.toKey(indexKeyPosition);
         // Avoids computeIfAbsent in order to not create lambdas on the hot path.
         Indexer<T> downstreamIndexer = comparisonMap.get(indexKey);
@@ -69,21 +70,23 @@ final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Index
             downstreamIndexer = downstreamIndexerSupplier.get();
             comparisonMap.put(indexKey, downstreamIndexer);
         }
+        totalSize++;
         return downstreamIndexer.put(indexProperties, tuple);
     }
 
     @Override
-    public void remove(IndexProperties indexProperties, TupleListEntry<T> entry) {
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
         Key_ indexKey = indexProperties.toKey(indexKeyPosition);
         Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties, indexKey, entry);
         downstreamIndexer.remove(indexProperties, entry);
         if (downstreamIndexer.isEmpty()) {
             comparisonMap.remove(indexKey);
         }
+        totalSize--;
     }
 
     private Indexer<T> getDownstreamIndexer(IndexProperties indexProperties, Key_ indexerKey,
-            TupleListEntry<T> entry) {
+            ArrayTupleListEntry<T> entry) {
         Indexer<T> downstreamIndexer = comparisonMap.get(indexerKey);
         if (downstreamIndexer == null) {
             throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
@@ -168,6 +171,11 @@ final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Index
         return comparisonMap.isEmpty();
     }
 
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
     @Override
     public String toString() {
         return "size = " + comparisonMap.size();
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.core.impl.util.MutableInt;
+
+/**
+ * Only counts the tuples per index properties, instead of holding them,
+ * so {@link #size(IndexProperties)} is a single lookup, regardless of how many tuples match.
+ * It supports neither {@link #forEach(IndexProperties, Consumer)} nor comparison joiners,
+ * so it is only fit for the right side of an ifExists node with only equal joiners and no filtering,
+ * which never needs the right tuples themselves, only how many there are.
+ *
+ * @param <T> the tuple type
+ */
+public final class CountingIndexer<T> implements Indexer<T> {
+
+    private final Map<IndexProperties, MutableInt> countMap = new HashMap<>();
+    private int totalSize = 0;
+
+    /**
+     * @return always null, because there is no entry to remove later
+     */
+    @Override
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+        MutableInt count = countMap.get(indexProperties);
+        if (count == null) {
+            count = new MutableInt();
+            countMap.put(indexProperties, count);
+        }
+        count.increment();
+        totalSize++;
+        return null;
+    }
+
+    /**
+     * @param indexProperties never null, equal to those of an earlier {@link #put(IndexProperties, Object)}
+     * @param entry ignored
+     */
+    @Override
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
+        MutableInt count = countMap.get(indexProperties);
+        if (count == null) {
+            throw new IllegalStateException("Impossible state: the tuple with the indexProperties (" + indexProperties
+                    + ") doesn't exist in the indexer " + this + ".");
+        }
+        if (count.decrement() == 0) {
+            countMap.remove(indexProperties);
+        }
+        totalSize--;
+    }
+
+    @Override
+    public int size(IndexProperties indexProperties) {
+        MutableInt count = countMap.get(indexProperties);
+        return count == null ? 0 : count.intValue();
+    }
+
+    @Override
+    public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
+        throw new UnsupportedOperationException("Impossible state: the indexer (" + this
+                + ") only counts its tuples, so it can't visit them.");
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return totalSize == 0;
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + totalSize + " (counted)";
+    }
+
+}
@@ -19,20 +19,41 @@
 
 package org.optaplanner.constraint.streams.bavet.common.index;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 
-final class EqualsIndexer<T, Key_> implements Indexer<T> {
+/**
+ * Indexes on one or more consecutive {@link org.optaplanner.core.api.score.stream.Joiners#equal()} properties,
+ * which are flattened into a single hash lookup.
+ * <p>
+ * Unlike a {@link java.util.HashMap} keyed by {@link IndexProperties#toKey(int, int)},
+ * the key range is hashed and compared in place, so no key object (such as a {@link org.optaplanner.core.impl.util.Pair})
+ * is created on the hot path and no entry object is created per key.
+ * The table uses open addressing with linear probing and backward shift deletion.
+ * Each slot holds the {@link IndexProperties} of the first tuple put with that key, which is safe,
+ * because index properties are immutable.
+ *
+ * @param <T> the element type
+ * @see PrimitiveEqualsIndexer for a single equal joiner
+ */
+final class EqualsIndexer<T> implements Indexer<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
 
     private final int indexKeyFrom;
     private final int indexKeyTo;
     private final Supplier<Indexer<T>> downstreamIndexerSupplier;
-    private final Map<Key_, Indexer<T>> downstreamIndexerMap = new HashMap<>();
+
+    private IndexProperties[] keys;
+    private int[] hashes;
+    private Indexer<T>[] downstreamIndexers;
+    private int mask;
+    private int size = 0;
+    private int totalSize = 0;
 
     public EqualsIndexer(Supplier<Indexer<T>> downstreamIndexerSupplier) {
         this(0, 1, downstreamIndexerSupplier);
@@ -43,56 +64,146 @@ final class EqualsIndexer<T, Key_> implements Indexer<T> {
         this.indexKeyFrom = indexKeyFromInclusive;
         this.indexKeyTo = indexKeyToExclusive;
         this.downstreamIndexerSupplier = Objects.requireNonNull(downstreamIndexerSupplier);
+        this.keys = new IndexProperties[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.downstreamIndexers = new Indexer[INITIAL_CAPACITY];
+        this.mask = INITIAL_CAPACITY - 1;
+    }
+
+    private int hash(IndexProperties indexProperties) {
+        int result = 1;
+        for (int i = indexKeyFrom; i < indexKeyTo; i++) {
+            result = 31 * result + Objects.hashCode(indexProperties.toKey(i));
+        }
+        // Polynomial hashes of small numbers are clustered, which linear probing does not tolerate.
+        int mixed = result * GOLDEN_RATIO;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private boolean keyEquals(IndexProperties a, IndexProperties b) {
+        if (a == b) {
+            return true;
+        }
+        for (int i = indexKeyFrom; i < indexKeyTo; i++) {
+            if (!Objects.equals(a.toKey(i), b.toKey(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the slot holding the key, or {@code -1 - emptySlot} if absent
+     */
+    private int findSlot(IndexProperties indexProperties, int hash) {
+        int slot = hash & mask;
+        while (downstreamIndexers[slot] != null) {
+            if (hashes[slot] == hash && keyEquals(keys[slot], indexProperties)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1 - slot;
     }
 
     @Override
-    public TupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
-        Key_ indexKey = indexProperties.toKey(indexKeyFrom, indexKeyTo);
-        // Avoids computeIfAbsent in order to not create lambdas on the hot path.
-        Indexer<T> downstreamIndexer = downstreamIndexerMap.get(indexKey);
-        if (downstreamIndexer == null) {
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+        int hash = hash(indexProperties);
+        int slot = findSlot(indexProperties, hash);
+        Indexer<T> downstreamIndexer;
+        if (slot >= 0) {
+            downstreamIndexer = downstreamIndexers[slot];
+        } else {
             downstreamIndexer = downstreamIndexerSupplier.get();
-            downstreamIndexerMap.put(indexKey, downstreamIndexer);
+            if ((size + 1) * 2 > downstreamIndexers.length) { // Linear probing degrades rapidly beyond a load factor of 0.5.
+                resize(downstreamIndexers.length * 2);
+                slot = findSlot(indexProperties, hash);
+            }
+            slot = -1 - slot;
+            keys[slot] = indexProperties;
+            hashes[slot] = hash;
+            downstreamIndexers[slot] = downstreamIndexer;
+            size++;
         }
+        totalSize++;
         return downstreamIndexer.put(indexProperties, tuple);
     }
 
     @Override
-    public void remove(IndexProperties indexProperties, TupleListEntry<T> entry) {
-        Key_ indexKey = indexProperties.toKey(indexKeyFrom, indexKeyTo);
-        Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties, indexKey, entry);
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
+        int slot = findSlot(indexProperties, hash(indexProperties));
+        if (slot < 0) {
+            throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
+                    + ") with indexProperties (" + indexProperties
+                    + ") doesn't exist in the indexer " + this + ".");
+        }
+        Indexer<T> downstreamIndexer = downstreamIndexers[slot];
         downstreamIndexer.remove(indexProperties, entry);
         if (downstreamIndexer.isEmpty()) {
-            downstreamIndexerMap.remove(indexKey);
+            removeSlot(slot);
+            size--;
         }
+        totalSize--;
     }
 
-    private Indexer<T> getDownstreamIndexer(IndexProperties indexProperties, Key_ indexerKey,
-            TupleListEntry<T> entry) {
-        Indexer<T> downstreamIndexer = downstreamIndexerMap.get(indexerKey);
-        if (downstreamIndexer == null) {
-            throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
-                    + ") with indexProperties (" + indexProperties
-                    + ") doesn't exist in the indexer " + this + ".");
+    private void removeSlot(int gapSlot) {
+        int slot = gapSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (downstreamIndexers[slot] == null) {
+                break;
+            }
+            int idealSlot = hashes[slot] & mask;
+            // Shift the entry back into the gap, unless its ideal slot lies cyclically between the gap and itself.
+            if (((slot - idealSlot) & mask) >= ((slot - gapSlot) & mask)) {
+                keys[gapSlot] = keys[slot];
+                hashes[gapSlot] = hashes[slot];
+                downstreamIndexers[gapSlot] = downstreamIndexers[slot];
+                gapSlot = slot;
+            }
+        }
+        keys[gapSlot] = null;
+        downstreamIndexers[gapSlot] = null;
+    }
+
+    private void resize(int newCapacity) {
+        IndexProperties[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Indexer<T>[] oldDownstreamIndexers = downstreamIndexers;
+        keys = new IndexProperties[newCapacity];
+        hashes = new int[newCapacity];
+        downstreamIndexers = new Indexer[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldDownstreamIndexers.length; i++) {
+            if (oldDownstreamIndexers[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (downstreamIndexers[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                downstreamIndexers[slot] = oldDownstreamIndexers[i];
+            }
         }
-        return downstreamIndexer;
     }
 
     @Override
     public int size(IndexProperties indexProperties) {
-        Key_ indexKey = indexProperties.toKey(indexKeyFrom, indexKeyTo);
-        Indexer<T> downstreamIndexer = downstreamIndexerMap.get(indexKey);
-        if (downstreamIndexer == null) {
+        int slot = findSlot(indexProperties, hash(indexProperties));
+        if (slot < 0) {
             return 0;
         }
-        return downstreamIndexer.size(indexProperties);
+        return downstreamIndexers[slot].size(indexProperties);
     }
 
     @Override
     public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
-        Key_ indexKey = indexProperties.toKey(indexKeyFrom, indexKeyTo);
-        Indexer<T> downstreamIndexer = downstreamIndexerMap.get(indexKey);
-        if (downstreamIndexer == null || downstreamIndexer.isEmpty()) {
+        int slot = findSlot(indexProperties, hash(indexProperties));
+        if (slot < 0) {
+            return;
+        }
+        Indexer<T> downstreamIndexer = downstreamIndexers[slot];
+        if (downstreamIndexer.isEmpty()) {
             return;
         }
         downstreamIndexer.forEach(indexProperties, tupleConsumer);
@@ -100,12 +211,17 @@ final class EqualsIndexer<T, Key_> implements Indexer<T> {
 
     @Override
     public boolean isEmpty() {
-        return downstreamIndexerMap.isEmpty();
+        return size == 0;
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
     }
 
     @Override
     public String toString() {
-        return "size = " + downstreamIndexerMap.size();
+        return "size = " + size;
     }
 
 }
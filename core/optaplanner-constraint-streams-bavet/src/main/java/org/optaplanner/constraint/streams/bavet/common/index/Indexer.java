@@ -22,7 +22,7 @@ package org.optaplanner.constraint.streams.bavet.common.index;
 import java.util.function.Consumer;
 
 import org.optaplanner.constraint.streams.bavet.common.BavetTupleState;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 
 /**
  * An indexer for entity or fact {@code X},
@@ -41,9 +41,9 @@ import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry
  */
 public interface Indexer<T> {
 
-    TupleListEntry<T> put(IndexProperties indexProperties, T tuple);
+    ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple);
 
-    void remove(IndexProperties indexProperties, TupleListEntry<T> entry);
+    void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry);
 
     int size(IndexProperties indexProperties);
 
@@ -51,4 +51,11 @@ public interface Indexer<T> {
 
     boolean isEmpty();
 
+    /**
+     * Every indexer keeps a running count in {@link #put} and {@link #remove}, so this doesn't visit the index keys.
+     *
+     * @return {@code >= 0}, the number of elements across all index properties
+     */
+    int totalSize();
+
 }
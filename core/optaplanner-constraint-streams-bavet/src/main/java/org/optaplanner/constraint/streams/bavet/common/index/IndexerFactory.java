@@ -54,22 +54,41 @@ public class IndexerFactory {
         return joinerTypes.length > 0;
     }
 
+    /**
+     * @return true if there is at least one joiner and every joiner is an equal joiner,
+     *         so tuples match if and only if their index properties are equal
+     */
+    public boolean hasOnlyEqualJoiners() {
+        if (joinerTypes.length == 0) {
+            return false;
+        }
+        for (JoinerType joinerType : joinerTypes) {
+            if (joinerType != JoinerType.EQUAL) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public <T> Indexer<T> buildIndexer(boolean isLeftBridge) {
         /*
          * Indexers form a parent-child hierarchy, each child has exactly one parent.
          * NoneIndexer is always at the bottom of the hierarchy, never a parent unless it is the only indexer.
          * Parent indexers delegate to their children, until they reach the ultimate NoneIndexer.
-         * Example 1: EQUAL+LESS_THAN joiner will become EqualsIndexer -> ComparisonIndexer -> NoneIndexer.
+         * Example 1: EQUAL+LESS_THAN joiner will become PrimitiveEqualsIndexer -> ComparisonIndexer -> NoneIndexer.
+         * Example 2: EQUAL+EQUAL joiner will become EqualsIndexer -> NoneIndexer.
+         * Example 3: EQUAL+LESS_THAN+GREATER_THAN joiner (such as an equal joiner and an overlapping joiner)
+         * will become PrimitiveEqualsIndexer -> IntervalIndexer -> NoneIndexer.
          *
          * Note that if creating indexer for a right bridge node, the joiner type has to be flipped.
          * (<A, B> becomes <B, A>.)
          */
         if (joinerTypes.length == 0) { // NoneJoiner results in NoneIndexer.
             return new NoneIndexer<>();
-        } else if (joinerTypes.length == 1) { // Single joiner maps directly to EqualsIndexer or ComparisonIndexer.
+        } else if (joinerTypes.length == 1) { // Single joiner maps directly to PrimitiveEqualsIndexer or ComparisonIndexer.
             JoinerType joinerType = joinerTypes[0];
             if (joinerType == JoinerType.EQUAL) {
-                return new EqualsIndexer<>(NoneIndexer::new);
+                return new PrimitiveEqualsIndexer<>(NoneIndexer::new);
             } else {
                 return new ComparisonIndexer<>(isLeftBridge ? joinerType : joinerType.flip(), NoneIndexer::new);
             }
@@ -84,14 +103,22 @@ public class IndexerFactory {
          * the joiner on the right results in an indexer that is a child to the indexer of the joiner on the left.
          * Example: EQUAL+LESS_THAN+EQUAL results in EqualsIndexer -> ComparisonIndexer -> EqualsIndexer.
          *
+         * Rule 3: A LESS_THAN(_OR_EQUAL) joiner directly followed by a GREATER_THAN(_OR_EQUAL) joiner, or vice versa,
+         * becomes a single IntervalIndexer, instead of a ComparisonIndexer -> ComparisonIndexer.
+         * Example: Joiners.overlapping() is LESS_THAN+GREATER_THAN, which results in IntervalIndexer.
+         *
          * The following code builds the children first, so it needs to iterate over the joiners in reverse order.
          */
         NavigableMap<Integer, JoinerType> joinerTypeMap = new TreeMap<>();
+        int startingPropertyInclusive = 0;
         for (int i = 1; i <= joinerTypes.length; i++) {
             JoinerType joinerType = i < joinerTypes.length ? joinerTypes[i] : null;
             JoinerType previousJoinerType = joinerTypes[i - 1];
-            if (joinerType != JoinerType.EQUAL || previousJoinerType != joinerType) {
+            boolean merged = (joinerType == JoinerType.EQUAL && previousJoinerType == JoinerType.EQUAL)
+                    || (i - startingPropertyInclusive == 1 && isIntervalPair(previousJoinerType, joinerType));
+            if (!merged) {
                 joinerTypeMap.put(i, previousJoinerType);
+                startingPropertyInclusive = i;
             }
         }
         NavigableMap<Integer, JoinerType> descendingJoinerTypeMap = joinerTypeMap.descendingMap();
@@ -109,13 +136,41 @@ public class IndexerFactory {
                  *
                  * Example 1: For an EQUAL+LESS_THAN joiner, indexer key is of length 1 and starts at position 0.
                  * Example 2: For an LESS_THAN+EQUAL+EQUAL joiner, indexer key is of length 2 and starts at position 1.
+                 *
+                 * A key of length 1 can be stored as a primitive, a longer key is flattened into a single lookup.
                  */
                 if (endingPropertyExclusive <= previousEndingPropertyExclusive) {
                     throw new IllegalStateException("Impossible state: index key ending position <= starting position ("
                             + endingPropertyExclusive + " <= " + previousEndingPropertyExclusive + ")");
                 }
-                downstreamIndexerSupplier = () -> new EqualsIndexer<>(previousEndingPropertyExclusive, endingPropertyExclusive,
-                        actualDownstreamIndexerSupplier);
+                if (endingPropertyExclusive - previousEndingPropertyExclusive == 1) {
+                    downstreamIndexerSupplier = () -> new PrimitiveEqualsIndexer<>(previousEndingPropertyExclusive,
+                            actualDownstreamIndexerSupplier);
+                } else {
+                    downstreamIndexerSupplier = () -> new EqualsIndexer<>(previousEndingPropertyExclusive,
+                            endingPropertyExclusive, actualDownstreamIndexerSupplier);
+                }
+            } else if (endingPropertyExclusive - previousEndingPropertyExclusive == 2) {
+                /*
+                 * Interval indexers have two comparison keys, on consecutive positions.
+                 * The key of the LESS_THAN(_OR_EQUAL) joiner is the low key, the other one is the high key.
+                 * Note that flipping the joiner types for a right bridge swaps the low and high key.
+                 *
+                 * Example 1: For an overlapping joiner on the left bridge, low key is on 0 and high key on position 1.
+                 * Example 2: For an overlapping joiner on the right bridge, low key is on 1 and high key on position 0.
+                 */
+                int firstPosition = previousEndingPropertyExclusive;
+                int secondPosition = previousEndingPropertyExclusive + 1;
+                JoinerType firstJoinerType = isLeftBridge ? joinerTypes[firstPosition] : joinerTypes[firstPosition].flip();
+                JoinerType secondJoinerType =
+                        isLeftBridge ? joinerTypes[secondPosition] : joinerTypes[secondPosition].flip();
+                if (isLessThan(firstJoinerType)) {
+                    downstreamIndexerSupplier = () -> new IntervalIndexer<>(firstJoinerType, firstPosition,
+                            secondJoinerType, secondPosition, actualDownstreamIndexerSupplier);
+                } else {
+                    downstreamIndexerSupplier = () -> new IntervalIndexer<>(secondJoinerType, secondPosition,
+                            firstJoinerType, firstPosition, actualDownstreamIndexerSupplier);
+                }
             } else {
                 JoinerType actualJoinerType = isLeftBridge ? joinerType : joinerType.flip();
                 /*
@@ -133,4 +188,20 @@ public class IndexerFactory {
         return downstreamIndexerSupplier.get();
     }
 
+    private static boolean isIntervalPair(JoinerType joinerType, JoinerType otherJoinerType) {
+        if (joinerType == null || otherJoinerType == null) {
+            return false;
+        }
+        return (isLessThan(joinerType) && isGreaterThan(otherJoinerType))
+                || (isGreaterThan(joinerType) && isLessThan(otherJoinerType));
+    }
+
+    private static boolean isLessThan(JoinerType joinerType) {
+        return joinerType == JoinerType.LESS_THAN || joinerType == JoinerType.LESS_THAN_OR_EQUAL;
+    }
+
+    private static boolean isGreaterThan(JoinerType joinerType) {
+        return joinerType == JoinerType.GREATER_THAN || joinerType == JoinerType.GREATER_THAN_OR_EQUAL;
+    }
+
 }
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.core.impl.score.stream.JoinerType;
+
+/**
+ * Indexes on a pair of opposite comparison joiners,
+ * such as the {@link JoinerType#LESS_THAN} and {@link JoinerType#GREATER_THAN} pair
+ * that {@link org.optaplanner.core.api.score.stream.Joiners#overlapping} consists of.
+ * A stored tuple matches a query if its low key is lower than the query's key on the same position
+ * and its high key is greater than the query's key on the same position.
+ * For an overlapping joiner, that means the intervals overlap.
+ * <p>
+ * Two nested {@link ComparisonIndexer}s would visit every tuple on one side of the first boundary,
+ * which makes the cost of a lookup linear in the number of tuples.
+ * This indexer is an AVL tree ordered by the low key and then the high key,
+ * and every node is augmented with the maximum high key in its subtree,
+ * so a subtree without any matches is skipped entirely.
+ * A lookup therefore costs {@code O(log(n) + k)} comparisons, in which {@code k} is the number of matches.
+ * <p>
+ * The tree does not assume that the low key of a tuple is lower than its high key.
+ *
+ * @param <T> the element type
+ * @param <Key_> the type of both keys
+ */
+final class IntervalIndexer<T, Key_ extends Comparable<Key_>> implements Indexer<T> {
+
+    private final int lowKeyPosition;
+    private final boolean lowKeyInclusive;
+    private final int highKeyPosition;
+    private final boolean highKeyInclusive;
+    private final Supplier<Indexer<T>> downstreamIndexerSupplier;
+
+    private Node<T, Key_> root = null;
+    private int nodeCount = 0;
+    private int totalSize = 0;
+
+    /**
+     * @param lowJoinerType {@link JoinerType#LESS_THAN} or {@link JoinerType#LESS_THAN_OR_EQUAL}
+     * @param lowKeyPosition position of the low key in the {@link IndexProperties}
+     * @param highJoinerType {@link JoinerType#GREATER_THAN} or {@link JoinerType#GREATER_THAN_OR_EQUAL}
+     * @param highKeyPosition position of the high key in the {@link IndexProperties}
+     * @param downstreamIndexerSupplier never null
+     */
+    public IntervalIndexer(JoinerType lowJoinerType, int lowKeyPosition, JoinerType highJoinerType, int highKeyPosition,
+            Supplier<Indexer<T>> downstreamIndexerSupplier) {
+        if (lowJoinerType != JoinerType.LESS_THAN && lowJoinerType != JoinerType.LESS_THAN_OR_EQUAL) {
+            throw new IllegalArgumentException("Impossible state: the lowJoinerType (" + lowJoinerType
+                    + ") is not a less than joiner.");
+        }
+        if (highJoinerType != JoinerType.GREATER_THAN && highJoinerType != JoinerType.GREATER_THAN_OR_EQUAL) {
+            throw new IllegalArgumentException("Impossible state: the highJoinerType (" + highJoinerType
+                    + ") is not a greater than joiner.");
+        }
+        this.lowKeyPosition = lowKeyPosition;
+        this.lowKeyInclusive = lowJoinerType == JoinerType.LESS_THAN_OR_EQUAL;
+        this.highKeyPosition = highKeyPosition;
+        this.highKeyInclusive = highJoinerType == JoinerType.GREATER_THAN_OR_EQUAL;
+        this.downstreamIndexerSupplier = Objects.requireNonNull(downstreamIndexerSupplier);
+    }
+
+    @Override
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+        Key_ lowKey = indexProperties.toKey(lowKeyPosition);
+        Key_ highKey = indexProperties.toKey(highKeyPosition);
+        Node<T, Key_> node = findNode(lowKey, highKey);
+        if (node == null) {
+            node = new Node<>(lowKey, highKey, downstreamIndexerSupplier.get());
+            root = insert(root, node);
+            nodeCount++;
+        }
+        totalSize++;
+        return node.downstreamIndexer.put(indexProperties, tuple);
+    }
+
+    @Override
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
+        Key_ lowKey = indexProperties.toKey(lowKeyPosition);
+        Key_ highKey = indexProperties.toKey(highKeyPosition);
+        Node<T, Key_> node = findNode(lowKey, highKey);
+        if (node == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
+                    + ") with indexProperties (" + indexProperties
+                    + ") doesn't exist in the indexer " + this + ".");
+        }
+        node.downstreamIndexer.remove(indexProperties, entry);
+        if (node.downstreamIndexer.isEmpty()) {
+            root = delete(root, lowKey, highKey);
+            nodeCount--;
+        }
+        totalSize--;
+    }
+
+    @Override
+    public int size(IndexProperties indexProperties) {
+        if (root == null) {
+            return 0;
+        }
+        Key_ lowBound = indexProperties.toKey(lowKeyPosition);
+        Key_ highBound = indexProperties.toKey(highKeyPosition);
+        return size(root, indexProperties, lowBound, highBound);
+    }
+
+    private int size(Node<T, Key_> node, IndexProperties indexProperties, Key_ lowBound, Key_ highBound) {
+        if (node == null || !isAboveHighBound(node.maxHighKey, highBound)) {
+            return 0;
+        }
+        int size = size(node.left, indexProperties, lowBound, highBound);
+        if (isBelowLowBound(node.lowKey, lowBound)) {
+            if (isAboveHighBound(node.highKey, highBound)) {
+                size += node.downstreamIndexer.size(indexProperties);
+            }
+            size += size(node.right, indexProperties, lowBound, highBound);
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
+        if (root == null) {
+            return;
+        }
+        Key_ lowBound = indexProperties.toKey(lowKeyPosition);
+        Key_ highBound = indexProperties.toKey(highKeyPosition);
+        forEach(root, indexProperties, tupleConsumer, lowBound, highBound);
+    }
+
+    private void forEach(Node<T, Key_> node, IndexProperties indexProperties, Consumer<T> tupleConsumer,
+            Key_ lowBound, Key_ highBound) {
+        // Skip the subtree if no high key in it is high enough.
+        if (node == null || !isAboveHighBound(node.maxHighKey, highBound)) {
+            return;
+        }
+        forEach(node.left, indexProperties, tupleConsumer, lowBound, highBound);
+        // The tree is ordered by the low key, so if this node's low key is too high, so are those in the right subtree.
+        if (isBelowLowBound(node.lowKey, lowBound)) {
+            if (isAboveHighBound(node.highKey, highBound)) {
+                node.downstreamIndexer.forEach(indexProperties, tupleConsumer);
+            }
+            forEach(node.right, indexProperties, tupleConsumer, lowBound, highBound);
+        }
+    }
+
+    private boolean isBelowLowBound(Key_ lowKey, Key_ lowBound) {
+        int comparison = lowKey.compareTo(lowBound);
+        return lowKeyInclusive ? comparison <= 0 : comparison < 0;
+    }
+
+    private boolean isAboveHighBound(Key_ highKey, Key_ highBound) {
+        int comparison = highKey.compareTo(highBound);
+        return highKeyInclusive ? comparison >= 0 : comparison > 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + nodeCount;
+    }
+
+    // ************************************************************************
+    // AVL tree
+    // ************************************************************************
+
+    private static <Key_ extends Comparable<Key_>> int compare(Key_ lowKey, Key_ highKey, Node<?, Key_> node) {
+        int comparison = lowKey.compareTo(node.lowKey);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return highKey.compareTo(node.highKey);
+    }
+
+    private Node<T, Key_> findNode(Key_ lowKey, Key_ highKey) {
+        Node<T, Key_> node = root;
+        while (node != null) {
+            int comparison = compare(lowKey, highKey, node);
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static <T, Key_ extends Comparable<Key_>> Node<T, Key_> insert(Node<T, Key_> node, Node<T, Key_> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(newNode.lowKey, newNode.highKey, node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        return rebalance(node);
+    }
+
+    private static <T, Key_ extends Comparable<Key_>> Node<T, Key_> delete(Node<T, Key_> node, Key_ lowKey,
+            Key_ highKey) {
+        int comparison = compare(lowKey, highKey, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, lowKey, highKey);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, lowKey, highKey);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+            Node<T, Key_> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static <T, Key_ extends Comparable<Key_>> Node<T, Key_> deleteMin(Node<T, Key_> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private static <T, Key_ extends Comparable<Key_>> Node<T, Key_> rebalance(Node<T, Key_> node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <T, Key_ extends Comparable<Key_>> Node<T, Key_> rotateRight(Node<T, Key_> node) {
+        Node<T, Key_> newParent = node.left;
+        node.left = newParent.right;
+        newParent.right = node;
+        node.update();
+        newParent.update();
+        return newParent;
+    }
+
+    private static <T, Key_ extends Comparable<Key_>> Node<T, Key_> rotateLeft(Node<T, Key_> node) {
+        Node<T, Key_> newParent = node.right;
+        node.right = newParent.left;
+        newParent.left = node;
+        node.update();
+        newParent.update();
+        return newParent;
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<T, Key_ extends Comparable<Key_>> {
+
+        private final Key_ lowKey;
+        private final Key_ highKey;
+        private final Indexer<T> downstreamIndexer;
+
+        private Node<T, Key_> left = null;
+        private Node<T, Key_> right = null;
+        private int height = 1;
+        /**
+         * The maximum {@link #highKey} of this node and its descendants.
+         */
+        private Key_ maxHighKey;
+
+        private Node(Key_ lowKey, Key_ highKey, Indexer<T> downstreamIndexer) {
+            this.lowKey = lowKey;
+            this.highKey = highKey;
+            this.downstreamIndexer = downstreamIndexer;
+            this.maxHighKey = highKey;
+        }
+
+        private void update() {
+            height = Math.max(height(left), height(right)) + 1;
+            Key_ max = highKey;
+            if (left != null && left.maxHighKey.compareTo(max) > 0) {
+                max = left.maxHighKey;
+            }
+            if (right != null && right.maxHighKey.compareTo(max) > 0) {
+                max = right.maxHighKey;
+            }
+            maxHighKey = max;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+/**
+ * An open addressing hash map from a primitive {@code long} key to a downstream {@link Indexer},
+ * which does not box its keys and does not allocate an entry object per key, unlike {@link java.util.HashMap}.
+ * <p>
+ * Uses linear probing and backward shift deletion, so it needs no tombstones.
+ *
+ * @param <T> the element type of the downstream indexers
+ */
+final class LongIndexerMap<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Indexer<T>[] values;
+    private int mask;
+    private int size = 0;
+
+    LongIndexerMap() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new Indexer[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * GOLDEN_RATIO;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @param key any value
+     * @return null if absent
+     */
+    public Indexer<T> get(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            Indexer<T> value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @param key any value, must be absent
+     * @param value never null
+     */
+    public void put(long key, Indexer<T> value) {
+        if ((size + 1) * 2 > values.length) { // Linear probing degrades rapidly beyond a load factor of 0.5.
+            resize(values.length * 2);
+        }
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                throw new IllegalStateException("Impossible state: the key (" + key + ") is already present.");
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * @param key any value
+     * @return null if absent
+     */
+    public Indexer<T> remove(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            Indexer<T> value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                removeSlot(slot);
+                size--;
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void removeSlot(int gapSlot) {
+        int slot = gapSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int idealSlot = hash(keys[slot]) & mask;
+            // Shift the entry back into the gap, unless its ideal slot lies cyclically between the gap and itself.
+            if (((slot - idealSlot) & mask) >= ((slot - gapSlot) & mask)) {
+                keys[gapSlot] = keys[slot];
+                values[gapSlot] = values[slot];
+                gapSlot = slot;
+            }
+        }
+        values[gapSlot] = null;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        Indexer<T>[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new Indexer[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            Indexer<T> value = oldValues[i];
+            if (value != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = value;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + size;
+    }
+
+}
@@ -21,20 +21,20 @@ package org.optaplanner.constraint.streams.bavet.common.index;
 
 import java.util.function.Consumer;
 
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleList;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleList;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 
 final class NoneIndexer<T, Value_> implements Indexer<T> {
 
-    private final TupleList<T> tupleList = new TupleList<>();
+    private final ArrayTupleList<T> tupleList = new ArrayTupleList<>();
 
     @Override
-    public TupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
         return tupleList.add(tuple);
     }
 
     @Override
-    public void remove(IndexProperties indexProperties, TupleListEntry<T> entry) {
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
         entry.remove();
     }
 
@@ -50,7 +50,12 @@ final class NoneIndexer<T, Value_> implements Indexer<T> {
 
     @Override
     public boolean isEmpty() {
-        return tupleList.size() == 0;
+        return tupleList.isEmpty();
+    }
+
+    @Override
+    public int totalSize() {
+        return tupleList.size();
     }
 
     @Override
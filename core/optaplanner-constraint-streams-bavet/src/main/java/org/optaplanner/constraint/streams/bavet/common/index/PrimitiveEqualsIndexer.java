@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+
+/**
+ * Specialization of {@link EqualsIndexer} for a single {@link org.optaplanner.core.api.score.stream.Joiners#equal()}
+ * on a property of type {@link Integer}, {@link Long}, {@link Short}, {@link Byte}, {@link Character} or an enum.
+ * Such keys are stored as a primitive {@code long} in a {@link LongIndexerMap},
+ * which avoids the {@link java.util.HashMap} entry allocation and the {@link Object#equals(Object)} calls.
+ * <p>
+ * The joiner mapping's return type is unknown at build time, due to type erasure,
+ * so the key class is locked in by the first key that is put.
+ * Any other key (such as null or a key of another class) falls back to a {@link HashMap},
+ * which preserves the {@link Object#equals(Object)} semantics, because {@code Integer.valueOf(1)}
+ * never equals {@code Long.valueOf(1L)}.
+ *
+ * @param <T> the element type
+ */
+final class PrimitiveEqualsIndexer<T> implements Indexer<T> {
+
+    private final int indexKeyPosition;
+    private final Supplier<Indexer<T>> downstreamIndexerSupplier;
+    private final LongIndexerMap<T> primitiveKeyMap = new LongIndexerMap<>();
+    private final Map<Object, Indexer<T>> otherKeyMap = new HashMap<>();
+    /**
+     * Null until the first key is put.
+     */
+    private Class<?> keyClass = null;
+    private boolean primitiveKeyClass = false;
+    private int totalSize = 0;
+
+    public PrimitiveEqualsIndexer(Supplier<Indexer<T>> downstreamIndexerSupplier) {
+        this(0, downstreamIndexerSupplier);
+    }
+
+    public PrimitiveEqualsIndexer(int indexKeyPosition, Supplier<Indexer<T>> downstreamIndexerSupplier) {
+        this.indexKeyPosition = indexKeyPosition;
+        this.downstreamIndexerSupplier = Objects.requireNonNull(downstreamIndexerSupplier);
+    }
+
+    static boolean isPrimitiveKeyClass(Class<?> keyClass) {
+        return keyClass == Integer.class || keyClass == Long.class || keyClass == Short.class || keyClass == Byte.class
+                || keyClass == Character.class || keyClass.isEnum();
+    }
+
+    private boolean isPrimitiveKey(Object indexKey) {
+        return primitiveKeyClass && indexKey != null && indexKey.getClass() == keyClass;
+    }
+
+    private static long toPrimitiveKey(Object indexKey) {
+        if (indexKey instanceof Number) { // Integer, Long, Short or Byte, all of which convert to long losslessly.
+            return ((Number) indexKey).longValue();
+        } else if (indexKey instanceof Character) {
+            return (Character) indexKey;
+        } else {
+            return ((Enum<?>) indexKey).ordinal();
+        }
+    }
+
+    @Override
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+        Object indexKey = indexProperties.toKey(indexKeyPosition);
+        if (keyClass == null && indexKey != null) {
+            keyClass = indexKey.getClass();
+            primitiveKeyClass = isPrimitiveKeyClass(keyClass);
+        }
+        // Avoids computeIfAbsent in order to not create lambdas on the hot path.
+        Indexer<T> downstreamIndexer;
+        if (isPrimitiveKey(indexKey)) {
+            long primitiveKey = toPrimitiveKey(indexKey);
+            downstreamIndexer = primitiveKeyMap.get(primitiveKey);
+            if (downstreamIndexer == null) {
+                downstreamIndexer = downstreamIndexerSupplier.get();
+                primitiveKeyMap.put(primitiveKey, downstreamIndexer);
+            }
+        } else {
+            downstreamIndexer = otherKeyMap.get(indexKey);
+            if (downstreamIndexer == null) {
+                downstreamIndexer = downstreamIndexerSupplier.get();
+                otherKeyMap.put(indexKey, downstreamIndexer);
+            }
+        }
+        totalSize++;
+        return downstreamIndexer.put(indexProperties, tuple);
+    }
+
+    @Override
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
+        Object indexKey = indexProperties.toKey(indexKeyPosition);
+        if (isPrimitiveKey(indexKey)) {
+            long primitiveKey = toPrimitiveKey(indexKey);
+            Indexer<T> downstreamIndexer = primitiveKeyMap.get(primitiveKey);
+            assertDownstreamIndexerExists(downstreamIndexer, indexProperties, entry);
+            downstreamIndexer.remove(indexProperties, entry);
+            if (downstreamIndexer.isEmpty()) {
+                primitiveKeyMap.remove(primitiveKey);
+            }
+        } else {
+            Indexer<T> downstreamIndexer = otherKeyMap.get(indexKey);
+            assertDownstreamIndexerExists(downstreamIndexer, indexProperties, entry);
+            downstreamIndexer.remove(indexProperties, entry);
+            if (downstreamIndexer.isEmpty()) {
+                otherKeyMap.remove(indexKey);
+            }
+        }
+        totalSize--;
+    }
+
+    private void assertDownstreamIndexerExists(Indexer<T> downstreamIndexer, IndexProperties indexProperties,
+            ArrayTupleListEntry<T> entry) {
+        if (downstreamIndexer == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
+                    + ") with indexProperties (" + indexProperties
+                    + ") doesn't exist in the indexer " + this + ".");
+        }
+    }
+
+    private Indexer<T> getDownstreamIndexer(IndexProperties indexProperties) {
+        Object indexKey = indexProperties.toKey(indexKeyPosition);
+        if (isPrimitiveKey(indexKey)) {
+            return primitiveKeyMap.get(toPrimitiveKey(indexKey));
+        } else {
+            return otherKeyMap.get(indexKey);
+        }
+    }
+
+    @Override
+    public int size(IndexProperties indexProperties) {
+        Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties);
+        if (downstreamIndexer == null) {
+            return 0;
+        }
+        return downstreamIndexer.size(indexProperties);
+    }
+
+    @Override
+    public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
+        Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties);
+        if (downstreamIndexer == null || downstreamIndexer.isEmpty()) {
+            return;
+        }
+        downstreamIndexer.forEach(indexProperties, tupleConsumer);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return primitiveKeyMap.isEmpty() && otherKeyMap.isEmpty();
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + (primitiveKeyMap.size() + otherKeyMap.size());
+    }
+
+}
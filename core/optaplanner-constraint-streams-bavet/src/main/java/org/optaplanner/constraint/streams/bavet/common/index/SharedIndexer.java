@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import java.util.function.Consumer;
+
+import org.optaplanner.constraint.streams.bavet.common.Tuple;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.core.impl.util.MutableInt;
+
+/**
+ * A read-only view of the right {@link Indexer} of another node, the owner,
+ * which has the same right input stream and the same right index properties.
+ * The owner puts and removes every right tuple, so this view ignores those calls
+ * and every right tuple change updates the index only once, regardless of how many nodes read it.
+ * <p>
+ * The owner receives every right tuple change before any node that reads through a view.
+ * If such a node receives its left tuples from the same tuple source as its right tuples,
+ * it could see a right tuple that the owner has already (re)indexed, but that the node itself has not received yet.
+ * The view skips such a right tuple, because the node pairs it with its left tuples once it does receive it.
+ *
+ * @param <T> the right tuple type
+ */
+public final class SharedIndexer<T extends Tuple> implements Indexer<T> {
+
+    private final Indexer<T> ownerIndexer;
+    private final int ownerStoreIndexProperties;
+    private final int storeIndexProperties;
+
+    /**
+     * @param ownerIndexer never null
+     * @param ownerStoreIndexProperties the store index where the owner keeps the index properties of a right tuple
+     * @param storeIndexProperties the store index where the node that reads through this view
+     *        keeps the index properties of a right tuple,
+     *        or -1 if it receives its left tuples from another tuple source than its right tuples
+     */
+    public SharedIndexer(Indexer<T> ownerIndexer, int ownerStoreIndexProperties, int storeIndexProperties) {
+        this.ownerIndexer = ownerIndexer;
+        this.ownerStoreIndexProperties = ownerStoreIndexProperties;
+        this.storeIndexProperties = storeIndexProperties;
+    }
+
+    @Override
+    public ArrayTupleListEntry<T> put(IndexProperties indexProperties, T tuple) {
+        // The owner has put it already.
+        return null;
+    }
+
+    @Override
+    public void remove(IndexProperties indexProperties, ArrayTupleListEntry<T> entry) {
+        // The owner has removed it already.
+    }
+
+    @Override
+    public int size(IndexProperties indexProperties) {
+        if (storeIndexProperties < 0) {
+            return ownerIndexer.size(indexProperties);
+        }
+        // Never on a hot path: a node that only counts its right tuples doesn't read through such a view.
+        MutableInt size = new MutableInt();
+        forEach(indexProperties, tuple -> size.increment());
+        return size.intValue();
+    }
+
+    @Override
+    public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
+        if (storeIndexProperties < 0) {
+            ownerIndexer.forEach(indexProperties, tupleConsumer);
+            return;
+        }
+        ownerIndexer.forEach(indexProperties, tuple -> {
+            if (isReceived(tuple)) {
+                tupleConsumer.accept(tuple);
+            }
+        });
+    }
+
+    private boolean isReceived(T tuple) {
+        IndexProperties receivedIndexProperties = tuple.getStore(storeIndexProperties);
+        return receivedIndexProperties != null
+                && receivedIndexProperties.equals(tuple.getStore(ownerStoreIndexProperties));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ownerIndexer.isEmpty();
+    }
+
+    /**
+     * @return always 0, because the owner already counts the shared elements
+     */
+    @Override
+    public int totalSize() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "shared with " + ownerIndexer;
+    }
+
+}
@@ -26,9 +26,11 @@ import org.optaplanner.constraint.streams.bavet.common.AbstractIfExistsNode;
 import org.optaplanner.constraint.streams.bavet.common.BavetAbstractConstraintStream;
 import org.optaplanner.constraint.streams.bavet.common.NodeBuildHelper;
 import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
 import org.optaplanner.constraint.streams.bavet.common.index.IndexerFactory;
 import org.optaplanner.constraint.streams.bavet.common.index.JoinerUtils;
 import org.optaplanner.constraint.streams.bavet.uni.BavetIfExistsBridgeUniConstraintStream;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.common.penta.DefaultPentaJoiner;
 import org.optaplanner.core.api.function.PentaPredicate;
 import org.optaplanner.core.api.score.Score;
@@ -81,33 +83,42 @@ final class BavetIfExistsQuadConstraintStream<Solution_, A, B, C, D, E>
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<QuadTuple<A, B, C, D>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
         IndexerFactory indexerFactory = new IndexerFactory(joiner);
-        AbstractIfExistsNode<QuadTuple<A, B, C, D>, E> node = indexerFactory.hasJoiners()
-                ? (filtering == null ? new IndexedIfExistsQuadNode<>(shouldExist,
-                        JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                        buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                        downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false))
-                        : new IndexedIfExistsQuadNode<>(shouldExist,
-                                JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                                buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                                downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false),
-                                filtering))
-                : (filtering == null ? new UnindexedIfExistsQuadNode<>(shouldExist,
-                        buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()), downstream)
-                        : new UnindexedIfExistsQuadNode<>(shouldExist,
-                                buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
-                                downstream, filtering));
+        AbstractIfExistsNode<QuadTuple<A, B, C, D>, E> node;
+        if (indexerFactory.hasJoiners()) {
+            int inputStoreIndexRightProperties = buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource());
+            // Without filtering, the node only needs to know how many right tuples match, not which ones.
+            boolean sizeOnly = filtering == null;
+            Indexer<UniTuple<E>> indexerRight = buildHelper.buildRightIndexer(indexerFactory, joiner,
+                    parentABCD.getTupleSource(), parentBridgeE, parentBridgeE.getParent(), inputStoreIndexRightProperties,
+                    sizeOnly);
+            node = filtering == null ? new IndexedIfExistsQuadNode<>(shouldExist,
+                    JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                    buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                    inputStoreIndexRightProperties,
+                    buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
+                    downstream, indexerFactory.buildIndexer(true), indexerRight)
+                    : new IndexedIfExistsQuadNode<>(shouldExist,
+                            JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                            buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                            inputStoreIndexRightProperties,
+                            buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
+                            downstream, indexerFactory.buildIndexer(true), indexerRight,
+                            filtering);
+        } else {
+            node = filtering == null ? new UnindexedIfExistsQuadNode<>(shouldExist,
+                    buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()), downstream)
+                    : new UnindexedIfExistsQuadNode<>(shouldExist,
+                            buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentABCD.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeE.getTupleSource()),
+                            downstream, filtering);
+        }
         buildHelper.addNode(node, this, parentBridgeE);
     }
 
@@ -79,26 +79,31 @@ public final class BavetJoinQuadConstraintStream<Solution_, A, B, C, D>
         int outputStoreSize = buildHelper.extractTupleStoreSize(this);
         TupleLifecycle<QuadTuple<A, B, C, D>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
         IndexerFactory indexerFactory = new IndexerFactory(joiner);
-        AbstractJoinNode<TriTuple<A, B, C>, D, QuadTuple<A, B, C, D>, QuadTupleImpl<A, B, C, D>> node =
-                indexerFactory.hasJoiners()
-                        ? new IndexedJoinQuadNode<>(
-                                JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                                buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                                downstream, filtering, outputStoreSize + 2,
-                                outputStoreSize, outputStoreSize + 1,
-                                indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false))
-                        : new UnindexedJoinQuadNode<>(
-                                buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
-                                downstream, filtering, outputStoreSize + 2,
-                                outputStoreSize, outputStoreSize + 1);
+        AbstractJoinNode<TriTuple<A, B, C>, D, QuadTuple<A, B, C, D>, QuadTupleImpl<A, B, C, D>> node;
+        if (indexerFactory.hasJoiners()) {
+            int inputStoreIndexRightProperties = buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource());
+            node = new IndexedJoinQuadNode<>(
+                    JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    inputStoreIndexRightProperties,
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    downstream, filtering, outputStoreSize + 2,
+                    outputStoreSize, outputStoreSize + 1,
+                    indexerFactory.buildIndexer(true),
+                    buildHelper.buildRightIndexer(indexerFactory, joiner, leftParent.getTupleSource(), rightParent,
+                            rightParent.getParent(), inputStoreIndexRightProperties));
+        } else {
+            node = new UnindexedJoinQuadNode<>(
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(leftParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(rightParent.getTupleSource()),
+                    downstream, filtering, outputStoreSize + 2,
+                    outputStoreSize, outputStoreSize + 1);
+        }
         buildHelper.addNode(node, leftParent, rightParent);
     }
 
@@ -21,16 +21,17 @@ package org.optaplanner.constraint.streams.bavet.quad;
 
 import org.optaplanner.constraint.streams.bavet.common.AbstractScorer;
 import org.optaplanner.constraint.streams.common.inliner.UndoScoreImpacter;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
 import org.optaplanner.core.api.function.QuadFunction;
-import org.optaplanner.core.api.score.Score;
 
 final class QuadScorer<A, B, C, D> extends AbstractScorer<QuadTuple<A, B, C, D>> {
 
     private final QuadFunction<A, B, C, D, UndoScoreImpacter> scoreImpacter;
 
-    public QuadScorer(String constraintPackage, String constraintName, Score<?> constraintWeight,
-            QuadFunction<A, B, C, D, UndoScoreImpacter> scoreImpacter, int inputStoreIndex) {
-        super(constraintPackage, constraintName, constraintWeight, inputStoreIndex);
+    public QuadScorer(String constraintPackage, String constraintName,
+            WeightedScoreImpacter<?, ?> weightedScoreImpacter, QuadFunction<A, B, C, D, UndoScoreImpacter> scoreImpacter,
+            int inputStoreIndex, int entryStoreIndex) {
+        super(constraintPackage, constraintName, weightedScoreImpacter, inputStoreIndex, entryStoreIndex);
         this.scoreImpacter = scoreImpacter;
     }
 
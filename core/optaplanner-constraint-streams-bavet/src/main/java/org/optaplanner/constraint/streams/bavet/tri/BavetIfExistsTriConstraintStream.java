@@ -26,9 +26,11 @@ import org.optaplanner.constraint.streams.bavet.common.AbstractIfExistsNode;
 import org.optaplanner.constraint.streams.bavet.common.BavetAbstractConstraintStream;
 import org.optaplanner.constraint.streams.bavet.common.NodeBuildHelper;
 import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
 import org.optaplanner.constraint.streams.bavet.common.index.IndexerFactory;
 import org.optaplanner.constraint.streams.bavet.common.index.JoinerUtils;
 import org.optaplanner.constraint.streams.bavet.uni.BavetIfExistsBridgeUniConstraintStream;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.common.quad.DefaultQuadJoiner;
 import org.optaplanner.core.api.function.QuadPredicate;
 import org.optaplanner.core.api.score.Score;
@@ -81,33 +83,42 @@ final class BavetIfExistsTriConstraintStream<Solution_, A, B, C, D>
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<TriTuple<A, B, C>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
         IndexerFactory indexerFactory = new IndexerFactory(joiner);
-        AbstractIfExistsNode<TriTuple<A, B, C>, D> node = indexerFactory.hasJoiners()
-                ? (filtering == null ? new IndexedIfExistsTriNode<>(shouldExist,
-                        JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                        buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                        downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false))
-                        : new IndexedIfExistsTriNode<>(shouldExist,
-                                JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                                buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                                downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false),
-                                filtering))
-                : (filtering == null ? new UnindexedIfExistsTriNode<>(shouldExist,
-                        buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()), downstream)
-                        : new UnindexedIfExistsTriNode<>(shouldExist,
-                                buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
-                                downstream, filtering));
+        AbstractIfExistsNode<TriTuple<A, B, C>, D> node;
+        if (indexerFactory.hasJoiners()) {
+            int inputStoreIndexRightProperties = buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource());
+            // Without filtering, the node only needs to know how many right tuples match, not which ones.
+            boolean sizeOnly = filtering == null;
+            Indexer<UniTuple<D>> indexerRight = buildHelper.buildRightIndexer(indexerFactory, joiner,
+                    parentABC.getTupleSource(), parentBridgeD, parentBridgeD.getParent(), inputStoreIndexRightProperties,
+                    sizeOnly);
+            node = filtering == null ? new IndexedIfExistsTriNode<>(shouldExist,
+                    JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                    buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                    inputStoreIndexRightProperties,
+                    buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
+                    downstream, indexerFactory.buildIndexer(true), indexerRight)
+                    : new IndexedIfExistsTriNode<>(shouldExist,
+                            JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                            buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                            inputStoreIndexRightProperties,
+                            buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
+                            downstream, indexerFactory.buildIndexer(true), indexerRight,
+                            filtering);
+        } else {
+            node = filtering == null ? new UnindexedIfExistsTriNode<>(shouldExist,
+                    buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()), downstream)
+                    : new UnindexedIfExistsTriNode<>(shouldExist,
+                            buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentABC.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeD.getTupleSource()),
+                            downstream, filtering);
+        }
         buildHelper.addNode(node, this, parentBridgeD);
     }
 
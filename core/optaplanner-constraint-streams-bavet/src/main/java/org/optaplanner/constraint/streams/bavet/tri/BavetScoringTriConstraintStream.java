@@ -119,9 +119,7 @@ public final class BavetScoringTriConstraintStream<Solution_, A, B, C>
             throw new IllegalStateException("Impossible state: the stream (" + this
                     + ") has an non-empty childStreamList (" + childStreamList + ") but it's an endpoint.");
         }
-        Score_ constraintWeight = buildHelper.getConstraintWeight(constraint);
-        WeightedScoreImpacter<Score_, ?> weightedScoreImpacter =
-                buildHelper.getScoreInliner().buildWeightedScoreImpacter(constraint, constraintWeight);
+        WeightedScoreImpacter<Score_, ?> weightedScoreImpacter = buildHelper.buildWeightedScoreImpacter(constraint);
         boolean constraintMatchEnabled = buildHelper.getScoreInliner().isConstraintMatchEnabled();
         TriFunction<A, B, C, UndoScoreImpacter> scoreImpacter;
         if (intMatchWeigher != null) {
@@ -190,8 +188,9 @@ public final class BavetScoringTriConstraintStream<Solution_, A, B, C>
             throw new IllegalStateException("Impossible state: neither of the supported match weighers provided.");
         }
         TriScorer<A, B, C> scorer = new TriScorer<>(constraint.getConstraintPackage(), constraint.getConstraintName(),
-                constraintWeight, scoreImpacter, buildHelper.reserveTupleStoreIndex(parent.getTupleSource()));
-        buildHelper.putInsertUpdateRetract(this, scorer);
+                weightedScoreImpacter, scoreImpacter, buildHelper.reserveTupleStoreIndex(parent.getTupleSource()),
+                buildHelper.reserveScorerEntryStoreIndex(weightedScoreImpacter, parent.getTupleSource()));
+        buildHelper.putScorer(this, constraint, scorer);
     }
 
     // ************************************************************************
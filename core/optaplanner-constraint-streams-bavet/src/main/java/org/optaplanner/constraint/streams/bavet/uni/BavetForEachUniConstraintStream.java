@@ -19,6 +19,7 @@
 
 package org.optaplanner.constraint.streams.bavet.uni;
 
+import java.util.Objects;
 import java.util.Set;
 
 import org.optaplanner.constraint.streams.bavet.BavetConstraintFactory;
@@ -31,11 +32,24 @@ import org.optaplanner.core.api.score.Score;
 public final class BavetForEachUniConstraintStream<Solution_, A> extends BavetAbstractUniConstraintStream<Solution_, A> {
 
     private final Class<A> forEachClass;
+    private final Set<String> observedVariableNameSet;
 
     public BavetForEachUniConstraintStream(BavetConstraintFactory<Solution_> constraintFactory, Class<A> forEachClass,
             RetrievalSemantics retrievalSemantics) {
+        this(constraintFactory, forEachClass, null, retrievalSemantics);
+    }
+
+    /**
+     * @param constraintFactory never null
+     * @param forEachClass never null
+     * @param observedVariableNameSet null if every variable change propagates
+     * @param retrievalSemantics never null
+     */
+    public BavetForEachUniConstraintStream(BavetConstraintFactory<Solution_> constraintFactory, Class<A> forEachClass,
+            Set<String> observedVariableNameSet, RetrievalSemantics retrievalSemantics) {
         super(constraintFactory, retrievalSemantics);
         this.forEachClass = forEachClass;
+        this.observedVariableNameSet = observedVariableNameSet;
         if (forEachClass == null) {
             throw new IllegalArgumentException("The forEachClass (null) cannot be null.");
         }
@@ -59,7 +73,8 @@ public final class BavetForEachUniConstraintStream<Solution_, A> extends BavetAb
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<UniTuple<A>> tupleLifecycle = buildHelper.getAggregatedTupleLifecycle(childStreamList);
         int outputStoreSize = buildHelper.extractTupleStoreSize(this);
-        buildHelper.addNode(new ForEachUniNode<>(forEachClass, tupleLifecycle, outputStoreSize));
+        buildHelper.addNode(new ForEachUniNode<>(forEachClass, observedVariableNameSet, tupleLifecycle,
+                outputStoreSize));
     }
 
     // ************************************************************************
@@ -68,7 +83,7 @@ public final class BavetForEachUniConstraintStream<Solution_, A> extends BavetAb
 
     @Override
     public int hashCode() {
-        return forEachClass.hashCode();
+        return Objects.hash(forEachClass, observedVariableNameSet);
     }
 
     @Override
@@ -77,7 +92,8 @@ public final class BavetForEachUniConstraintStream<Solution_, A> extends BavetAb
             return true;
         } else if (o instanceof BavetForEachUniConstraintStream) {
             BavetForEachUniConstraintStream<?, ?> other = (BavetForEachUniConstraintStream<?, ?>) o;
-            return forEachClass.equals(other.forEachClass);
+            return forEachClass.equals(other.forEachClass)
+                    && Objects.equals(observedVariableNameSet, other.observedVariableNameSet);
         } else {
             return false;
         }
@@ -85,7 +101,9 @@ public final class BavetForEachUniConstraintStream<Solution_, A> extends BavetAb
 
     @Override
     public String toString() {
-        return "ForEach(" + forEachClass.getSimpleName() + ") with " + childStreamList.size() + " children";
+        return "ForEach(" + forEachClass.getSimpleName()
+                + (observedVariableNameSet == null ? "" : " observing " + observedVariableNameSet) + ") with "
+                + childStreamList.size() + " children";
     }
 
     // ************************************************************************
@@ -52,6 +52,10 @@ public final class BavetIfExistsBridgeUniConstraintStream<Solution_, A>
         constraintStreamSet.add(this);
     }
 
+    public BavetAbstractUniConstraintStream<Solution_, A> getParent() {
+        return parent;
+    }
+
     @Override
     public BavetAbstractConstraintStream<Solution_> getTupleSource() {
         return parent.getTupleSource();
@@ -27,6 +27,7 @@ import org.optaplanner.constraint.streams.bavet.common.AbstractIfExistsNode;
 import org.optaplanner.constraint.streams.bavet.common.BavetAbstractConstraintStream;
 import org.optaplanner.constraint.streams.bavet.common.NodeBuildHelper;
 import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
+import org.optaplanner.constraint.streams.bavet.common.index.Indexer;
 import org.optaplanner.constraint.streams.bavet.common.index.IndexerFactory;
 import org.optaplanner.constraint.streams.bavet.common.index.JoinerUtils;
 import org.optaplanner.constraint.streams.common.bi.DefaultBiJoiner;
@@ -79,33 +80,42 @@ public final class BavetIfExistsUniConstraintStream<Solution_, A, B> extends Bav
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<UniTuple<A>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
         IndexerFactory indexerFactory = new IndexerFactory(joiner);
-        AbstractIfExistsNode<UniTuple<A>, B> node = indexerFactory.hasJoiners()
-                ? (filtering == null ? new IndexedIfExistsUniNode<>(shouldExist,
-                        JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                        buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                        downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false))
-                        : new IndexedIfExistsUniNode<>(shouldExist,
-                                JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
-                                buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                                downstream, indexerFactory.buildIndexer(true), indexerFactory.buildIndexer(false),
-                                filtering))
-                : (filtering == null ? new UnindexedIfExistsUniNode<>(shouldExist,
-                        buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                        buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()), downstream)
-                        : new UnindexedIfExistsUniNode<>(shouldExist,
-                                buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                                buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
-                                downstream, filtering));
+        AbstractIfExistsNode<UniTuple<A>, B> node;
+        if (indexerFactory.hasJoiners()) {
+            int inputStoreIndexRightProperties = buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource());
+            // Without filtering, the node only needs to know how many right tuples match, not which ones.
+            boolean sizeOnly = filtering == null;
+            Indexer<UniTuple<B>> indexerRight = buildHelper.buildRightIndexer(indexerFactory, joiner,
+                    parentA.getTupleSource(), parentBridgeB, parentBridgeB.getParent(), inputStoreIndexRightProperties,
+                    sizeOnly);
+            node = filtering == null ? new IndexedIfExistsUniNode<>(shouldExist,
+                    JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                    buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                    inputStoreIndexRightProperties,
+                    buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
+                    downstream, indexerFactory.buildIndexer(true), indexerRight)
+                    : new IndexedIfExistsUniNode<>(shouldExist,
+                            JoinerUtils.combineLeftMappings(joiner), JoinerUtils.combineRightMappings(joiner),
+                            buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                            inputStoreIndexRightProperties,
+                            buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
+                            downstream, indexerFactory.buildIndexer(true), indexerRight,
+                            filtering);
+        } else {
+            node = filtering == null ? new UnindexedIfExistsUniNode<>(shouldExist,
+                    buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                    buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()), downstream)
+                    : new UnindexedIfExistsUniNode<>(shouldExist,
+                            buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentA.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
+                            buildHelper.reserveTupleStoreIndex(parentBridgeB.getTupleSource()),
+                            downstream, filtering);
+        }
         buildHelper.addNode(node, this, parentBridgeB);
     }
 
@@ -118,9 +118,7 @@ public final class BavetScoringUniConstraintStream<Solution_, A>
             throw new IllegalStateException("Impossible state: the stream (" + this
                     + ") has an non-empty childStreamList (" + childStreamList + ") but it's an endpoint.");
         }
-        Score_ constraintWeight = buildHelper.getConstraintWeight(constraint);
-        WeightedScoreImpacter<Score_, ?> weightedScoreImpacter =
-                buildHelper.getScoreInliner().buildWeightedScoreImpacter(constraint, constraintWeight);
+        WeightedScoreImpacter<Score_, ?> weightedScoreImpacter = buildHelper.buildWeightedScoreImpacter(constraint);
         boolean constraintMatchEnabled = buildHelper.getScoreInliner().isConstraintMatchEnabled();
         Function<A, UndoScoreImpacter> scoreImpacter;
         if (intMatchWeigher != null) {
@@ -185,8 +183,9 @@ public final class BavetScoringUniConstraintStream<Solution_, A>
             throw new IllegalStateException("Impossible state: neither of the supported match weighers provided.");
         }
         UniScorer<A> scorer = new UniScorer<>(constraint.getConstraintPackage(), constraint.getConstraintName(),
-                constraintWeight, scoreImpacter, buildHelper.reserveTupleStoreIndex(parent.getTupleSource()));
-        buildHelper.putInsertUpdateRetract(this, scorer);
+                weightedScoreImpacter, scoreImpacter, buildHelper.reserveTupleStoreIndex(parent.getTupleSource()),
+                buildHelper.reserveScorerEntryStoreIndex(weightedScoreImpacter, parent.getTupleSource()));
+        buildHelper.putScorer(this, constraint, scorer);
     }
 
     // ************************************************************************
@@ -23,6 +23,7 @@ import java.util.ArrayDeque;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 
 import org.optaplanner.constraint.streams.bavet.common.AbstractNode;
 import org.optaplanner.constraint.streams.bavet.common.BavetTupleState;
@@ -31,6 +32,7 @@ import org.optaplanner.constraint.streams.bavet.common.TupleLifecycle;
 public final class ForEachUniNode<A> extends AbstractNode {
 
     private final Class<A> forEachClass;
+    private final Set<String> observedVariableNameSet; // Null if every variable change propagates
     /**
      * Calls for example {@link UniScorer#insert(UniTuple)}, and/or ...
      */
@@ -41,7 +43,13 @@ public final class ForEachUniNode<A> extends AbstractNode {
     private final Queue<UniTupleImpl<A>> dirtyTupleQueue;
 
     public ForEachUniNode(Class<A> forEachClass, TupleLifecycle<UniTuple<A>> nextNodesTupleLifecycle, int outputStoreSize) {
+        this(forEachClass, null, nextNodesTupleLifecycle, outputStoreSize);
+    }
+
+    public ForEachUniNode(Class<A> forEachClass, Set<String> observedVariableNameSet,
+            TupleLifecycle<UniTuple<A>> nextNodesTupleLifecycle, int outputStoreSize) {
         this.forEachClass = forEachClass;
+        this.observedVariableNameSet = observedVariableNameSet;
         this.nextNodesTupleLifecycle = nextNodesTupleLifecycle;
         this.outputStoreSize = outputStoreSize;
         dirtyTupleQueue = new ArrayDeque<>(1000);
@@ -54,6 +62,7 @@ public final class ForEachUniNode<A> extends AbstractNode {
             throw new IllegalStateException("The fact (" + a + ") was already inserted, so it cannot insert again.");
         }
         dirtyTupleQueue.add(tuple);
+        markDirty();
     }
 
     public void update(A a) {
@@ -68,9 +77,18 @@ public final class ForEachUniNode<A> extends AbstractNode {
         } else {
             tuple.state = BavetTupleState.UPDATING;
             dirtyTupleQueue.add(tuple);
+            markDirty();
         }
     }
 
+    /**
+     * @param variableName never null
+     * @return true if a change to that variable must {@link #update(Object)} the tuple of the changed fact
+     */
+    public boolean observesVariable(String variableName) {
+        return observedVariableNameSet == null || observedVariableNameSet.contains(variableName);
+    }
+
     public void retract(A a) {
         UniTupleImpl<A> tuple = tupleMap.remove(a);
         if (tuple == null) {
@@ -84,6 +102,7 @@ public final class ForEachUniNode<A> extends AbstractNode {
         } else {
             tuple.state = BavetTupleState.DYING;
             dirtyTupleQueue.add(tuple);
+            markDirty();
         }
     }
 
@@ -116,9 +135,50 @@ public final class ForEachUniNode<A> extends AbstractNode {
         dirtyTupleQueue.clear();
     }
 
+    /**
+     * Propagates the pending inserts to the nodes of a single partition,
+     * during the first score calculation of a session that primes its partitions in parallel.
+     * Different threads can call this concurrently, each for another partition, because it doesn't change this node.
+     * Once every partition received the inserts, {@link #finishPrimingInserts()} must be called instead of
+     * {@link #calculateScore()}.
+     *
+     * @param partitionTupleLifecycle never null, propagates to the nodes of that partition only
+     */
+    public void primeInserts(TupleLifecycle<UniTuple<A>> partitionTupleLifecycle) {
+        for (UniTupleImpl<A> tuple : dirtyTupleQueue) {
+            if (tuple.state == BavetTupleState.CREATING) {
+                partitionTupleLifecycle.insert(tuple);
+            }
+        }
+    }
+
+    /**
+     * @return the number of tuples that {@link #primeInserts(TupleLifecycle)} propagated
+     */
+    public int finishPrimingInserts() {
+        int propagationCount = 0;
+        for (UniTupleImpl<A> tuple : dirtyTupleQueue) {
+            switch (tuple.state) {
+                case CREATING:
+                    tuple.state = BavetTupleState.OK;
+                    propagationCount++;
+                    break;
+                case ABORTING:
+                    tuple.state = BavetTupleState.DEAD;
+                    break;
+                default:
+                    throw new IllegalStateException("Impossible state: The tuple (" + tuple + ") in node (" +
+                            this + ") is in an unexpected state (" + tuple.state + ") for priming.");
+            }
+        }
+        dirtyTupleQueue.clear();
+        return propagationCount;
+    }
+
     @Override
     public String toString() {
-        return super.toString() + "(" + forEachClass.getSimpleName() + ")";
+        return super.toString() + "(" + forEachClass.getSimpleName()
+                + (observedVariableNameSet == null ? "" : " observing " + observedVariableNameSet) + ")";
     }
 
     public Class<A> getForEachClass() {
@@ -23,15 +23,16 @@ import java.util.function.Function;
 
 import org.optaplanner.constraint.streams.bavet.common.AbstractScorer;
 import org.optaplanner.constraint.streams.common.inliner.UndoScoreImpacter;
-import org.optaplanner.core.api.score.Score;
+import org.optaplanner.constraint.streams.common.inliner.WeightedScoreImpacter;
 
 final class UniScorer<A> extends AbstractScorer<UniTuple<A>> {
 
     private final Function<A, UndoScoreImpacter> scoreImpacter;
 
-    public UniScorer(String constraintPackage, String constraintName, Score<?> constraintWeight,
-            Function<A, UndoScoreImpacter> scoreImpacter, int inputStoreIndex) {
-        super(constraintPackage, constraintName, constraintWeight, inputStoreIndex);
+    public UniScorer(String constraintPackage, String constraintName,
+            WeightedScoreImpacter<?, ?> weightedScoreImpacter, Function<A, UndoScoreImpacter> scoreImpacter,
+            int inputStoreIndex, int entryStoreIndex) {
+        super(constraintPackage, constraintName, weightedScoreImpacter, inputStoreIndex, entryStoreIndex);
         this.scoreImpacter = scoreImpacter;
     }
 
@@ -36,6 +36,11 @@ public final class UniTupleImpl<A> extends AbstractTuple implements UniTuple<A>
         return factA;
     }
 
+    @Override
+    public void clearFacts() {
+        factA = null;
+    }
+
     @Override
     public String toString() {
         return "{" + factA + "}";
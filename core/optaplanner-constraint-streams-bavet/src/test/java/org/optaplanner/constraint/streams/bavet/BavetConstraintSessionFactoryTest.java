@@ -0,0 +1,568 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.score.stream.Joiners;
+import org.optaplanner.core.api.score.stream.bi.BiConstraintStream;
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
+import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishEntity;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishEntityGroup;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishSolution;
+import org.optaplanner.core.impl.testdata.domain.score.lavish.TestdataLavishValue;
+
+class BavetConstraintSessionFactoryTest {
+
+    private final SolutionDescriptor<TestdataLavishSolution> solutionDescriptor =
+            TestdataLavishSolution.buildSolutionDescriptor();
+    private final BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> sessionFactory =
+            new BavetConstraintSessionFactory<>(solutionDescriptor,
+                    new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                            .buildConstraints(new PartitionableConstraintProvider()));
+
+    @Test
+    void partitionsShareNoNodesExceptForEach() {
+        // The 2 constraints that share the unique pair end up in the same partition.
+        assertThat(sessionFactory.buildSession(false, null, 8).getPartitionCount()).isEqualTo(3);
+        assertThat(sessionFactory.buildSession(false, null, 2).getPartitionCount()).isEqualTo(2);
+        assertThat(sessionFactory.buildSession(false, null, 1).getPartitionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void partitionedSessionMatchesSingleSession() {
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 2, 20);
+        BavetConstraintSession<SimpleScore> singleSession = sessionFactory.buildSession(true, solution, 1);
+        BavetConstraintSession<SimpleScore> partitionedSession = sessionFactory.buildSession(true, solution, 8);
+        for (BavetConstraintSession<SimpleScore> session : List.of(singleSession, partitionedSession)) {
+            solution.getValueList().forEach(session::insert);
+            solution.getEntityList().forEach(session::insert);
+        }
+        assertSameResult(singleSession, partitionedSession, -2);
+
+        List<TestdataLavishValue> valueList = solution.getValueList();
+        for (int i = 0; i < solution.getEntityList().size(); i += 3) {
+            TestdataLavishEntity entity = solution.getEntityList().get(i);
+            entity.setValue(valueList.get((i * 7) % valueList.size()));
+            singleSession.update(entity);
+            partitionedSession.update(entity);
+            assertSameResult(singleSession, partitionedSession, 0);
+        }
+        TestdataLavishEntity retractedEntity = solution.getFirstEntity();
+        singleSession.retract(retractedEntity);
+        partitionedSession.retract(retractedEntity);
+        assertSameResult(singleSession, partitionedSession, 0);
+
+        assertThatIllegalStateException().isThrownBy(partitionedSession::getScoreInliner);
+    }
+
+    @Test
+    void partitionedSessionSharesForEachNodesAndFilters() {
+        SharedFilterConstraintProvider constraintProvider = new SharedFilterConstraintProvider();
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> sharedFilterSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(constraintProvider));
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 2, 20);
+        BavetConstraintSession<SimpleScore> singleSession = sharedFilterSessionFactory.buildSession(true, solution, 1);
+        BavetConstraintSession<SimpleScore> partitionedSession = sharedFilterSessionFactory.buildSession(true, solution, 8);
+        assertThat(partitionedSession.getPartitionCount()).isEqualTo(2);
+        // No node is duplicated per partition, so a fact change does the same work in both sessions.
+        assertThat(partitionedSession.getNodeCount()).isEqualTo(singleSession.getNodeCount());
+        for (BavetConstraintSession<SimpleScore> session : List.of(singleSession, partitionedSession)) {
+            solution.getValueList().forEach(session::insert);
+            solution.getEntityList().forEach(session::insert);
+            constraintProvider.filterCount = 0;
+            session.calculateScore(0);
+            // Priming in parallel evaluates the shared filter once per partition.
+            assertThat(constraintProvider.filterCount)
+                    .isEqualTo(session.getPartitionCount() * solution.getEntityList().size());
+        }
+        assertSameResult(singleSession, partitionedSession, 0);
+
+        List<TestdataLavishValue> valueList = solution.getValueList();
+        for (int i = 0; i < solution.getEntityList().size(); i += 3) {
+            TestdataLavishEntity entity = solution.getEntityList().get(i);
+            entity.setValue(valueList.get((i * 7) % valueList.size()));
+            for (BavetConstraintSession<SimpleScore> session : List.of(singleSession, partitionedSession)) {
+                constraintProvider.filterCount = 0;
+                session.update(entity);
+                session.calculateScore(0);
+                // Once for both partitions
+                assertThat(constraintProvider.filterCount).isOne();
+            }
+            assertSameResult(singleSession, partitionedSession, 0);
+        }
+    }
+
+    @Test
+    void compiledFanOutMatchesInterpretedFanOut() {
+        List<BavetConstraint<TestdataLavishSolution>> constraintList =
+                new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                        .buildConstraints(new PartitionableConstraintProvider());
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> compilingSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor, constraintList, false, false, true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 2, 20);
+        BavetConstraintSession<SimpleScore> interpretedSession = sessionFactory.buildSession(true, solution);
+        BavetConstraintSession<SimpleScore> compiledSession = compilingSessionFactory.buildSession(true, solution);
+        for (BavetConstraintSession<SimpleScore> session : List.of(interpretedSession, compiledSession)) {
+            solution.getValueList().forEach(session::insert);
+            solution.getEntityList().forEach(session::insert);
+        }
+        assertSameResult(interpretedSession, compiledSession, 0);
+
+        List<TestdataLavishValue> valueList = solution.getValueList();
+        for (int i = 0; i < solution.getEntityList().size(); i += 3) {
+            TestdataLavishEntity entity = solution.getEntityList().get(i);
+            entity.setValue(valueList.get((i * 7) % valueList.size()));
+            interpretedSession.update(entity);
+            compiledSession.update(entity);
+            assertSameResult(interpretedSession, compiledSession, 0);
+        }
+        TestdataLavishEntity retractedEntity = solution.getFirstEntity();
+        interpretedSession.retract(retractedEntity);
+        compiledSession.retract(retractedEntity);
+        assertSameResult(interpretedSession, compiledSession, 0);
+    }
+
+    @Test
+    void nodeProfiling() {
+        List<BavetConstraint<TestdataLavishSolution>> constraintList =
+                new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                        .buildConstraints(new PartitionableConstraintProvider());
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> profilingSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor, constraintList, false, true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 2, 20);
+        BavetConstraintSession<SimpleScore> session = profilingSessionFactory.buildSession(false, solution);
+        assertThat(session.isNodeProfilingEnabled()).isTrue();
+        solution.getValueList().forEach(session::insert);
+        solution.getEntityList().forEach(session::insert);
+        session.calculateScore(0);
+
+        List<ConstraintStreamNodeProfile> nodeProfileList = session.getNodeProfileList();
+        assertThat(nodeProfileList).extracting(ConstraintStreamNodeProfile::getNodeId).doesNotHaveDuplicates();
+        String sharedValueId = constraintList.get(1).getConstraintId();
+        String sharedValueInSameGroupId = constraintList.get(2).getConstraintId();
+        assertThat(nodeProfileList)
+                .filteredOn(profile -> profile.getNodeType().contains("Join"))
+                .singleElement()
+                .satisfies(profile -> {
+                    assertThat(profile.getConstraintIdSet()).containsExactlyInAnyOrder(sharedValueId,
+                            sharedValueInSameGroupId);
+                    // The unique pair self-join receives and indexes every entity once, instead of on both sides.
+                    assertThat(profile.getNodeType()).isEqualTo("SelfJoinBiNode");
+                    assertThat(profile.getInsertCount()).isEqualTo(solution.getEntityList().size());
+                    assertThat(profile.getIndexSize()).isEqualTo(solution.getEntityList().size());
+                });
+        // The 4 scorers come last, each attributed to its own constraint only.
+        List<ConstraintStreamNodeProfile> scorerProfileList =
+                nodeProfileList.subList(nodeProfileList.size() - constraintList.size(), nodeProfileList.size());
+        assertThat(scorerProfileList)
+                .allSatisfy(profile -> assertThat(profile.getConstraintIdSet()).hasSize(1));
+        assertThat(scorerProfileList)
+                .filteredOn(profile -> profile.getConstraintIdSet().contains(sharedValueId))
+                .singleElement()
+                .satisfies(profile -> assertThat(profile.getInsertCount()).isEqualTo(countSharedValuePairs(solution)));
+
+        // The shared forEach nodes of a partitioned session also count what they propagated while priming.
+        BavetConstraintSession<SimpleScore> partitionedSession = profilingSessionFactory.buildSession(false, solution, 8);
+        solution.getValueList().forEach(partitionedSession::insert);
+        solution.getEntityList().forEach(partitionedSession::insert);
+        partitionedSession.calculateScore(0);
+        assertThat(partitionedSession.getNodeProfileList())
+                .filteredOn(profile -> profile.getNodeType().equals("ForEachUniNode"))
+                .hasSize(2)
+                .extracting(ConstraintStreamNodeProfile::getInsertCount, ConstraintStreamNodeProfile::getPropagationCount)
+                .containsExactlyInAnyOrderElementsOf(nodeProfileList.stream()
+                        .filter(profile -> profile.getNodeType().equals("ForEachUniNode"))
+                        .map(profile -> tuple(profile.getInsertCount(), profile.getPropagationCount()))
+                        .collect(Collectors.toList()));
+
+        BavetConstraintSession<SimpleScore> unprofiledSession = sessionFactory.buildSession(false, solution);
+        assertThat(unprofiledSession.isNodeProfilingEnabled()).isFalse();
+        assertThatIllegalStateException().isThrownBy(unprofiledSession::getNodeProfileList);
+    }
+
+    @Test
+    void sharedRightIndexMatchesUnsharedRightIndex() {
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> unsharedSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(new SharedRightIndexConstraintProvider(false)),
+                        false, true);
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> sharedSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(new SharedRightIndexConstraintProvider(true)),
+                        false, true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 2, 20);
+        BavetConstraintSession<SimpleScore> unsharedSession = unsharedSessionFactory.buildSession(true, solution);
+        BavetConstraintSession<SimpleScore> sharedSession = sharedSessionFactory.buildSession(true, solution);
+        for (BavetConstraintSession<SimpleScore> session : List.of(unsharedSession, sharedSession)) {
+            solution.getValueList().forEach(session::insert);
+            solution.getEntityList().forEach(session::insert);
+        }
+        assertSameResult(unsharedSession, sharedSession, 0);
+        // The 3 other nodes read the right index of the first node, instead of indexing every entity again.
+        assertThat(sumIndexSize(sharedSession))
+                .isEqualTo(sumIndexSize(unsharedSession) - (3L * solution.getEntityList().size()));
+
+        List<TestdataLavishValue> valueList = solution.getValueList();
+        for (int i = 0; i < solution.getEntityList().size(); i += 3) {
+            TestdataLavishEntity entity = solution.getEntityList().get(i);
+            entity.setValue(valueList.get((i * 7) % valueList.size()));
+            unsharedSession.update(entity);
+            sharedSession.update(entity);
+            assertSameResult(unsharedSession, sharedSession, 0);
+        }
+        TestdataLavishEntity retractedEntity = solution.getFirstEntity();
+        unsharedSession.retract(retractedEntity);
+        sharedSession.retract(retractedEntity);
+        assertSameResult(unsharedSession, sharedSession, 0);
+    }
+
+    @Test
+    void sizeOnlyIfExistsDoesNotShareRightIndexOfSameTupleSource() {
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> unsharedSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(new SizeOnlyIfExistsConstraintProvider(false)),
+                        false, true);
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> sharedSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(new SizeOnlyIfExistsConstraintProvider(true)),
+                        false, true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 2, 20);
+        BavetConstraintSession<SimpleScore> unsharedSession = unsharedSessionFactory.buildSession(true, solution);
+        BavetConstraintSession<SimpleScore> sharedSession = sharedSessionFactory.buildSession(true, solution);
+        for (BavetConstraintSession<SimpleScore> session : List.of(unsharedSession, sharedSession)) {
+            solution.getValueList().forEach(session::insert);
+            solution.getEntityList().forEach(session::insert);
+        }
+        assertSameResult(unsharedSession, sharedSession, 0);
+        // The ifExists node counts its right entities on every left insert and update,
+        // so it indexes them itself instead of reading the right index of the join, which would visit them.
+        assertThat(sharedSession.getNodeProfileList())
+                .filteredOn(profile -> profile.getNodeType().startsWith("Indexed"))
+                .hasSize(2)
+                .allSatisfy(profile -> assertThat(profile.getIndexSize())
+                        .isEqualTo(2 * solution.getEntityList().size()));
+
+        List<TestdataLavishValue> valueList = solution.getValueList();
+        for (int i = 0; i < solution.getEntityList().size(); i += 3) {
+            TestdataLavishEntity entity = solution.getEntityList().get(i);
+            entity.setValue(valueList.get((i * 7) % valueList.size()));
+            unsharedSession.update(entity);
+            sharedSession.update(entity);
+            assertSameResult(unsharedSession, sharedSession, 0);
+        }
+        TestdataLavishEntity retractedEntity = solution.getFirstEntity();
+        unsharedSession.retract(retractedEntity);
+        sharedSession.retract(retractedEntity);
+        assertSameResult(unsharedSession, sharedSession, 0);
+    }
+
+    @Test
+    void uniquePairSelfJoinMatchesGeneralJoin() {
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> generalSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(new UniquePairConstraintProvider(false)),
+                        false, true);
+        BavetConstraintSessionFactory<TestdataLavishSolution, SimpleScore> selfJoinSessionFactory =
+                new BavetConstraintSessionFactory<>(solutionDescriptor,
+                        new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                                .buildConstraints(new UniquePairConstraintProvider(true)),
+                        false, true);
+        TestdataLavishSolution solution = TestdataLavishSolution.generateSolution(2, 5, 3, 20);
+        BavetConstraintSession<SimpleScore> generalSession = generalSessionFactory.buildSession(true, solution);
+        BavetConstraintSession<SimpleScore> selfJoinSession = selfJoinSessionFactory.buildSession(true, solution);
+        for (BavetConstraintSession<SimpleScore> session : List.of(generalSession, selfJoinSession)) {
+            solution.getValueList().forEach(session::insert);
+            solution.getEntityList().forEach(session::insert);
+        }
+        assertSameResult(generalSession, selfJoinSession, 0);
+        // Every self-join indexes every entity once, instead of once on each side.
+        assertThat(selfJoinSession.getNodeProfileList())
+                .filteredOn(profile -> profile.getNodeType().equals("SelfJoinBiNode"))
+                .hasSize(3)
+                .allSatisfy(profile -> assertThat(profile.getIndexSize()).isEqualTo(solution.getEntityList().size()));
+
+        List<TestdataLavishValue> valueList = solution.getValueList();
+        List<TestdataLavishEntityGroup> entityGroupList = solution.getEntityGroupList();
+        for (int i = 0; i < solution.getEntityList().size(); i += 3) {
+            TestdataLavishEntity entity = solution.getEntityList().get(i);
+            entity.setValue(valueList.get((i * 7) % valueList.size()));
+            generalSession.update(entity);
+            selfJoinSession.update(entity);
+            assertSameResult(generalSession, selfJoinSession, 0);
+            // Only the filtering changes, so the self-join updates its pairs without re-indexing.
+            entity.setEntityGroup(entityGroupList.get(i % entityGroupList.size()));
+            generalSession.update(entity);
+            selfJoinSession.update(entity);
+            assertSameResult(generalSession, selfJoinSession, 0);
+        }
+        TestdataLavishEntity retractedEntity = solution.getFirstEntity();
+        generalSession.retract(retractedEntity);
+        selfJoinSession.retract(retractedEntity);
+        assertSameResult(generalSession, selfJoinSession, 0);
+    }
+
+    private static long sumIndexSize(BavetConstraintSession<SimpleScore> session) {
+        return session.getNodeProfileList().stream()
+                .mapToLong(ConstraintStreamNodeProfile::getIndexSize)
+                .sum();
+    }
+
+    private static long countSharedValuePairs(TestdataLavishSolution solution) {
+        List<TestdataLavishEntity> entityList = solution.getEntityList();
+        long count = 0L;
+        for (int i = 0; i < entityList.size(); i++) {
+            for (int j = i + 1; j < entityList.size(); j++) {
+                if (entityList.get(i).getValue() == entityList.get(j).getValue()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void assertSameResult(BavetConstraintSession<SimpleScore> expectedSession,
+            BavetConstraintSession<SimpleScore> actualSession, int initScore) {
+        SimpleScore expectedScore = expectedSession.calculateScore(initScore);
+        assertThat(actualSession.calculateScore(initScore)).isEqualTo(expectedScore);
+        assertThat(toScoreMap(actualSession.getConstraintMatchTotalMap(), ConstraintMatchTotal::getScore))
+                .isEqualTo(toScoreMap(expectedSession.getConstraintMatchTotalMap(), ConstraintMatchTotal::getScore));
+        assertThat(toScoreMap(actualSession.getIndictmentMap(), Indictment::getScore))
+                .isEqualTo(toScoreMap(expectedSession.getIndictmentMap(), Indictment::getScore));
+    }
+
+    private static <Key_, Value_> Map<Key_, SimpleScore> toScoreMap(Map<Key_, Value_> map,
+            Function<Value_, SimpleScore> scoreFunction) {
+        return map.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> scoreFunction.apply(entry.getValue())));
+    }
+
+    public static final class PartitionableConstraintProvider implements ConstraintProvider {
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            // Both constraints on the same value share this stream, and therefore its join node.
+            BiConstraintStream<TestdataLavishEntity, TestdataLavishEntity> sharedValueStream =
+                    constraintFactory.forEachUniquePair(TestdataLavishEntity.class,
+                            Joiners.equal(TestdataLavishEntity::getValue));
+            return new Constraint[] {
+                    constraintFactory.forEach(TestdataLavishEntity.class)
+                            .filter(entity -> entity.getIntegerProperty() == null)
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Without integer"),
+                    sharedValueStream
+                            .penalize(SimpleScore.of(2))
+                            .asConstraint("Shared value"),
+                    sharedValueStream
+                            .filter((a, b) -> a.getEntityGroup() == b.getEntityGroup())
+                            .reward(SimpleScore.ONE)
+                            .asConstraint("Shared value in the same group"),
+                    constraintFactory.forEach(TestdataLavishValue.class)
+                            .ifNotExists(TestdataLavishEntity.class,
+                                    Joiners.equal(value -> value, TestdataLavishEntity::getValue))
+                            .penalize(SimpleScore.of(3))
+                            .asConstraint("Unused value")
+            };
+        }
+
+    }
+
+    public static final class SharedFilterConstraintProvider implements ConstraintProvider {
+
+        private int filterCount = 0;
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            // Both constraints share this filter, but nothing else, so they end up in different partitions.
+            UniConstraintStream<TestdataLavishEntity> filteredStream = constraintFactory.forEach(TestdataLavishEntity.class)
+                    .filter(entity -> {
+                        filterCount++;
+                        return entity.getEntityGroup() != null;
+                    });
+            return new Constraint[] {
+                    filteredStream
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Grouped entity"),
+                    filteredStream
+                            .join(TestdataLavishValue.class, Joiners.equal(TestdataLavishEntity::getValue, value -> value))
+                            .penalize(SimpleScore.of(2))
+                            .asConstraint("Grouped entity with value")
+            };
+        }
+
+    }
+
+    public static final class UniquePairConstraintProvider implements ConstraintProvider {
+
+        private static final Function<TestdataLavishEntity, TestdataLavishValue> VALUE_GETTER =
+                TestdataLavishEntity::getValue;
+
+        private final boolean uniquePair;
+
+        public UniquePairConstraintProvider(boolean uniquePair) {
+            this.uniquePair = uniquePair;
+        }
+
+        @SafeVarargs
+        private BiConstraintStream<TestdataLavishEntity, TestdataLavishEntity> pairs(
+                ConstraintFactory constraintFactory, BiJoiner<TestdataLavishEntity, TestdataLavishEntity>... joiners) {
+            if (uniquePair) {
+                return constraintFactory.forEachUniquePair(TestdataLavishEntity.class, joiners);
+            }
+            // Different left and right mappings, so it is an ordinary join of the same stream.
+            // The lessThan joiner goes first, because indexing joiners must not follow a filtering joiner.
+            BiJoiner<TestdataLavishEntity, TestdataLavishEntity>[] joinersWithLessThan =
+                    new BiJoiner[joiners.length + 1];
+            joinersWithLessThan[0] = Joiners.lessThan(TestdataLavishEntity::getCode, entity -> entity.getCode());
+            System.arraycopy(joiners, 0, joinersWithLessThan, 1, joiners.length);
+            return constraintFactory.forEach(TestdataLavishEntity.class)
+                    .join(TestdataLavishEntity.class, joinersWithLessThan);
+        }
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[] {
+                    pairs(constraintFactory, Joiners.equal(VALUE_GETTER))
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Same value"),
+                    pairs(constraintFactory, Joiners.equal(VALUE_GETTER),
+                            Joiners.filtering((a, b) -> a.getEntityGroup() == b.getEntityGroup()))
+                            .penalize(SimpleScore.of(2))
+                            .asConstraint("Same value in the same group"),
+                    pairs(constraintFactory, Joiners.filtering((a, b) -> a.getEntityGroup() != b.getEntityGroup()))
+                            .reward(SimpleScore.of(3))
+                            .asConstraint("Different group")
+            };
+        }
+
+    }
+
+    public static final class SizeOnlyIfExistsConstraintProvider implements ConstraintProvider {
+
+        private static final Function<TestdataLavishEntity, TestdataLavishValue> VALUE_GETTER =
+                TestdataLavishEntity::getValue;
+        private static final Function<TestdataLavishEntity, String> CODE_GETTER = TestdataLavishEntity::getCode;
+
+        private final boolean shareGetters;
+
+        public SizeOnlyIfExistsConstraintProvider(boolean shareGetters) {
+            this.shareGetters = shareGetters;
+        }
+
+        private <T> Function<TestdataLavishEntity, T> getter(Function<TestdataLavishEntity, T> getter) {
+            return shareGetters ? getter : getter::apply;
+        }
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[] {
+                    // Without filtering and with a comparison joiner, the same right index properties as the join.
+                    constraintFactory.forEach(TestdataLavishEntity.class)
+                            .ifExists(TestdataLavishEntity.class,
+                                    Joiners.equal(entity -> entity.getValue(), getter(VALUE_GETTER)),
+                                    Joiners.lessThan(entity -> entity.getCode(), getter(CODE_GETTER)))
+                            .penalize(SimpleScore.of(2))
+                            .asConstraint("Value used by a later entity"),
+                    constraintFactory.forEach(TestdataLavishEntity.class)
+                            // Different left and right mappings, so it is an ordinary join.
+                            // It is built before the ifExists node, so it owns the right index.
+                            .join(TestdataLavishEntity.class,
+                                    Joiners.equal(entity -> entity.getValue(), getter(VALUE_GETTER)),
+                                    Joiners.lessThan(entity -> entity.getCode(), getter(CODE_GETTER)))
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Same value")
+            };
+        }
+
+    }
+
+    public static final class SharedRightIndexConstraintProvider implements ConstraintProvider {
+
+        private static final Function<TestdataLavishEntity, TestdataLavishValue> VALUE_GETTER =
+                TestdataLavishEntity::getValue;
+
+        private final boolean shareValueGetter;
+
+        public SharedRightIndexConstraintProvider(boolean shareValueGetter) {
+            this.shareValueGetter = shareValueGetter;
+        }
+
+        private Function<TestdataLavishEntity, TestdataLavishValue> valueGetter() {
+            // A bound method reference is a new instance every time, so the joiners do not share their right mapping.
+            return shareValueGetter ? VALUE_GETTER : VALUE_GETTER::apply;
+        }
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[] {
+                    constraintFactory.forEach(TestdataLavishEntity.class)
+                            // Also matches an entity with itself, which the left and the right input receive at once.
+                            .join(TestdataLavishEntity.class,
+                                    Joiners.equal(valueGetter()))
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Same value"),
+                    constraintFactory.forEach(TestdataLavishEntity.class)
+                            .filter(entity -> entity.getIntegerProperty() != null)
+                            .join(TestdataLavishEntity.class,
+                                    Joiners.equal(valueGetter()),
+                                    Joiners.filtering((a, b) -> a.getEntityGroup() == b.getEntityGroup()))
+                            .penalize(SimpleScore.of(2))
+                            .asConstraint("Same value in the same group"),
+                    constraintFactory.forEach(TestdataLavishValue.class)
+                            .ifExists(TestdataLavishEntity.class,
+                                    Joiners.equal(value -> value, valueGetter()))
+                            .reward(SimpleScore.of(3))
+                            .asConstraint("Used value"),
+                    constraintFactory.forEach(TestdataLavishValue.class)
+                            .join(TestdataLavishEntity.class,
+                                    Joiners.equal(value -> value, valueGetter()))
+                            .reward(SimpleScore.ONE)
+                            .asConstraint("Value usage")
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.constraint.streams.bavet.common.AbstractNode;
+import org.optaplanner.constraint.streams.common.inliner.AbstractScoreInliner;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+
+class BavetConstraintSessionPartitionTest {
+
+    private final List<String> visitedNodeList = new ArrayList<>();
+
+    @Test
+    void calculateScoreOnlyVisitsDirtyNodesInOrder() {
+        RecordingNode last = new RecordingNode("last", null);
+        RecordingNode middle = new RecordingNode("middle", last);
+        RecordingNode untouched = new RecordingNode("untouched", last);
+        RecordingNode first = new RecordingNode("first", middle);
+        BavetConstraintSessionPartition<SimpleScore> partition = new BavetConstraintSessionPartition<>(
+                mock(AbstractScoreInliner.class), Map.of(), new AbstractNode[] { first, untouched, middle, last });
+
+        partition.calculateScore();
+        assertThat(visitedNodeList).isEmpty();
+
+        // Dirtying the first node also dirties the middle and last nodes, in the same pass.
+        first.enqueue();
+        partition.calculateScore();
+        assertThat(visitedNodeList).containsExactly("first", "middle", "last");
+
+        visitedNodeList.clear();
+        untouched.enqueue();
+        middle.enqueue();
+        partition.calculateScore();
+        // The last node is visited only once, even though both its parents propagated to it.
+        assertThat(visitedNodeList).containsExactly("untouched", "middle", "last");
+
+        visitedNodeList.clear();
+        partition.calculateScore();
+        assertThat(visitedNodeList).isEmpty();
+    }
+
+    private final class RecordingNode extends AbstractNode {
+
+        private final String name;
+        private final RecordingNode nextNode;
+
+        public RecordingNode(String name, RecordingNode nextNode) {
+            this.name = name;
+            this.nextNode = nextNode;
+        }
+
+        public void enqueue() {
+            markDirty();
+        }
+
+        @Override
+        public void calculateScore() {
+            visitedNodeList.add(name);
+            if (nextNode != null) {
+                nextNode.enqueue();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.score.stream.Joiners;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.domain.shadow.TestdataShadowedEntity;
+import org.optaplanner.core.impl.testdata.domain.shadow.TestdataShadowedSolution;
+
+class BavetConstraintSessionTest {
+
+    private final SolutionDescriptor<TestdataShadowedSolution> solutionDescriptor =
+            TestdataShadowedSolution.buildSolutionDescriptor();
+
+    @Test
+    void updateVariableOnlyPropagatesToObservingStreams() {
+        ObservingConstraintProvider constraintProvider = new ObservingConstraintProvider();
+        List<BavetConstraint<TestdataShadowedSolution>> constraintList =
+                new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                        .buildConstraints(constraintProvider);
+        TestdataShadowedSolution solution = TestdataShadowedSolution.generateSolution(2, 3);
+        BavetConstraintSession<SimpleScore> session =
+                new BavetConstraintSessionFactory<TestdataShadowedSolution, SimpleScore>(solutionDescriptor,
+                        constraintList).buildSession(false, solution);
+        solution.getEntityList().forEach(session::insert);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-6));
+        assertThat(constraintProvider.valueFilterCount).isEqualTo(3);
+        assertThat(constraintProvider.shadowFilterCount).isEqualTo(3);
+
+        TestdataShadowedEntity entity = solution.getEntityList().get(0);
+        entity.setFirstShadow("changed");
+        session.updateVariable(entity, "firstShadow");
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-6));
+        assertThat(constraintProvider.valueFilterCount).isEqualTo(3);
+        assertThat(constraintProvider.shadowFilterCount).isEqualTo(4);
+
+        // The genuine variable is observed by both streams, because their nullity filter reads it.
+        entity.setValue(solution.getValueList().get(1));
+        session.updateVariable(entity, "value");
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-6));
+        assertThat(constraintProvider.valueFilterCount).isEqualTo(4);
+        assertThat(constraintProvider.shadowFilterCount).isEqualTo(5);
+
+        // A problem property change propagates regardless of the variables.
+        session.update(entity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-6));
+        assertThat(constraintProvider.valueFilterCount).isEqualTo(5);
+        assertThat(constraintProvider.shadowFilterCount).isEqualTo(6);
+    }
+
+    @Test
+    void forEachObservingFailsFast() {
+        BavetConstraintFactory<TestdataShadowedSolution> constraintFactory =
+                new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> constraintFactory.forEachObserving(TestdataShadowedEntity.class, "nonExisting"))
+                .withMessageContaining("nonExisting");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> constraintFactory.forEachObserving(TestdataValue.class, "value"))
+                .withMessageContaining("not a planning entity class");
+    }
+
+    @Test
+    void retractedFactIsNotKeptReachableByTuplePools() throws InterruptedException {
+        List<BavetConstraint<TestdataShadowedSolution>> constraintList =
+                new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE)
+                        .buildConstraints(new PoolingConstraintProvider());
+        TestdataShadowedSolution solution = TestdataShadowedSolution.generateSolution(1, 2);
+        BavetConstraintSession<SimpleScore> session =
+                new BavetConstraintSessionFactory<TestdataShadowedSolution, SimpleScore>(solutionDescriptor,
+                        constraintList).buildSession(false, solution);
+        solution.getEntityList().forEach(session::insert);
+        TestdataShadowedEntity retractedEntity = new TestdataShadowedEntity("Retracted", solution.getValueList().get(0));
+        session.insert(retractedEntity);
+        // 9 pairs with the same value and 3 mapped entities
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-12));
+
+        // The map and join nodes recycle the out tuples of the retracted entity into their tuple pool.
+        session.retract(retractedEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-6));
+        // The next pass releases them, although nothing else changed.
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-6));
+
+        WeakReference<TestdataShadowedEntity> retractedEntityReference = new WeakReference<>(retractedEntity);
+        retractedEntity = null;
+        for (int i = 0; i < 10 && retractedEntityReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(retractedEntityReference.get()).isNull();
+
+        // The released tuples are still reused.
+        TestdataShadowedEntity insertedEntity = new TestdataShadowedEntity("Inserted", solution.getValueList().get(0));
+        session.insert(insertedEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-12));
+    }
+
+    private static final class ObservingConstraintProvider implements ConstraintProvider {
+
+        private int valueFilterCount = 0;
+        private int shadowFilterCount = 0;
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[] {
+                    constraintFactory.forEachObserving(TestdataShadowedEntity.class, "value")
+                            .filter(entity -> {
+                                valueFilterCount++;
+                                return true;
+                            })
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Value"),
+                    constraintFactory.forEachObserving(TestdataShadowedEntity.class, "firstShadow")
+                            .filter(entity -> {
+                                shadowFilterCount++;
+                                return true;
+                            })
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("First shadow")
+            };
+        }
+
+    }
+
+    private static final class PoolingConstraintProvider implements ConstraintProvider {
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[] {
+                    constraintFactory.forEach(TestdataShadowedEntity.class)
+                            .join(TestdataShadowedEntity.class, Joiners.equal(TestdataShadowedEntity::getValue))
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Same value"),
+                    constraintFactory.forEach(TestdataShadowedEntity.class)
+                            .map(entity -> entity)
+                            .penalize(SimpleScore.ONE)
+                            .asConstraint("Mapped")
+            };
+        }
+
+    }
+
+}
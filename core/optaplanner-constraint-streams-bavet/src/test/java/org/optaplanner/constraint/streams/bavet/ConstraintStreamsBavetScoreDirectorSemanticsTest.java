@@ -19,13 +19,18 @@
 
 package org.optaplanner.constraint.streams.bavet;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.stream.ConstraintStreamImplType;
 import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
 import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirectorSemanticsTest;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.testdata.domain.constraintconfiguration.TestdataConstraintConfiguration;
 import org.optaplanner.core.impl.score.director.ScoreDirectorFactoryFactory;
 import org.optaplanner.core.impl.testdata.domain.constraintconfiguration.TestdataConstraintConfigurationSolution;
 import org.optaplanner.core.impl.testdata.domain.constraintconfiguration.TestdataConstraintWeightConstraintProvider;
@@ -44,4 +49,72 @@ final class ConstraintStreamsBavetScoreDirectorSemanticsTest extends AbstractSco
                 EnvironmentMode.REPRODUCIBLE, solutionDescriptor);
     }
 
+    @Test
+    void mutableConstraintConfigurationReweightsInPlace() {
+        BavetConstraintStreamScoreDirector<TestdataConstraintConfigurationSolution, SimpleScore> scoreDirector =
+                buildScoreDirector();
+        TestdataConstraintConfigurationSolution solution = TestdataConstraintConfigurationSolution.generateSolution(2, 3);
+        scoreDirector.setWorkingSolution(solution);
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(3));
+        BavetConstraintSession<SimpleScore> session = scoreDirector.getSession();
+
+        changeFirstWeight(scoreDirector, solution, SimpleScore.of(2));
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(6));
+        assertThat(scoreDirector.getSession()).isSameAs(session);
+        ConstraintMatchTotal<SimpleScore> constraintMatchTotal =
+                scoreDirector.getConstraintMatchTotalMap().values().iterator().next();
+        assertThat(constraintMatchTotal.getConstraintWeight()).isEqualTo(SimpleScore.of(2));
+        assertThat(constraintMatchTotal.getScore()).isEqualTo(SimpleScore.of(6));
+
+        changeFirstWeight(scoreDirector, solution, SimpleScore.ZERO);
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.ZERO);
+        assertThat(scoreDirector.getConstraintMatchTotalMap()).isEmpty();
+
+        changeFirstWeight(scoreDirector, solution, SimpleScore.of(3));
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(9));
+        assertThat(scoreDirector.getSession()).isSameAs(session);
+        assertThat(session.getPartitionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void mutableConstraintConfigurationAttachesCulledConstraint() {
+        BavetConstraintStreamScoreDirector<TestdataConstraintConfigurationSolution, SimpleScore> scoreDirector =
+                buildScoreDirector();
+        TestdataConstraintConfigurationSolution solution = TestdataConstraintConfigurationSolution.generateSolution(2, 3);
+        solution.getConstraintConfiguration().setFirstWeight(SimpleScore.ZERO);
+        scoreDirector.setWorkingSolution(solution);
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.ZERO);
+        BavetConstraintSession<SimpleScore> session = scoreDirector.getSession();
+
+        changeFirstWeight(scoreDirector, solution, SimpleScore.of(2));
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(6));
+        assertThat(scoreDirector.getSession()).isSameAs(session);
+        assertThat(session.getPartitionCount()).isEqualTo(2);
+        assertThat(scoreDirector.getConstraintMatchTotalMap().values())
+                .singleElement()
+                .extracting(ConstraintMatchTotal::getScore)
+                .isEqualTo(SimpleScore.of(6));
+
+        // The attached partition receives the later changes too.
+        scoreDirector.beforeEntityRemoved(solution.getEntityList().get(0));
+        scoreDirector.afterEntityRemoved(solution.getEntityList().remove(0));
+        assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(4));
+    }
+
+    private BavetConstraintStreamScoreDirector<TestdataConstraintConfigurationSolution, SimpleScore> buildScoreDirector() {
+        SolutionDescriptor<TestdataConstraintConfigurationSolution> solutionDescriptor =
+                TestdataConstraintConfigurationSolution.buildSolutionDescriptor();
+        return (BavetConstraintStreamScoreDirector<TestdataConstraintConfigurationSolution, SimpleScore>)
+                buildInnerScoreDirectorFactory(solutionDescriptor).buildScoreDirector(false, true);
+    }
+
+    private static void changeFirstWeight(
+            BavetConstraintStreamScoreDirector<TestdataConstraintConfigurationSolution, SimpleScore> scoreDirector,
+            TestdataConstraintConfigurationSolution solution, SimpleScore firstWeight) {
+        TestdataConstraintConfiguration constraintConfiguration = solution.getConstraintConfiguration();
+        scoreDirector.beforeProblemPropertyChanged(constraintConfiguration);
+        constraintConfiguration.setFirstWeight(firstWeight);
+        scoreDirector.afterProblemPropertyChanged(constraintConfiguration);
+    }
+
 }
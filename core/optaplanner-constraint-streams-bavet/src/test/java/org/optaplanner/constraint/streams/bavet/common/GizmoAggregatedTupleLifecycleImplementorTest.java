@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+import org.optaplanner.core.api.score.stream.ConstraintStream;
+
+class GizmoAggregatedTupleLifecycleImplementorTest {
+
+    private final GizmoAggregatedTupleLifecycleImplementor implementor = new GizmoAggregatedTupleLifecycleImplementor();
+
+    @Test
+    void propagatesToEveryLifecycleInOrder() {
+        TupleLifecycle<UniTuple<String>> first = mock(TupleLifecycle.class);
+        TupleLifecycle<UniTuple<String>> second = mock(TupleLifecycle.class);
+        TupleLifecycle<UniTuple<String>> third = mock(TupleLifecycle.class);
+        TupleLifecycle<UniTuple<String>> aggregated =
+                implementor.aggregate(mock(ConstraintStream.class), new TupleLifecycle[] { first, second, third });
+        assertThat(aggregated).hasToString("size = 3 (compiled)");
+
+        UniTuple<String> tuple = new UniTupleImpl<>("A", 0);
+        aggregated.insert(tuple);
+        aggregated.update(tuple);
+        aggregated.retract(tuple);
+        InOrder inOrder = inOrder(first, second, third);
+        inOrder.verify(first).insert(tuple);
+        inOrder.verify(second).insert(tuple);
+        inOrder.verify(third).insert(tuple);
+        inOrder.verify(first).update(tuple);
+        inOrder.verify(second).update(tuple);
+        inOrder.verify(third).update(tuple);
+        inOrder.verify(first).retract(tuple);
+        inOrder.verify(second).retract(tuple);
+        inOrder.verify(third).retract(tuple);
+        verifyNoMoreInteractions(first, second, third);
+    }
+
+    @Test
+    void classPerStreamAndSize() {
+        ConstraintStream stream = mock(ConstraintStream.class);
+        ConstraintStream otherStream = mock(ConstraintStream.class);
+        TupleLifecycle<UniTuple<String>> lifecycle = mock(TupleLifecycle.class);
+        Class<?> generatedClass = implementor.aggregate(stream, new TupleLifecycle[] { lifecycle, lifecycle }).getClass();
+        // Every session of the same session factory reuses the class.
+        assertThat(implementor.aggregate(stream, new TupleLifecycle[] { lifecycle, lifecycle }))
+                .isExactlyInstanceOf(generatedClass);
+        // Different streams do not share call sites.
+        assertThat(implementor.aggregate(otherStream, new TupleLifecycle[] { lifecycle, lifecycle }).getClass())
+                .isNotEqualTo(generatedClass);
+        assertThat(implementor.aggregate(stream, new TupleLifecycle[] { lifecycle, lifecycle, lifecycle }).getClass())
+                .isNotEqualTo(generatedClass);
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.constraint.streams.bavet.bi.BiTupleImpl;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+
+class TuplePoolTest {
+
+    @Test
+    void recycleAndPoll() {
+        TuplePool<UniTupleImpl<String>> tuplePool = new TuplePool<>(TuplePool.DEFAULT_MAX_SIZE);
+        assertThat(tuplePool.poll()).isNull();
+
+        UniTupleImpl<String> tupleA = new UniTupleImpl<>("A", 2);
+        UniTupleImpl<String> tupleB = new UniTupleImpl<>("B", 2);
+        assertThatIllegalStateException().isThrownBy(() -> tuplePool.recycle(tupleA));
+        tupleA.setStore(1, "storedA");
+        tupleA.setState(BavetTupleState.DEAD);
+        tuplePool.recycle(tupleA);
+        tupleB.setState(BavetTupleState.DEAD);
+        tuplePool.recycle(tupleB);
+        // Downstream nodes might still read a recycled tuple until the end of the pass
+        assertThat(tuplePool.hasUnreleasedTuples()).isTrue();
+        assertThat(tuplePool.size()).isZero();
+        assertThat(tupleA.getFactA()).isEqualTo("A");
+        assertThat(tupleA.<String> getStore(1)).isEqualTo("storedA");
+
+        // Last in, first out
+        assertThat(tuplePool.poll()).isSameAs(tupleB);
+        assertThat(tuplePool.hasUnreleasedTuples()).isFalse();
+        UniTupleImpl<String> reusedTuple = tuplePool.poll();
+        assertThat(reusedTuple).isSameAs(tupleA);
+        assertThat(reusedTuple.getState()).isEqualTo(BavetTupleState.CREATING);
+        assertThat(reusedTuple.getFactA()).isNull();
+        assertThat(reusedTuple.<String> getStore(1)).isNull();
+        assertThat(tuplePool.poll()).isNull();
+    }
+
+    @Test
+    void releaseKeepsOnlyKeptStoreIndexes() {
+        TuplePool<BiTupleImpl<String, String>> tuplePool = new TuplePool<>(TuplePool.DEFAULT_MAX_SIZE, 0, 2);
+        BiTupleImpl<String, String> tuple = new BiTupleImpl<>("A", "B", 3);
+        tuple.setStore(0, "kept0");
+        tuple.setStore(1, "dropped1");
+        tuple.setStore(2, "kept2");
+        tuple.setState(BavetTupleState.DEAD);
+        tuplePool.recycle(tuple);
+        tuplePool.release();
+
+        assertThat(tuple.getFactA()).isNull();
+        assertThat(tuple.getFactB()).isNull();
+        assertThat(tuple.<String> getStore(0)).isEqualTo("kept0");
+        assertThat(tuple.<String> getStore(1)).isNull();
+        assertThat(tuple.<String> getStore(2)).isEqualTo("kept2");
+        assertThat(tuplePool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseDropsTuplesAboveMaxSize() {
+        TuplePool<UniTupleImpl<String>> tuplePool = new TuplePool<>(2);
+        for (int i = 0; i < 5; i++) {
+            UniTupleImpl<String> tuple = new UniTupleImpl<>("Tuple " + i, 1);
+            tuple.setState(BavetTupleState.DEAD);
+            tuplePool.recycle(tuple);
+        }
+        tuplePool.release();
+        assertThat(tuplePool.hasUnreleasedTuples()).isFalse();
+        assertThat(tuplePool.size()).isEqualTo(2);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new TuplePool<>(-1));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+
+class ArrayTupleListTest {
+
+    @Test
+    void addRemove() {
+        ArrayTupleList<UniTuple<String>> tupleList = new ArrayTupleList<>();
+        assertThat(tupleList.size()).isEqualTo(0);
+        assertThat(tupleList.isEmpty()).isTrue();
+
+        ArrayTupleListEntry<UniTuple<String>> entryA = tupleList.add(new UniTupleImpl<>("A", 0));
+        assertThat(entryA.getElement().getFactA()).isEqualTo("A");
+        assertThat(entryA.getList()).isSameAs(tupleList);
+        ArrayTupleListEntry<UniTuple<String>> entryB = tupleList.add(new UniTupleImpl<>("B", 0));
+        ArrayTupleListEntry<UniTuple<String>> entryC = tupleList.add(new UniTupleImpl<>("C", 0));
+        assertThat(tupleList.size()).isEqualTo(3);
+        assertThat(toFactList(tupleList)).containsExactly("A", "B", "C");
+
+        entryB.remove();
+        assertThat(entryB.getList()).isNull();
+        assertThat(tupleList.size()).isEqualTo(2);
+        assertThat(toFactList(tupleList)).containsExactly("A", "C");
+        assertThatIllegalStateException().isThrownBy(entryB::remove);
+
+        tupleList.add(new UniTupleImpl<>("D", 0));
+        assertThat(toFactList(tupleList)).containsExactly("A", "C", "D");
+
+        entryA.remove();
+        entryC.remove();
+        assertThat(toFactList(tupleList)).containsExactly("D");
+    }
+
+    @Test
+    void compactionKeepsOrderAndEntries() {
+        ArrayTupleList<UniTuple<Integer>> tupleList = new ArrayTupleList<>();
+        List<ArrayTupleListEntry<UniTuple<Integer>>> entryList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entryList.add(tupleList.add(new UniTupleImpl<>(i, 0)));
+        }
+        // Remove all odd elements, which triggers compaction somewhere along the way.
+        for (int i = 1; i < 100; i += 2) {
+            entryList.get(i).remove();
+        }
+        assertThat(tupleList.size()).isEqualTo(50);
+        List<Integer> expectedList = new ArrayList<>();
+        for (int i = 0; i < 100; i += 2) {
+            expectedList.add(i);
+        }
+        assertThat(toFactList(tupleList)).isEqualTo(expectedList);
+        // The entries of the moved elements still remove the right element.
+        for (int i = 0; i < 90; i += 2) {
+            entryList.get(i).remove();
+        }
+        assertThat(toFactList(tupleList)).containsExactly(90, 92, 94, 96, 98);
+    }
+
+    @Test
+    void removeAndAddDuringForEach() {
+        ArrayTupleList<UniTuple<Integer>> tupleList = new ArrayTupleList<>();
+        List<ArrayTupleListEntry<UniTuple<Integer>>> entryList = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entryList.add(tupleList.add(new UniTupleImpl<>(i, 0)));
+        }
+        List<Integer> visitedList = new ArrayList<>();
+        tupleList.forEach(tuple -> {
+            int fact = tuple.getFactA();
+            visitedList.add(fact);
+            if (fact < 40) {
+                // Remove the current element and the next one, which must not be visited.
+                entryList.get(fact).remove();
+                if (fact + 1 < 40) {
+                    entryList.get(fact + 1).remove();
+                }
+                if (fact % 10 == 0) {
+                    // Added elements are visited too.
+                    tupleList.add(new UniTupleImpl<>(100 + fact, 0));
+                }
+            }
+        });
+        assertThat(visitedList).containsExactly(0, 2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30, 32, 34, 36, 38,
+                100, 110, 120, 130);
+        assertThat(toFactList(tupleList)).containsExactly(100, 110, 120, 130);
+    }
+
+    private static <A> List<A> toFactList(ArrayTupleList<UniTuple<A>> tupleList) {
+        List<A> factList = new ArrayList<>(tupleList.size());
+        tupleList.forEach(tuple -> factList.add(tuple.getFactA()));
+        return factList;
+    }
+
+}
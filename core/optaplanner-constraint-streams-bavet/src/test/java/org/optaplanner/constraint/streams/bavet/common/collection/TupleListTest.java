@@ -20,6 +20,7 @@
 package org.optaplanner.constraint.streams.bavet.common.collection;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 import org.junit.jupiter.api.Test;
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
@@ -65,4 +66,34 @@ class TupleListTest {
         assertThat(tupleList.last()).isNull();
     }
 
+    @Test
+    void reattach() {
+        TupleList<UniTuple<String>> tupleListA = new TupleList<>();
+        TupleList<UniTuple<String>> tupleListB = new TupleList<>();
+        TupleListEntry<UniTuple<String>> entryA = tupleListA.add(new UniTupleImpl<>("A", 0));
+        TupleListEntry<UniTuple<String>> entryB = tupleListB.add(new UniTupleImpl<>("B", 0));
+        assertThatIllegalStateException().isThrownBy(() -> tupleListB.reattach(entryA));
+
+        entryA.remove();
+        assertThat(entryA.getList()).isNull();
+        tupleListB.reattach(entryA);
+        assertThat(entryA.getList()).isSameAs(tupleListB);
+        assertThat(tupleListA.size()).isEqualTo(0);
+        assertThat(tupleListB.size()).isEqualTo(2);
+        assertThat(tupleListB.first()).isEqualTo(entryB);
+        assertThat(entryB.next).isEqualTo(entryA);
+        assertThat(entryA.previous).isEqualTo(entryB);
+        assertThat(entryA.next).isNull();
+        assertThat(tupleListB.last()).isEqualTo(entryA);
+
+        entryB.remove();
+        entryA.remove();
+        tupleListA.reattach(entryA);
+        assertThat(tupleListA.size()).isEqualTo(1);
+        assertThat(tupleListA.first()).isEqualTo(entryA);
+        assertThat(entryA.previous).isNull();
+        assertThat(tupleListA.last()).isEqualTo(entryA);
+        assertThat(tupleListB.size()).isEqualTo(0);
+    }
+
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+
+class CountingIndexerTest extends AbstractIndexerTest {
+
+    @Test
+    void isEmpty() {
+        Indexer<UniTuple<String>> indexer = new CountingIndexer<>();
+        assertSoftly(softly -> {
+            softly.assertThat(indexer.isEmpty()).isTrue();
+            softly.assertThat(indexer.totalSize()).isEqualTo(0);
+            softly.assertThat(indexer.size(new SingleIndexProperties("F"))).isEqualTo(0);
+        });
+    }
+
+    @Test
+    void putAndRemove() {
+        Indexer<UniTuple<String>> indexer = new CountingIndexer<>();
+        indexer.put(new TwoIndexProperties("F", 40), newTuple("Ann-F-40"));
+        indexer.put(new TwoIndexProperties("F", 40), newTuple("Beth-F-40"));
+        indexer.put(new TwoIndexProperties("M", 40), newTuple("Carl-M-40"));
+        assertSoftly(softly -> {
+            softly.assertThat(indexer.isEmpty()).isFalse();
+            softly.assertThat(indexer.totalSize()).isEqualTo(3);
+            softly.assertThat(indexer.size(new TwoIndexProperties("F", 40))).isEqualTo(2);
+            softly.assertThat(indexer.size(new TwoIndexProperties("M", 40))).isEqualTo(1);
+            softly.assertThat(indexer.size(new TwoIndexProperties("F", 30))).isEqualTo(0);
+        });
+
+        indexer.remove(new TwoIndexProperties("F", 40), null);
+        indexer.remove(new TwoIndexProperties("M", 40), null);
+        assertSoftly(softly -> {
+            softly.assertThat(indexer.totalSize()).isEqualTo(1);
+            softly.assertThat(indexer.size(new TwoIndexProperties("F", 40))).isEqualTo(1);
+            softly.assertThat(indexer.size(new TwoIndexProperties("M", 40))).isEqualTo(0);
+        });
+        assertThatThrownBy(() -> indexer.remove(new TwoIndexProperties("M", 40), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void visitUnsupported() {
+        Indexer<UniTuple<String>> indexer = new CountingIndexer<>();
+        indexer.put(new SingleIndexProperties("F"), newTuple("Ann-F-40"));
+        assertThatThrownBy(() -> getTuples(indexer, "F"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static UniTuple<String> newTuple(String factA) {
+        return new UniTupleImpl<>(factA, 0);
+    }
+
+}
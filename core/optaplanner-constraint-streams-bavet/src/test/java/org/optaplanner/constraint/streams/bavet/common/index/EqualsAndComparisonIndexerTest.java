@@ -23,7 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
 import org.optaplanner.constraint.streams.common.bi.DefaultBiJoiner;
@@ -54,7 +54,7 @@ class EqualsAndComparisonIndexerTest extends AbstractIndexerTest {
     void removeTwice() {
         Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
         UniTuple<String> annTuple = newTuple("Ann-F-40");
-        TupleListEntry<UniTuple<String>> annEntry = indexer.put(new ManyIndexProperties("F", 40), annTuple);
+        ArrayTupleListEntry<UniTuple<String>> annEntry = indexer.put(new ManyIndexProperties("F", 40), annTuple);
 
         indexer.remove(new ManyIndexProperties("F", 40), annEntry);
         assertThatThrownBy(() -> indexer.remove(new ManyIndexProperties("F", 40), annEntry))
@@ -78,6 +78,7 @@ class EqualsAndComparisonIndexerTest extends AbstractIndexerTest {
         assertThat(getTuples(indexer, "F", 35)).containsOnly(bethTuple);
         assertThat(getTuples(indexer, "F", 30)).containsOnly(bethTuple);
         assertThat(getTuples(indexer, "F", 20)).isEmpty();
+        assertThat(indexer.totalSize()).isEqualTo(5);
     }
 
     private static UniTuple<String> newTuple(String factA) {
@@ -22,8 +22,11 @@ package org.optaplanner.constraint.streams.bavet.common.index;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
-import org.optaplanner.constraint.streams.bavet.common.collection.TupleListEntry;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
 import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
 import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
 import org.optaplanner.constraint.streams.common.bi.DefaultBiJoiner;
@@ -54,7 +57,7 @@ class EqualsIndexerTest extends AbstractIndexerTest {
     void removeTwice() {
         Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
         UniTuple<String> annTuple = newTuple("Ann-F-40");
-        TupleListEntry<UniTuple<String>> annEntry = indexer.put(new ManyIndexProperties("F", 40), annTuple);
+        ArrayTupleListEntry<UniTuple<String>> annEntry = indexer.put(new ManyIndexProperties("F", 40), annTuple);
 
         indexer.remove(new ManyIndexProperties("F", 40), annEntry);
         assertThatThrownBy(() -> indexer.remove(new ManyIndexProperties("F", 40), annEntry))
@@ -79,6 +82,37 @@ class EqualsIndexerTest extends AbstractIndexerTest {
         assertThat(getTuples(indexer, "F", 20)).isEmpty();
     }
 
+    @Test
+    void putAndRemoveManyKeys() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        List<ArrayTupleListEntry<UniTuple<String>>> entryList = new ArrayList<>();
+        for (int age = 0; age < 1000; age++) {
+            entryList.add(indexer.put(new TwoIndexProperties("F", age), newTuple("F-" + age)));
+            entryList.add(indexer.put(new TwoIndexProperties("M", age), newTuple("M-" + age)));
+        }
+        for (int age = 0; age < 1000; age++) {
+            assertThat(indexer.size(new TwoIndexProperties("F", age))).isEqualTo(1);
+            assertThat(indexer.size(new ManyIndexProperties("M", age))).isEqualTo(1);
+        }
+        assertThat(indexer.totalSize()).isEqualTo(2000);
+        // Remove every other key, which forces entries to shift back into the freed slots.
+        for (int age = 0; age < 1000; age += 2) {
+            indexer.remove(new TwoIndexProperties("F", age), entryList.get(age * 2));
+        }
+        for (int age = 0; age < 1000; age++) {
+            assertThat(getTuples(indexer, "F", age)).hasSize(age % 2 == 0 ? 0 : 1);
+            assertThat(getTuples(indexer, "M", age)).hasSize(1);
+        }
+        assertThat(indexer.totalSize()).isEqualTo(1500);
+        for (int age = 0; age < 1000; age++) {
+            if (age % 2 != 0) {
+                indexer.remove(new TwoIndexProperties("F", age), entryList.get(age * 2));
+            }
+            indexer.remove(new TwoIndexProperties("M", age), entryList.get(age * 2 + 1));
+        }
+        assertThat(indexer.isEmpty()).isTrue();
+    }
+
     private static UniTuple<String> newTuple(String factA) {
         return new UniTupleImpl<>(factA, 0);
     }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+import org.optaplanner.constraint.streams.common.bi.DefaultBiJoiner;
+import org.optaplanner.core.api.score.stream.Joiners;
+
+class IntervalIndexerTest extends AbstractIndexerTest {
+
+    private final DefaultBiJoiner<Shift, Shift> overlappingJoiner =
+            (DefaultBiJoiner<Shift, Shift>) Joiners.overlapping(Shift::getStart, Shift::getEnd);
+
+    @Test
+    void buildIndexer() {
+        assertThat(new IndexerFactory(overlappingJoiner).<UniTuple<Shift>> buildIndexer(true))
+                .isInstanceOf(IntervalIndexer.class);
+        assertThat(new IndexerFactory(overlappingJoiner).<UniTuple<Shift>> buildIndexer(false))
+                .isInstanceOf(IntervalIndexer.class);
+        DefaultBiJoiner<Shift, Shift> equalAndOverlappingJoiner =
+                (DefaultBiJoiner<Shift, Shift>) Joiners.equal(Shift::getEmployee)
+                        .and(Joiners.overlapping(Shift::getStart, Shift::getEnd));
+        assertThat(new IndexerFactory(equalAndOverlappingJoiner).<UniTuple<Shift>> buildIndexer(true))
+                .isInstanceOf(PrimitiveEqualsIndexer.class);
+        // Two comparisons in the same direction are not an interval.
+        DefaultBiJoiner<Shift, Shift> lessThanTwiceJoiner =
+                (DefaultBiJoiner<Shift, Shift>) Joiners.lessThan(Shift::getStart)
+                        .and(Joiners.lessThan(Shift::getEnd));
+        assertThat(new IndexerFactory(lessThanTwiceJoiner).<UniTuple<Shift>> buildIndexer(true))
+                .isInstanceOf(ComparisonIndexer.class);
+    }
+
+    @Test
+    void visit() {
+        Indexer<UniTuple<Shift>> indexer = new IndexerFactory(overlappingJoiner).buildIndexer(true);
+        Function<Shift, IndexProperties> leftMapping = JoinerUtils.combineLeftMappings(overlappingJoiner);
+        Function<Shift, IndexProperties> rightMapping = JoinerUtils.combineRightMappings(overlappingJoiner);
+        Shift ann = new Shift("Ann", 8, 14);
+        UniTuple<Shift> annTuple = new UniTupleImpl<>(ann, 0);
+        indexer.put(leftMapping.apply(ann), annTuple);
+        Shift beth = new Shift("Beth", 12, 18);
+        UniTuple<Shift> bethTuple = new UniTupleImpl<>(beth, 0);
+        indexer.put(leftMapping.apply(beth), bethTuple);
+        Shift eric = new Shift("Eric", 16, 22);
+        UniTuple<Shift> ericTuple = new UniTupleImpl<>(eric, 0);
+        ArrayTupleListEntry<UniTuple<Shift>> ericEntry = indexer.put(leftMapping.apply(eric), ericTuple);
+
+        assertThat(getTuples(indexer, rightMapping.apply(ann))).containsOnly(annTuple, bethTuple);
+        assertThat(getTuples(indexer, rightMapping.apply(beth))).containsOnly(annTuple, bethTuple, ericTuple);
+        assertThat(getTuples(indexer, rightMapping.apply(eric))).containsOnly(bethTuple, ericTuple);
+        // End is exclusive.
+        assertThat(getTuples(indexer, rightMapping.apply(new Shift("Dan", 22, 24)))).isEmpty();
+        assertThat(indexer.size(rightMapping.apply(new Shift("Dan", 13, 17)))).isEqualTo(3);
+
+        indexer.remove(leftMapping.apply(eric), ericEntry);
+        assertThat(getTuples(indexer, rightMapping.apply(eric))).containsOnly(bethTuple);
+        assertThatThrownBy(() -> indexer.remove(leftMapping.apply(eric), ericEntry))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void randomOverlappingLeftBridge() {
+        assertMatchesBruteForce(overlappingJoiner, true,
+                (stored, query) -> stored.getStart() < query.getEnd() && stored.getEnd() > query.getStart());
+    }
+
+    @Test
+    void randomOverlappingRightBridge() {
+        assertMatchesBruteForce(overlappingJoiner, false,
+                (stored, query) -> query.getStart() < stored.getEnd() && query.getEnd() > stored.getStart());
+    }
+
+    @Test
+    void randomInclusiveLeftBridge() {
+        DefaultBiJoiner<Shift, Shift> joiner = (DefaultBiJoiner<Shift, Shift>) Joiners.greaterThanOrEqual(Shift::getEnd,
+                Shift::getStart)
+                .and(Joiners.lessThanOrEqual(Shift::getStart, Shift::getEnd));
+        assertMatchesBruteForce(joiner, true,
+                (stored, query) -> stored.getEnd() >= query.getStart() && stored.getStart() <= query.getEnd());
+    }
+
+    @Test
+    void randomInclusiveRightBridge() {
+        DefaultBiJoiner<Shift, Shift> joiner = (DefaultBiJoiner<Shift, Shift>) Joiners.greaterThanOrEqual(Shift::getEnd,
+                Shift::getStart)
+                .and(Joiners.lessThanOrEqual(Shift::getStart, Shift::getEnd));
+        assertMatchesBruteForce(joiner, false,
+                (stored, query) -> query.getEnd() >= stored.getStart() && query.getStart() <= stored.getEnd());
+    }
+
+    private void assertMatchesBruteForce(DefaultBiJoiner<Shift, Shift> joiner, boolean isLeftBridge,
+            BiPredicate<Shift, Shift> matchPredicate) {
+        Indexer<UniTuple<Shift>> indexer = new IndexerFactory(joiner).buildIndexer(isLeftBridge);
+        Function<Shift, IndexProperties> storedMapping = isLeftBridge ? JoinerUtils.combineLeftMappings(joiner)
+                : JoinerUtils.combineRightMappings(joiner);
+        Function<Shift, IndexProperties> queryMapping = isLeftBridge ? JoinerUtils.combineRightMappings(joiner)
+                : JoinerUtils.combineLeftMappings(joiner);
+        Random random = new Random(37);
+        List<UniTuple<Shift>> tupleList = new ArrayList<>();
+        List<ArrayTupleListEntry<UniTuple<Shift>>> entryList = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            if (!tupleList.isEmpty() && random.nextInt(3) == 0) {
+                int index = random.nextInt(tupleList.size());
+                UniTuple<Shift> tuple = tupleList.remove(index);
+                indexer.remove(storedMapping.apply(tuple.getFactA()), entryList.remove(index));
+            } else {
+                // Includes empty and inverted intervals, which do not occur in practice.
+                int start = random.nextInt(100);
+                Shift shift = new Shift("Shift-" + i, start, start + random.nextInt(20) - 2);
+                UniTuple<Shift> tuple = new UniTupleImpl<>(shift, 0);
+                tupleList.add(tuple);
+                entryList.add(indexer.put(storedMapping.apply(shift), tuple));
+            }
+            if (i % 10 == 0) {
+                int start = random.nextInt(100);
+                Shift query = new Shift("Query", start, start + random.nextInt(20));
+                List<UniTuple<Shift>> expectedList = new ArrayList<>();
+                for (UniTuple<Shift> tuple : tupleList) {
+                    if (matchPredicate.test(tuple.getFactA(), query)) {
+                        expectedList.add(tuple);
+                    }
+                }
+                assertThat(getTuples(indexer, queryMapping.apply(query)))
+                        .containsExactlyInAnyOrderElementsOf(expectedList);
+                assertThat(indexer.size(queryMapping.apply(query))).isEqualTo(expectedList.size());
+            }
+        }
+        assertThat(indexer.isEmpty()).isEqualTo(tupleList.isEmpty());
+        assertThat(indexer.totalSize()).isEqualTo(tupleList.size());
+    }
+
+    private static <T> List<T> getTuples(Indexer<T> indexer, IndexProperties indexProperties) {
+        List<T> result = new ArrayList<>();
+        indexer.forEach(indexProperties, result::add);
+        return result;
+    }
+
+    static final class Shift {
+
+        private final String employee;
+        private final int start;
+        private final int end;
+
+        Shift(String employee, int start, int end) {
+            this.employee = employee;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getEmployee() {
+            return employee;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return employee + "(" + start + "-" + end + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIndexerMapTest {
+
+    @Test
+    void putGetRemove() {
+        LongIndexerMap<String> map = new LongIndexerMap<>();
+        assertThat(map.isEmpty()).isTrue();
+        NoneIndexer<String, Object> indexer = new NoneIndexer<>();
+        map.put(Long.MIN_VALUE, indexer);
+        assertThat(map.get(Long.MIN_VALUE)).isSameAs(indexer);
+        assertThat(map.get(0L)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+        assertThatThrownBy(() -> map.put(Long.MIN_VALUE, new NoneIndexer<>()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(map.remove(0L)).isNull();
+        assertThat(map.remove(Long.MIN_VALUE)).isSameAs(indexer);
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void randomOperationsMatchHashMap() {
+        LongIndexerMap<String> map = new LongIndexerMap<>();
+        Map<Long, Indexer<String>> expectedMap = new HashMap<>();
+        Random random = new Random(37);
+        for (int i = 0; i < 100_000; i++) {
+            // A small key range causes many collisions and many removals of keys with displaced successors.
+            long key = random.nextInt(500) * 16L;
+            if (expectedMap.containsKey(key)) {
+                assertThat(map.remove(key)).isSameAs(expectedMap.remove(key));
+            } else {
+                Indexer<String> indexer = new NoneIndexer<>();
+                map.put(key, indexer);
+                expectedMap.put(key, indexer);
+            }
+            assertThat(map.size()).isEqualTo(expectedMap.size());
+        }
+        for (long key = 0; key < 500 * 16L; key++) {
+            assertThat(map.get(key)).isSameAs(expectedMap.get(key));
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.constraint.streams.bavet.common.collection.ArrayTupleListEntry;
+import org.optaplanner.constraint.streams.bavet.uni.UniTuple;
+import org.optaplanner.constraint.streams.bavet.uni.UniTupleImpl;
+import org.optaplanner.constraint.streams.common.bi.DefaultBiJoiner;
+import org.optaplanner.core.api.score.stream.Joiners;
+
+class PrimitiveEqualsIndexerTest extends AbstractIndexerTest {
+
+    private final DefaultBiJoiner<Person, Person> joiner =
+            (DefaultBiJoiner<Person, Person>) Joiners.equal((Person p) -> p.age);
+
+    private enum Gender {
+        FEMALE,
+        MALE
+    }
+
+    @Test
+    void buildIndexer() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        assertThat(indexer).isInstanceOf(PrimitiveEqualsIndexer.class);
+    }
+
+    @Test
+    void isEmpty() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        assertThat(indexer.isEmpty()).isTrue();
+        assertThat(getTuples(indexer, 40)).isEmpty();
+    }
+
+    @Test
+    void putAndRemove() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        UniTuple<String> annTuple = newTuple("Ann-40");
+        ArrayTupleListEntry<UniTuple<String>> annEntry = indexer.put(new SingleIndexProperties(40), annTuple);
+        assertThat(indexer.size(new SingleIndexProperties(40))).isEqualTo(1);
+        assertThat(indexer.isEmpty()).isFalse();
+
+        indexer.remove(new SingleIndexProperties(40), annEntry);
+        assertThat(indexer.size(new SingleIndexProperties(40))).isEqualTo(0);
+        assertThat(indexer.isEmpty()).isTrue();
+        assertThatThrownBy(() -> indexer.remove(new SingleIndexProperties(40), annEntry))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void visitIntegerKeys() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+
+        UniTuple<String> annTuple = newTuple("Ann-40");
+        indexer.put(new SingleIndexProperties(40), annTuple);
+        UniTuple<String> bethTuple = newTuple("Beth-3000");
+        indexer.put(new SingleIndexProperties(3000), bethTuple);
+        UniTuple<String> carlTuple = newTuple("Carl-(-3000)");
+        indexer.put(new SingleIndexProperties(-3000), carlTuple);
+        UniTuple<String> ednaTuple = newTuple("Edna-40");
+        indexer.put(new SingleIndexProperties(40), ednaTuple);
+
+        assertThat(getTuples(indexer, 40)).containsOnly(annTuple, ednaTuple);
+        assertThat(getTuples(indexer, 3000)).containsOnly(bethTuple);
+        assertThat(getTuples(indexer, -3000)).containsOnly(carlTuple);
+        assertThat(getTuples(indexer, 20)).isEmpty();
+    }
+
+    @Test
+    void visitEnumKeys() {
+        Indexer<UniTuple<String>> indexer = new PrimitiveEqualsIndexer<>(NoneIndexer::new);
+
+        UniTuple<String> annTuple = newTuple("Ann-F");
+        indexer.put(new SingleIndexProperties(Gender.FEMALE), annTuple);
+        UniTuple<String> carlTuple = newTuple("Carl-M");
+        indexer.put(new SingleIndexProperties(Gender.MALE), carlTuple);
+
+        assertThat(getTuples(indexer, Gender.FEMALE)).containsOnly(annTuple);
+        assertThat(getTuples(indexer, Gender.MALE)).containsOnly(carlTuple);
+    }
+
+    @Test
+    void mixedKeyClassesAreNotEqual() {
+        Indexer<UniTuple<String>> indexer = new PrimitiveEqualsIndexer<>(NoneIndexer::new);
+
+        UniTuple<String> intTuple = newTuple("int-1");
+        indexer.put(new SingleIndexProperties(1), intTuple);
+        UniTuple<String> longTuple = newTuple("long-1");
+        indexer.put(new SingleIndexProperties(1L), longTuple);
+        UniTuple<String> enumTuple = newTuple("enum-1");
+        indexer.put(new SingleIndexProperties(Gender.MALE), enumTuple);
+        UniTuple<String> nullTuple = newTuple("null");
+        ArrayTupleListEntry<UniTuple<String>> nullEntry = indexer.put(new SingleIndexProperties(null), nullTuple);
+
+        assertThat(getTuples(indexer, 1)).containsOnly(intTuple);
+        assertThat(getTuples(indexer, 1L)).containsOnly(longTuple);
+        assertThat(getTuples(indexer, Gender.MALE)).containsOnly(enumTuple);
+        assertThat(getTuples(indexer, (Object) null)).containsOnly(nullTuple);
+        assertThat(indexer.totalSize()).isEqualTo(4);
+
+        indexer.remove(new SingleIndexProperties(null), nullEntry);
+        assertThat(getTuples(indexer, (Object) null)).isEmpty();
+        assertThat(indexer.isEmpty()).isFalse();
+        assertThat(indexer.totalSize()).isEqualTo(3);
+    }
+
+    @Test
+    void nonPrimitiveKeys() {
+        Indexer<UniTuple<String>> indexer = new PrimitiveEqualsIndexer<>(NoneIndexer::new);
+
+        UniTuple<String> annTuple = newTuple("Ann-F");
+        ArrayTupleListEntry<UniTuple<String>> annEntry = indexer.put(new SingleIndexProperties("F"), annTuple);
+        UniTuple<String> carlTuple = newTuple("Carl-M");
+        indexer.put(new SingleIndexProperties("M"), carlTuple);
+        UniTuple<String> danTuple = newTuple("Dan-1");
+        indexer.put(new SingleIndexProperties(1), danTuple);
+
+        assertThat(getTuples(indexer, "F")).containsOnly(annTuple);
+        assertThat(getTuples(indexer, "M")).containsOnly(carlTuple);
+        assertThat(getTuples(indexer, 1)).containsOnly(danTuple);
+
+        indexer.remove(new SingleIndexProperties("F"), annEntry);
+        assertThat(getTuples(indexer, "F")).isEmpty();
+    }
+
+    @Test
+    void primitiveKeyClass() {
+        assertThat(PrimitiveEqualsIndexer.isPrimitiveKeyClass(Integer.class)).isTrue();
+        assertThat(PrimitiveEqualsIndexer.isPrimitiveKeyClass(Long.class)).isTrue();
+        assertThat(PrimitiveEqualsIndexer.isPrimitiveKeyClass(Character.class)).isTrue();
+        assertThat(PrimitiveEqualsIndexer.isPrimitiveKeyClass(Gender.class)).isTrue();
+        assertThat(PrimitiveEqualsIndexer.isPrimitiveKeyClass(String.class)).isFalse();
+        assertThat(PrimitiveEqualsIndexer.isPrimitiveKeyClass(Double.class)).isFalse();
+    }
+
+    private static UniTuple<String> newTuple(String factA) {
+        return new UniTupleImpl<>(factA, 0);
+    }
+
+}
@@ -136,6 +136,15 @@ public abstract class AbstractConstraint<Solution_, Constraint_ extends Abstract
         return scoreImpactType;
     }
 
+    /**
+     * @return true if the constraint weight comes from the
+     *         {@link org.optaplanner.core.api.domain.constraintweight.ConstraintConfiguration},
+     *         so it can change during solving
+     */
+    public final boolean isConstraintWeightConfigurable() {
+        return isConstraintWeightConfigurable;
+    }
+
     public <JustificationMapping_> JustificationMapping_ getJustificationMapping() {
         // It is the job of the code constructing the constraint to ensure that this cast is correct.
         return (JustificationMapping_) justificationMapping;
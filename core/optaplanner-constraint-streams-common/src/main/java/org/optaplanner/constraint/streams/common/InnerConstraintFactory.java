@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -56,6 +57,47 @@ public abstract class InnerConstraintFactory<Solution_, Constraint_ extends Cons
         return nullityFilter == null ? stream : stream.filter(nullityFilter);
     }
 
+    @Override
+    public <A> UniConstraintStream<A> forEachObserving(Class<A> sourceClass, String... observedVariableNames) {
+        EntityDescriptor<Solution_> entityDescriptor = getSolutionDescriptor().findEntityDescriptor(sourceClass);
+        if (entityDescriptor == null) {
+            throw new IllegalArgumentException("The sourceClass (" + sourceClass
+                    + ") is not a planning entity class, so it has no variables to observe.\n"
+                    + "Maybe use forEach() instead.");
+        }
+        Set<String> observedVariableNameSet = new TreeSet<>();
+        for (String observedVariableName : observedVariableNames) {
+            if (!entityDescriptor.hasVariableDescriptor(observedVariableName)) {
+                throw new IllegalArgumentException("The sourceClass (" + sourceClass
+                        + ") has no variable with the observedVariableName (" + observedVariableName + ").\n"
+                        + "Maybe use one of its variable names ("
+                        + entityDescriptor.getVariableDescriptorMap().keySet() + ") instead.");
+            }
+            observedVariableNameSet.add(observedVariableName);
+        }
+        Predicate<A> nullityFilter = getNullityFilter(sourceClass);
+        if (nullityFilter == null) {
+            return forEachIncludingNullVars(sourceClass, observedVariableNameSet);
+        }
+        observedVariableNameSet.addAll(entityDescriptor.getGenuineVariableNameSet());
+        return forEachIncludingNullVars(sourceClass, observedVariableNameSet).filter(nullityFilter);
+    }
+
+    /**
+     * Propagating the changes of all variables is always correct,
+     * so an implementation that does not support observing only some variables can ignore them.
+     *
+     * @param sourceClass never null
+     * @param observedVariableNameSet never null, the names of the variables of the sourceClass
+     *        that a variable change must match to propagate
+     * @return never null
+     * @param <A> the type of the matched planning entity
+     */
+    protected <A> UniConstraintStream<A> forEachIncludingNullVars(Class<A> sourceClass,
+            Set<String> observedVariableNameSet) {
+        return forEachIncludingNullVars(sourceClass);
+    }
+
     public <A> Predicate<A> getNullityFilter(Class<A> fromClass) {
         EntityDescriptor<Solution_> entityDescriptor = getSolutionDescriptor().findEntityDescriptor(fromClass);
         if (entityDescriptor != null && entityDescriptor.hasAnyGenuineVariables()) {
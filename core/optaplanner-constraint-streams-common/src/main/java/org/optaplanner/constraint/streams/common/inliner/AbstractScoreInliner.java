@@ -20,11 +20,15 @@
 package org.optaplanner.constraint.streams.common.inliner;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
@@ -59,18 +63,30 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
         } else if (scoreDefinition instanceof SimpleLongScoreDefinition) {
             return (ScoreInliner_) new SimpleLongScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof SimpleBigDecimalScoreDefinition) {
+            int scale = ((SimpleBigDecimalScoreDefinition) scoreDefinition).getScale();
+            if (scale != PlanningScore.NO_BIG_DECIMAL_SCALE) {
+                return (ScoreInliner_) new ScaledBigDecimalScoreInliner<>(scoreDefinition, constraintMatchEnabled, scale);
+            }
             return (ScoreInliner_) new SimpleBigDecimalScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof HardSoftScoreDefinition) {
             return (ScoreInliner_) new HardSoftScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof HardSoftLongScoreDefinition) {
             return (ScoreInliner_) new HardSoftLongScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof HardSoftBigDecimalScoreDefinition) {
+            int scale = ((HardSoftBigDecimalScoreDefinition) scoreDefinition).getScale();
+            if (scale != PlanningScore.NO_BIG_DECIMAL_SCALE) {
+                return (ScoreInliner_) new ScaledBigDecimalScoreInliner<>(scoreDefinition, constraintMatchEnabled, scale);
+            }
             return (ScoreInliner_) new HardSoftBigDecimalScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof HardMediumSoftScoreDefinition) {
             return (ScoreInliner_) new HardMediumSoftScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof HardMediumSoftLongScoreDefinition) {
             return (ScoreInliner_) new HardMediumSoftLongScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof HardMediumSoftBigDecimalScoreDefinition) {
+            int scale = ((HardMediumSoftBigDecimalScoreDefinition) scoreDefinition).getScale();
+            if (scale != PlanningScore.NO_BIG_DECIMAL_SCALE) {
+                return (ScoreInliner_) new ScaledBigDecimalScoreInliner<>(scoreDefinition, constraintMatchEnabled, scale);
+            }
             return (ScoreInliner_) new HardMediumSoftBigDecimalScoreInliner(constraintMatchEnabled);
         } else if (scoreDefinition instanceof BendableScoreDefinition) {
             BendableScoreDefinition bendableScoreDefinition = (BendableScoreDefinition) scoreDefinition;
@@ -83,6 +99,10 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
                     bendableScoreDefinition.getSoftLevelsSize());
         } else if (scoreDefinition instanceof BendableBigDecimalScoreDefinition) {
             BendableBigDecimalScoreDefinition bendableScoreDefinition = (BendableBigDecimalScoreDefinition) scoreDefinition;
+            if (bendableScoreDefinition.getScale() != PlanningScore.NO_BIG_DECIMAL_SCALE) {
+                return (ScoreInliner_) new ScaledBigDecimalScoreInliner<>(scoreDefinition, constraintMatchEnabled,
+                        bendableScoreDefinition.getScale());
+            }
             return (ScoreInliner_) new BendableBigDecimalScoreInliner(constraintMatchEnabled,
                     bendableScoreDefinition.getHardLevelsSize(), bendableScoreDefinition.getSoftLevelsSize());
         } else {
@@ -117,11 +137,22 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
     protected final boolean constraintMatchEnabled;
     private final Map<String, DefaultConstraintMatchTotal<Score_>> constraintMatchTotalMap;
     private final Map<Object, DefaultIndictment<Score_>> indictmentMap;
+    /**
+     * The constraint matches that were added since the last materialization, in the order in which they were added.
+     * A constraint match that is undone before the next materialization is never materialized at all.
+     */
+    private final Set<ConstraintMatchCarrier> addedCarrierSet;
+    /**
+     * The materialized constraint matches that were undone since the last materialization.
+     */
+    private final List<ConstraintMatchCarrier> undoneCarrierList;
 
     protected AbstractScoreInliner(boolean constraintMatchEnabled) {
         this.constraintMatchEnabled = constraintMatchEnabled;
         this.constraintMatchTotalMap = constraintMatchEnabled ? new LinkedHashMap<>() : null;
         this.indictmentMap = constraintMatchEnabled ? new LinkedHashMap<>() : null;
+        this.addedCarrierSet = constraintMatchEnabled ? new LinkedHashSet<>() : null;
+        this.undoneCarrierList = constraintMatchEnabled ? new ArrayList<>() : null;
     }
 
     public abstract Score_ extractScore(int initScore);
@@ -135,35 +166,41 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
      */
     public abstract WeightedScoreImpacter<Score_, ?> buildWeightedScoreImpacter(Constraint constraint, Score_ constraintWeight);
 
+    /**
+     * Only records the constraint match.
+     * Its {@link ConstraintMatch}, justification and {@link Indictment}s are created
+     * when {@link #getConstraintMatchTotalMap()} or {@link #getIndictmentMap()} is called,
+     * and only if it hasn't been undone before that.
+     *
+     * @param constraint never null
+     * @param constraintWeight never null
+     * @param score never null, the impact of the constraint match
+     * @param justificationsSupplier never null
+     * @return never null, undoes the constraint match
+     */
     protected final Runnable addConstraintMatch(Constraint constraint, Score_ constraintWeight, Score_ score,
             JustificationsSupplier justificationsSupplier) {
-        String constraintPackage = constraint.getConstraintPackage();
-        String constraintName = constraint.getConstraintName();
-        DefaultConstraintMatchTotal<Score_> constraintMatchTotal = constraintMatchTotalMap.computeIfAbsent(
-                constraint.getConstraintId(),
-                key -> new DefaultConstraintMatchTotal<>(constraintPackage, constraintName, constraintWeight));
-        ConstraintMatch<Score_> constraintMatch = constraintMatchTotal.addConstraintMatch(
-                justificationsSupplier.createConstraintJustification(score),
-                justificationsSupplier.createIndictedObjects(), score);
-        List<DefaultIndictment<Score_>> indictments = constraintMatch.getIndictedObjectList()
-                .stream()
-                .distinct() // One match might have the same justification twice
-                .map(justificationPart -> processJustification(constraintMatch, justificationPart))
-                .collect(Collectors.toList());
+        ConstraintMatchCarrier carrier = new ConstraintMatchCarrier(constraint, constraintWeight, score,
+                justificationsSupplier);
+        addedCarrierSet.add(carrier);
         return () -> {
-            constraintMatchTotal.removeConstraintMatch(constraintMatch);
-            if (constraintMatchTotal.getConstraintMatchSet().isEmpty()) {
-                constraintMatchTotalMap.remove(constraint.getConstraintId());
-            }
-            for (DefaultIndictment<Score_> indictment : indictments) {
-                indictment.removeConstraintMatch(constraintMatch);
-                if (indictment.getConstraintMatchSet().isEmpty()) {
-                    indictmentMap.remove(indictment.getIndictedObject());
-                }
+            if (!addedCarrierSet.remove(carrier)) {
+                undoneCarrierList.add(carrier);
             }
         };
     }
 
+    private void materializeConstraintMatches() {
+        for (ConstraintMatchCarrier carrier : undoneCarrierList) {
+            carrier.unmaterialize();
+        }
+        undoneCarrierList.clear();
+        for (ConstraintMatchCarrier carrier : addedCarrierSet) {
+            carrier.materialize();
+        }
+        addedCarrierSet.clear();
+    }
+
     private DefaultIndictment<Score_> processJustification(ConstraintMatch<Score_> constraintMatch, Object indictedObject) {
         DefaultIndictment<Score_> indictment = indictmentMap.computeIfAbsent(indictedObject,
                 key -> new DefaultIndictment<>(indictedObject, constraintMatch.getScore().zero()));
@@ -176,11 +213,17 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
     }
 
     public final Map<String, ConstraintMatchTotal<Score_>> getConstraintMatchTotalMap() {
+        if (constraintMatchEnabled) {
+            materializeConstraintMatches();
+        }
         // Unchecked assignment necessary as CMT and DefaultCMT incompatible in the Map generics.
         return (Map) constraintMatchTotalMap;
     }
 
     public final Map<Object, Indictment<Score_>> getIndictmentMap() {
+        if (constraintMatchEnabled) {
+            materializeConstraintMatches();
+        }
         // Unchecked assignment necessary as Indictment and DefaultIndictment incompatible in the Map generics.
         return (Map) indictmentMap;
     }
@@ -193,4 +236,53 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
         }
     }
 
+    private final class ConstraintMatchCarrier {
+
+        private final Constraint constraint;
+        private final Score_ constraintWeight;
+        private final Score_ score;
+        private final JustificationsSupplier justificationsSupplier;
+
+        private DefaultConstraintMatchTotal<Score_> constraintMatchTotal;
+        private ConstraintMatch<Score_> constraintMatch;
+        private List<DefaultIndictment<Score_>> indictments;
+
+        private ConstraintMatchCarrier(Constraint constraint, Score_ constraintWeight, Score_ score,
+                JustificationsSupplier justificationsSupplier) {
+            this.constraint = constraint;
+            this.constraintWeight = constraintWeight;
+            this.score = score;
+            this.justificationsSupplier = justificationsSupplier;
+        }
+
+        private void materialize() {
+            String constraintPackage = constraint.getConstraintPackage();
+            String constraintName = constraint.getConstraintName();
+            constraintMatchTotal = constraintMatchTotalMap.computeIfAbsent(constraint.getConstraintId(),
+                    key -> new DefaultConstraintMatchTotal<>(constraintPackage, constraintName, constraintWeight));
+            constraintMatch = constraintMatchTotal.addConstraintMatch(
+                    justificationsSupplier.createConstraintJustification(score),
+                    justificationsSupplier.createIndictedObjects(), score);
+            indictments = constraintMatch.getIndictedObjectList()
+                    .stream()
+                    .distinct() // One match might have the same justification twice
+                    .map(justificationPart -> processJustification(constraintMatch, justificationPart))
+                    .collect(Collectors.toList());
+        }
+
+        private void unmaterialize() {
+            constraintMatchTotal.removeConstraintMatch(constraintMatch);
+            if (constraintMatchTotal.getConstraintMatchSet().isEmpty()) {
+                constraintMatchTotalMap.remove(constraint.getConstraintId());
+            }
+            for (DefaultIndictment<Score_> indictment : indictments) {
+                indictment.removeConstraintMatch(constraintMatch);
+                if (indictment.getConstraintMatchSet().isEmpty()) {
+                    indictmentMap.remove(indictment.getIndictedObject());
+                }
+            }
+        }
+
+    }
+
 }
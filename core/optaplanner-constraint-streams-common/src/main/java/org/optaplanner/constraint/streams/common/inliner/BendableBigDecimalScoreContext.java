@@ -24,92 +24,96 @@ import java.math.BigDecimal;
 import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 
+/**
+ * Updates the score level accumulators of its {@link BendableBigDecimalScoreInliner} directly,
+ * without allocating anything per impact other than the {@link BigDecimal} arithmetic itself,
+ * unless constraint matches are enabled.
+ */
 final class BendableBigDecimalScoreContext extends ScoreContext<BendableBigDecimalScore> {
 
-    private final int hardScoreLevelCount;
-    private final int softScoreLevelCount;
+    private final BigDecimal[] hardScores;
+    private final BigDecimal[] softScores;
+    private final BigDecimal[] hardWeights;
+    private final BigDecimal[] softWeights;
     private final int scoreLevel;
     private final BigDecimal scoreLevelWeight;
-    private final IntBigDecimalConsumer softScoreLevelUpdater;
-    private final IntBigDecimalConsumer hardScoreLevelUpdater;
 
+    /**
+     * @param hardScores never null, the hard score accumulators of the parent, updated in place
+     * @param softScores never null, the soft score accumulators of the parent, updated in place
+     */
     public BendableBigDecimalScoreContext(AbstractScoreInliner<BendableBigDecimalScore> parent, Constraint constraint,
-            BendableBigDecimalScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount, int scoreLevel,
-            BigDecimal scoreLevelWeight, IntBigDecimalConsumer hardScoreLevelUpdater,
-            IntBigDecimalConsumer softScoreLevelUpdater) {
+            BendableBigDecimalScore constraintWeight, BigDecimal[] hardScores, BigDecimal[] softScores, int scoreLevel,
+            BigDecimal scoreLevelWeight) {
         super(parent, constraint, constraintWeight);
-        this.hardScoreLevelCount = hardScoreLevelCount;
-        this.softScoreLevelCount = softScoreLevelCount;
+        this.hardScores = hardScores;
+        this.softScores = softScores;
+        this.hardWeights = constraintWeight.hardScores();
+        this.softWeights = constraintWeight.softScores();
         this.scoreLevel = scoreLevel;
         this.scoreLevelWeight = scoreLevelWeight;
-        this.softScoreLevelUpdater = softScoreLevelUpdater;
-        this.hardScoreLevelUpdater = hardScoreLevelUpdater;
     }
 
     public BendableBigDecimalScoreContext(AbstractScoreInliner<BendableBigDecimalScore> parent, Constraint constraint,
-            BendableBigDecimalScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount,
-            IntBigDecimalConsumer hardScoreLevelUpdater, IntBigDecimalConsumer softScoreLevelUpdater) {
-        this(parent, constraint, constraintWeight, hardScoreLevelCount, softScoreLevelCount, -1, BigDecimal.ZERO,
-                hardScoreLevelUpdater,
-                softScoreLevelUpdater);
+            BendableBigDecimalScore constraintWeight, BigDecimal[] hardScores, BigDecimal[] softScores) {
+        this(parent, constraint, constraintWeight, hardScores, softScores, -1, BigDecimal.ZERO);
     }
 
     public UndoScoreImpacter changeSoftScoreBy(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
         BigDecimal softImpact = scoreLevelWeight.multiply(matchWeight);
-        softScoreLevelUpdater.accept(scoreLevel, softImpact);
-        UndoScoreImpacter undoScoreImpact = () -> softScoreLevelUpdater.accept(scoreLevel, softImpact.negate());
+        softScores[scoreLevel] = softScores[scoreLevel].add(softImpact);
+        UndoScoreImpacter undoScoreImpact = () -> softScores[scoreLevel] = softScores[scoreLevel].subtract(softImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact,
-                BendableBigDecimalScore.ofSoft(hardScoreLevelCount, softScoreLevelCount, scoreLevel, softImpact),
+                BendableBigDecimalScore.ofSoft(hardScores.length, softScores.length, scoreLevel, softImpact),
                 justificationsSupplier);
     }
 
     public UndoScoreImpacter changeHardScoreBy(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
         BigDecimal hardImpact = scoreLevelWeight.multiply(matchWeight);
-        hardScoreLevelUpdater.accept(scoreLevel, hardImpact);
-        UndoScoreImpacter undoScoreImpact = () -> hardScoreLevelUpdater.accept(scoreLevel, hardImpact.negate());
+        hardScores[scoreLevel] = hardScores[scoreLevel].add(hardImpact);
+        UndoScoreImpacter undoScoreImpact = () -> hardScores[scoreLevel] = hardScores[scoreLevel].subtract(hardImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact,
-                BendableBigDecimalScore.ofHard(hardScoreLevelCount, softScoreLevelCount, scoreLevel, hardImpact),
+                BendableBigDecimalScore.ofHard(hardScores.length, softScores.length, scoreLevel, hardImpact),
                 justificationsSupplier);
     }
 
     public UndoScoreImpacter changeScoreBy(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
-        BigDecimal[] hardImpacts = new BigDecimal[hardScoreLevelCount];
-        BigDecimal[] softImpacts = new BigDecimal[softScoreLevelCount];
-        for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-            BigDecimal hardImpact = constraintWeight.hardScore(hardScoreLevel).multiply(matchWeight);
-            hardImpacts[hardScoreLevel] = hardImpact;
-            hardScoreLevelUpdater.accept(hardScoreLevel, hardImpact);
+        for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+            hardScores[hardScoreLevel] = hardScores[hardScoreLevel].add(hardWeights[hardScoreLevel].multiply(matchWeight));
         }
-        for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-            BigDecimal softImpact = constraintWeight.softScore(softScoreLevel).multiply(matchWeight);
-            softImpacts[softScoreLevel] = softImpact;
-            softScoreLevelUpdater.accept(softScoreLevel, softImpact);
+        for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+            softScores[softScoreLevel] = softScores[softScoreLevel].add(softWeights[softScoreLevel].multiply(matchWeight));
         }
+        // The impact per level is recalculated on undo, so it needn't be kept in arrays.
         UndoScoreImpacter undoScoreImpact = () -> {
-            for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-                hardScoreLevelUpdater.accept(hardScoreLevel, hardImpacts[hardScoreLevel].negate());
+            for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+                hardScores[hardScoreLevel] =
+                        hardScores[hardScoreLevel].subtract(hardWeights[hardScoreLevel].multiply(matchWeight));
             }
-            for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-                softScoreLevelUpdater.accept(softScoreLevel, softImpacts[softScoreLevel].negate());
+            for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+                softScores[softScoreLevel] =
+                        softScores[softScoreLevel].subtract(softWeights[softScoreLevel].multiply(matchWeight));
             }
         };
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
+        BigDecimal[] hardImpacts = new BigDecimal[hardWeights.length];
+        for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+            hardImpacts[hardScoreLevel] = hardWeights[hardScoreLevel].multiply(matchWeight);
+        }
+        BigDecimal[] softImpacts = new BigDecimal[softWeights.length];
+        for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+            softImpacts[softScoreLevel] = softWeights[softScoreLevel].multiply(matchWeight);
+        }
         return impactWithConstraintMatch(undoScoreImpact, BendableBigDecimalScore.of(hardImpacts, softImpacts),
                 justificationsSupplier);
     }
 
-    public interface IntBigDecimalConsumer {
-
-        void accept(int value1, BigDecimal value2);
-
-    }
-
 }
@@ -22,7 +22,6 @@ package org.optaplanner.constraint.streams.common.inliner;
 import java.math.BigDecimal;
 import java.util.Arrays;
 
-import org.optaplanner.constraint.streams.common.inliner.BendableBigDecimalScoreContext.IntBigDecimalConsumer;
 import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 
@@ -30,6 +29,10 @@ final class BendableBigDecimalScoreInliner extends AbstractScoreInliner<Bendable
 
     private final BigDecimal[] hardScores;
     private final BigDecimal[] softScores;
+    private BendableBigDecimalScore cachedScore = null;
+    private int cachedInitScore;
+    private BigDecimal[] cachedHardScores;
+    private BigDecimal[] cachedSoftScores;
 
     BendableBigDecimalScoreInliner(boolean constraintMatchEnabled, int hardLevelsSize, int softLevelsSize) {
         super(constraintMatchEnabled);
@@ -53,16 +56,11 @@ final class BendableBigDecimalScoreInliner extends AbstractScoreInliner<Bendable
                 singleLevel = i;
             }
         }
-        IntBigDecimalConsumer hardScoreUpdater =
-                (scoreLevel, impact) -> this.hardScores[scoreLevel] = this.hardScores[scoreLevel].add(impact);
-        IntBigDecimalConsumer softScoreUpdater =
-                (scoreLevel, impact) -> this.softScores[scoreLevel] = this.softScores[scoreLevel].add(impact);
         if (singleLevel != null) {
             boolean isHardScore = singleLevel < constraintWeight.hardLevelsSize();
             int level = isHardScore ? singleLevel : singleLevel - constraintWeight.hardLevelsSize();
             BendableBigDecimalScoreContext context = new BendableBigDecimalScoreContext(this, constraint, constraintWeight,
-                    hardScores.length, softScores.length, level, constraintWeight.hardOrSoftScore(singleLevel),
-                    hardScoreUpdater, softScoreUpdater);
+                    hardScores, softScores, level, constraintWeight.hardOrSoftScore(singleLevel));
             if (isHardScore) {
                 return WeightedScoreImpacter.of(context, BendableBigDecimalScoreContext::changeHardScoreBy);
             } else {
@@ -70,16 +68,23 @@ final class BendableBigDecimalScoreInliner extends AbstractScoreInliner<Bendable
             }
         } else {
             BendableBigDecimalScoreContext context = new BendableBigDecimalScoreContext(this, constraint, constraintWeight,
-                    hardScores.length, softScores.length, hardScoreUpdater, softScoreUpdater);
+                    hardScores, softScores);
             return WeightedScoreImpacter.of(context, BendableBigDecimalScoreContext::changeScoreBy);
         }
     }
 
     @Override
     public BendableBigDecimalScore extractScore(int initScore) {
-        return BendableBigDecimalScore.ofUninitialized(initScore,
-                Arrays.copyOf(hardScores, hardScores.length),
-                Arrays.copyOf(softScores, softScores.length));
+        // Many moves do not change the score, so only build a new score if any level changed.
+        if (cachedScore == null || cachedInitScore != initScore
+                || !Arrays.equals(cachedHardScores, hardScores) || !Arrays.equals(cachedSoftScores, softScores)) {
+            // The score keeps the arrays it receives, so they must not be the accumulators.
+            cachedInitScore = initScore;
+            cachedHardScores = Arrays.copyOf(hardScores, hardScores.length);
+            cachedSoftScores = Arrays.copyOf(softScores, softScores.length);
+            cachedScore = BendableBigDecimalScore.ofUninitialized(initScore, cachedHardScores, cachedSoftScores);
+        }
+        return cachedScore;
     }
 
     @Override
@@ -22,90 +22,90 @@ package org.optaplanner.constraint.streams.common.inliner;
 import org.optaplanner.core.api.score.buildin.bendablelong.BendableLongScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 
+/**
+ * Updates the score level accumulators of its {@link BendableLongScoreInliner} directly,
+ * without allocating anything per impact unless constraint matches are enabled.
+ */
 final class BendableLongScoreContext extends ScoreContext<BendableLongScore> {
 
-    private final int hardScoreLevelCount;
-    private final int softScoreLevelCount;
+    private final long[] hardScores;
+    private final long[] softScores;
+    private final long[] hardWeights;
+    private final long[] softWeights;
     private final int scoreLevel;
     private final long scoreLevelWeight;
-    private final IntLongConsumer softScoreLevelUpdater;
-    private final IntLongConsumer hardScoreLevelUpdater;
 
+    /**
+     * @param hardScores never null, the hard score accumulators of the parent, updated in place
+     * @param softScores never null, the soft score accumulators of the parent, updated in place
+     */
     public BendableLongScoreContext(AbstractScoreInliner<BendableLongScore> parent, Constraint constraint,
-            BendableLongScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount, int scoreLevel,
-            long scoreLevelWeight, IntLongConsumer hardScoreLevelUpdater, IntLongConsumer softScoreLevelUpdater) {
+            BendableLongScore constraintWeight, long[] hardScores, long[] softScores, int scoreLevel,
+            long scoreLevelWeight) {
         super(parent, constraint, constraintWeight);
-        this.hardScoreLevelCount = hardScoreLevelCount;
-        this.softScoreLevelCount = softScoreLevelCount;
+        this.hardScores = hardScores;
+        this.softScores = softScores;
+        this.hardWeights = constraintWeight.hardScores();
+        this.softWeights = constraintWeight.softScores();
         this.scoreLevel = scoreLevel;
         this.scoreLevelWeight = scoreLevelWeight;
-        this.softScoreLevelUpdater = softScoreLevelUpdater;
-        this.hardScoreLevelUpdater = hardScoreLevelUpdater;
     }
 
     public BendableLongScoreContext(AbstractScoreInliner<BendableLongScore> parent, Constraint constraint,
-            BendableLongScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount,
-            IntLongConsumer hardScoreLevelUpdater, IntLongConsumer softScoreLevelUpdater) {
-        this(parent, constraint, constraintWeight, hardScoreLevelCount, softScoreLevelCount, -1, -1, hardScoreLevelUpdater,
-                softScoreLevelUpdater);
+            BendableLongScore constraintWeight, long[] hardScores, long[] softScores) {
+        this(parent, constraint, constraintWeight, hardScores, softScores, -1, -1);
     }
 
     public UndoScoreImpacter changeSoftScoreBy(long matchWeight, JustificationsSupplier justificationsSupplier) {
         long softImpact = scoreLevelWeight * matchWeight;
-        softScoreLevelUpdater.accept(scoreLevel, softImpact);
-        UndoScoreImpacter undoScoreImpact = () -> softScoreLevelUpdater.accept(scoreLevel, -softImpact);
+        softScores[scoreLevel] += softImpact;
+        UndoScoreImpacter undoScoreImpact = () -> softScores[scoreLevel] -= softImpact;
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact,
-                BendableLongScore.ofSoft(hardScoreLevelCount, softScoreLevelCount, scoreLevel, softImpact),
+                BendableLongScore.ofSoft(hardScores.length, softScores.length, scoreLevel, softImpact),
                 justificationsSupplier);
     }
 
     public UndoScoreImpacter changeHardScoreBy(long matchWeight, JustificationsSupplier justificationsSupplier) {
         long hardImpact = scoreLevelWeight * matchWeight;
-        hardScoreLevelUpdater.accept(scoreLevel, hardImpact);
-        UndoScoreImpacter undoScoreImpact = () -> hardScoreLevelUpdater.accept(scoreLevel, -hardImpact);
+        hardScores[scoreLevel] += hardImpact;
+        UndoScoreImpacter undoScoreImpact = () -> hardScores[scoreLevel] -= hardImpact;
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact,
-                BendableLongScore.ofHard(hardScoreLevelCount, softScoreLevelCount, scoreLevel, hardImpact),
+                BendableLongScore.ofHard(hardScores.length, softScores.length, scoreLevel, hardImpact),
                 justificationsSupplier);
     }
 
     public UndoScoreImpacter changeScoreBy(long matchWeight, JustificationsSupplier justificationsSupplier) {
-        long[] hardImpacts = new long[hardScoreLevelCount];
-        long[] softImpacts = new long[softScoreLevelCount];
-        for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-            long hardImpact = constraintWeight.hardScore(hardScoreLevel) * matchWeight;
-            hardImpacts[hardScoreLevel] = hardImpact;
-            hardScoreLevelUpdater.accept(hardScoreLevel, hardImpact);
-        }
-        for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-            long softImpact = constraintWeight.softScore(softScoreLevel) * matchWeight;
-            softImpacts[softScoreLevel] = softImpact;
-            softScoreLevelUpdater.accept(softScoreLevel, softImpact);
-        }
-        UndoScoreImpacter undoScoreImpact = () -> {
-            for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-                hardScoreLevelUpdater.accept(hardScoreLevel, -hardImpacts[hardScoreLevel]);
-            }
-            for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-                softScoreLevelUpdater.accept(softScoreLevel, -softImpacts[softScoreLevel]);
-            }
-        };
+        addScoreBy(matchWeight);
+        // The impact per level is recalculated on undo, so it needn't be kept in arrays.
+        UndoScoreImpacter undoScoreImpact = () -> addScoreBy(-matchWeight);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
+        long[] hardImpacts = new long[hardWeights.length];
+        for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+            hardImpacts[hardScoreLevel] = hardWeights[hardScoreLevel] * matchWeight;
+        }
+        long[] softImpacts = new long[softWeights.length];
+        for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+            softImpacts[softScoreLevel] = softWeights[softScoreLevel] * matchWeight;
+        }
         return impactWithConstraintMatch(undoScoreImpact, BendableLongScore.of(hardImpacts, softImpacts),
                 justificationsSupplier);
     }
 
-    public interface IntLongConsumer {
-
-        void accept(int value1, long value2);
-
+    private void addScoreBy(long matchWeight) {
+        for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+            hardScores[hardScoreLevel] += hardWeights[hardScoreLevel] * matchWeight;
+        }
+        for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+            softScores[softScoreLevel] += softWeights[softScoreLevel] * matchWeight;
+        }
     }
 
 }
@@ -21,7 +21,6 @@ package org.optaplanner.constraint.streams.common.inliner;
 
 import java.util.Arrays;
 
-import org.optaplanner.constraint.streams.common.inliner.BendableLongScoreContext.IntLongConsumer;
 import org.optaplanner.core.api.score.buildin.bendablelong.BendableLongScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 
@@ -29,6 +28,10 @@ public final class BendableLongScoreInliner extends AbstractScoreInliner<Bendabl
 
     private final long[] hardScores;
     private final long[] softScores;
+    private BendableLongScore cachedScore = null;
+    private int cachedInitScore;
+    private long[] cachedHardScores;
+    private long[] cachedSoftScores;
 
     BendableLongScoreInliner(boolean constraintMatchEnabled, int hardLevelsSize, int softLevelsSize) {
         super(constraintMatchEnabled);
@@ -50,14 +53,11 @@ public final class BendableLongScoreInliner extends AbstractScoreInliner<Bendabl
                 singleLevel = i;
             }
         }
-        IntLongConsumer hardScoreUpdater = (scoreLevel, impact) -> this.hardScores[scoreLevel] += impact;
-        IntLongConsumer softScoreUpdater = (scoreLevel, impact) -> this.softScores[scoreLevel] += impact;
         if (singleLevel != null) {
             boolean isHardScore = singleLevel < constraintWeight.hardLevelsSize();
             int level = isHardScore ? singleLevel : singleLevel - constraintWeight.hardLevelsSize();
             BendableLongScoreContext context = new BendableLongScoreContext(this, constraint, constraintWeight,
-                    hardScores.length, softScores.length, level, constraintWeight.hardOrSoftScore(singleLevel),
-                    hardScoreUpdater, softScoreUpdater);
+                    hardScores, softScores, level, constraintWeight.hardOrSoftScore(singleLevel));
             if (isHardScore) {
                 return WeightedScoreImpacter.of(context, (BendableLongScoreContext ctx, long impact,
                         JustificationsSupplier justificationSupplier) -> ctx.changeHardScoreBy(impact, justificationSupplier));
@@ -67,7 +67,7 @@ public final class BendableLongScoreInliner extends AbstractScoreInliner<Bendabl
             }
         } else {
             BendableLongScoreContext context = new BendableLongScoreContext(this, constraint, constraintWeight,
-                    hardScores.length, softScores.length, hardScoreUpdater, softScoreUpdater);
+                    hardScores, softScores);
             return WeightedScoreImpacter.of(context, (BendableLongScoreContext ctx, long impact,
                     JustificationsSupplier justificationSupplier) -> ctx.changeScoreBy(impact, justificationSupplier));
         }
@@ -75,9 +75,16 @@ public final class BendableLongScoreInliner extends AbstractScoreInliner<Bendabl
 
     @Override
     public BendableLongScore extractScore(int initScore) {
-        return BendableLongScore.ofUninitialized(initScore,
-                Arrays.copyOf(hardScores, hardScores.length),
-                Arrays.copyOf(softScores, softScores.length));
+        // Many moves do not change the score, so only build a new score if any level changed.
+        if (cachedScore == null || cachedInitScore != initScore
+                || !Arrays.equals(cachedHardScores, hardScores) || !Arrays.equals(cachedSoftScores, softScores)) {
+            // The score keeps the arrays it receives, so they must not be the accumulators.
+            cachedInitScore = initScore;
+            cachedHardScores = Arrays.copyOf(hardScores, hardScores.length);
+            cachedSoftScores = Arrays.copyOf(softScores, softScores.length);
+            cachedScore = BendableLongScore.ofUninitialized(initScore, cachedHardScores, cachedSoftScores);
+        }
+        return cachedScore;
     }
 
     @Override
@@ -22,87 +22,86 @@ package org.optaplanner.constraint.streams.common.inliner;
 import org.optaplanner.core.api.score.buildin.bendable.BendableScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 
+/**
+ * Updates the score level accumulators of its {@link BendableScoreInliner} directly,
+ * without allocating anything per impact unless constraint matches are enabled.
+ */
 final class BendableScoreContext extends ScoreContext<BendableScore> {
 
-    private final int hardScoreLevelCount;
-    private final int softScoreLevelCount;
+    private final int[] hardScores;
+    private final int[] softScores;
+    private final int[] hardWeights;
+    private final int[] softWeights;
     private final int scoreLevel;
     private final int scoreLevelWeight;
-    private final IntBiConsumer softScoreLevelUpdater;
-    private final IntBiConsumer hardScoreLevelUpdater;
 
+    /**
+     * @param hardScores never null, the hard score accumulators of the parent, updated in place
+     * @param softScores never null, the soft score accumulators of the parent, updated in place
+     */
     public BendableScoreContext(AbstractScoreInliner<BendableScore> parent, Constraint constraint,
-            BendableScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount, int scoreLevel,
-            int scoreLevelWeight, IntBiConsumer hardScoreLevelUpdater, IntBiConsumer softScoreLevelUpdater) {
+            BendableScore constraintWeight, int[] hardScores, int[] softScores, int scoreLevel, int scoreLevelWeight) {
         super(parent, constraint, constraintWeight);
-        this.hardScoreLevelCount = hardScoreLevelCount;
-        this.softScoreLevelCount = softScoreLevelCount;
+        this.hardScores = hardScores;
+        this.softScores = softScores;
+        this.hardWeights = constraintWeight.hardScores();
+        this.softWeights = constraintWeight.softScores();
         this.scoreLevel = scoreLevel;
         this.scoreLevelWeight = scoreLevelWeight;
-        this.softScoreLevelUpdater = softScoreLevelUpdater;
-        this.hardScoreLevelUpdater = hardScoreLevelUpdater;
     }
 
     public BendableScoreContext(AbstractScoreInliner<BendableScore> parent, Constraint constraint,
-            BendableScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount,
-            IntBiConsumer hardScoreLevelUpdater, IntBiConsumer softScoreLevelUpdater) {
-        this(parent, constraint, constraintWeight, hardScoreLevelCount, softScoreLevelCount, -1, -1, hardScoreLevelUpdater,
-                softScoreLevelUpdater);
+            BendableScore constraintWeight, int[] hardScores, int[] softScores) {
+        this(parent, constraint, constraintWeight, hardScores, softScores, -1, -1);
     }
 
     public UndoScoreImpacter changeSoftScoreBy(int matchWeight, JustificationsSupplier justificationsSupplier) {
         int softImpact = scoreLevelWeight * matchWeight;
-        softScoreLevelUpdater.accept(scoreLevel, softImpact);
-        UndoScoreImpacter undoScoreImpact = () -> softScoreLevelUpdater.accept(scoreLevel, -softImpact);
+        softScores[scoreLevel] += softImpact;
+        UndoScoreImpacter undoScoreImpact = () -> softScores[scoreLevel] -= softImpact;
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact,
-                BendableScore.ofSoft(hardScoreLevelCount, softScoreLevelCount, scoreLevel, softImpact), justificationsSupplier);
+                BendableScore.ofSoft(hardScores.length, softScores.length, scoreLevel, softImpact), justificationsSupplier);
     }
 
     public UndoScoreImpacter changeHardScoreBy(int matchWeight, JustificationsSupplier justificationsSupplier) {
         int hardImpact = scoreLevelWeight * matchWeight;
-        hardScoreLevelUpdater.accept(scoreLevel, hardImpact);
-        UndoScoreImpacter undoScoreImpact = () -> hardScoreLevelUpdater.accept(scoreLevel, -hardImpact);
+        hardScores[scoreLevel] += hardImpact;
+        UndoScoreImpacter undoScoreImpact = () -> hardScores[scoreLevel] -= hardImpact;
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact,
-                BendableScore.ofHard(hardScoreLevelCount, softScoreLevelCount, scoreLevel, hardImpact), justificationsSupplier);
+                BendableScore.ofHard(hardScores.length, softScores.length, scoreLevel, hardImpact), justificationsSupplier);
     }
 
     public UndoScoreImpacter changeScoreBy(int matchWeight, JustificationsSupplier justificationsSupplier) {
-        int[] hardImpacts = new int[hardScoreLevelCount];
-        int[] softImpacts = new int[softScoreLevelCount];
-        for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-            int hardImpact = constraintWeight.hardScore(hardScoreLevel) * matchWeight;
-            hardImpacts[hardScoreLevel] = hardImpact;
-            hardScoreLevelUpdater.accept(hardScoreLevel, hardImpact);
-        }
-        for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-            int softImpact = constraintWeight.softScore(softScoreLevel) * matchWeight;
-            softImpacts[softScoreLevel] = softImpact;
-            softScoreLevelUpdater.accept(softScoreLevel, softImpact);
-        }
-        UndoScoreImpacter undoScoreImpact = () -> {
-            for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-                hardScoreLevelUpdater.accept(hardScoreLevel, -hardImpacts[hardScoreLevel]);
-            }
-            for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-                softScoreLevelUpdater.accept(softScoreLevel, -softImpacts[softScoreLevel]);
-            }
-        };
+        addScoreBy(matchWeight);
+        // The impact per level is recalculated on undo, so it needn't be kept in arrays.
+        UndoScoreImpacter undoScoreImpact = () -> addScoreBy(-matchWeight);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
+        int[] hardImpacts = new int[hardWeights.length];
+        for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+            hardImpacts[hardScoreLevel] = hardWeights[hardScoreLevel] * matchWeight;
+        }
+        int[] softImpacts = new int[softWeights.length];
+        for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+            softImpacts[softScoreLevel] = softWeights[softScoreLevel] * matchWeight;
+        }
         return impactWithConstraintMatch(undoScoreImpact, BendableScore.of(hardImpacts, softImpacts), justificationsSupplier);
     }
 
-    public interface IntBiConsumer {
-
-        void accept(int value1, int value2);
-
+    private void addScoreBy(int matchWeight) {
+        for (int hardScoreLevel = 0; hardScoreLevel < hardWeights.length; hardScoreLevel++) {
+            hardScores[hardScoreLevel] += hardWeights[hardScoreLevel] * matchWeight;
+        }
+        for (int softScoreLevel = 0; softScoreLevel < softWeights.length; softScoreLevel++) {
+            softScores[softScoreLevel] += softWeights[softScoreLevel] * matchWeight;
+        }
     }
 
 }
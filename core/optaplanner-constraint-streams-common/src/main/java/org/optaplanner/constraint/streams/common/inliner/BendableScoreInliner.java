@@ -21,7 +21,6 @@ package org.optaplanner.constraint.streams.common.inliner;
 
 import java.util.Arrays;
 
-import org.optaplanner.constraint.streams.common.inliner.BendableScoreContext.IntBiConsumer;
 import org.optaplanner.core.api.score.buildin.bendable.BendableScore;
 import org.optaplanner.core.api.score.stream.Constraint;
 
@@ -29,6 +28,10 @@ final class BendableScoreInliner extends AbstractScoreInliner<BendableScore> {
 
     private final int[] hardScores;
     private final int[] softScores;
+    private BendableScore cachedScore = null;
+    private int cachedInitScore;
+    private int[] cachedHardScores;
+    private int[] cachedSoftScores;
 
     BendableScoreInliner(boolean constraintMatchEnabled, int hardLevelsSize, int softLevelsSize) {
         super(constraintMatchEnabled);
@@ -50,14 +53,11 @@ final class BendableScoreInliner extends AbstractScoreInliner<BendableScore> {
                 singleLevel = i;
             }
         }
-        IntBiConsumer hardScoreUpdater = (scoreLevel, impact) -> this.hardScores[scoreLevel] += impact;
-        IntBiConsumer softScoreUpdater = (scoreLevel, impact) -> this.softScores[scoreLevel] += impact;
         if (singleLevel != null) {
             boolean isHardScore = singleLevel < constraintWeight.hardLevelsSize();
             int level = isHardScore ? singleLevel : singleLevel - constraintWeight.hardLevelsSize();
             BendableScoreContext context = new BendableScoreContext(this, constraint, constraintWeight,
-                    hardScores.length, softScores.length, level, constraintWeight.hardOrSoftScore(singleLevel),
-                    hardScoreUpdater, softScoreUpdater);
+                    hardScores, softScores, level, constraintWeight.hardOrSoftScore(singleLevel));
             if (isHardScore) {
                 return WeightedScoreImpacter.of(context, BendableScoreContext::changeHardScoreBy);
             } else {
@@ -65,16 +65,23 @@ final class BendableScoreInliner extends AbstractScoreInliner<BendableScore> {
             }
         } else {
             BendableScoreContext context = new BendableScoreContext(this, constraint, constraintWeight,
-                    hardScores.length, softScores.length, hardScoreUpdater, softScoreUpdater);
+                    hardScores, softScores);
             return WeightedScoreImpacter.of(context, BendableScoreContext::changeScoreBy);
         }
     }
 
     @Override
     public BendableScore extractScore(int initScore) {
-        return BendableScore.ofUninitialized(initScore,
-                Arrays.copyOf(hardScores, hardScores.length),
-                Arrays.copyOf(softScores, softScores.length));
+        // Many moves do not change the score, so only build a new score if any level changed.
+        if (cachedScore == null || cachedInitScore != initScore
+                || !Arrays.equals(cachedHardScores, hardScores) || !Arrays.equals(cachedSoftScores, softScores)) {
+            // The score keeps the arrays it receives, so they must not be the accumulators.
+            cachedInitScore = initScore;
+            cachedHardScores = Arrays.copyOf(hardScores, hardScores.length);
+            cachedSoftScores = Arrays.copyOf(softScores, softScores.length);
+            cachedScore = BendableScore.ofUninitialized(initScore, cachedHardScores, cachedSoftScores);
+        }
+        return cachedScore;
     }
 
     @Override
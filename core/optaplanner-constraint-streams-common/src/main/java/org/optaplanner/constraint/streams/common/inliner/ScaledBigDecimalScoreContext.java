@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.common.inliner;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+
+/**
+ * Calculates the impact in {@code long} arithmetic at the scale of its {@link ScaledBigDecimalScoreInliner},
+ * unless the constraint weight or the match weight has more decimals than that scale
+ * or the impact exceeds the range of a {@code long}.
+ * Then it falls back to {@link BigDecimal} arithmetic for that impact.
+ *
+ * @param <Score_> a {@link BigDecimal} based score
+ */
+final class ScaledBigDecimalScoreContext<Score_ extends Score<Score_>> extends ScoreContext<Score_> {
+
+    private final ScaledBigDecimalScoreInliner<Score_> inliner;
+    private final int scale;
+    private final BigDecimal[] levelWeights;
+    /**
+     * The levels with a non-zero weight, so the other levels are skipped.
+     */
+    private final int[] impactedLevels;
+    /**
+     * The level weights as a {@code long} at the scale, null if any of them doesn't fit.
+     * Multiplied with an integer match weight, the product is at the scale too.
+     */
+    private final long[] scaledLevelWeights;
+    /**
+     * The level weights as a {@code long}, null if any of them has decimals or doesn't fit.
+     * Multiplied with a match weight at the scale, the product is at the scale too.
+     */
+    private final long[] integerLevelWeights;
+
+    public ScaledBigDecimalScoreContext(ScaledBigDecimalScoreInliner<Score_> inliner, Constraint constraint,
+            Score_ constraintWeight) {
+        super(inliner, constraint, constraintWeight);
+        this.inliner = inliner;
+        this.scale = inliner.getScale();
+        Number[] levelNumbers = constraintWeight.toLevelNumbers();
+        this.levelWeights = Arrays.copyOf(levelNumbers, levelNumbers.length, BigDecimal[].class);
+        this.impactedLevels = IntStream.range(0, levelWeights.length)
+                .filter(level -> levelWeights[level].signum() != 0)
+                .toArray();
+        this.scaledLevelWeights = toLongs(levelWeights, scale);
+        this.integerLevelWeights = toLongs(levelWeights, 0);
+    }
+
+    private static long[] toLongs(BigDecimal[] values, int scale) {
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                longs[i] = values[i].movePointRight(scale).longValueExact();
+            } catch (ArithmeticException e) {
+                // It has more decimals than the scale or it doesn't fit in a long.
+                return null;
+            }
+        }
+        return longs;
+    }
+
+    public UndoScoreImpacter changeScoreBy(long matchWeight, JustificationsSupplier justificationsSupplier) {
+        if (scaledLevelWeights != null && !overflows(scaledLevelWeights, matchWeight)) {
+            return changeScoreByScaled(scaledLevelWeights, matchWeight, justificationsSupplier);
+        }
+        return changeScoreByExactly(BigDecimal.valueOf(matchWeight), justificationsSupplier);
+    }
+
+    public UndoScoreImpacter changeScoreBy(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
+        if (integerLevelWeights != null) {
+            long scaledMatchWeight;
+            try {
+                scaledMatchWeight = matchWeight.movePointRight(scale).longValueExact();
+            } catch (ArithmeticException e) {
+                // It has more decimals than the scale or it doesn't fit in a long.
+                return changeScoreByExactly(matchWeight, justificationsSupplier);
+            }
+            if (!overflows(integerLevelWeights, scaledMatchWeight)) {
+                return changeScoreByScaled(integerLevelWeights, scaledMatchWeight, justificationsSupplier);
+            }
+        }
+        return changeScoreByExactly(matchWeight, justificationsSupplier);
+    }
+
+    private boolean overflows(long[] weights, long multiplier) {
+        for (int level : impactedLevels) {
+            long weight = weights[level];
+            if (Math.multiplyHigh(weight, multiplier) != ((weight * multiplier) >> 63)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UndoScoreImpacter changeScoreByScaled(long[] weights, long multiplier,
+            JustificationsSupplier justificationsSupplier) {
+        for (int level : impactedLevels) {
+            inliner.addScaled(level, weights[level] * multiplier);
+        }
+        // The product didn't overflow before, so it doesn't overflow on undo either.
+        UndoScoreImpacter undoScoreImpact = () -> {
+            for (int level : impactedLevels) {
+                inliner.subtractScaled(level, weights[level] * multiplier);
+            }
+        };
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal[] impacts = new BigDecimal[levelWeights.length];
+        Arrays.fill(impacts, BigDecimal.ZERO);
+        for (int level : impactedLevels) {
+            impacts[level] = BigDecimal.valueOf(weights[level] * multiplier, scale);
+        }
+        return impactWithConstraintMatch(undoScoreImpact, inliner.buildScore(0, impacts), justificationsSupplier);
+    }
+
+    private UndoScoreImpacter changeScoreByExactly(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
+        BigDecimal[] impacts = new BigDecimal[levelWeights.length];
+        Arrays.fill(impacts, BigDecimal.ZERO);
+        for (int level : impactedLevels) {
+            BigDecimal impact = levelWeights[level].multiply(matchWeight);
+            impacts[level] = impact;
+            inliner.addExactly(level, impact);
+        }
+        UndoScoreImpacter undoScoreImpact = () -> {
+            for (int level : impactedLevels) {
+                inliner.subtractExactly(level, impacts[level]);
+            }
+        };
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        return impactWithConstraintMatch(undoScoreImpact, inliner.buildScore(0, impacts), justificationsSupplier);
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.common.inliner;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.optaplanner.core.api.domain.solution.PlanningScore;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.impl.score.definition.ScoreDefinition;
+
+/**
+ * Used for every {@link BigDecimal} based score with a fixed {@link PlanningScore#bigDecimalScale()}.
+ * Every score level is accumulated as a {@code long} at that scale,
+ * plus a {@link BigDecimal} for the impacts that don't fit in that {@code long}.
+ * Those impacts are rare, so the {@link BigDecimal} part usually remains zero.
+ *
+ * @param <Score_> a {@link BigDecimal} based score
+ */
+final class ScaledBigDecimalScoreInliner<Score_ extends Score<Score_>> extends AbstractScoreInliner<Score_> {
+
+    private final ScoreDefinition<Score_> scoreDefinition;
+    private final int scale;
+    private final long[] scaledScores;
+    private final BigDecimal[] overflowScores;
+
+    ScaledBigDecimalScoreInliner(ScoreDefinition<Score_> scoreDefinition, boolean constraintMatchEnabled, int scale) {
+        super(constraintMatchEnabled);
+        if (scale < 0) {
+            throw new IllegalArgumentException("The scale (" + scale + ") must not be negative.");
+        }
+        this.scoreDefinition = scoreDefinition;
+        this.scale = scale;
+        scaledScores = new long[scoreDefinition.getLevelsSize()];
+        overflowScores = new BigDecimal[scoreDefinition.getLevelsSize()];
+        Arrays.fill(overflowScores, BigDecimal.ZERO);
+    }
+
+    @Override
+    public WeightedScoreImpacter<Score_, ScaledBigDecimalScoreContext<Score_>> buildWeightedScoreImpacter(
+            Constraint constraint, Score_ constraintWeight) {
+        validateConstraintWeight(constraint, constraintWeight);
+        ScaledBigDecimalScoreContext<Score_> context = new ScaledBigDecimalScoreContext<>(this, constraint,
+                constraintWeight);
+        return WeightedScoreImpacter.of(context, ScaledBigDecimalScoreContext::changeScoreBy,
+                ScaledBigDecimalScoreContext::changeScoreBy);
+    }
+
+    int getScale() {
+        return scale;
+    }
+
+    Score_ buildScore(int initScore, BigDecimal[] levelScores) {
+        return scoreDefinition.fromLevelNumbers(initScore, levelScores);
+    }
+
+    void addScaled(int level, long scaledImpact) {
+        long scaledScore = scaledScores[level];
+        long sum = scaledScore + scaledImpact;
+        // Overflow iff both operands have the same sign and the sum has the other sign.
+        if (((scaledScore ^ sum) & (scaledImpact ^ sum)) < 0) {
+            overflowScores[level] = overflowScores[level].add(BigDecimal.valueOf(scaledImpact, scale));
+        } else {
+            scaledScores[level] = sum;
+        }
+    }
+
+    void subtractScaled(int level, long scaledImpact) {
+        long scaledScore = scaledScores[level];
+        long difference = scaledScore - scaledImpact;
+        // Overflow iff the operands have different signs and the difference has the sign of the subtrahend.
+        if (((scaledScore ^ scaledImpact) & (scaledScore ^ difference)) < 0) {
+            overflowScores[level] = overflowScores[level].subtract(BigDecimal.valueOf(scaledImpact, scale));
+        } else {
+            scaledScores[level] = difference;
+        }
+    }
+
+    void addExactly(int level, BigDecimal impact) {
+        overflowScores[level] = overflowScores[level].add(impact);
+    }
+
+    void subtractExactly(int level, BigDecimal impact) {
+        overflowScores[level] = overflowScores[level].subtract(impact);
+    }
+
+    @Override
+    public Score_ extractScore(int initScore) {
+        BigDecimal[] levelScores = new BigDecimal[scaledScores.length];
+        for (int i = 0; i < scaledScores.length; i++) {
+            levelScores[i] = BigDecimal.valueOf(scaledScores[i], scale).add(overflowScores[i]);
+        }
+        return buildScore(initScore, levelScores);
+    }
+
+    @Override
+    public String toString() {
+        return scoreDefinition.getScoreClass().getSimpleName() + " inliner (scale " + scale + ")";
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.common.inliner;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import org.optaplanner.core.api.score.Score;
+
+/**
+ * Unlike {@link BigDecimalWeightedScoreImpacter}, it doesn't convert an int or long match weight into a
+ * {@link BigDecimal}, so the {@link ScaledBigDecimalScoreContext} can calculate its impact in long arithmetic.
+ */
+final class ScaledBigDecimalWeightedScoreImpacter<Score_ extends Score<Score_>, Context_ extends ScoreContext<Score_>>
+        implements WeightedScoreImpacter<Score_, Context_> {
+
+    private final LongImpactFunction<Score_, Context_> longImpactFunction;
+    private final BigDecimalImpactFunction<Score_, Context_> bigDecimalImpactFunction;
+    private final Context_ context;
+
+    public ScaledBigDecimalWeightedScoreImpacter(LongImpactFunction<Score_, Context_> longImpactFunction,
+            BigDecimalImpactFunction<Score_, Context_> bigDecimalImpactFunction, Context_ context) {
+        this.longImpactFunction = Objects.requireNonNull(longImpactFunction);
+        this.bigDecimalImpactFunction = Objects.requireNonNull(bigDecimalImpactFunction);
+        this.context = context;
+    }
+
+    @Override
+    public UndoScoreImpacter impactScore(int matchWeight, JustificationsSupplier justificationsSupplier) {
+        return longImpactFunction.impact(context, matchWeight, justificationsSupplier); // int can be cast to long
+    }
+
+    @Override
+    public UndoScoreImpacter impactScore(long matchWeight, JustificationsSupplier justificationsSupplier) {
+        return longImpactFunction.impact(context, matchWeight, justificationsSupplier);
+    }
+
+    @Override
+    public UndoScoreImpacter impactScore(BigDecimal matchWeight, JustificationsSupplier justificationsSupplier) {
+        return bigDecimalImpactFunction.impact(context, matchWeight, justificationsSupplier);
+    }
+
+    @Override
+    public Context_ getContext() {
+        return context;
+    }
+
+}
@@ -57,6 +57,18 @@ public interface WeightedScoreImpacter<Score_ extends Score<Score_>, Context_ ex
         return new BigDecimalWeightedScoreImpacter<>(impactFunction, context);
     }
 
+    /**
+     * @param context never null
+     * @param longImpactFunction never null, called for int and long match weights
+     * @param bigDecimalImpactFunction never null, called for {@link BigDecimal} match weights
+     * @return never null
+     */
+    static <Score_ extends Score<Score_>, Context_ extends ScoreContext<Score_>> WeightedScoreImpacter<Score_, Context_>
+            of(Context_ context, LongImpactFunction<Score_, Context_> longImpactFunction,
+                    BigDecimalImpactFunction<Score_, Context_> bigDecimalImpactFunction) {
+        return new ScaledBigDecimalWeightedScoreImpacter<>(longImpactFunction, bigDecimalImpactFunction, context);
+    }
+
     /**
      * @param matchWeight never null
      * @param justificationsSupplier ignored unless constraint match enableds
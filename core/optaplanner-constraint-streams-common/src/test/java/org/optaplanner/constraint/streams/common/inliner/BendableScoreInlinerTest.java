@@ -131,6 +131,32 @@ class BendableScoreInlinerTest extends AbstractScoreInlinerTest<TestdataBendable
                 .isEqualTo(buildScore(0, 0, 0));
     }
 
+    @Test
+    void extractScoreReusesUnchangedScore() {
+        BendableScoreInliner scoreInliner = new BendableScoreInliner(constraintMatchEnabled, 1, 2);
+
+        BendableScore constraintWeight = buildScore(0, 90, 0);
+        WeightedScoreImpacter<BendableScore, BendableScoreContext> softImpacter =
+                scoreInliner.buildWeightedScoreImpacter(buildConstraint(constraintWeight), constraintWeight);
+        UndoScoreImpacter undo1 = softImpacter.impactScore(1, JustificationsSupplier.empty());
+        BendableScore score = scoreInliner.extractScore(0);
+        assertThat(scoreInliner.extractScore(0)).isSameAs(score);
+        assertThat(scoreInliner.extractScore(-1))
+                .isNotSameAs(score)
+                .isEqualTo(BendableScore.ofUninitialized(-1, new int[] { 0 }, new int[] { 90, 0 }));
+
+        UndoScoreImpacter undo2 = softImpacter.impactScore(2, JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(0, 270, 0));
+        // The earlier score must not change along with the accumulators.
+        assertThat(score).isEqualTo(buildScore(0, 90, 0));
+
+        undo2.run();
+        undo1.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(0, 0, 0));
+    }
+
     @Override
     protected SolutionDescriptor<TestdataBendableScoreSolution> buildSolutionDescriptor() {
         return TestdataBendableScoreSolution.buildSolutionDescriptor();
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.constraint.streams.common.inliner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
+import org.optaplanner.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.buildin.BendableBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.HardSoftBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.testdata.domain.score.TestdataHardSoftBigDecimalScoreSolution;
+
+class ScaledBigDecimalScoreInlinerTest
+        extends AbstractScoreInlinerTest<TestdataHardSoftBigDecimalScoreSolution, HardSoftBigDecimalScore> {
+
+    @Test
+    void buildScoreInlinerWithScale() {
+        assertThat((AbstractScoreInliner<HardSoftBigDecimalScore>) AbstractScoreInliner.buildScoreInliner(
+                new HardSoftBigDecimalScoreDefinition(2), constraintMatchEnabled))
+                .isInstanceOf(ScaledBigDecimalScoreInliner.class);
+        assertThat((AbstractScoreInliner<HardSoftBigDecimalScore>) AbstractScoreInliner.buildScoreInliner(
+                new HardSoftBigDecimalScoreDefinition(), constraintMatchEnabled))
+                .isInstanceOf(HardSoftBigDecimalScoreInliner.class);
+    }
+
+    @Test
+    void defaultScore() {
+        ScaledBigDecimalScoreInliner<HardSoftBigDecimalScore> scoreInliner = buildScoreInliner();
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftBigDecimalScore.ZERO);
+    }
+
+    @Test
+    void impactWithIntegerMatchWeight() {
+        ScaledBigDecimalScoreInliner<HardSoftBigDecimalScore> scoreInliner = buildScoreInliner();
+
+        HardSoftBigDecimalScore constraintWeight = HardSoftBigDecimalScore.of(new BigDecimal("1.5"),
+                new BigDecimal("0.25"));
+        WeightedScoreImpacter<HardSoftBigDecimalScore, ScaledBigDecimalScoreContext<HardSoftBigDecimalScore>> impacter =
+                scoreInliner.buildWeightedScoreImpacter(buildConstraint(constraintWeight), constraintWeight);
+        UndoScoreImpacter undo1 = impacter.impactScore(1, JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.of(new BigDecimal("1.5"), new BigDecimal("0.25")));
+
+        UndoScoreImpacter undo2 = impacter.impactScore(2L, JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.of(new BigDecimal("4.5"), new BigDecimal("0.75")));
+
+        undo2.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.of(new BigDecimal("1.5"), new BigDecimal("0.25")));
+
+        undo1.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ZERO);
+    }
+
+    @Test
+    void impactWithDecimalMatchWeight() {
+        ScaledBigDecimalScoreInliner<HardSoftBigDecimalScore> scoreInliner = buildScoreInliner();
+
+        HardSoftBigDecimalScore constraintWeight = HardSoftBigDecimalScore.ofSoft(BigDecimal.valueOf(3));
+        WeightedScoreImpacter<HardSoftBigDecimalScore, ScaledBigDecimalScoreContext<HardSoftBigDecimalScore>> impacter =
+                scoreInliner.buildWeightedScoreImpacter(buildConstraint(constraintWeight), constraintWeight);
+        UndoScoreImpacter undo1 = impacter.impactScore(new BigDecimal("0.01"), JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ofSoft(new BigDecimal("0.03")));
+
+        // More decimals than the scale.
+        UndoScoreImpacter undo2 = impacter.impactScore(new BigDecimal("0.001"), JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ofSoft(new BigDecimal("0.033")));
+
+        undo1.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ofSoft(new BigDecimal("0.003")));
+
+        undo2.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ZERO);
+    }
+
+    @Test
+    void impactBeyondLongRange() {
+        ScaledBigDecimalScoreInliner<HardSoftBigDecimalScore> scoreInliner = buildScoreInliner();
+
+        HardSoftBigDecimalScore constraintWeight = HardSoftBigDecimalScore.ofSoft(BigDecimal.TEN);
+        WeightedScoreImpacter<HardSoftBigDecimalScore, ScaledBigDecimalScoreContext<HardSoftBigDecimalScore>> impacter =
+                scoreInliner.buildWeightedScoreImpacter(buildConstraint(constraintWeight), constraintWeight);
+        // The product overflows.
+        UndoScoreImpacter undo1 = impacter.impactScore(Long.MAX_VALUE, JustificationsSupplier.empty());
+        BigDecimal maxTimesTen = BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.TEN);
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ofSoft(maxTimesTen));
+
+        // The product fits, but the sum overflows.
+        long matchWeight = Long.MAX_VALUE / 1_000L - 1L;
+        BigDecimal expectedImpact = BigDecimal.valueOf(matchWeight).multiply(BigDecimal.TEN);
+        UndoScoreImpacter undo2 = impacter.impactScore(matchWeight, JustificationsSupplier.empty());
+        UndoScoreImpacter undo3 = impacter.impactScore(matchWeight, JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ofSoft(maxTimesTen.add(expectedImpact).add(expectedImpact)));
+
+        undo2.run();
+        undo1.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ofSoft(expectedImpact));
+        undo3.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(HardSoftBigDecimalScore.ZERO);
+    }
+
+    @Test
+    void constraintMatches() {
+        ScaledBigDecimalScoreInliner<HardSoftBigDecimalScore> scoreInliner = buildScoreInliner();
+
+        HardSoftBigDecimalScore constraintWeight = HardSoftBigDecimalScore.ofHard(new BigDecimal("0.5"));
+        WeightedScoreImpacter<HardSoftBigDecimalScore, ScaledBigDecimalScoreContext<HardSoftBigDecimalScore>> impacter =
+                scoreInliner.buildWeightedScoreImpacter(buildConstraint(constraintWeight), constraintWeight);
+        impacter.impactScore(3, JustificationsSupplier.empty());
+        assertThat(scoreInliner.getConstraintMatchTotalMap().values())
+                .singleElement()
+                .satisfies(constraintMatchTotal -> assertThat(constraintMatchTotal.getScore())
+                        .isEqualTo(HardSoftBigDecimalScore.ofHard(new BigDecimal("1.5"))));
+    }
+
+    @Test
+    void impactBendable() {
+        ScaledBigDecimalScoreInliner<BendableBigDecimalScore> scoreInliner = new ScaledBigDecimalScoreInliner<>(
+                new BendableBigDecimalScoreDefinition(1, 2, 2), constraintMatchEnabled, 2);
+
+        BendableBigDecimalScore constraintWeight = BendableBigDecimalScore.of(
+                new BigDecimal[] { BigDecimal.ZERO },
+                new BigDecimal[] { new BigDecimal("0.1"), BigDecimal.ONE });
+        WeightedScoreImpacter<BendableBigDecimalScore, ScaledBigDecimalScoreContext<BendableBigDecimalScore>> impacter =
+                scoreInliner.buildWeightedScoreImpacter(new TestConstraint<>(
+                        new TestConstraintFactory<>(buildSolutionDescriptor()), "Test Constraint", constraintWeight),
+                        constraintWeight);
+        UndoScoreImpacter undo = impacter.impactScore(3, JustificationsSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(BendableBigDecimalScore.of(
+                        new BigDecimal[] { BigDecimal.ZERO },
+                        new BigDecimal[] { new BigDecimal("0.3"), BigDecimal.valueOf(3) }));
+        undo.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(BendableBigDecimalScore.zero(1, 2));
+    }
+
+    private ScaledBigDecimalScoreInliner<HardSoftBigDecimalScore> buildScoreInliner() {
+        return new ScaledBigDecimalScoreInliner<>(new HardSoftBigDecimalScoreDefinition(2), constraintMatchEnabled, 2);
+    }
+
+    @Override
+    protected SolutionDescriptor<TestdataHardSoftBigDecimalScoreSolution> buildSolutionDescriptor() {
+        return TestdataHardSoftBigDecimalScoreSolution.buildSolutionDescriptor();
+    }
+
+}
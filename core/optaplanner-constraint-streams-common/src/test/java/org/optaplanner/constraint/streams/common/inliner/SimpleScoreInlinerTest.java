@@ -21,8 +21,12 @@ package org.optaplanner.constraint.streams.common.inliner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.stream.DefaultConstraintJustification;
+import org.optaplanner.core.impl.util.MutableInt;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 
@@ -60,6 +64,43 @@ class SimpleScoreInlinerTest extends AbstractScoreInlinerTest<TestdataSolution,
                 .isEqualTo(SimpleScore.of(0));
     }
 
+    @Test
+    void constraintMatchesAreMaterializedOnRead() {
+        SimpleScoreInliner scoreInliner =
+                new SimpleScoreInliner(constraintMatchEnabled);
+
+        SimpleScore constraintWeight = SimpleScore.of(10);
+        TestConstraint<TestdataSolution, SimpleScore> constraint = buildConstraint(constraintWeight);
+        WeightedScoreImpacter<SimpleScore, SimpleScoreContext> impacter =
+                scoreInliner.buildWeightedScoreImpacter(constraint, constraintWeight);
+        MutableInt justificationCount = new MutableInt();
+        JustificationsSupplier justificationsSupplierA = JustificationsSupplier.of(constraint,
+                (a, score) -> {
+                    justificationCount.increment();
+                    return DefaultConstraintJustification.of(score, a);
+                }, List::of, "A");
+        JustificationsSupplier justificationsSupplierB = JustificationsSupplier.of(constraint,
+                (b, score) -> {
+                    justificationCount.increment();
+                    return DefaultConstraintJustification.of(score, b);
+                }, List::of, "B");
+
+        // Undone before anything reads it, so it is never materialized.
+        impacter.impactScore(1, justificationsSupplierA).run();
+        UndoScoreImpacter undoA = impacter.impactScore(2, justificationsSupplierA);
+        assertThat(justificationCount.intValue()).isZero();
+        assertThat(scoreInliner.getConstraintMatchTotalMap().get(constraint.getConstraintId()).getScore())
+                .isEqualTo(SimpleScore.of(20));
+        assertThat(justificationCount.intValue()).isEqualTo(1);
+
+        impacter.impactScore(3, justificationsSupplierB);
+        undoA.run();
+        assertThat(scoreInliner.getIndictmentMap()).containsOnlyKeys("B");
+        assertThat(scoreInliner.getConstraintMatchTotalMap().get(constraint.getConstraintId()).getScore())
+                .isEqualTo(SimpleScore.of(30));
+        assertThat(justificationCount.intValue()).isEqualTo(2);
+    }
+
     @Override
     protected SolutionDescriptor<TestdataSolution> buildSolutionDescriptor() {
         return TestdataSolution.buildSolutionDescriptor();
@@ -25,9 +25,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.math.BigDecimal;
 
 import org.optaplanner.core.api.score.IBendableScore;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 
@@ -65,6 +67,24 @@ public @interface PlanningScore {
     /** Workaround for annotation limitation in {@link #bendableHardLevelsSize()} and {@link #bendableSoftLevelsSize()}. */
     int NO_LEVEL_SIZE = -1;
 
+    /**
+     * Optional for {@link BigDecimal} based scores, such as {@link HardSoftBigDecimalScore}.
+     * <p>
+     * If the constraint weights and match weights have no more decimals than this scale,
+     * constraint streams calculate the score with {@code long} arithmetic instead of {@link BigDecimal} arithmetic,
+     * which is a lot faster.
+     * A weight with more decimals, or a score level that exceeds the range of a {@code long} at this scale,
+     * is still calculated correctly, just slower.
+     * <p>
+     * For example, with a scale of 2, a match weight of {@code 12.34} is calculated as the {@code long} 1234.
+     *
+     * @return 0 or higher if the {@link Score} is based on {@link BigDecimal}, not used otherwise
+     */
+    int bigDecimalScale() default NO_BIG_DECIMAL_SCALE;
+
+    /** Workaround for annotation limitation in {@link #bigDecimalScale()}. */
+    int NO_BIG_DECIMAL_SCALE = -1;
+
     /**
      * Overrides the default determined {@link ScoreDefinition} to implement a custom one.
      * <p>
@@ -24,6 +24,7 @@ import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Period;
+import java.time.temporal.Temporal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -61,10 +62,19 @@ import org.optaplanner.core.api.function.ToLongTriFunction;
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.function.TriPredicate;
 import org.optaplanner.core.api.score.stream.bi.BiConstraintCollector;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveInfo;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveIntervalInfo;
+import org.optaplanner.core.api.score.stream.common.LoadBalance;
 import org.optaplanner.core.api.score.stream.quad.QuadConstraintCollector;
 import org.optaplanner.core.api.score.stream.tri.TriConstraintCollector;
 import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
 import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
+import org.optaplanner.core.impl.score.stream.collector.BigDecimalLoadBalance;
+import org.optaplanner.core.impl.score.stream.collector.LongLoadBalance;
+import org.optaplanner.core.impl.score.stream.collector.SortedMultiset;
+import org.optaplanner.core.impl.score.stream.collector.consecutive.Interval;
+import org.optaplanner.core.impl.score.stream.collector.consecutive.IntervalTree;
+import org.optaplanner.core.impl.score.stream.collector.consecutive.LongConsecutiveSetTree;
 import org.optaplanner.core.impl.util.MutableInt;
 import org.optaplanner.core.impl.util.MutableLong;
 import org.optaplanner.core.impl.util.MutableReference;
@@ -870,23 +880,19 @@ public final class ConstraintCollectors {
         return minOrMax(groupValueMapping, comparator, false);
     }
 
-    private static <A, Mapped> UniConstraintCollector<A, SortedMap<Mapped, MutableLong>, Mapped> minOrMax(
+    private static <A, Mapped> UniConstraintCollector<A, SortedMultiset<Mapped>, Mapped> minOrMax(
             Function<A, Mapped> groupValueMapping, Comparator<? super Mapped> comparator, boolean min) {
         return new DefaultUniConstraintCollector<>(
-                () -> new TreeMap<>(comparator),
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a) -> {
                     Mapped mapped = groupValueMapping.apply(a);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
                 getMinOrMaxFinisher(min));
     }
 
-    private static <Value_> Function<SortedMap<Value_, MutableLong>, Value_> getMinOrMaxFinisher(boolean returnMinimum) {
-        if (returnMinimum) {
-            return resultContainer -> resultContainer.isEmpty() ? null : resultContainer.firstKey();
-        } else {
-            return resultContainer -> resultContainer.isEmpty() ? null : resultContainer.lastKey();
-        }
+    private static <Value_> Function<SortedMultiset<Value_>, Value_> getMinOrMaxFinisher(boolean returnMinimum) {
+        return returnMinimum ? SortedMultiset::first : SortedMultiset::last;
     }
 
     /**
@@ -905,13 +911,13 @@ public final class ConstraintCollectors {
         return minOrMax(groupValueMapping, comparator, false);
     }
 
-    private static <A, B, Mapped> BiConstraintCollector<A, B, SortedMap<Mapped, MutableLong>, Mapped> minOrMax(
+    private static <A, B, Mapped> BiConstraintCollector<A, B, SortedMultiset<Mapped>, Mapped> minOrMax(
             BiFunction<A, B, Mapped> groupValueMapping, Comparator<? super Mapped> comparator, boolean min) {
         return new DefaultBiConstraintCollector<>(
-                () -> new TreeMap<>(comparator),
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a, b) -> {
                     Mapped mapped = groupValueMapping.apply(a, b);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
                 getMinOrMaxFinisher(min));
     }
@@ -932,13 +938,13 @@ public final class ConstraintCollectors {
         return minOrMax(groupValueMapping, comparator, false);
     }
 
-    private static <A, B, C, Mapped> TriConstraintCollector<A, B, C, SortedMap<Mapped, MutableLong>, Mapped> minOrMax(
+    private static <A, B, C, Mapped> TriConstraintCollector<A, B, C, SortedMultiset<Mapped>, Mapped> minOrMax(
             TriFunction<A, B, C, Mapped> groupValueMapping, Comparator<? super Mapped> comparator, boolean min) {
         return new DefaultTriConstraintCollector<>(
-                () -> new TreeMap<>(comparator),
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a, b, c) -> {
                     Mapped mapped = groupValueMapping.apply(a, b, c);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
                 getMinOrMaxFinisher(min));
     }
@@ -959,13 +965,13 @@ public final class ConstraintCollectors {
         return minOrMax(groupValueMapping, comparator, false);
     }
 
-    private static <A, B, C, D, Mapped> QuadConstraintCollector<A, B, C, D, SortedMap<Mapped, MutableLong>, Mapped> minOrMax(
+    private static <A, B, C, D, Mapped> QuadConstraintCollector<A, B, C, D, SortedMultiset<Mapped>, Mapped> minOrMax(
             QuadFunction<A, B, C, D, Mapped> groupValueMapping, Comparator<? super Mapped> comparator, boolean min) {
         return new DefaultQuadConstraintCollector<>(
-                () -> new TreeMap<>(comparator),
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a, b, c, d) -> {
                     Mapped mapped = groupValueMapping.apply(a, b, c, d);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
                 getMinOrMaxFinisher(min));
     }
@@ -1397,13 +1403,13 @@ public final class ConstraintCollectors {
      */
     public static <A, Mapped> UniConstraintCollector<A, ?, SortedSet<Mapped>> toSortedSet(
             Function<A, Mapped> groupValueMapping, Comparator<? super Mapped> comparator) {
-        return new DefaultUniConstraintCollector<A, TreeMap<Mapped, MutableLong>, SortedSet<Mapped>>(
-                () -> new TreeMap<>(comparator),
+        return new DefaultUniConstraintCollector<A, SortedMultiset<Mapped>, SortedSet<Mapped>>(
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a) -> {
                     Mapped mapped = groupValueMapping.apply(a);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
-                TreeMap::navigableKeySet);
+                SortedMultiset::elementSet);
     }
 
     /**
@@ -1474,13 +1480,13 @@ public final class ConstraintCollectors {
      */
     public static <A, B, Mapped> BiConstraintCollector<A, B, ?, SortedSet<Mapped>> toSortedSet(
             BiFunction<A, B, Mapped> groupValueMapping, Comparator<? super Mapped> comparator) {
-        return new DefaultBiConstraintCollector<A, B, TreeMap<Mapped, MutableLong>, SortedSet<Mapped>>(
-                () -> new TreeMap<>(comparator),
+        return new DefaultBiConstraintCollector<A, B, SortedMultiset<Mapped>, SortedSet<Mapped>>(
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a, b) -> {
                     Mapped mapped = groupValueMapping.apply(a, b);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
-                TreeMap::navigableKeySet);
+                SortedMultiset::elementSet);
     }
 
     /**
@@ -1542,13 +1548,13 @@ public final class ConstraintCollectors {
      */
     public static <A, B, C, Mapped> TriConstraintCollector<A, B, C, ?, SortedSet<Mapped>> toSortedSet(
             TriFunction<A, B, C, Mapped> groupValueMapping, Comparator<? super Mapped> comparator) {
-        return new DefaultTriConstraintCollector<A, B, C, TreeMap<Mapped, MutableLong>, SortedSet<Mapped>>(
-                () -> new TreeMap<>(comparator),
+        return new DefaultTriConstraintCollector<A, B, C, SortedMultiset<Mapped>, SortedSet<Mapped>>(
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a, b, c) -> {
                     Mapped mapped = groupValueMapping.apply(a, b, c);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
-                TreeMap::navigableKeySet);
+                SortedMultiset::elementSet);
     }
 
     /**
@@ -1611,13 +1617,13 @@ public final class ConstraintCollectors {
      */
     public static <A, B, C, D, Mapped> QuadConstraintCollector<A, B, C, D, ?, SortedSet<Mapped>> toSortedSet(
             QuadFunction<A, B, C, D, Mapped> groupValueMapping, Comparator<? super Mapped> comparator) {
-        return new DefaultQuadConstraintCollector<A, B, C, D, TreeMap<Mapped, MutableLong>, SortedSet<Mapped>>(
-                () -> new TreeMap<>(comparator),
+        return new DefaultQuadConstraintCollector<A, B, C, D, SortedMultiset<Mapped>, SortedSet<Mapped>>(
+                () -> new SortedMultiset<>(comparator),
                 (resultContainer, a, b, c, d) -> {
                     Mapped mapped = groupValueMapping.apply(a, b, c, d);
-                    return innerCountDistinctLong(resultContainer, mapped);
+                    return resultContainer.add(mapped);
                 },
-                TreeMap::navigableKeySet);
+                SortedMultiset::elementSet);
     }
 
     /**
@@ -2212,6 +2218,570 @@ public final class ConstraintCollectors {
                 ToSimpleMapResultContainer::getResult);
     }
 
+    // ************************************************************************
+    // load balance
+    // ************************************************************************
+
+    /**
+     * Returns a collector that tracks how fairly the tuples are spread over the balanced items,
+     * where every tuple adds a load of {@code 1} to its balanced item.
+     * <p>
+     * For example, {@code [Shift(driver = Ann), Shift(driver = Ann), Shift(driver = Beth), Shift(driver = Ann)]}
+     * with {@code .groupBy(loadBalance(Shift::getDriver))} returns loads {@code {Ann=3, Beth=1}}
+     * with a {@link LoadBalance#getSquaredDeviation() squared deviation} of {@code 2}.
+     * <p>
+     * Unlike a {@code groupBy(sum(...))} followed by a second {@code groupBy(...)} over those sums,
+     * adding or retracting a tuple only changes the load of its own balanced item,
+     * so it costs O(1) regardless of the number of balanced items.
+     * <p>
+     * The default result of the collector (e.g. when never called) has no loads and zero unfairness.
+     *
+     * @param balancedItemFunction never null, maps the fact to the balanced item it loads
+     * @param <A> type of the matched fact
+     * @param <Balanced_> type of the balanced item
+     * @return never null
+     */
+    public static <A, Balanced_> UniConstraintCollector<A, ?, LoadBalance<Balanced_, Long>> loadBalance(
+            Function<A, Balanced_> balancedItemFunction) {
+        return loadBalance(balancedItemFunction, a -> 1L);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function)}, where every tuple adds a given load to its balanced item.
+     *
+     * @param balancedItemFunction never null, maps the fact to the balanced item it loads
+     * @param loadFunction never null, maps the fact to the load it adds
+     * @param <A> type of the matched fact
+     * @param <Balanced_> type of the balanced item
+     * @return never null
+     */
+    public static <A, Balanced_> UniConstraintCollector<A, ?, LoadBalance<Balanced_, Long>> loadBalance(
+            Function<A, Balanced_> balancedItemFunction, ToLongFunction<A> loadFunction) {
+        return new DefaultUniConstraintCollector<>(
+                LongLoadBalance<Balanced_>::new,
+                (resultContainer, a) -> resultContainer.add(balancedItemFunction.apply(a), loadFunction.applyAsLong(a)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function, ToLongFunction)}, with a {@link BigDecimal} load.
+     *
+     * @param balancedItemFunction never null, maps the fact to the balanced item it loads
+     * @param loadFunction never null, maps the fact to the load it adds
+     * @param <A> type of the matched fact
+     * @param <Balanced_> type of the balanced item
+     * @return never null
+     */
+    public static <A, Balanced_> UniConstraintCollector<A, ?, LoadBalance<Balanced_, BigDecimal>> loadBalanceBigDecimal(
+            Function<A, Balanced_> balancedItemFunction, Function<A, BigDecimal> loadFunction) {
+        return new DefaultUniConstraintCollector<>(
+                BigDecimalLoadBalance<Balanced_>::new,
+                (resultContainer, a) -> resultContainer.add(balancedItemFunction.apply(a), loadFunction.apply(a)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function)}.
+     */
+    public static <A, B, Balanced_> BiConstraintCollector<A, B, ?, LoadBalance<Balanced_, Long>> loadBalance(
+            BiFunction<A, B, Balanced_> balancedItemFunction) {
+        return loadBalance(balancedItemFunction, (a, b) -> 1L);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function, ToLongFunction)}.
+     */
+    public static <A, B, Balanced_> BiConstraintCollector<A, B, ?, LoadBalance<Balanced_, Long>> loadBalance(
+            BiFunction<A, B, Balanced_> balancedItemFunction, ToLongBiFunction<A, B> loadFunction) {
+        return new DefaultBiConstraintCollector<>(
+                LongLoadBalance<Balanced_>::new,
+                (resultContainer, a, b) -> resultContainer.add(balancedItemFunction.apply(a, b),
+                        loadFunction.applyAsLong(a, b)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalanceBigDecimal(Function, Function)}.
+     */
+    public static <A, B, Balanced_> BiConstraintCollector<A, B, ?, LoadBalance<Balanced_, BigDecimal>>
+            loadBalanceBigDecimal(BiFunction<A, B, Balanced_> balancedItemFunction,
+                    BiFunction<A, B, BigDecimal> loadFunction) {
+        return new DefaultBiConstraintCollector<>(
+                BigDecimalLoadBalance<Balanced_>::new,
+                (resultContainer, a, b) -> resultContainer.add(balancedItemFunction.apply(a, b), loadFunction.apply(a, b)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function)}.
+     */
+    public static <A, B, C, Balanced_> TriConstraintCollector<A, B, C, ?, LoadBalance<Balanced_, Long>> loadBalance(
+            TriFunction<A, B, C, Balanced_> balancedItemFunction) {
+        return loadBalance(balancedItemFunction, (a, b, c) -> 1L);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function, ToLongFunction)}.
+     */
+    public static <A, B, C, Balanced_> TriConstraintCollector<A, B, C, ?, LoadBalance<Balanced_, Long>> loadBalance(
+            TriFunction<A, B, C, Balanced_> balancedItemFunction, ToLongTriFunction<A, B, C> loadFunction) {
+        return new DefaultTriConstraintCollector<>(
+                LongLoadBalance<Balanced_>::new,
+                (resultContainer, a, b, c) -> resultContainer.add(balancedItemFunction.apply(a, b, c),
+                        loadFunction.applyAsLong(a, b, c)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalanceBigDecimal(Function, Function)}.
+     */
+    public static <A, B, C, Balanced_> TriConstraintCollector<A, B, C, ?, LoadBalance<Balanced_, BigDecimal>>
+            loadBalanceBigDecimal(TriFunction<A, B, C, Balanced_> balancedItemFunction,
+                    TriFunction<A, B, C, BigDecimal> loadFunction) {
+        return new DefaultTriConstraintCollector<>(
+                BigDecimalLoadBalance<Balanced_>::new,
+                (resultContainer, a, b, c) -> resultContainer.add(balancedItemFunction.apply(a, b, c),
+                        loadFunction.apply(a, b, c)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function)}.
+     */
+    public static <A, B, C, D, Balanced_> QuadConstraintCollector<A, B, C, D, ?, LoadBalance<Balanced_, Long>>
+            loadBalance(QuadFunction<A, B, C, D, Balanced_> balancedItemFunction) {
+        return loadBalance(balancedItemFunction, (a, b, c, d) -> 1L);
+    }
+
+    /**
+     * As defined by {@link #loadBalance(Function, ToLongFunction)}.
+     */
+    public static <A, B, C, D, Balanced_> QuadConstraintCollector<A, B, C, D, ?, LoadBalance<Balanced_, Long>>
+            loadBalance(QuadFunction<A, B, C, D, Balanced_> balancedItemFunction,
+                    ToLongQuadFunction<A, B, C, D> loadFunction) {
+        return new DefaultQuadConstraintCollector<>(
+                LongLoadBalance<Balanced_>::new,
+                (resultContainer, a, b, c, d) -> resultContainer.add(balancedItemFunction.apply(a, b, c, d),
+                        loadFunction.applyAsLong(a, b, c, d)),
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #loadBalanceBigDecimal(Function, Function)}.
+     */
+    public static <A, B, C, D, Balanced_> QuadConstraintCollector<A, B, C, D, ?, LoadBalance<Balanced_, BigDecimal>>
+            loadBalanceBigDecimal(QuadFunction<A, B, C, D, Balanced_> balancedItemFunction,
+                    QuadFunction<A, B, C, D, BigDecimal> loadFunction) {
+        return new DefaultQuadConstraintCollector<>(
+                BigDecimalLoadBalance<Balanced_>::new,
+                (resultContainer, a, b, c, d) -> resultContainer.add(balancedItemFunction.apply(a, b, c, d),
+                        loadFunction.apply(a, b, c, d)),
+                resultContainer -> resultContainer);
+    }
+
+    // ************************************************************************
+    // consecutive collectors
+    // ************************************************************************
+
+    /**
+     * Creates a constraint collector that returns {@link ConsecutiveInfo} about the first fact.
+     * <p>
+     * For instance, {@code [Shift slot=1] [Shift slot=2] [Shift slot=4] [Shift slot=6]}
+     * returns the following information:
+     *
+     * <pre>
+     * {@code
+     * Consecutive Lengths: 2, 1, 1
+     * Break Lengths: 1, 2
+     * Consecutive Items: [[Shift slot=1] [Shift slot=2]], [[Shift slot=4]], [[Shift slot=6]]
+     * }
+     * </pre>
+     * <p>
+     * Adding or removing a fact costs {@code O(log n)} and never calculates a sequence or break length,
+     * those are only calculated when queried.
+     *
+     * @param indexMap never null, maps the fact to its position in the sequence
+     * @param <A> type of the first mapped fact
+     * @return never null
+     */
+    public static <A> UniConstraintCollector<A, ?, ConsecutiveInfo<A, Integer>> toConsecutiveSequences(
+            ToIntFunction<A> indexMap) {
+        return new DefaultUniConstraintCollector<>(
+                () -> LongConsecutiveSetTree.<A> ofInt(1),
+                (resultContainer, a) -> {
+                    resultContainer.add(a, indexMap.applyAsInt(a));
+                    return () -> resultContainer.remove(a);
+                },
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveSequences(ToIntFunction)}.
+     *
+     * @param resultMap never null, maps both facts to an item in the sequence
+     * @param indexMap never null, maps the item to its position in the sequence
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <Result_> type of item in the sequence
+     * @return never null
+     */
+    public static <A, B, Result_> BiConstraintCollector<A, B, ?, ConsecutiveInfo<Result_, Integer>>
+            toConsecutiveSequences(BiFunction<A, B, Result_> resultMap, ToIntFunction<Result_> indexMap) {
+        return new DefaultBiConstraintCollector<>(
+                () -> LongConsecutiveSetTree.<Result_> ofInt(1),
+                (resultContainer, a, b) -> {
+                    Result_ result = resultMap.apply(a, b);
+                    resultContainer.add(result, indexMap.applyAsInt(result));
+                    return () -> resultContainer.remove(result);
+                },
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveSequences(ToIntFunction)}.
+     *
+     * @param resultMap never null, maps the three facts to an item in the sequence
+     * @param indexMap never null, maps the item to its position in the sequence
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <Result_> type of item in the sequence
+     * @return never null
+     */
+    public static <A, B, C, Result_> TriConstraintCollector<A, B, C, ?, ConsecutiveInfo<Result_, Integer>>
+            toConsecutiveSequences(TriFunction<A, B, C, Result_> resultMap, ToIntFunction<Result_> indexMap) {
+        return new DefaultTriConstraintCollector<>(
+                () -> LongConsecutiveSetTree.<Result_> ofInt(1),
+                (resultContainer, a, b, c) -> {
+                    Result_ result = resultMap.apply(a, b, c);
+                    resultContainer.add(result, indexMap.applyAsInt(result));
+                    return () -> resultContainer.remove(result);
+                },
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveSequences(ToIntFunction)}.
+     *
+     * @param resultMap never null, maps the four facts to an item in the sequence
+     * @param indexMap never null, maps the item to its position in the sequence
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <D> type of the fourth mapped fact
+     * @param <Result_> type of item in the sequence
+     * @return never null
+     */
+    public static <A, B, C, D, Result_> QuadConstraintCollector<A, B, C, D, ?, ConsecutiveInfo<Result_, Integer>>
+            toConsecutiveSequences(QuadFunction<A, B, C, D, Result_> resultMap, ToIntFunction<Result_> indexMap) {
+        return new DefaultQuadConstraintCollector<>(
+                () -> LongConsecutiveSetTree.<Result_> ofInt(1),
+                (resultContainer, a, b, c, d) -> {
+                    Result_ result = resultMap.apply(a, b, c, d);
+                    resultContainer.add(result, indexMap.applyAsInt(result));
+                    return () -> resultContainer.remove(result);
+                },
+                resultContainer -> resultContainer);
+    }
+
+    /**
+     * Creates a constraint collector that returns {@link ConsecutiveIntervalInfo} about the first fact.
+     * <p>
+     * For instance, {@code [Shift from=2, to=4] [Shift from=3, to=5] [Shift from=6, to=7] [Shift from=7, to=8]}
+     * returns the following information:
+     *
+     * <pre>
+     * {@code
+     * IntervalClusters: [[Shift from=2, to=4] [Shift from=3, to=5]], [[Shift from=6, to=7] [Shift from=7, to=8]]
+     * Breaks: [[Break from=5, to=6, length=1]]
+     * }
+     * </pre>
+     *
+     * @param startMap never null, maps the fact to its start
+     * @param endMap never null, maps the fact to its end
+     * @param differenceFunction never null, computes the difference between two points.
+     *        The second argument is always larger than the first (ex: {@link Duration#between} or {@code (a,b) -> b - a}).
+     * @param <A> type of the first mapped fact
+     * @param <Point_> type of the fact endpoints
+     * @param <Difference_> type of difference between points
+     * @return never null
+     */
+    public static <A, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            UniConstraintCollector<A, ?, ConsecutiveIntervalInfo<A, Point_, Difference_>>
+            toConsecutiveIntervals(Function<A, Point_> startMap, Function<A, Point_> endMap,
+                    BiFunction<Point_, Point_, Difference_> differenceFunction) {
+        return toConsecutiveIntervals(() -> new IntervalTree<>(startMap, endMap, differenceFunction));
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(Function, Function, BiFunction)},
+     * for {@link Temporal} types.
+     *
+     * @param startMap never null, maps the fact to its start
+     * @param endMap never null, maps the fact to its end
+     * @param <A> type of the first mapped fact
+     * @param <Point_> temporal type of the endpoints
+     * @return never null
+     */
+    public static <A, Point_ extends Temporal & Comparable<Point_>>
+            UniConstraintCollector<A, ?, ConsecutiveIntervalInfo<A, Point_, Duration>>
+            toConsecutiveTemporalIntervals(Function<A, Point_> startMap, Function<A, Point_> endMap) {
+        return toConsecutiveIntervals(startMap, endMap, Duration::between);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(Function, Function, BiFunction)},
+     * for long endpoints, which are not boxed while the intervals are added or removed.
+     *
+     * @param startMap never null, maps the fact to its start
+     * @param endMap never null, maps the fact to its end
+     * @param <A> type of the first mapped fact
+     * @return never null
+     */
+    public static <A> UniConstraintCollector<A, ?, ConsecutiveIntervalInfo<A, Long, Long>>
+            toConsecutiveIntervals(ToLongFunction<A> startMap, ToLongFunction<A> endMap) {
+        return toConsecutiveIntervals(() -> IntervalTree.ofLong(startMap, endMap));
+    }
+
+    private static <A, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            UniConstraintCollector<A, ?, ConsecutiveIntervalInfo<A, Point_, Difference_>>
+            toConsecutiveIntervals(Supplier<IntervalTree<A, Point_, Difference_>> treeSupplier) {
+        return new DefaultUniConstraintCollector<>(
+                treeSupplier,
+                (resultContainer, a) -> {
+                    Interval<A, Point_> interval = resultContainer.getInterval(a);
+                    resultContainer.add(interval);
+                    return () -> resultContainer.remove(interval);
+                },
+                IntervalTree::getConsecutiveIntervalData);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(Function, Function, BiFunction)}.
+     *
+     * @param intervalMap never null, maps both facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param differenceFunction never null, computes the difference between two points.
+     *        The second argument is always larger than the first (ex: {@link Duration#between} or {@code (a,b) -> b - a}).
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @param <Point_> type of the item endpoints
+     * @param <Difference_> type of difference between points
+     * @return never null
+     */
+    public static <A, B, Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            BiConstraintCollector<A, B, ?, ConsecutiveIntervalInfo<Interval_, Point_, Difference_>>
+            toConsecutiveIntervals(BiFunction<A, B, Interval_> intervalMap, Function<Interval_, Point_> startMap,
+                    Function<Interval_, Point_> endMap, BiFunction<Point_, Point_, Difference_> differenceFunction) {
+        return toConsecutiveIntervals(intervalMap, () -> new IntervalTree<>(startMap, endMap, differenceFunction));
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveTemporalIntervals(Function, Function)}.
+     *
+     * @param intervalMap never null, maps both facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @param <Point_> temporal type of the endpoints
+     * @return never null
+     */
+    public static <A, B, Interval_, Point_ extends Temporal & Comparable<Point_>>
+            BiConstraintCollector<A, B, ?, ConsecutiveIntervalInfo<Interval_, Point_, Duration>>
+            toConsecutiveTemporalIntervals(BiFunction<A, B, Interval_> intervalMap, Function<Interval_, Point_> startMap,
+                    Function<Interval_, Point_> endMap) {
+        return toConsecutiveIntervals(intervalMap, startMap, endMap, Duration::between);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(ToLongFunction, ToLongFunction)}.
+     *
+     * @param intervalMap never null, maps both facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @return never null
+     */
+    public static <A, B, Interval_> BiConstraintCollector<A, B, ?, ConsecutiveIntervalInfo<Interval_, Long, Long>>
+            toConsecutiveIntervals(BiFunction<A, B, Interval_> intervalMap, ToLongFunction<Interval_> startMap,
+                    ToLongFunction<Interval_> endMap) {
+        return toConsecutiveIntervals(intervalMap, () -> IntervalTree.ofLong(startMap, endMap));
+    }
+
+    private static <A, B, Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            BiConstraintCollector<A, B, ?, ConsecutiveIntervalInfo<Interval_, Point_, Difference_>>
+            toConsecutiveIntervals(BiFunction<A, B, Interval_> intervalMap,
+                    Supplier<IntervalTree<Interval_, Point_, Difference_>> treeSupplier) {
+        return new DefaultBiConstraintCollector<>(
+                treeSupplier,
+                (resultContainer, a, b) -> {
+                    Interval<Interval_, Point_> interval = resultContainer.getInterval(intervalMap.apply(a, b));
+                    resultContainer.add(interval);
+                    return () -> resultContainer.remove(interval);
+                },
+                IntervalTree::getConsecutiveIntervalData);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(Function, Function, BiFunction)}.
+     *
+     * @param intervalMap never null, maps the three facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param differenceFunction never null, computes the difference between two points.
+     *        The second argument is always larger than the first (ex: {@link Duration#between} or {@code (a,b) -> b - a}).
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @param <Point_> type of the item endpoints
+     * @param <Difference_> type of difference between points
+     * @return never null
+     */
+    public static <A, B, C, Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            TriConstraintCollector<A, B, C, ?, ConsecutiveIntervalInfo<Interval_, Point_, Difference_>>
+            toConsecutiveIntervals(TriFunction<A, B, C, Interval_> intervalMap, Function<Interval_, Point_> startMap,
+                    Function<Interval_, Point_> endMap, BiFunction<Point_, Point_, Difference_> differenceFunction) {
+        return toConsecutiveIntervals(intervalMap, () -> new IntervalTree<>(startMap, endMap, differenceFunction));
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveTemporalIntervals(Function, Function)}.
+     *
+     * @param intervalMap never null, maps the three facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @param <Point_> temporal type of the endpoints
+     * @return never null
+     */
+    public static <A, B, C, Interval_, Point_ extends Temporal & Comparable<Point_>>
+            TriConstraintCollector<A, B, C, ?, ConsecutiveIntervalInfo<Interval_, Point_, Duration>>
+            toConsecutiveTemporalIntervals(TriFunction<A, B, C, Interval_> intervalMap,
+                    Function<Interval_, Point_> startMap, Function<Interval_, Point_> endMap) {
+        return toConsecutiveIntervals(intervalMap, startMap, endMap, Duration::between);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(ToLongFunction, ToLongFunction)}.
+     *
+     * @param intervalMap never null, maps the three facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @return never null
+     */
+    public static <A, B, C, Interval_> TriConstraintCollector<A, B, C, ?, ConsecutiveIntervalInfo<Interval_, Long, Long>>
+            toConsecutiveIntervals(TriFunction<A, B, C, Interval_> intervalMap, ToLongFunction<Interval_> startMap,
+                    ToLongFunction<Interval_> endMap) {
+        return toConsecutiveIntervals(intervalMap, () -> IntervalTree.ofLong(startMap, endMap));
+    }
+
+    private static <A, B, C, Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            TriConstraintCollector<A, B, C, ?, ConsecutiveIntervalInfo<Interval_, Point_, Difference_>>
+            toConsecutiveIntervals(TriFunction<A, B, C, Interval_> intervalMap,
+                    Supplier<IntervalTree<Interval_, Point_, Difference_>> treeSupplier) {
+        return new DefaultTriConstraintCollector<>(
+                treeSupplier,
+                (resultContainer, a, b, c) -> {
+                    Interval<Interval_, Point_> interval = resultContainer.getInterval(intervalMap.apply(a, b, c));
+                    resultContainer.add(interval);
+                    return () -> resultContainer.remove(interval);
+                },
+                IntervalTree::getConsecutiveIntervalData);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(Function, Function, BiFunction)}.
+     *
+     * @param intervalMap never null, maps the four facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param differenceFunction never null, computes the difference between two points.
+     *        The second argument is always larger than the first (ex: {@link Duration#between} or {@code (a,b) -> b - a}).
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <D> type of the fourth mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @param <Point_> type of the item endpoints
+     * @param <Difference_> type of difference between points
+     * @return never null
+     */
+    public static <A, B, C, D, Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            QuadConstraintCollector<A, B, C, D, ?, ConsecutiveIntervalInfo<Interval_, Point_, Difference_>>
+            toConsecutiveIntervals(QuadFunction<A, B, C, D, Interval_> intervalMap, Function<Interval_, Point_> startMap,
+                    Function<Interval_, Point_> endMap, BiFunction<Point_, Point_, Difference_> differenceFunction) {
+        return toConsecutiveIntervals(intervalMap, () -> new IntervalTree<>(startMap, endMap, differenceFunction));
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveTemporalIntervals(Function, Function)}.
+     *
+     * @param intervalMap never null, maps the four facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <D> type of the fourth mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @param <Point_> temporal type of the endpoints
+     * @return never null
+     */
+    public static <A, B, C, D, Interval_, Point_ extends Temporal & Comparable<Point_>>
+            QuadConstraintCollector<A, B, C, D, ?, ConsecutiveIntervalInfo<Interval_, Point_, Duration>>
+            toConsecutiveTemporalIntervals(QuadFunction<A, B, C, D, Interval_> intervalMap,
+                    Function<Interval_, Point_> startMap, Function<Interval_, Point_> endMap) {
+        return toConsecutiveIntervals(intervalMap, startMap, endMap, Duration::between);
+    }
+
+    /**
+     * As defined by {@link #toConsecutiveIntervals(ToLongFunction, ToLongFunction)}.
+     *
+     * @param intervalMap never null, maps the four facts to an item in the cluster
+     * @param startMap never null, maps the item to its start
+     * @param endMap never null, maps the item to its end
+     * @param <A> type of the first mapped fact
+     * @param <B> type of the second mapped fact
+     * @param <C> type of the third mapped fact
+     * @param <D> type of the fourth mapped fact
+     * @param <Interval_> type of the item in the cluster
+     * @return never null
+     */
+    public static <A, B, C, D, Interval_>
+            QuadConstraintCollector<A, B, C, D, ?, ConsecutiveIntervalInfo<Interval_, Long, Long>>
+            toConsecutiveIntervals(QuadFunction<A, B, C, D, Interval_> intervalMap, ToLongFunction<Interval_> startMap,
+                    ToLongFunction<Interval_> endMap) {
+        return toConsecutiveIntervals(intervalMap, () -> IntervalTree.ofLong(startMap, endMap));
+    }
+
+    private static <A, B, C, D, Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+            QuadConstraintCollector<A, B, C, D, ?, ConsecutiveIntervalInfo<Interval_, Point_, Difference_>>
+            toConsecutiveIntervals(QuadFunction<A, B, C, D, Interval_> intervalMap,
+                    Supplier<IntervalTree<Interval_, Point_, Difference_>> treeSupplier) {
+        return new DefaultQuadConstraintCollector<>(
+                treeSupplier,
+                (resultContainer, a, b, c, d) -> {
+                    Interval<Interval_, Point_> interval = resultContainer.getInterval(intervalMap.apply(a, b, c, d));
+                    resultContainer.add(interval);
+                    return () -> resultContainer.remove(interval);
+                },
+                IntervalTree::getConsecutiveIntervalData);
+    }
+
     // ************************************************************************
     // conditional collectors
     // ************************************************************************
@@ -75,6 +75,29 @@ public interface ConstraintFactory {
      */
     <A> UniConstraintStream<A> forEachIncludingNullVars(Class<A> sourceClass);
 
+    /**
+     * As defined by {@link #forEach(Class)},
+     * but a change to a variable of the sourceClass only propagates through this stream
+     * if it is one of the observedVariableNames.
+     * Changes to other variables of the same entity are ignored by this stream and all its downstream streams,
+     * which avoids reevaluating constraints that cannot be affected by them.
+     * <p>
+     * The genuine {@link PlanningVariable}s are always observed, because the nullity filter reads them.
+     * Problem property changes and entity additions and removals always propagate.
+     * <p>
+     * Every lambda and joiner downstream of this stream must only read the observed variables
+     * of the entities of this stream, directly or indirectly,
+     * otherwise the score is corrupted.
+     * Use {@link #forEach(Class)} if in doubt.
+     *
+     * @param sourceClass never null, a {@link PlanningEntity planning entity} class
+     * @param observedVariableNames never null, the names of the genuine or shadow variables of the sourceClass
+     *        that the downstream streams read
+     * @param <A> the type of the matched {@link PlanningEntity planning entity}
+     * @return never null
+     */
+    <A> UniConstraintStream<A> forEachObserving(Class<A> sourceClass, String... observedVariableNames);
+
     /**
      * Create a new {@link BiConstraintStream} for every unique combination of A and another A with a higher {@link PlanningId}.
      * <p>
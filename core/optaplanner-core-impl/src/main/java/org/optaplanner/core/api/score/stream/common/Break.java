@@ -17,7 +17,7 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.api;
+package org.optaplanner.core.api.score.stream.common;
 
 /**
  * A Break is a gap between two consecutive values. For instance,
@@ -60,7 +60,7 @@ public interface Break<Value_, Difference_ extends Comparable<Difference_>> {
      */
     default Value_ getPreviousSequenceEnd() {
         return getPreviousSequence().getLastItem();
-    };
+    }
 
     /**
      * Return the start of the sequence after this break. For the
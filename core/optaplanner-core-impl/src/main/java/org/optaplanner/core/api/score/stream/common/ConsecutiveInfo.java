@@ -17,7 +17,7 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.api;
+package org.optaplanner.core.api.score.stream.common;
 
 /**
  * Contains info regarding the consecutive sequences and breaks
@@ -17,8 +17,15 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.api;
+package org.optaplanner.core.api.score.stream.common;
 
+/**
+ * Contains info regarding the interval clusters and breaks in a collection of intervals.
+ *
+ * @param <Interval_> The type of interval in the collection
+ * @param <Point_> The type of the interval endpoints
+ * @param <Difference_> The type of difference between endpoints
+ */
 public interface ConsecutiveIntervalInfo<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>> {
 
     /**
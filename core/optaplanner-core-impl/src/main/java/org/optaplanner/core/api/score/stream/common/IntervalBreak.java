@@ -17,14 +17,15 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.api;
+package org.optaplanner.core.api.score.stream.common;
 
 /**
  * An IntervalBreak is a gap between two consecutive interval clusters. For instance,
  * the list [(1,3),(2,4),(3,5),(7,8)] has a break of length 2 between 5 and 7.
  *
- * @param <Interval_> The type of value in the sequence
- * @param <Difference_> The type of difference between values in the sequence
+ * @param <Interval_> The type of interval in the collection
+ * @param <Point_> The type of the interval endpoints
+ * @param <Difference_> The type of difference between endpoints
  */
 public interface IntervalBreak<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>> {
     /**
@@ -45,7 +46,7 @@ public interface IntervalBreak<Interval_, Point_ extends Comparable<Point_>, Dif
      */
     default Point_ getPreviousIntervalClusterEnd() {
         return getPreviousIntervalCluster().getEnd();
-    };
+    }
 
     /**
      * Return the start of the sequence after this break. For the
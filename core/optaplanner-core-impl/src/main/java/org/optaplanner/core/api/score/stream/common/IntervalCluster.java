@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.api.score.stream.common;
+
+/**
+ * An IntervalCluster is a group of intervals that are connected by overlap or by touching endpoints.
+ * For instance, the list [(1,3),(2,4),(3,5),(7,8)] has two interval clusters:
+ * [(1,3),(2,4),(3,5)] and [(7,8)].
+ * Iterating an interval cluster returns its intervals in ascending order of their start.
+ *
+ * @param <Interval_> The type of interval in the cluster
+ * @param <Point_> The type of the interval endpoints
+ * @param <Difference_> The type of difference between endpoints
+ */
+public interface IntervalCluster<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+        extends Iterable<Interval_> {
+
+    /**
+     * @return the number of intervals in this cluster, counting duplicates
+     */
+    int size();
+
+    /**
+     * @return true if and only if at least two intervals of this cluster overlap,
+     *         as opposed to only touching at their endpoints
+     */
+    boolean hasOverlap();
+
+    /**
+     * @return never null, the difference between {@link #getEnd()} and {@link #getStart()}
+     */
+    Difference_ getLength();
+
+    /**
+     * @return never null, the smallest start of the intervals in this cluster
+     */
+    Point_ getStart();
+
+    /**
+     * @return never null, the largest end of the intervals in this cluster
+     */
+    Point_ getEnd();
+}
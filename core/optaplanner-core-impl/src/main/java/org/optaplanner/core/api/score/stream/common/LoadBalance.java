@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.api.score.stream.common;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.optaplanner.core.api.score.stream.ConstraintCollectors;
+
+/**
+ * The result of the {@link ConstraintCollectors#loadBalance(java.util.function.Function) load balance collectors}.
+ * It tracks the load of every balanced item (such as a driver) and how unfairly that load is spread.
+ * <p>
+ * Only the balanced items that at least one tuple maps to have a load.
+ * Items that no tuple maps to (such as an idle driver) are not part of the balance.
+ * <p>
+ * The count, sum and sum of squares of the loads are maintained incrementally,
+ * so {@link #getSum()}, {@link #getSquaredDeviation()} and {@link #getUnfairness()}
+ * do not depend on the number of balanced items.
+ *
+ * @param <Balanced_> The type of the balanced items (examples: drivers, machines)
+ * @param <Load_> The type of the load, {@link Long} or {@link BigDecimal}
+ */
+public interface LoadBalance<Balanced_, Load_> {
+
+    /**
+     * Creates a new map on every call, so this is O(n) with n the number of balanced items.
+     *
+     * @return never null, the load of every balanced item
+     */
+    Map<Balanced_, Load_> getLoads();
+
+    /**
+     * @return never null, the sum of all loads
+     */
+    Load_ getSum();
+
+    /**
+     * The sum of the squared differences between every load and the mean load.
+     * Zero if all loads are equal.
+     *
+     * @return never null, {@code >= 0}
+     */
+    BigDecimal getSquaredDeviation();
+
+    /**
+     * The square root of the {@link #getSquaredDeviation() squared deviation}.
+     * Unlike the squared deviation, it grows linearly with the load moved away from the mean,
+     * which makes it a natural fairness penalty.
+     * Zero if all loads are equal.
+     *
+     * @return never null, {@code >= 0}
+     */
+    BigDecimal getUnfairness();
+
+}
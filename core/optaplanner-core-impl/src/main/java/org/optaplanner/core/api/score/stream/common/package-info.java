@@ -0,0 +1,5 @@
+/**
+ * Types shared by the {@link org.optaplanner.core.api.score.stream.ConstraintStream} API of all cardinalities,
+ * such as the results of the consecutive collectors in {@link org.optaplanner.core.api.score.stream.ConstraintCollectors}.
+ */
+package org.optaplanner.core.api.score.stream.common;
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.config.portfoliosearch;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElements;
+import jakarta.xml.bind.annotation.XmlType;
+
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.exhaustivesearch.ExhaustiveSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
+import org.optaplanner.core.config.phase.NoChangePhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
+import org.optaplanner.core.config.util.ConfigUtils;
+
+@XmlType(propOrder = {
+        "workerCount",
+        "exchangeIntervalMilliseconds",
+        "workerConfigList",
+        "phaseConfigList"
+})
+public class PortfolioSearchPhaseConfig extends PhaseConfig<PortfolioSearchPhaseConfig> {
+
+    public static final String XML_ELEMENT_NAME = "portfolioSearch";
+    public static final String WORKER_COUNT_AUTO = "AUTO";
+
+    // Warning: all fields are null (and not defaulted) because they can be inherited
+    // and also because the input config file should match the output config file
+
+    protected String workerCount = null;
+    protected Long exchangeIntervalMilliseconds = null;
+
+    @XmlElement(name = PortfolioWorkerConfig.XML_ELEMENT_NAME)
+    protected List<PortfolioWorkerConfig> workerConfigList = null;
+
+    @XmlElements({
+            @XmlElement(name = ConstructionHeuristicPhaseConfig.XML_ELEMENT_NAME,
+                    type = ConstructionHeuristicPhaseConfig.class),
+            @XmlElement(name = CustomPhaseConfig.XML_ELEMENT_NAME, type = CustomPhaseConfig.class),
+            @XmlElement(name = ExhaustiveSearchPhaseConfig.XML_ELEMENT_NAME, type = ExhaustiveSearchPhaseConfig.class),
+            @XmlElement(name = LocalSearchPhaseConfig.XML_ELEMENT_NAME, type = LocalSearchPhaseConfig.class),
+            @XmlElement(name = NoChangePhaseConfig.XML_ELEMENT_NAME, type = NoChangePhaseConfig.class),
+            @XmlElement(name = PartitionedSearchPhaseConfig.XML_ELEMENT_NAME, type = PartitionedSearchPhaseConfig.class),
+            @XmlElement(name = PortfolioSearchPhaseConfig.XML_ELEMENT_NAME, type = PortfolioSearchPhaseConfig.class)
+    })
+    protected List<PhaseConfig> phaseConfigList = null;
+
+    // ************************************************************************
+    // Constructors and simple getters/setters
+    // ************************************************************************
+
+    /**
+     * The number of workers, each of which solves the whole problem on its own {@link Thread}
+     * with its own random seed, starting from the best solution at the start of this phase.
+     * <p/>
+     * Defaults to the number of {@link #getWorkerConfigList() worker configs} if there are any,
+     * otherwise to {@value #WORKER_COUNT_AUTO} which consumes the majority
+     * but not all of the CPU cores on multi-core machines, to prevent a livelock that hangs other processes
+     * (such as your IDE, REST servlets threads or SSH connections) on the machine.
+     *
+     * @return null, a number or {@value #WORKER_COUNT_AUTO}.
+     */
+    public String getWorkerCount() {
+        return workerCount;
+    }
+
+    public void setWorkerCount(String workerCount) {
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * The minimum time between two times that the same worker continues from the global best solution,
+     * if another worker has found a better solution in the meantime.
+     * The worker's current phase terminates and restarts from the global best solution.
+     * <p/>
+     * Defaults to 1000. Use 0 to continue from every new global best solution as soon as possible.
+     *
+     * @return null or at least 0
+     */
+    public Long getExchangeIntervalMilliseconds() {
+        return exchangeIntervalMilliseconds;
+    }
+
+    public void setExchangeIntervalMilliseconds(Long exchangeIntervalMilliseconds) {
+        this.exchangeIntervalMilliseconds = exchangeIntervalMilliseconds;
+    }
+
+    /**
+     * Worker {@code i} takes the phases of the worker config {@code i} modulo the size of this list,
+     * so workers can run different algorithms.
+     *
+     * @return sometimes null
+     */
+    public List<PortfolioWorkerConfig> getWorkerConfigList() {
+        return workerConfigList;
+    }
+
+    public void setWorkerConfigList(List<PortfolioWorkerConfig> workerConfigList) {
+        this.workerConfigList = workerConfigList;
+    }
+
+    public List<PhaseConfig> getPhaseConfigList() {
+        return phaseConfigList;
+    }
+
+    public void setPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.phaseConfigList = phaseConfigList;
+    }
+
+    // ************************************************************************
+    // With methods
+    // ************************************************************************
+
+    public PortfolioSearchPhaseConfig withWorkerCount(String workerCount) {
+        this.setWorkerCount(workerCount);
+        return this;
+    }
+
+    public PortfolioSearchPhaseConfig withExchangeIntervalMilliseconds(Long exchangeIntervalMilliseconds) {
+        this.setExchangeIntervalMilliseconds(exchangeIntervalMilliseconds);
+        return this;
+    }
+
+    public PortfolioSearchPhaseConfig withWorkerConfigList(List<PortfolioWorkerConfig> workerConfigList) {
+        this.setWorkerConfigList(workerConfigList);
+        return this;
+    }
+
+    public PortfolioSearchPhaseConfig withWorkerConfigs(PortfolioWorkerConfig... workerConfigs) {
+        this.setWorkerConfigList(List.of(workerConfigs));
+        return this;
+    }
+
+    public PortfolioSearchPhaseConfig withPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.setPhaseConfigList(phaseConfigList);
+        return this;
+    }
+
+    public PortfolioSearchPhaseConfig withPhaseConfigs(PhaseConfig... phaseConfigs) {
+        this.setPhaseConfigList(List.of(phaseConfigs));
+        return this;
+    }
+
+    @Override
+    public PortfolioSearchPhaseConfig inherit(PortfolioSearchPhaseConfig inheritedConfig) {
+        super.inherit(inheritedConfig);
+        workerCount = ConfigUtils.inheritOverwritableProperty(workerCount, inheritedConfig.getWorkerCount());
+        exchangeIntervalMilliseconds = ConfigUtils.inheritOverwritableProperty(exchangeIntervalMilliseconds,
+                inheritedConfig.getExchangeIntervalMilliseconds());
+        workerConfigList = ConfigUtils.inheritMergeableListConfig(
+                workerConfigList, inheritedConfig.getWorkerConfigList());
+        phaseConfigList = ConfigUtils.inheritMergeableListConfig(
+                phaseConfigList, inheritedConfig.getPhaseConfigList());
+        return this;
+    }
+
+    @Override
+    public PortfolioSearchPhaseConfig copyConfig() {
+        return new PortfolioSearchPhaseConfig().inherit(this);
+    }
+
+    @Override
+    public void visitReferencedClasses(Consumer<Class<?>> classVisitor) {
+        if (getTerminationConfig() != null) {
+            getTerminationConfig().visitReferencedClasses(classVisitor);
+        }
+        if (workerConfigList != null) {
+            workerConfigList.forEach(wc -> wc.visitReferencedClasses(classVisitor));
+        }
+        if (phaseConfigList != null) {
+            phaseConfigList.forEach(pc -> pc.visitReferencedClasses(classVisitor));
+        }
+    }
+
+}
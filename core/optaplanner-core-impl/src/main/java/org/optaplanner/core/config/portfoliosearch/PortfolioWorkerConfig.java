@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.config.portfoliosearch;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElements;
+import jakarta.xml.bind.annotation.XmlType;
+
+import org.optaplanner.core.config.AbstractConfig;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.exhaustivesearch.ExhaustiveSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
+import org.optaplanner.core.config.phase.NoChangePhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
+import org.optaplanner.core.config.util.ConfigUtils;
+
+/**
+ * The phases of one worker of a {@link PortfolioSearchPhaseConfig portfolio search}.
+ */
+@XmlType(propOrder = {
+        "phaseConfigList"
+})
+public class PortfolioWorkerConfig extends AbstractConfig<PortfolioWorkerConfig> {
+
+    public static final String XML_ELEMENT_NAME = "worker";
+
+    @XmlElements({
+            @XmlElement(name = ConstructionHeuristicPhaseConfig.XML_ELEMENT_NAME,
+                    type = ConstructionHeuristicPhaseConfig.class),
+            @XmlElement(name = CustomPhaseConfig.XML_ELEMENT_NAME, type = CustomPhaseConfig.class),
+            @XmlElement(name = ExhaustiveSearchPhaseConfig.XML_ELEMENT_NAME, type = ExhaustiveSearchPhaseConfig.class),
+            @XmlElement(name = LocalSearchPhaseConfig.XML_ELEMENT_NAME, type = LocalSearchPhaseConfig.class),
+            @XmlElement(name = NoChangePhaseConfig.XML_ELEMENT_NAME, type = NoChangePhaseConfig.class),
+            @XmlElement(name = PartitionedSearchPhaseConfig.XML_ELEMENT_NAME, type = PartitionedSearchPhaseConfig.class),
+            @XmlElement(name = PortfolioSearchPhaseConfig.XML_ELEMENT_NAME, type = PortfolioSearchPhaseConfig.class)
+    })
+    protected List<PhaseConfig> phaseConfigList = null;
+
+    // ************************************************************************
+    // Constructors and simple getters/setters
+    // ************************************************************************
+
+    /**
+     * Defaults to the {@link PortfolioSearchPhaseConfig#getPhaseConfigList() phases of the portfolio search}.
+     *
+     * @return sometimes null
+     */
+    public List<PhaseConfig> getPhaseConfigList() {
+        return phaseConfigList;
+    }
+
+    public void setPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.phaseConfigList = phaseConfigList;
+    }
+
+    // ************************************************************************
+    // With methods
+    // ************************************************************************
+
+    public PortfolioWorkerConfig withPhaseConfigList(List<PhaseConfig> phaseConfigList) {
+        this.setPhaseConfigList(phaseConfigList);
+        return this;
+    }
+
+    public PortfolioWorkerConfig withPhaseConfigs(PhaseConfig... phaseConfigs) {
+        this.setPhaseConfigList(List.of(phaseConfigs));
+        return this;
+    }
+
+    @Override
+    public PortfolioWorkerConfig inherit(PortfolioWorkerConfig inheritedConfig) {
+        phaseConfigList = ConfigUtils.inheritMergeableListConfig(
+                phaseConfigList, inheritedConfig.getPhaseConfigList());
+        return this;
+    }
+
+    @Override
+    public PortfolioWorkerConfig copyConfig() {
+        return new PortfolioWorkerConfig().inherit(this);
+    }
+
+    @Override
+    public void visitReferencedClasses(Consumer<Class<?>> classVisitor) {
+        if (phaseConfigList != null) {
+            phaseConfigList.forEach(pc -> pc.visitReferencedClasses(classVisitor));
+        }
+    }
+
+}
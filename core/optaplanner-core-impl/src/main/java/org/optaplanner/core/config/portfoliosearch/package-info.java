@@ -17,17 +17,12 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.api;
+@XmlSchema(
+        namespace = SolverConfig.XML_NAMESPACE,
+        elementFormDefault = XmlNsForm.QUALIFIED)
+package org.optaplanner.core.config.portfoliosearch;
 
-public interface IntervalCluster<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
-        extends Iterable<Interval_> {
-    int size();
+import jakarta.xml.bind.annotation.XmlNsForm;
+import jakarta.xml.bind.annotation.XmlSchema;
 
-    boolean hasOverlap();
-
-    Difference_ getLength();
-
-    Point_ getStart();
-
-    Point_ getEnd();
-}
+import org.optaplanner.core.config.solver.SolverConfig;
@@ -46,6 +46,9 @@ import org.optaplanner.core.impl.io.jaxb.adapter.JaxbCustomPropertiesAdapter;
         "constraintProviderClass",
         "constraintProviderCustomProperties",
         "constraintStreamImplType",
+        "constraintStreamParallelPrimingEnabled",
+        "constraintStreamNodeProfilingEnabled",
+        "constraintStreamFanOutCompilationEnabled",
         "incrementalScoreCalculatorClass",
         "incrementalScoreCalculatorCustomProperties",
         "scoreDrlList",
@@ -67,6 +70,9 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
     @XmlJavaTypeAdapter(JaxbCustomPropertiesAdapter.class)
     protected Map<String, String> constraintProviderCustomProperties = null;
     protected ConstraintStreamImplType constraintStreamImplType;
+    protected Boolean constraintStreamParallelPrimingEnabled = null;
+    protected Boolean constraintStreamNodeProfilingEnabled = null;
+    protected Boolean constraintStreamFanOutCompilationEnabled = null;
 
     protected Class<? extends IncrementalScoreCalculator> incrementalScoreCalculatorClass = null;
 
@@ -137,6 +143,63 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         this.constraintStreamImplType = constraintStreamImplType;
     }
 
+    /**
+     * Only supported by {@link ConstraintStreamImplType#BAVET}.
+     * If enabled, constraints that share no nodes other than their forEach nodes are split into partitions,
+     * which calculate the initial score of every new working solution in parallel.
+     * The partitions share their forEach nodes, so the incremental score calculation does the same work as without.
+     * Defaults to disabled.
+     *
+     * @return null if not set
+     */
+    public Boolean getConstraintStreamParallelPrimingEnabled() {
+        return constraintStreamParallelPrimingEnabled;
+    }
+
+    public void setConstraintStreamParallelPrimingEnabled(Boolean constraintStreamParallelPrimingEnabled) {
+        this.constraintStreamParallelPrimingEnabled = constraintStreamParallelPrimingEnabled;
+    }
+
+    /**
+     * Only supported by {@link ConstraintStreamImplType#BAVET}.
+     * If enabled, every node of the constraint stream network counts the tuples it receives and propagates
+     * and the time it spends, which slows down score calculation.
+     * Use {@link org.optaplanner.core.config.solver.monitoring.SolverMetric#CONSTRAINT_STREAM_NODE_PROFILE}
+     * to expose those numbers.
+     * Defaults to disabled.
+     *
+     * @return null if not set
+     */
+    public Boolean getConstraintStreamNodeProfilingEnabled() {
+        return constraintStreamNodeProfilingEnabled;
+    }
+
+    public void setConstraintStreamNodeProfilingEnabled(Boolean constraintStreamNodeProfilingEnabled) {
+        this.constraintStreamNodeProfilingEnabled = constraintStreamNodeProfilingEnabled;
+    }
+
+    /**
+     * Only supported by {@link ConstraintStreamImplType#BAVET}.
+     * If enabled, every stream that propagates to multiple child streams does so through a generated class,
+     * which calls each child from its own call site, so the JIT compiler can inline the child node.
+     * Only that fan-out is generated:
+     * neither the nodes nor the constraint stream network as a whole are compiled into a class.
+     * The classes are generated at runtime, when the score director factory is built, never ahead of time.
+     * Requires Gizmo on the classpath.
+     * Not supported in a native image, where it is ignored with a warning.
+     * The Quarkus extension disables it at build time for a native build.
+     * Defaults to disabled.
+     *
+     * @return null if not set
+     */
+    public Boolean getConstraintStreamFanOutCompilationEnabled() {
+        return constraintStreamFanOutCompilationEnabled;
+    }
+
+    public void setConstraintStreamFanOutCompilationEnabled(Boolean constraintStreamFanOutCompilationEnabled) {
+        this.constraintStreamFanOutCompilationEnabled = constraintStreamFanOutCompilationEnabled;
+    }
+
     public Class<? extends IncrementalScoreCalculator> getIncrementalScoreCalculatorClass() {
         return incrementalScoreCalculatorClass;
     }
@@ -289,6 +352,24 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         return this;
     }
 
+    public ScoreDirectorFactoryConfig withConstraintStreamParallelPrimingEnabled(
+            boolean constraintStreamParallelPrimingEnabled) {
+        this.constraintStreamParallelPrimingEnabled = constraintStreamParallelPrimingEnabled;
+        return this;
+    }
+
+    public ScoreDirectorFactoryConfig withConstraintStreamNodeProfilingEnabled(
+            boolean constraintStreamNodeProfilingEnabled) {
+        this.constraintStreamNodeProfilingEnabled = constraintStreamNodeProfilingEnabled;
+        return this;
+    }
+
+    public ScoreDirectorFactoryConfig withConstraintStreamFanOutCompilationEnabled(
+            boolean constraintStreamFanOutCompilationEnabled) {
+        this.constraintStreamFanOutCompilationEnabled = constraintStreamFanOutCompilationEnabled;
+        return this;
+    }
+
     public ScoreDirectorFactoryConfig
             withIncrementalScoreCalculatorClass(Class<? extends IncrementalScoreCalculator> incrementalScoreCalculatorClass) {
         this.incrementalScoreCalculatorClass = incrementalScoreCalculatorClass;
@@ -386,6 +467,12 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
                 constraintProviderCustomProperties, inheritedConfig.getConstraintProviderCustomProperties());
         constraintStreamImplType = ConfigUtils.inheritOverwritableProperty(
                 constraintStreamImplType, inheritedConfig.getConstraintStreamImplType());
+        constraintStreamParallelPrimingEnabled = ConfigUtils.inheritOverwritableProperty(
+                constraintStreamParallelPrimingEnabled, inheritedConfig.getConstraintStreamParallelPrimingEnabled());
+        constraintStreamNodeProfilingEnabled = ConfigUtils.inheritOverwritableProperty(
+                constraintStreamNodeProfilingEnabled, inheritedConfig.getConstraintStreamNodeProfilingEnabled());
+        constraintStreamFanOutCompilationEnabled = ConfigUtils.inheritOverwritableProperty(
+                constraintStreamFanOutCompilationEnabled, inheritedConfig.getConstraintStreamFanOutCompilationEnabled());
         incrementalScoreCalculatorClass = ConfigUtils.inheritOverwritableProperty(
                 incrementalScoreCalculatorClass, inheritedConfig.getIncrementalScoreCalculatorClass());
         incrementalScoreCalculatorCustomProperties = ConfigUtils.inheritMergeableMapProperty(
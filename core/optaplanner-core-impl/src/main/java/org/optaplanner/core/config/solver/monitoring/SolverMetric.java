@@ -31,6 +31,7 @@ import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.statistic.BestScoreStatistic;
 import org.optaplanner.core.impl.statistic.BestSolutionMutationCountStatistic;
+import org.optaplanner.core.impl.statistic.ConstraintStreamNodeProfileStatistic;
 import org.optaplanner.core.impl.statistic.MemoryUseStatistic;
 import org.optaplanner.core.impl.statistic.PickedMoveBestScoreDiffStatistic;
 import org.optaplanner.core.impl.statistic.PickedMoveStepScoreDiffStatistic;
@@ -55,6 +56,11 @@ public enum SolverMetric {
     PICKED_MOVE_TYPE_BEST_SCORE_DIFF("optaplanner.solver.move.type.best.score.diff", new PickedMoveBestScoreDiffStatistic<>(),
             true),
     PICKED_MOVE_TYPE_STEP_SCORE_DIFF("optaplanner.solver.move.type.step.score.diff", new PickedMoveStepScoreDiffStatistic<>(),
+            false),
+    /**
+     * Requires {@link org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig#getConstraintStreamNodeProfilingEnabled()}.
+     */
+    CONSTRAINT_STREAM_NODE_PROFILE("optaplanner.solver.constraint.stream", new ConstraintStreamNodeProfileStatistic<>(),
             false);
 
     String meterId;
@@ -22,8 +22,6 @@ package org.optaplanner.core.impl.constructionheuristic.decider;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -34,16 +32,15 @@ import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
 import org.optaplanner.core.impl.constructionheuristic.placer.Placement;
+import org.optaplanner.core.impl.constructionheuristic.placer.QueuedValuePlacer;
 import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicMoveScope;
 import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicPhaseScope;
 import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicStepScope;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.thread.ApplyStepOperation;
 import org.optaplanner.core.impl.heuristic.thread.DestroyOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveEvaluationOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPipeline;
 import org.optaplanner.core.impl.heuristic.thread.MoveThreadRunner;
-import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
 import org.optaplanner.core.impl.heuristic.thread.SetupOperation;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.scope.SolverScope;
@@ -51,6 +48,10 @@ import org.optaplanner.core.impl.solver.termination.Termination;
 import org.optaplanner.core.impl.solver.thread.ThreadUtils;
 
 /**
+ * Also evaluates the moves of a list variable's {@link QueuedValuePlacer} on the move threads.
+ * Each move thread has its own index and inverse supplies,
+ * because it does and undoes every evaluated move on its own clone of the working solution.
+ *
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
  */
 public class MultiThreadedConstructionHeuristicDecider<Solution_> extends ConstructionHeuristicDecider<Solution_> {
@@ -63,8 +64,7 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
     protected boolean assertExpectedStepScore = false;
     protected boolean assertShadowVariablesAreNotStaleAfterStep = false;
 
-    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
-    protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    protected MoveThreadPipeline<Solution_> pipeline;
     protected CyclicBarrier moveThreadBarrier;
     protected ExecutorService executor;
     protected List<MoveThreadRunner<Solution_, ?>> moveThreadRunnerList;
@@ -93,10 +93,7 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
     @Override
     public void phaseStarted(ConstructionHeuristicPhaseScope<Solution_> phaseScope) {
         super.phaseStarted(phaseScope);
-        // Capacity: number of moves in circulation + number of setup xor step operations + number of destroy operations
-        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount + moveThreadCount);
-        // Capacity: number of moves in circulation + number of exception handling results
-        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
+        pipeline = new MoveThreadPipeline<>(moveThreadCount, selectedMoveBufferSize);
         moveThreadBarrier = new CyclicBarrier(moveThreadCount);
         InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
         executor = createThreadPoolExecutor();
@@ -104,12 +101,12 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
         for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
             MoveThreadRunner<Solution_, ?> moveThreadRunner = new MoveThreadRunner<>(
                     logIndentation, moveThreadIndex, false,
-                    operationQueue, resultQueue, moveThreadBarrier,
+                    pipeline, moveThreadBarrier,
                     assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
                     assertStepScoreFromScratch, assertExpectedStepScore, assertShadowVariablesAreNotStaleAfterStep);
             moveThreadRunnerList.add(moveThreadRunner);
             executor.submit(moveThreadRunner);
-            operationQueue.add(new SetupOperation<>(scoreDirector));
+            pipeline.addOperation(moveThreadIndex, new SetupOperation<>(scoreDirector));
         }
     }
 
@@ -117,11 +114,10 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
     public void phaseEnded(ConstructionHeuristicPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
         // Tell the move thread runners to stop
-        // Don't clear the operationsQueue to avoid moveThreadBarrier deadlock:
-        // The MoveEvaluationOperations are already cleared and the new ApplyStepOperation isn't added yet.
+        // The remaining MoveEvaluationOperations are already skipped and the new ApplyStepOperation isn't added yet.
         DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
         for (int i = 0; i < moveThreadCount; i++) {
-            operationQueue.add(destroyOperation);
+            pipeline.addOperation(i, destroyOperation);
         }
         shutdownMoveThreads();
         long childThreadsScoreCalculationCount = 0;
@@ -129,8 +125,7 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
             childThreadsScoreCalculationCount += moveThreadRunner.getCalculationCount();
         }
         phaseScope.addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
-        operationQueue = null;
-        resultQueue = null;
+        pipeline = null;
         moveThreadRunnerList = null;
     }
 
@@ -154,7 +149,7 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
     @Override
     public void decideNextStep(ConstructionHeuristicStepScope<Solution_> stepScope, Placement<Solution_> placement) {
         int stepIndex = stepScope.getStepIndex();
-        resultQueue.startNextStep(stepIndex);
+        pipeline.startNextStep(stepIndex);
 
         int selectMoveIndex = 0;
         int movesInPlay = 0;
@@ -172,14 +167,14 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
             }
             if (hasNextMove) {
                 Move<Solution_> move = moveIterator.next();
-                operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectMoveIndex, move));
+                pipeline.addMoveEvaluation(stepIndex, selectMoveIndex, move);
                 selectMoveIndex++;
                 movesInPlay++;
             }
         } while (movesInPlay > 0);
 
         // Do not evaluate the remaining selected moves for this step that haven't started evaluation yet
-        operationQueue.clear();
+        pipeline.skipRemainingMoveEvaluations(stepIndex);
         pickMove(stepScope);
         // Start doing the step on every move thread. Don't wait for the stepEnded() event.
         if (stepScope.getStep() != null) {
@@ -193,15 +188,15 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
             ApplyStepOperation<Solution_, ?> stepOperation = new ApplyStepOperation<>(stepIndex + 1,
                     stepScope.getStep(), (Score) stepScope.getScore());
             for (int i = 0; i < moveThreadCount; i++) {
-                operationQueue.add(stepOperation);
+                pipeline.addOperation(i, stepOperation);
             }
         }
     }
 
     private boolean forageResult(ConstructionHeuristicStepScope<Solution_> stepScope, int stepIndex) {
-        OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
+        MoveThreadPipeline.MoveResult<Solution_> result;
         try {
-            result = resultQueue.take();
+            result = pipeline.take();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return true;
@@ -210,7 +205,8 @@ public class MultiThreadedConstructionHeuristicDecider<Solution_> extends Constr
             throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
                     + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
         }
-        Move<Solution_> foragingMove = result.getMove().rebase(stepScope.getScoreDirector());
+        // The move was selected on this solver thread, so it needs no rebase
+        Move<Solution_> foragingMove = result.getMove();
         int foragingMoveIndex = result.getMoveIndex();
         ConstructionHeuristicMoveScope<Solution_> moveScope = new ConstructionHeuristicMoveScope<>(stepScope, foragingMoveIndex,
                 foragingMove);
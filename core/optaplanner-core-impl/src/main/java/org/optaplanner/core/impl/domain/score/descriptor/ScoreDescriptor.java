@@ -22,6 +22,7 @@ package org.optaplanner.core.impl.domain.score.descriptor;
 import static org.optaplanner.core.impl.domain.common.accessor.MemberAccessorFactory.MemberAccessorType.FIELD_OR_GETTER_METHOD_WITH_SETTER;
 
 import java.lang.reflect.Member;
+import java.util.List;
 
 import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.score.IBendableScore;
@@ -62,6 +63,12 @@ public class ScoreDescriptor {
     @PlanningScore
     private static final Object PLANNING_SCORE = new Object();
 
+    private static final List<Class<? extends Score<?>>> BIG_DECIMAL_SCORE_CLASS_LIST = List.of(
+            SimpleBigDecimalScore.class,
+            HardSoftBigDecimalScore.class,
+            HardMediumSoftBigDecimalScore.class,
+            BendableBigDecimalScore.class);
+
     private final MemberAccessor scoreMemberAccessor;
     private final ScoreDefinition<?> scoreDefinition;
 
@@ -128,6 +135,7 @@ public class ScoreDescriptor {
         Class<? extends ScoreDefinition> scoreDefinitionClass = annotation.scoreDefinitionClass();
         int bendableHardLevelsSize = annotation.bendableHardLevelsSize();
         int bendableSoftLevelsSize = annotation.bendableSoftLevelsSize();
+        int bigDecimalScale = annotation.bigDecimalScale();
         if (scoreDefinitionClass != PlanningScore.NullScoreDefinition.class) {
             if (bendableHardLevelsSize != PlanningScore.NO_LEVEL_SIZE
                     || bendableSoftLevelsSize != PlanningScore.NO_LEVEL_SIZE) {
@@ -138,9 +146,33 @@ public class ScoreDescriptor {
                         + ") that must not have a bendableHardLevelsSize (" + bendableHardLevelsSize
                         + ") or a bendableSoftLevelsSize (" + bendableSoftLevelsSize + ").");
             }
+            if (bigDecimalScale != PlanningScore.NO_BIG_DECIMAL_SCALE) {
+                throw new IllegalArgumentException("The solutionClass (" + solutionClass
+                        + ") has a @" + PlanningScore.class.getSimpleName()
+                        + " annotated member (" + scoreMemberAccessor
+                        + ") that has a scoreDefinition (" + scoreDefinitionClass
+                        + ") that must not have a bigDecimalScale (" + bigDecimalScale + ").");
+            }
             return ConfigUtils.newInstance(() -> scoreMemberAccessor + " with @" + PlanningScore.class.getSimpleName(),
                     "scoreDefinitionClass", scoreDefinitionClass);
         }
+        if (bigDecimalScale != PlanningScore.NO_BIG_DECIMAL_SCALE) {
+            if (!BIG_DECIMAL_SCORE_CLASS_LIST.contains(scoreType)) {
+                throw new IllegalArgumentException("The solutionClass (" + solutionClass
+                        + ") has a @" + PlanningScore.class.getSimpleName()
+                        + " annotated member (" + scoreMemberAccessor
+                        + ") that returns a scoreType (" + scoreType
+                        + ") that must not have a bigDecimalScale (" + bigDecimalScale + ").\n"
+                        + "Maybe use one of the BigDecimal based score types (" + BIG_DECIMAL_SCORE_CLASS_LIST
+                        + ") instead.");
+            }
+            if (bigDecimalScale < 0) {
+                throw new IllegalArgumentException("The solutionClass (" + solutionClass
+                        + ") has a @" + PlanningScore.class.getSimpleName()
+                        + " annotated member (" + scoreMemberAccessor
+                        + ") with a bigDecimalScale (" + bigDecimalScale + ") that is negative.");
+            }
+        }
         if (!IBendableScore.class.isAssignableFrom(scoreType)) {
             if (bendableHardLevelsSize != PlanningScore.NO_LEVEL_SIZE
                     || bendableSoftLevelsSize != PlanningScore.NO_LEVEL_SIZE) {
@@ -156,19 +188,19 @@ public class ScoreDescriptor {
             } else if (scoreType.equals(SimpleLongScore.class)) {
                 return new SimpleLongScoreDefinition();
             } else if (scoreType.equals(SimpleBigDecimalScore.class)) {
-                return new SimpleBigDecimalScoreDefinition();
+                return new SimpleBigDecimalScoreDefinition(bigDecimalScale);
             } else if (scoreType.equals(HardSoftScore.class)) {
                 return new HardSoftScoreDefinition();
             } else if (scoreType.equals(HardSoftLongScore.class)) {
                 return new HardSoftLongScoreDefinition();
             } else if (scoreType.equals(HardSoftBigDecimalScore.class)) {
-                return new HardSoftBigDecimalScoreDefinition();
+                return new HardSoftBigDecimalScoreDefinition(bigDecimalScale);
             } else if (scoreType.equals(HardMediumSoftScore.class)) {
                 return new HardMediumSoftScoreDefinition();
             } else if (scoreType.equals(HardMediumSoftLongScore.class)) {
                 return new HardMediumSoftLongScoreDefinition();
             } else if (scoreType.equals(HardMediumSoftBigDecimalScore.class)) {
-                return new HardMediumSoftBigDecimalScoreDefinition();
+                return new HardMediumSoftBigDecimalScoreDefinition(bigDecimalScale);
             } else {
                 throw new IllegalArgumentException("The solutionClass (" + solutionClass
                         + ") has a @" + PlanningScore.class.getSimpleName()
@@ -194,7 +226,8 @@ public class ScoreDescriptor {
             } else if (scoreType.equals(BendableLongScore.class)) {
                 return new BendableLongScoreDefinition(bendableHardLevelsSize, bendableSoftLevelsSize);
             } else if (scoreType.equals(BendableBigDecimalScore.class)) {
-                return new BendableBigDecimalScoreDefinition(bendableHardLevelsSize, bendableSoftLevelsSize);
+                return new BendableBigDecimalScoreDefinition(bendableHardLevelsSize, bendableSoftLevelsSize,
+                        bigDecimalScale);
             } else {
                 throw new IllegalArgumentException("The solutionClass (" + solutionClass
                         + ") has a @" + PlanningScore.class.getSimpleName()
@@ -19,30 +19,64 @@
 
 package org.optaplanner.core.impl.heuristic.thread;
 
+import java.util.Arrays;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.heuristic.move.Move;
 
+/**
+ * A batch of moves with consecutive moveIndexes, which are evaluated by the same move thread.
+ * Reused by {@link MoveThreadPipeline} for every batch that passes through the same slot,
+ * so the move thread must read it before it takes its next operation.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
 public class MoveEvaluationOperation<Solution_> extends MoveThreadOperation<Solution_> {
 
-    private final int stepIndex;
-    private final int moveIndex;
-    private final Move<Solution_> move;
+    private int stepIndex = -1;
+    private int firstMoveIndex = -1;
+    private int moveCount = 0;
+    private Move<Solution_>[] moves = new Move[1];
 
-    public MoveEvaluationOperation(int stepIndex, int moveIndex, Move<Solution_> move) {
+    void reset(int stepIndex, int firstMoveIndex) {
         this.stepIndex = stepIndex;
-        this.moveIndex = moveIndex;
-        this.move = move;
+        this.firstMoveIndex = firstMoveIndex;
+        Arrays.fill(moves, 0, moveCount, null);
+        moveCount = 0;
+    }
+
+    void addMove(Move<Solution_> move) {
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[moveCount] = move;
+        moveCount++;
     }
 
     public int getStepIndex() {
         return stepIndex;
     }
 
-    public int getMoveIndex() {
-        return moveIndex;
+    /**
+     * @return at least 0, the moveIndex of {@link #getMove(int) getMove(0)}
+     */
+    public int getFirstMoveIndex() {
+        return firstMoveIndex;
+    }
+
+    /**
+     * @return at least 1 when taken by a move thread
+     */
+    public int getMoveCount() {
+        return moveCount;
     }
 
-    public Move<Solution_> getMove() {
-        return move;
+    /**
+     * @param i {@code 0 <= i < getMoveCount()}
+     * @return never null, the move with moveIndex {@code getFirstMoveIndex() + i}
+     */
+    public Move<Solution_> getMove(int i) {
+        return moves[i];
     }
 
 }
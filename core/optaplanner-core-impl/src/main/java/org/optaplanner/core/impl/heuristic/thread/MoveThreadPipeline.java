@@ -0,0 +1,505 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Passes the operations from the solver thread to the move threads and the move results back,
+ * through a {@link SingleProducerSingleConsumerRing} per move thread in each direction,
+ * so neither side ever locks and no element is allocated per move.
+ * <p>
+ * Moves with consecutive moveIndexes are evaluated in batches, so cheap moves don't spend more time
+ * being passed between threads than being evaluated.
+ * The batch size adapts to the observed evaluation time per move.
+ * The batches of a step are assigned round-robin to the move threads, and every move thread evaluates its batches in order.
+ * Therefore the solver thread {@link #take() takes} the results in moveIndex order
+ * by reading the result ring of the next batch, without buffering results that arrive out of order.
+ * That keeps the solver reproducible, regardless of how many move threads there are and how big the batches are.
+ * <p>
+ * Each result returns the move as the solver thread added it, instead of the move rebased to the move thread,
+ * so the solver thread doesn't need to rebase every move back to its own working solution.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MoveThreadPipeline<Solution_> {
+
+    /**
+     * The evaluation time of a batch, at which passing it between threads costs relatively little.
+     */
+    static final long DEFAULT_TARGET_BATCH_EVALUATION_NANOS = 50_000L;
+
+    private final int moveThreadCount;
+    private final int maximumBatchSize;
+    private final long targetBatchEvaluationNanos;
+    private final SingleProducerSingleConsumerRing<OperationSlot<Solution_>>[] operationRings;
+    private final SingleProducerSingleConsumerRing<MoveResultBatch>[] resultRings;
+    /**
+     * The last operation slot that the move thread of that index took, which it might still read.
+     * Each element is only accessed by its move thread.
+     */
+    private final OperationSlot<Solution_>[] takenOperationSlots;
+    /**
+     * Each element is only accessed by its move thread.
+     */
+    private final long[] batchStartNanos;
+    private final AtomicReference<MoveResult<Solution_>> exceptionResult = new AtomicReference<>();
+    /**
+     * The last step for which the solver thread no longer needs move results.
+     * Move threads skip the move evaluations of that step, that they haven't started yet.
+     */
+    private volatile int skippedStepIndex = Integer.MIN_VALUE;
+
+    // Only accessed by the solver thread
+    private int filterStepIndex = Integer.MIN_VALUE;
+    private int nextMoveIndex = Integer.MIN_VALUE;
+    private int publishedBatchCount = 0;
+    private int takenBatchCount = 0;
+    private OperationSlot<Solution_> openOperationSlot = null;
+    private int openBatchSize = 0;
+    private MoveResultBatch takenResultBatch = null;
+    private int takenResultBatchEntryIndex = 0;
+    private long evaluationNanosPerMoveEstimate = -1L;
+    /**
+     * The added moves that haven't been taken yet, at index {@code moveIndex % selectedMoves.length}.
+     */
+    private final Move<Solution_>[] selectedMoves;
+    private final MoveResult<Solution_> takenResult = new MoveResult<>();
+
+    /**
+     * @param moveThreadCount at least 1
+     * @param selectedMoveBufferSize at least 1, the maximum number of moves in circulation
+     */
+    public MoveThreadPipeline(int moveThreadCount, int selectedMoveBufferSize) {
+        this(moveThreadCount, selectedMoveBufferSize, DEFAULT_TARGET_BATCH_EVALUATION_NANOS);
+    }
+
+    MoveThreadPipeline(int moveThreadCount, int selectedMoveBufferSize, long targetBatchEvaluationNanos) {
+        this.moveThreadCount = moveThreadCount;
+        // Consecutive batches go to different move threads and every batch contains at least 1 move
+        int movesInCirculationPerMoveThread = (selectedMoveBufferSize + moveThreadCount - 1) / moveThreadCount;
+        // Every move thread has at least 2 batches in circulation, so it can evaluate the next one
+        // while the solver thread forages the results of the previous one
+        maximumBatchSize = Math.max(1, movesInCirculationPerMoveThread / 2);
+        this.targetBatchEvaluationNanos = targetBatchEvaluationNanos;
+        operationRings = new SingleProducerSingleConsumerRing[moveThreadCount];
+        resultRings = new SingleProducerSingleConsumerRing[moveThreadCount];
+        for (int i = 0; i < moveThreadCount; i++) {
+            // Capacity: batches in circulation of this step and of the previous step (which will be skipped)
+            // + 1 setup xor step operation + 1 destroy operation + 1 taken operation.
+            // A move thread that lags behind more than that makes the solver thread wait when it adds an operation.
+            operationRings[i] = new SingleProducerSingleConsumerRing<>(2 * movesInCirculationPerMoveThread + 3,
+                    OperationSlot::new);
+            // Capacity: batches in circulation + 1 batch of the previous step that was still being evaluated
+            // + 1 taken result batch
+            resultRings[i] = new SingleProducerSingleConsumerRing<>(movesInCirculationPerMoveThread + 2,
+                    MoveResultBatch::new);
+        }
+        takenOperationSlots = new OperationSlot[moveThreadCount];
+        batchStartNanos = new long[moveThreadCount];
+        selectedMoves = new Move[selectedMoveBufferSize];
+    }
+
+    // ************************************************************************
+    // Solver thread
+    // ************************************************************************
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param operation never null, not a {@link MoveEvaluationOperation}
+     */
+    public void addOperation(int moveThreadIndex, MoveThreadOperation<Solution_> operation) {
+        if (openOperationSlot != null) {
+            throw new IllegalStateException("Impossible state: the operation (" + operation
+                    + ") is added while the move evaluations of the step are neither taken nor skipped.");
+        }
+        SingleProducerSingleConsumerRing<OperationSlot<Solution_>> operationRing = operationRings[moveThreadIndex];
+        operationRing.awaitClaim(this::relayExceptionThrown).operation = operation;
+        operationRing.publish();
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * The move is added to the open batch, which is passed to a move thread when it is full
+     * or when {@link #take()} needs its results.
+     *
+     * @param stepIndex at least 0
+     * @param moveIndex at least 0, 1 more than the moveIndex of the previous call in the same step
+     * @param move never null, returned by {@link MoveResult#getMove()}
+     */
+    public void addMoveEvaluation(int stepIndex, int moveIndex, Move<Solution_> move) {
+        if (moveIndex - nextMoveIndex >= selectedMoves.length) {
+            throw new IllegalStateException("Impossible state: the moveIndex (" + moveIndex
+                    + ") is added before the result of the moveIndex (" + nextMoveIndex
+                    + ") is taken, which exceeds the selectedMoveBufferSize (" + selectedMoves.length + ").");
+        }
+        if (openOperationSlot == null) {
+            openOperationSlot = operationRings[publishedBatchCount % moveThreadCount]
+                    .awaitClaim(this::relayExceptionThrown);
+            openOperationSlot.moveEvaluationOperation.reset(stepIndex, moveIndex);
+            openOperationSlot.operation = openOperationSlot.moveEvaluationOperation;
+            openBatchSize = calculateBatchSize();
+        }
+        MoveEvaluationOperation<Solution_> moveEvaluationOperation = openOperationSlot.moveEvaluationOperation;
+        if (moveEvaluationOperation.getStepIndex() != stepIndex
+                || moveEvaluationOperation.getFirstMoveIndex() + moveEvaluationOperation.getMoveCount() != moveIndex) {
+            throw new IllegalStateException("Impossible state: the move evaluation with stepIndex (" + stepIndex
+                    + ") and moveIndex (" + moveIndex + ") doesn't follow the previous one.");
+        }
+        moveEvaluationOperation.addMove(move);
+        selectedMoves[moveIndex % selectedMoves.length] = move;
+        if (moveEvaluationOperation.getMoveCount() >= openBatchSize) {
+            publishOpenBatch();
+        }
+    }
+
+    private int calculateBatchSize() {
+        if (evaluationNanosPerMoveEstimate < 0L) {
+            // Nothing is known about the evaluation time yet
+            return 1;
+        }
+        long batchSize = targetBatchEvaluationNanos / Math.max(evaluationNanosPerMoveEstimate, 1L);
+        return (int) Math.max(1L, Math.min(batchSize, maximumBatchSize));
+    }
+
+    private void publishOpenBatch() {
+        operationRings[publishedBatchCount % moveThreadCount].publish();
+        publishedBatchCount++;
+        openOperationSlot = null;
+    }
+
+    private void abandonOpenBatch() {
+        if (openOperationSlot != null) {
+            // The slot is claimed but not published, so the next claim of that ring reuses it
+            openOperationSlot.moveEvaluationOperation.reset(-1, -1);
+            openOperationSlot = null;
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * The move threads will skip the move evaluations of that step that they haven't started yet.
+     *
+     * @param stepIndex at least 0
+     */
+    public void skipRemainingMoveEvaluations(int stepIndex) {
+        skippedStepIndex = stepIndex;
+        abandonOpenBatch();
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     *
+     * @param stepIndex at least 0
+     */
+    public void startNextStep(int stepIndex) {
+        if (filterStepIndex >= stepIndex) {
+            throw new IllegalStateException("The old filterStepIndex (" + filterStepIndex
+                    + ") must be less than the stepIndex (" + stepIndex + ")");
+        }
+        relayExceptionThrown();
+        filterStepIndex = stepIndex;
+        abandonOpenBatch();
+        Arrays.fill(selectedMoves, null);
+        takenResultBatch = null;
+        // Discard the results of the previous step, which weren't taken
+        for (SingleProducerSingleConsumerRing<MoveResultBatch> resultRing : resultRings) {
+            resultRing.releaseAll();
+        }
+        publishedBatchCount = 0;
+        takenBatchCount = 0;
+        nextMoveIndex = 0;
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * The returned result is reused, so it is only valid until the next call to this method
+     * or {@link #startNextStep(int)}.
+     *
+     * @return never null
+     * @throws InterruptedException if interrupted
+     */
+    public MoveResult<Solution_> take() throws InterruptedException {
+        SingleProducerSingleConsumerRing<MoveResultBatch> resultRing =
+                resultRings[takenBatchCount % moveThreadCount];
+        if (takenResultBatch == null) {
+            if (takenBatchCount == publishedBatchCount) {
+                if (openOperationSlot == null) {
+                    throw new IllegalStateException("Impossible state: no move evaluation was added for the moveIndex ("
+                            + nextMoveIndex + ").");
+                }
+                // The next result is in the open batch, so don't wait until it is full
+                publishOpenBatch();
+            }
+            while (true) {
+                MoveResultBatch resultBatch = resultRing.awaitPeek(this::relayExceptionThrown);
+                if (resultBatch.stepIndex != filterStepIndex) {
+                    // Discard result from previous step
+                    resultRing.release();
+                    continue;
+                }
+                if (resultBatch.firstMoveIndex != nextMoveIndex) {
+                    throw new IllegalStateException("Impossible state: the result's moveIndex ("
+                            + resultBatch.firstMoveIndex + ") differs from the expected moveIndex ("
+                            + nextMoveIndex + ").");
+                }
+                takenResultBatch = resultBatch;
+                takenResultBatchEntryIndex = 0;
+                break;
+            }
+        }
+        MoveResultBatch resultBatch = takenResultBatch;
+        int i = takenResultBatchEntryIndex;
+        takenResult.moveThreadIndex = resultBatch.moveThreadIndex;
+        takenResult.stepIndex = resultBatch.stepIndex;
+        takenResult.moveIndex = nextMoveIndex;
+        int selectedMoveIndex = nextMoveIndex % selectedMoves.length;
+        takenResult.move = selectedMoves[selectedMoveIndex];
+        selectedMoves[selectedMoveIndex] = null;
+        takenResult.moveDoable = resultBatch.moveDoables[i];
+        takenResult.score = resultBatch.scores[i];
+        takenResultBatchEntryIndex++;
+        nextMoveIndex++;
+        if (takenResultBatchEntryIndex == resultBatch.moveCount) {
+            updateEvaluationNanosPerMoveEstimate(resultBatch.evaluationNanos / resultBatch.moveCount);
+            // Every entry has been copied, so the move thread can reuse the slot
+            resultRing.release();
+            takenResultBatch = null;
+            takenBatchCount++;
+        }
+        return takenResult;
+    }
+
+    private void updateEvaluationNanosPerMoveEstimate(long evaluationNanosPerMove) {
+        if (evaluationNanosPerMoveEstimate < 0L) {
+            evaluationNanosPerMoveEstimate = evaluationNanosPerMove;
+        } else {
+            // Exponential moving average, so a single slow batch (for example due to GC) doesn't matter much
+            evaluationNanosPerMoveEstimate += (evaluationNanosPerMove - evaluationNanosPerMoveEstimate) / 4L;
+        }
+    }
+
+    private void relayExceptionThrown() {
+        MoveResult<Solution_> result = exceptionResult.get();
+        if (result != null) {
+            throw new IllegalStateException("The move thread with moveThreadIndex ("
+                    + result.getMoveThreadIndex() + ") has thrown an exception."
+                    + " Relayed here in the parent thread.",
+                    result.throwable);
+        }
+    }
+
+    // ************************************************************************
+    // Move threads
+    // ************************************************************************
+
+    /**
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
+     * The returned operation might be reused, so it is only valid until the next call to this method.
+     * A {@link MoveEvaluationOperation} must be followed by a result for each of its moves, in order,
+     * until its step {@link #isSkipped(int) is skipped}.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @return never null
+     * @throws InterruptedException if interrupted
+     */
+    public MoveThreadOperation<Solution_> takeOperation(int moveThreadIndex) throws InterruptedException {
+        SingleProducerSingleConsumerRing<OperationSlot<Solution_>> operationRing = operationRings[moveThreadIndex];
+        if (takenOperationSlots[moveThreadIndex] != null) {
+            operationRing.release();
+            takenOperationSlots[moveThreadIndex] = null;
+        }
+        OperationSlot<Solution_> slot = operationRing.awaitPeek(null);
+        takenOperationSlots[moveThreadIndex] = slot;
+        if (slot.operation == slot.moveEvaluationOperation) {
+            batchStartNanos[moveThreadIndex] = System.nanoTime();
+        }
+        return slot.operation;
+    }
+
+    /**
+     * This method is thread-safe. It can be called from any move thread.
+     *
+     * @param stepIndex at least 0
+     * @return true if the solver thread no longer needs the move results of that step
+     */
+    public boolean isSkipped(int stepIndex) {
+        return stepIndex <= skippedStepIndex;
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param stepIndex at least 0
+     * @param moveIndex at least 0
+     */
+    public void addUndoableMove(int moveThreadIndex, int stepIndex, int moveIndex) {
+        addResult(moveThreadIndex, stepIndex, moveIndex, false, null);
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the move thread with that moveThreadIndex.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param stepIndex at least 0
+     * @param moveIndex at least 0
+     * @param score never null
+     */
+    public void addMove(int moveThreadIndex, int stepIndex, int moveIndex, Score score) {
+        addResult(moveThreadIndex, stepIndex, moveIndex, true, score);
+    }
+
+    private void addResult(int moveThreadIndex, int stepIndex, int moveIndex, boolean moveDoable, Score score) {
+        if (isSkipped(stepIndex)) {
+            // Discard element from previous step
+            return;
+        }
+        OperationSlot<Solution_> operationSlot = takenOperationSlots[moveThreadIndex];
+        if (operationSlot == null || operationSlot.operation != operationSlot.moveEvaluationOperation) {
+            throw new IllegalStateException("Impossible state: the move thread with moveThreadIndex ("
+                    + moveThreadIndex + ") adds a result for moveIndex (" + moveIndex
+                    + ") without having taken its move evaluation.");
+        }
+        MoveEvaluationOperation<Solution_> moveEvaluationOperation = operationSlot.moveEvaluationOperation;
+        int i = moveIndex - moveEvaluationOperation.getFirstMoveIndex();
+        SingleProducerSingleConsumerRing<MoveResultBatch> resultRing = resultRings[moveThreadIndex];
+        // The claimed slot isn't published until the batch is complete, so every result of the batch claims it again
+        MoveResultBatch resultBatch = resultRing.claim();
+        if (i == 0) {
+            resultBatch.reset(moveThreadIndex, stepIndex, moveIndex, moveEvaluationOperation.getMoveCount());
+        }
+        resultBatch.moveDoables[i] = moveDoable;
+        resultBatch.scores[i] = score;
+        if (i == resultBatch.moveCount - 1) {
+            resultBatch.evaluationNanos = System.nanoTime() - batchStartNanos[moveThreadIndex];
+            resultRing.publish();
+        }
+    }
+
+    /**
+     * This method is thread-safe. It can be called from any move thread.
+     * Previous results (that haven't been taken yet), will still be returned
+     * before {@link #take()} throws an exception,
+     * unless the result of the next moveIndex isn't there yet.
+     *
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param throwable never null
+     */
+    public void addExceptionThrown(int moveThreadIndex, Throwable throwable) {
+        MoveResult<Solution_> result = new MoveResult<>();
+        result.moveThreadIndex = moveThreadIndex;
+        result.throwable = throwable;
+        // If 2 exceptions are added from different threads concurrently, either one could end up first.
+        // This is a known deviation from 100% reproducibility, that never occurs in a success scenario.
+        exceptionResult.compareAndSet(null, result);
+        // The solver thread might wait for the result or the operation ring of another move thread
+        for (SingleProducerSingleConsumerRing<MoveResultBatch> resultRing : resultRings) {
+            resultRing.unparkWaitingConsumer();
+        }
+        for (SingleProducerSingleConsumerRing<OperationSlot<Solution_>> operationRing : operationRings) {
+            operationRing.unparkWaitingProducer();
+        }
+    }
+
+    private static final class OperationSlot<Solution_> {
+
+        private final MoveEvaluationOperation<Solution_> moveEvaluationOperation = new MoveEvaluationOperation<>();
+        private MoveThreadOperation<Solution_> operation = null;
+
+    }
+
+    private static final class MoveResultBatch {
+
+        private int moveThreadIndex = -1;
+        private int stepIndex = -1;
+        private int firstMoveIndex = -1;
+        private int moveCount = 0;
+        private boolean[] moveDoables = new boolean[1];
+        private Score[] scores = new Score[1];
+        private long evaluationNanos = 0L;
+
+        private void reset(int moveThreadIndex, int stepIndex, int firstMoveIndex, int moveCount) {
+            this.moveThreadIndex = moveThreadIndex;
+            this.stepIndex = stepIndex;
+            this.firstMoveIndex = firstMoveIndex;
+            if (moveDoables.length < moveCount) {
+                moveDoables = new boolean[moveCount];
+                scores = new Score[moveCount];
+            } else if (moveCount < this.moveCount) {
+                // Don't keep the scores of a bigger previous batch reachable
+                Arrays.fill(scores, moveCount, this.moveCount, null);
+            }
+            this.moveCount = moveCount;
+        }
+
+    }
+
+    public static final class MoveResult<Solution_> {
+
+        private int moveThreadIndex;
+        private int stepIndex;
+        private int moveIndex;
+        private Move<Solution_> move;
+        private boolean moveDoable;
+        private Score score;
+        private Throwable throwable;
+
+        private MoveResult() {
+        }
+
+        public int getMoveThreadIndex() {
+            return moveThreadIndex;
+        }
+
+        public int getStepIndex() {
+            return stepIndex;
+        }
+
+        public int getMoveIndex() {
+            return moveIndex;
+        }
+
+        /**
+         * @return never null, the move as added by {@link #addMoveEvaluation(int, int, Move)} on the solver thread,
+         *         so it is not rebased to a move thread
+         */
+        public Move<Solution_> getMove() {
+            return move;
+        }
+
+        public boolean isMoveDoable() {
+            return moveDoable;
+        }
+
+        public Score getScore() {
+            return score;
+        }
+
+    }
+
+}
@@ -19,7 +19,6 @@
 
 package org.optaplanner.core.impl.heuristic.thread;
 
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicLong;
@@ -39,8 +38,7 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
     private final int moveThreadIndex;
     private final boolean evaluateDoable;
 
-    private final BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
-    private final OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    private final MoveThreadPipeline<Solution_> pipeline;
     private final CyclicBarrier moveThreadBarrier;
 
     private final boolean assertMoveScoreFromScratch;
@@ -53,17 +51,14 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
     private AtomicLong calculationCount = new AtomicLong(-1);
 
     public MoveThreadRunner(String logIndentation, int moveThreadIndex, boolean evaluateDoable,
-            BlockingQueue<MoveThreadOperation<Solution_>> operationQueue,
-            OrderByMoveIndexBlockingQueue<Solution_> resultQueue,
-            CyclicBarrier moveThreadBarrier,
+            MoveThreadPipeline<Solution_> pipeline, CyclicBarrier moveThreadBarrier,
             boolean assertMoveScoreFromScratch, boolean assertExpectedUndoMoveScore,
             boolean assertStepScoreFromScratch, boolean assertExpectedStepScore,
             boolean assertShadowVariablesAreNotStaleAfterStep) {
         this.logIndentation = logIndentation;
         this.moveThreadIndex = moveThreadIndex;
         this.evaluateDoable = evaluateDoable;
-        this.operationQueue = operationQueue;
-        this.resultQueue = resultQueue;
+        this.pipeline = pipeline;
         this.moveThreadBarrier = moveThreadBarrier;
         this.assertMoveScoreFromScratch = assertMoveScoreFromScratch;
         this.assertExpectedUndoMoveScore = assertExpectedUndoMoveScore;
@@ -80,7 +75,7 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
             while (true) {
                 MoveThreadOperation<Solution_> operation;
                 try {
-                    operation = operationQueue.take();
+                    operation = pipeline.takeOperation(moveThreadIndex);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
@@ -95,7 +90,9 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
                     LOGGER.trace("{}            Move thread ({}) setup: step index ({}), score ({}).",
                             logIndentation, moveThreadIndex, stepIndex, lastStepScore);
                     try {
-                        // Don't consume another operation until every moveThread took this SetupOperation
+                        // Don't consume another operation until every moveThread took this SetupOperation.
+                        // So no move result reaches the solver thread, and it doesn't change its working solution,
+                        // before every move thread has cloned that working solution.
                         moveThreadBarrier.await();
                     } catch (InterruptedException | BrokenBarrierException e) {
                         Thread.currentThread().interrupt();
@@ -107,9 +104,8 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
                     calculationCount.set(scoreDirector.getCalculationCount());
                     break;
                 } else if (operation instanceof ApplyStepOperation) {
-                    // TODO Performance gain with specialized 2-phase cyclic barrier:
-                    // As soon as the last move thread has taken its ApplyStepOperation,
-                    // other move threads can already depart from the moveThreadStepBarrier: no need to wait until the step is done.
+                    // There is no barrier after a step, because every move thread has its own operation ring:
+                    // it can start evaluating the moves of the next step as soon as it has done the step itself.
                     ApplyStepOperation<Solution_, Score_> applyStepOperation =
                             (ApplyStepOperation<Solution_, Score_>) operation;
                     if (stepIndex + 1 != applyStepOperation.getStepIndex()) {
@@ -125,36 +121,21 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
                     lastStepScore = score;
                     LOGGER.trace("{}            Move thread ({}) step: step index ({}), score ({}).",
                             logIndentation, moveThreadIndex, stepIndex, lastStepScore);
-                    try {
-                        // Don't consume an MoveEvaluationOperation until every moveThread took this ApplyStepOperation
-                        moveThreadBarrier.await();
-                    } catch (InterruptedException | BrokenBarrierException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
                 } else if (operation instanceof MoveEvaluationOperation) {
                     MoveEvaluationOperation<Solution_> moveEvaluationOperation = (MoveEvaluationOperation<Solution_>) operation;
-                    int moveIndex = moveEvaluationOperation.getMoveIndex();
                     if (stepIndex != moveEvaluationOperation.getStepIndex()) {
                         throw new IllegalStateException("Impossible situation: the moveThread's stepIndex ("
                                 + stepIndex + ") differs from the operation's stepIndex ("
                                 + moveEvaluationOperation.getStepIndex() + ") with moveIndex ("
-                                + moveIndex + ").");
+                                + moveEvaluationOperation.getFirstMoveIndex() + ").");
                     }
-                    Move<Solution_> move = moveEvaluationOperation.getMove().rebase(scoreDirector);
-                    if (evaluateDoable && !move.isMoveDoable(scoreDirector)) {
-                        LOGGER.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}), not doable.",
-                                logIndentation, moveThreadIndex, stepIndex, moveIndex);
-                        resultQueue.addUndoableMove(moveThreadIndex, stepIndex, moveIndex, move);
-                    } else {
-                        Score<?> score = scoreDirector.doAndProcessMove(move, assertMoveScoreFromScratch);
-                        if (assertExpectedUndoMoveScore) {
-                            scoreDirector.assertExpectedUndoMoveScore(move, lastStepScore);
+                    for (int i = 0; i < moveEvaluationOperation.getMoveCount(); i++) {
+                        if (pipeline.isSkipped(stepIndex)) {
+                            // The solver thread already decided the step, so it doesn't need these move results anymore
+                            break;
                         }
-                        LOGGER.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}), score ({}).",
-                                logIndentation, moveThreadIndex, stepIndex, moveIndex, score);
-                        // Deliberately add to fail fast if there is not enough capacity (which is impossible)
-                        resultQueue.addMove(moveThreadIndex, stepIndex, moveIndex, move, score);
+                        evaluateMove(stepIndex, moveEvaluationOperation.getFirstMoveIndex() + i,
+                                moveEvaluationOperation.getMove(i), lastStepScore);
                     }
                 } else {
                     throw new IllegalStateException("Unknown operation (" + operation + ").");
@@ -164,10 +145,10 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
             LOGGER.trace("{}            Move thread ({}) finished.", logIndentation, moveThreadIndex);
         } catch (RuntimeException | Error throwable) {
             // Any Exception or even Error that happens here (on a move thread) must be stored
-            // in the resultQueue in order to be propagated to the solver thread.
+            // in the pipeline in order to be propagated to the solver thread.
             LOGGER.trace("{}            Move thread ({}) exception that will be propagated to the solver thread.",
                     logIndentation, moveThreadIndex, throwable);
-            resultQueue.addExceptionThrown(moveThreadIndex, throwable);
+            pipeline.addExceptionThrown(moveThreadIndex, throwable);
         } finally {
             if (scoreDirector != null) {
                 scoreDirector.close();
@@ -175,6 +156,24 @@ public class MoveThreadRunner<Solution_, Score_ extends Score<Score_>> implement
         }
     }
 
+    private void evaluateMove(int stepIndex, int moveIndex, Move<Solution_> originalMove, Score_ lastStepScore) {
+        Move<Solution_> move = originalMove.rebase(scoreDirector);
+        if (evaluateDoable && !move.isMoveDoable(scoreDirector)) {
+            LOGGER.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}), not doable.",
+                    logIndentation, moveThreadIndex, stepIndex, moveIndex);
+            pipeline.addUndoableMove(moveThreadIndex, stepIndex, moveIndex);
+        } else {
+            Score<?> score = scoreDirector.doAndProcessMove(move, assertMoveScoreFromScratch);
+            if (assertExpectedUndoMoveScore) {
+                scoreDirector.assertExpectedUndoMoveScore(move, lastStepScore);
+            }
+            LOGGER.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}), score ({}).",
+                    logIndentation, moveThreadIndex, stepIndex, moveIndex, score);
+            // Deliberately add to fail fast if there is not enough capacity (which is impossible)
+            pipeline.addMove(moveThreadIndex, stepIndex, moveIndex, score);
+        }
+    }
+
     protected void predictWorkingStepScore(Move<Solution_> step, Score_ score) {
         // There is no need to recalculate the score, but we still need to set it
         scoreDirector.getSolutionDescriptor().setScore(scoreDirector.getWorkingSolution(), score);
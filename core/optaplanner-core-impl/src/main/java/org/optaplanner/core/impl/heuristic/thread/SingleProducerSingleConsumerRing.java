@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A bounded ring of preallocated slots, written by exactly 1 producer thread and read by exactly 1 consumer thread,
+ * so neither side needs a lock or a CAS: each side only writes its own index.
+ * The producer fills the slot of {@link #claim()} or {@link #awaitClaim(Runnable)}
+ * and then {@link #publish() publishes} it.
+ * The consumer reads the slot of {@link #peek()} or {@link #awaitPeek(Runnable)}
+ * and only {@link #release() releases} it when it no longer reads it, so the producer can reuse it.
+ *
+ * @param <Slot_> the mutable slot type, reused for every element that passes through the ring
+ */
+final class SingleProducerSingleConsumerRing<Slot_> {
+
+    /**
+     * The number of times the consumer checks for a new element, before it parks its thread.
+     * A move evaluation usually takes a few microseconds, so spinning briefly avoids most park and unpark calls.
+     */
+    private static final int SPIN_COUNT = 128;
+
+    private final Object[] slots;
+    private final int mask;
+    /**
+     * The sequence of the next slot to read. Only written by the consumer.
+     */
+    private volatile long head = 0L;
+    /**
+     * The sequence of the next slot to write. Only written by the producer.
+     */
+    private volatile long tail = 0L;
+    private volatile Thread waitingConsumer = null;
+    private volatile Thread waitingProducer = null;
+
+    /**
+     * @param minimumCapacity at least 1, the number of elements that can be in the ring at once,
+     *        rounded up to a power of 2
+     * @param slotSupplier never null
+     */
+    SingleProducerSingleConsumerRing(int minimumCapacity, Supplier<Slot_> slotSupplier) {
+        if (minimumCapacity < 1) {
+            throw new IllegalArgumentException("The minimumCapacity (" + minimumCapacity + ") must be at least 1.");
+        }
+        int capacity = Integer.highestOneBit(minimumCapacity);
+        if (capacity < minimumCapacity) {
+            capacity <<= 1;
+        }
+        slots = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = slotSupplier.get();
+        }
+        mask = capacity - 1;
+    }
+
+    // ************************************************************************
+    // Producer
+    // ************************************************************************
+
+    /**
+     * Only called by the producer thread.
+     * Fails fast if the ring is full, because its capacity must exceed the number of elements in circulation.
+     *
+     * @return never null, the slot to fill before calling {@link #publish()}
+     */
+    Slot_ claim() {
+        long sequence = tail;
+        if (sequence - head >= slots.length) {
+            throw new IllegalStateException("Impossible state: the ring (" + this + ") is full.");
+        }
+        return (Slot_) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Only called by the producer thread. Waits until the ring is not full.
+     * Unlike {@link #awaitPeek(Runnable)}, it isn't interruptible: a full ring always has elements for the consumer
+     * to release, so the wait ends unless the consumer fails, which the failFastCheck must detect.
+     * The interrupted status is kept.
+     *
+     * @param failFastCheck null or called whenever the ring is full, before waiting, to throw an exception instead
+     * @return never null, the slot to fill before calling {@link #publish()}
+     */
+    Slot_ awaitClaim(Runnable failFastCheck) {
+        long sequence = tail;
+        if (sequence - head < slots.length) {
+            return (Slot_) slots[(int) sequence & mask];
+        }
+        boolean interrupted = false;
+        // Announce the wait before the last check, so the consumer either releases before that check or unparks
+        waitingProducer = Thread.currentThread();
+        try {
+            while (sequence - head >= slots.length) {
+                if (failFastCheck != null) {
+                    failFastCheck.run();
+                }
+                LockSupport.park(this);
+                // Clear the interrupted status, otherwise park() returns immediately
+                interrupted |= Thread.interrupted();
+            }
+        } finally {
+            waitingProducer = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return (Slot_) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Only called by the producer thread, after filling the slot of {@link #claim()} or {@link #awaitClaim(Runnable)}.
+     */
+    void publish() {
+        // The volatile write makes the slot content visible to the consumer before the new tail.
+        tail = tail + 1L;
+        unparkWaitingConsumer();
+    }
+
+    /**
+     * This method is thread-safe.
+     * Wakes up the consumer if it waits in {@link #awaitPeek(Runnable)}, so it checks its fail fast condition again.
+     */
+    void unparkWaitingConsumer() {
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * This method is thread-safe.
+     * Wakes up the producer if it waits in {@link #awaitClaim(Runnable)}, so it checks its fail fast condition again.
+     */
+    void unparkWaitingProducer() {
+        Thread producer = waitingProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    // ************************************************************************
+    // Consumer
+    // ************************************************************************
+
+    /**
+     * Only called by the consumer thread.
+     *
+     * @return null if the ring is empty, otherwise the oldest slot that hasn't been released yet
+     */
+    Slot_ peek() {
+        long sequence = head;
+        if (sequence == tail) {
+            return null;
+        }
+        return (Slot_) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Only called by the consumer thread. Blocks until the ring is not empty.
+     *
+     * @param failFastCheck null or called whenever the ring is empty, before waiting, to throw an exception instead
+     * @return never null, the oldest slot that hasn't been released yet
+     * @throws InterruptedException if interrupted
+     */
+    Slot_ awaitPeek(Runnable failFastCheck) throws InterruptedException {
+        Slot_ slot = peek();
+        if (slot != null) {
+            return slot;
+        }
+        for (int i = 0; i < SPIN_COUNT; i++) {
+            Thread.onSpinWait();
+            slot = peek();
+            if (slot != null) {
+                return slot;
+            }
+        }
+        // Announce the wait before the last check, so the producer either publishes before that check or unparks
+        waitingConsumer = Thread.currentThread();
+        try {
+            while (true) {
+                slot = peek();
+                if (slot != null) {
+                    return slot;
+                }
+                if (failFastCheck != null) {
+                    failFastCheck.run();
+                }
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    /**
+     * Only called by the consumer thread, when it no longer reads the slot of {@link #peek()}.
+     */
+    void release() {
+        long sequence = head;
+        if (sequence == tail) {
+            throw new IllegalStateException("Impossible state: the ring (" + this + ") is empty.");
+        }
+        head = sequence + 1L;
+        unparkWaitingProducer();
+    }
+
+    /**
+     * Only called by the consumer thread. Releases every slot that has been published so far.
+     */
+    void releaseAll() {
+        head = tail;
+        unparkWaitingProducer();
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + (tail - head) + ", capacity = " + slots.length;
+    }
+
+}
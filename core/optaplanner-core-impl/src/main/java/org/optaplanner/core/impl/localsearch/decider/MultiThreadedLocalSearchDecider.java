@@ -22,8 +22,6 @@ package org.optaplanner.core.impl.localsearch.decider;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -36,10 +34,8 @@ import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.heuristic.thread.ApplyStepOperation;
 import org.optaplanner.core.impl.heuristic.thread.DestroyOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveEvaluationOperation;
-import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPipeline;
 import org.optaplanner.core.impl.heuristic.thread.MoveThreadRunner;
-import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
 import org.optaplanner.core.impl.heuristic.thread.SetupOperation;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
 import org.optaplanner.core.impl.localsearch.decider.forager.LocalSearchForager;
@@ -64,8 +60,7 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
     protected boolean assertExpectedStepScore = false;
     protected boolean assertShadowVariablesAreNotStaleAfterStep = false;
 
-    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
-    protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    protected MoveThreadPipeline<Solution_> pipeline;
     protected CyclicBarrier moveThreadBarrier;
     protected ExecutorService executor;
     protected List<MoveThreadRunner<Solution_, ?>> moveThreadRunnerList;
@@ -94,10 +89,7 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
     @Override
     public void phaseStarted(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseStarted(phaseScope);
-        // Capacity: number of moves in circulation + number of setup xor step operations + number of destroy operations
-        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount + moveThreadCount);
-        // Capacity: number of moves in circulation + number of exception handling results
-        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
+        pipeline = new MoveThreadPipeline<>(moveThreadCount, selectedMoveBufferSize);
         moveThreadBarrier = new CyclicBarrier(moveThreadCount);
         InnerScoreDirector<Solution_, ?> scoreDirector = phaseScope.getScoreDirector();
         executor = createThreadPoolExecutor();
@@ -105,12 +97,12 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
         for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
             MoveThreadRunner<Solution_, ?> moveThreadRunner = new MoveThreadRunner<>(
                     logIndentation, moveThreadIndex, true,
-                    operationQueue, resultQueue, moveThreadBarrier,
+                    pipeline, moveThreadBarrier,
                     assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
                     assertStepScoreFromScratch, assertExpectedStepScore, assertShadowVariablesAreNotStaleAfterStep);
             moveThreadRunnerList.add(moveThreadRunner);
             executor.submit(moveThreadRunner);
-            operationQueue.add(new SetupOperation<>(scoreDirector));
+            pipeline.addOperation(moveThreadIndex, new SetupOperation<>(scoreDirector));
         }
     }
 
@@ -118,11 +110,10 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
     public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
         // Tell the move thread runners to stop
-        // Don't clear the operationsQueue to avoid moveThreadBarrier deadlock:
-        // The MoveEvaluationOperations are already cleared and the new ApplyStepOperation isn't added yet.
+        // The remaining MoveEvaluationOperations are already skipped and the new ApplyStepOperation isn't added yet.
         DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
         for (int i = 0; i < moveThreadCount; i++) {
-            operationQueue.add(destroyOperation);
+            pipeline.addOperation(i, destroyOperation);
         }
         shutdownMoveThreads();
         long childThreadsScoreCalculationCount = 0;
@@ -130,8 +121,7 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
             childThreadsScoreCalculationCount += moveThreadRunner.getCalculationCount();
         }
         phaseScope.addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
-        operationQueue = null;
-        resultQueue = null;
+        pipeline = null;
         moveThreadRunnerList = null;
     }
 
@@ -155,7 +145,7 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
     @Override
     public void decideNextStep(LocalSearchStepScope<Solution_> stepScope) {
         int stepIndex = stepScope.getStepIndex();
-        resultQueue.startNextStep(stepIndex);
+        pipeline.startNextStep(stepIndex);
 
         int selectMoveIndex = 0;
         int movesInPlay = 0;
@@ -173,16 +163,20 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
             }
             if (hasNextMove) {
                 Move<Solution_> move = moveIterator.next();
-                operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectMoveIndex, move));
+                pipeline.addMoveEvaluation(stepIndex, selectMoveIndex, move);
                 selectMoveIndex++;
                 movesInPlay++;
             }
         } while (movesInPlay > 0);
 
         // Do not evaluate the remaining selected moves for this step that haven't started evaluation yet
-        operationQueue.clear();
+        pipeline.skipRemainingMoveEvaluations(stepIndex);
         pickMove(stepScope);
         // Start doing the step on every move thread. Don't wait for the stepEnded() event.
+        // No move thread waits for the others after doing the step, so each one starts on the next step's moves
+        // as soon as it receives them. Those moves aren't evaluated speculatively before the step is picked:
+        // they are selected from the working solution after the step, and selecting them any earlier
+        // would consume the move selectors' random state differently and break reproducibility.
         if (stepScope.getStep() != null) {
             InnerScoreDirector<Solution_, ?> scoreDirector = stepScope.getScoreDirector();
             if (scoreDirector.requiresFlushing() && stepIndex % 100 == 99) {
@@ -194,15 +188,15 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
             ApplyStepOperation<Solution_, ?> stepOperation =
                     new ApplyStepOperation<>(stepIndex + 1, stepScope.getStep(), (Score) stepScope.getScore());
             for (int i = 0; i < moveThreadCount; i++) {
-                operationQueue.add(stepOperation);
+                pipeline.addOperation(i, stepOperation);
             }
         }
     }
 
     private boolean forageResult(LocalSearchStepScope<Solution_> stepScope, int stepIndex) {
-        OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
+        MoveThreadPipeline.MoveResult<Solution_> result;
         try {
-            result = resultQueue.take();
+            result = pipeline.take();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return true;
@@ -211,7 +205,8 @@ public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecid
             throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
                     + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
         }
-        Move<Solution_> foragingMove = result.getMove().rebase(stepScope.getScoreDirector());
+        // The move was selected on this solver thread, so it needs no rebase
+        Move<Solution_> foragingMove = result.getMove();
         int foragingMoveIndex = result.getMoveIndex();
         LocalSearchMoveScope<Solution_> moveScope = new LocalSearchMoveScope<>(stepScope, foragingMoveIndex, foragingMove);
         if (!result.isMoveDoable()) {
@@ -21,9 +21,12 @@ package org.optaplanner.core.impl.partitionedsearch.scope;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.domain.solution.ProblemFactCollectionProperty;
@@ -31,12 +34,17 @@ import org.optaplanner.core.api.score.director.ScoreDirector;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.ListVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.util.Pair;
 
 /**
  * Applies a new best solution from a partition child solver into the global working solution of the parent solver.
+ * <p>
+ * The value of a {@link ListVariableDescriptor list variable} is a copy of the entity's list,
+ * which is rebased element by element,
+ * so the move never shares a list with the working solution it was created from or applied to.
  *
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
  */
@@ -62,7 +70,9 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
             if (entityDescriptor.isMovable(scoreDirector, entity)) {
                 for (GenuineVariableDescriptor<Solution_> variableDescriptor : entityDescriptor
                         .getGenuineVariableDescriptorList()) {
-                    Object value = variableDescriptor.getValue(entity);
+                    Object value = variableDescriptor.isListVariable()
+                            ? List.copyOf(((ListVariableDescriptor<Solution_>) variableDescriptor).getListVariable(entity))
+                            : variableDescriptor.getValue(entity);
                     changeMap.get(variableDescriptor).add(Pair.of(entity, value));
                 }
             }
@@ -84,6 +94,11 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
         InnerScoreDirector<Solution_, ?> innerScoreDirector = (InnerScoreDirector<Solution_, ?>) scoreDirector;
         for (Map.Entry<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> entry : changeMap.entrySet()) {
             GenuineVariableDescriptor<Solution_> variableDescriptor = entry.getKey();
+            if (variableDescriptor.isListVariable()) {
+                changeListVariable(innerScoreDirector, (ListVariableDescriptor<Solution_>) variableDescriptor,
+                        entry.getValue());
+                continue;
+            }
             for (Pair<Object, Object> pair : entry.getValue()) {
                 Object entity = pair.getKey();
                 Object value = pair.getValue();
@@ -92,6 +107,52 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
         }
     }
 
+    private static <Solution_> void changeListVariable(InnerScoreDirector<Solution_, ?> scoreDirector,
+            ListVariableDescriptor<Solution_> variableDescriptor, List<Pair<Object, Object>> pairList) {
+        // An element can move from one entity to another, so first empty every list and then fill them again.
+        Set<Object> newAssignedElementSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Pair<Object, Object> pair : pairList) {
+            newAssignedElementSet.addAll((List<Object>) pair.getValue());
+        }
+        Set<Object> oldAssignedElementSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Pair<Object, Object> pair : pairList) {
+            Object entity = pair.getKey();
+            List<Object> listVariable = variableDescriptor.getListVariable(entity);
+            List<Object> unassignedElementList = new ArrayList<>();
+            for (Object element : listVariable) {
+                oldAssignedElementSet.add(element);
+                if (!newAssignedElementSet.contains(element)) {
+                    unassignedElementList.add(element);
+                }
+            }
+            scoreDirector.beforeListVariableChanged(variableDescriptor, entity, 0, listVariable.size());
+            unassignedElementList.forEach(element -> scoreDirector.beforeListVariableElementUnassigned(
+                    variableDescriptor, element));
+            listVariable.clear();
+            unassignedElementList.forEach(element -> scoreDirector.afterListVariableElementUnassigned(
+                    variableDescriptor, element));
+            scoreDirector.afterListVariableChanged(variableDescriptor, entity, 0, 0);
+        }
+        for (Pair<Object, Object> pair : pairList) {
+            Object entity = pair.getKey();
+            List<Object> newListVariable = (List<Object>) pair.getValue();
+            List<Object> assignedElementList = new ArrayList<>();
+            for (Object element : newListVariable) {
+                if (!oldAssignedElementSet.contains(element)) {
+                    assignedElementList.add(element);
+                }
+            }
+            List<Object> listVariable = variableDescriptor.getListVariable(entity);
+            scoreDirector.beforeListVariableChanged(variableDescriptor, entity, 0, 0);
+            assignedElementList.forEach(element -> scoreDirector.beforeListVariableElementAssigned(
+                    variableDescriptor, element));
+            listVariable.addAll(newListVariable);
+            assignedElementList.forEach(element -> scoreDirector.afterListVariableElementAssigned(
+                    variableDescriptor, element));
+            scoreDirector.afterListVariableChanged(variableDescriptor, entity, 0, listVariable.size());
+        }
+    }
+
     @Override
     public boolean isMoveDoable(ScoreDirector<Solution_> scoreDirector) {
         return true;
@@ -118,15 +179,18 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
                             + ") cannot be null if the originEntity (" + originEntity + ") is not null.");
                 }
                 Object originValue = pair.getValue();
-                Object destinationValue = destinationScoreDirector.lookUpWorkingObject(originValue);
-                if (destinationValue == null && originValue != null) {
-                    throw new IllegalStateException("The destinationEntity (" + destinationEntity
-                            + ")'s destinationValue (" + destinationValue
-                            + ") cannot be null if the originEntity (" + originEntity
-                            + ")'s originValue (" + originValue + ") is not null.\n"
-                            + "Maybe add the originValue (" + originValue + ") of class (" + originValue.getClass()
-                            + ") as problem fact in the planning solution with a "
-                            + ProblemFactCollectionProperty.class.getSimpleName() + " annotation.");
+                Object destinationValue;
+                if (variableDescriptor.isListVariable()) {
+                    List<Object> originElementList = (List<Object>) originValue;
+                    List<Object> destinationElementList = new ArrayList<>(originElementList.size());
+                    for (Object originElement : originElementList) {
+                        destinationElementList.add(lookUpDestinationValue(destinationScoreDirector,
+                                destinationEntity, originEntity, originElement));
+                    }
+                    destinationValue = Collections.unmodifiableList(destinationElementList);
+                } else {
+                    destinationValue = lookUpDestinationValue(destinationScoreDirector,
+                            destinationEntity, originEntity, originValue);
                 }
                 destinationPairList.add(Pair.of(destinationEntity, destinationValue));
             }
@@ -135,6 +199,21 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
         return new PartitionChangeMove<>(destinationChangeMap, partIndex);
     }
 
+    private static Object lookUpDestinationValue(ScoreDirector<?> destinationScoreDirector,
+            Object destinationEntity, Object originEntity, Object originValue) {
+        Object destinationValue = destinationScoreDirector.lookUpWorkingObject(originValue);
+        if (destinationValue == null && originValue != null) {
+            throw new IllegalStateException("The destinationEntity (" + destinationEntity
+                    + ")'s destinationValue (" + destinationValue
+                    + ") cannot be null if the originEntity (" + originEntity
+                    + ")'s originValue (" + originValue + ") is not null.\n"
+                    + "Maybe add the originValue (" + originValue + ") of class (" + originValue.getClass()
+                    + ") as problem fact in the planning solution with a "
+                    + ProblemFactCollectionProperty.class.getSimpleName() + " annotation.");
+        }
+        return destinationValue;
+    }
+
     @Override
     public Collection<? extends Object> getPlanningEntities() {
         throw new UnsupportedOperationException("Impossible situation: " + PartitionChangeMove.class.getSimpleName()
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.impl.heuristic.HeuristicConfigPolicy;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.phase.AbstractPhase;
+import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.phase.PhaseFactory;
+import org.optaplanner.core.impl.portfoliosearch.event.PortfolioSearchPhaseLifecycleListener;
+import org.optaplanner.core.impl.portfoliosearch.exchange.BestSolutionExchange;
+import org.optaplanner.core.impl.portfoliosearch.exchange.BestSolutionExchangeTermination;
+import org.optaplanner.core.impl.portfoliosearch.scope.PortfolioSearchPhaseScope;
+import org.optaplanner.core.impl.portfoliosearch.scope.PortfolioSearchStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecallerFactory;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.ChildThreadPlumbingTermination;
+import org.optaplanner.core.impl.solver.termination.OrCompositeTermination;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+import org.optaplanner.core.impl.solver.thread.ThreadUtils;
+
+/**
+ * Default implementation of {@link PortfolioSearchPhase}.
+ * <p>
+ * Every worker starts from a copy of the best solution, with its own score director, random seed and phases,
+ * and solves the whole problem until the phase terminates.
+ * Each new best solution of a worker that improves the global best solution is applied on the solver thread,
+ * so the {@link BestSolutionRecaller} of the solver keeps the best solution of all workers.
+ * A worker whose best solution is worse than the global best solution
+ * continues from the global best solution at most once per exchange interval,
+ * see {@link BestSolutionExchangeTermination}.
+ * The workers don't share anything else, to stay as diverse as possible.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class DefaultPortfolioSearchPhase<Solution_> extends AbstractPhase<Solution_>
+        implements PortfolioSearchPhase<Solution_>, PortfolioSearchPhaseLifecycleListener<Solution_> {
+
+    protected final ThreadFactory threadFactory;
+    protected final int workerCount;
+    protected final long exchangeIntervalMillis;
+
+    protected final List<List<PhaseConfig>> workerPhaseConfigLists;
+    protected final HeuristicConfigPolicy<Solution_> configPolicy;
+
+    private DefaultPortfolioSearchPhase(Builder<Solution_> builder) {
+        super(builder);
+        threadFactory = builder.threadFactory;
+        workerCount = builder.workerPhaseConfigLists.size();
+        exchangeIntervalMillis = builder.exchangeIntervalMillis;
+        workerPhaseConfigLists = builder.workerPhaseConfigLists;
+        configPolicy = builder.configPolicy;
+    }
+
+    @Override
+    public String getPhaseTypeString() {
+        return "Portfolio Search";
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void solve(SolverScope<Solution_> solverScope) {
+        PortfolioSearchPhaseScope<Solution_> phaseScope = new PortfolioSearchPhaseScope<>(solverScope);
+        phaseScope.setWorkerCount(workerCount);
+        phaseStarted(phaseScope);
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, threadFactory);
+        ChildThreadPlumbingTermination<Solution_> childThreadPlumbingTermination =
+                new ChildThreadPlumbingTermination<>();
+        InnerScoreDirector<Solution_, ?> parentScoreDirector = solverScope.getScoreDirector();
+        BestSolutionExchange<Solution_> bestSolutionExchange =
+                new BestSolutionExchange<>(workerCount, solverScope.getBestScore());
+        try {
+            for (int workerIndex = 0; workerIndex < workerCount; workerIndex++) {
+                int finalWorkerIndex = workerIndex;
+                // Each worker gets its own copy, so no solution instance is shared between threads
+                Solution_ workerSolution = parentScoreDirector.cloneSolution(solverScope.getBestSolution());
+                // The child solver scope takes the next seed of the working random, so the workers diverge
+                SolverScope<Solution_> workerSolverScope =
+                        solverScope.createChildThreadSolverScope(ChildThreadType.PART_THREAD);
+                BestSolutionExchangeTermination<Solution_> exchangeTermination =
+                        new BestSolutionExchangeTermination<>(bestSolutionExchange, exchangeIntervalMillis);
+                PortfolioWorkerSolver<Solution_> workerSolver = buildWorkerSolver(childThreadPlumbingTermination,
+                        workerSolverScope, solverScope, workerPhaseConfigLists.get(workerIndex), bestSolutionExchange,
+                        exchangeTermination);
+                workerSolver.addEventListener(event -> {
+                    Score newBestScore = event.getNewBestScore();
+                    if (!bestSolutionExchange.isImprovement(newBestScore)) {
+                        // Another worker has already found a solution that is at least as good
+                        return;
+                    }
+                    PartitionChangeMove<Solution_> move = PartitionChangeMove.createMove(
+                            workerSolverScope.getScoreDirector(), finalWorkerIndex);
+                    move = move.rebase(parentScoreDirector);
+                    long bestSolutionVersion = bestSolutionExchange.offerBestSolution(newBestScore, move);
+                    if (bestSolutionVersion >= 0L) {
+                        exchangeTermination.offered(bestSolutionVersion);
+                    }
+                });
+                executor.submit(() -> {
+                    try {
+                        workerSolver.solve(workerSolution);
+                        bestSolutionExchange.addFinish(workerSolver.getScoreCalculationCount());
+                    } catch (Throwable throwable) {
+                        // Any Exception or even Error that happens here (on a worker thread) must be stored
+                        // in the bestSolutionExchange in order to be propagated to the solver thread.
+                        logger.trace("{}            Worker thread ({}) exception that will be propagated to the solver thread.",
+                                logIndentation, finalWorkerIndex, throwable);
+                        bestSolutionExchange.addExceptionThrown(finalWorkerIndex, throwable);
+                    }
+                });
+            }
+            for (PartitionChangeMove<Solution_> step : bestSolutionExchange) {
+                PortfolioSearchStepScope<Solution_> stepScope = new PortfolioSearchStepScope<>(phaseScope);
+                stepStarted(stepScope);
+                stepScope.setStep(step);
+                if (logger.isDebugEnabled()) {
+                    stepScope.setStepString(step.toString());
+                }
+                doStep(stepScope);
+                stepEnded(stepScope);
+                phaseScope.setLastCompletedStepScope(stepScope);
+            }
+            phaseScope.addChildThreadsScoreCalculationCount(bestSolutionExchange.getWorkersCalculationCount());
+        } finally {
+            // In case one of the worker threads threw an Exception, it is propagated here
+            // but the other worker threads are not aware of the failure and may continue solving for a long time,
+            // so we need to ask them to terminate. In case no exception was thrown, this does nothing.
+            childThreadPlumbingTermination.terminateChildren();
+            ThreadUtils.shutdownAwaitOrKill(executor, logIndentation, "Portfolio Search");
+        }
+        phaseEnded(phaseScope);
+    }
+
+    private PortfolioWorkerSolver<Solution_> buildWorkerSolver(
+            ChildThreadPlumbingTermination<Solution_> childThreadPlumbingTermination,
+            SolverScope<Solution_> workerSolverScope, SolverScope<Solution_> solverScope,
+            List<PhaseConfig> phaseConfigList, BestSolutionExchange<Solution_> bestSolutionExchange,
+            BestSolutionExchangeTermination<Solution_> exchangeTermination) {
+        BestSolutionRecaller<Solution_> bestSolutionRecaller =
+                BestSolutionRecallerFactory.create().buildBestSolutionRecaller(configPolicy.getEnvironmentMode());
+        Termination<Solution_> workerTermination = new OrCompositeTermination<>(childThreadPlumbingTermination,
+                phaseTermination.createChildThreadTermination(solverScope, ChildThreadType.PART_THREAD));
+        // The phases also terminate when the worker needs to continue from the global best solution
+        Termination<Solution_> workerPhasesTermination =
+                new OrCompositeTermination<>(workerTermination, exchangeTermination);
+        List<Phase<Solution_>> phaseList =
+                PhaseFactory.buildPhases(phaseConfigList, configPolicy, bestSolutionRecaller, workerPhasesTermination);
+        return new PortfolioWorkerSolver<>(bestSolutionRecaller, workerTermination, phaseList, workerSolverScope,
+                bestSolutionExchange, exchangeTermination);
+    }
+
+    protected void doStep(PortfolioSearchStepScope<Solution_> stepScope) {
+        Move<Solution_> nextStep = stepScope.getStep();
+        nextStep.doMoveOnly(stepScope.getScoreDirector());
+        calculateWorkingStepScore(stepScope, nextStep);
+        solver.getBestSolutionRecaller().processWorkingSolutionDuringStep(stepScope);
+    }
+
+    @Override
+    public void stepEnded(PortfolioSearchStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        PortfolioSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{}    PFS step ({}), time spent ({}), score ({}), {} best score ({}), picked move ({}).",
+                    logIndentation,
+                    stepScope.getStepIndex(),
+                    phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                    stepScope.getScore(),
+                    (stepScope.getBestScoreImproved() ? "new" : "   "), phaseScope.getBestScore(),
+                    stepScope.getStepString());
+        }
+    }
+
+    @Override
+    public void phaseEnded(PortfolioSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseEnded(phaseScope);
+        phaseScope.endingNow();
+        logger.info("{}Portfolio Search phase ({}) ended: time spent ({}), best score ({}),"
+                + " score calculation speed ({}/sec), step total ({}), workerCount ({}).",
+                logIndentation,
+                phaseIndex,
+                phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                phaseScope.getBestScore(),
+                phaseScope.getPhaseScoreCalculationSpeed(),
+                phaseScope.getNextStepIndex(),
+                phaseScope.getWorkerCount());
+    }
+
+    public static class Builder<Solution_> extends AbstractPhase.Builder<Solution_> {
+
+        private final ThreadFactory threadFactory;
+        private final List<List<PhaseConfig>> workerPhaseConfigLists;
+        private final long exchangeIntervalMillis;
+        private final HeuristicConfigPolicy<Solution_> configPolicy;
+
+        /**
+         * @param workerPhaseConfigLists never null, the phase configs of every worker, so its size is the worker count
+         * @param exchangeIntervalMillis at least 0
+         */
+        public Builder(int phaseIndex, String logIndentation, Termination<Solution_> phaseTermination,
+                ThreadFactory threadFactory, List<List<PhaseConfig>> workerPhaseConfigLists, long exchangeIntervalMillis,
+                HeuristicConfigPolicy<Solution_> configPolicy) {
+            super(phaseIndex, logIndentation, phaseTermination);
+            this.threadFactory = threadFactory;
+            this.workerPhaseConfigLists = List.copyOf(workerPhaseConfigLists);
+            this.exchangeIntervalMillis = exchangeIntervalMillis;
+            this.configPolicy = configPolicy;
+        }
+
+        @Override
+        public DefaultPortfolioSearchPhase<Solution_> build() {
+            return new DefaultPortfolioSearchPhase<>(this);
+        }
+    }
+}
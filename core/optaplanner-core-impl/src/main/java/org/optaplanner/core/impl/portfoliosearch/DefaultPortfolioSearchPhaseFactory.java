@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch;
+
+import static org.optaplanner.core.config.portfoliosearch.PortfolioSearchPhaseConfig.WORKER_COUNT_AUTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.portfoliosearch.PortfolioSearchPhaseConfig;
+import org.optaplanner.core.config.portfoliosearch.PortfolioWorkerConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.heuristic.HeuristicConfigPolicy;
+import org.optaplanner.core.impl.phase.AbstractPhaseFactory;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DefaultPortfolioSearchPhaseFactory<Solution_>
+        extends AbstractPhaseFactory<Solution_, PortfolioSearchPhaseConfig> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultPortfolioSearchPhaseFactory.class);
+    private static final long DEFAULT_EXCHANGE_INTERVAL_MILLIS = 1000L;
+
+    public DefaultPortfolioSearchPhaseFactory(PortfolioSearchPhaseConfig phaseConfig) {
+        super(phaseConfig);
+    }
+
+    @Override
+    public PortfolioSearchPhase<Solution_> buildPhase(int phaseIndex, HeuristicConfigPolicy<Solution_> solverConfigPolicy,
+            BestSolutionRecaller<Solution_> bestSolutionRecaller, Termination<Solution_> solverTermination) {
+        HeuristicConfigPolicy<Solution_> phaseConfigPolicy = solverConfigPolicy.createPhaseConfigPolicy();
+        ThreadFactory threadFactory = solverConfigPolicy.buildThreadFactory(ChildThreadType.PART_THREAD);
+        Termination<Solution_> phaseTermination = buildPhaseTermination(phaseConfigPolicy, solverTermination);
+        List<PortfolioWorkerConfig> workerConfigList = phaseConfig.getWorkerConfigList();
+        String workerCount = phaseConfig.getWorkerCount();
+        if (workerCount == null && !ConfigUtils.isEmptyCollection(workerConfigList)) {
+            workerCount = Integer.toString(workerConfigList.size());
+        }
+        int resolvedWorkerCount = resolveWorkerCount(workerCount);
+        List<PhaseConfig> phaseConfigList_ = phaseConfig.getPhaseConfigList();
+        if (ConfigUtils.isEmptyCollection(phaseConfigList_)) {
+            phaseConfigList_ = Arrays.asList(new ConstructionHeuristicPhaseConfig(), new LocalSearchPhaseConfig());
+        }
+        List<List<PhaseConfig>> workerPhaseConfigLists = new ArrayList<>(resolvedWorkerCount);
+        for (int workerIndex = 0; workerIndex < resolvedWorkerCount; workerIndex++) {
+            List<PhaseConfig> workerPhaseConfigList = null;
+            if (!ConfigUtils.isEmptyCollection(workerConfigList)) {
+                workerPhaseConfigList = workerConfigList.get(workerIndex % workerConfigList.size()).getPhaseConfigList();
+            }
+            workerPhaseConfigLists.add(ConfigUtils.isEmptyCollection(workerPhaseConfigList)
+                    ? phaseConfigList_
+                    : workerPhaseConfigList);
+        }
+        long exchangeIntervalMillis = Objects.requireNonNullElse(phaseConfig.getExchangeIntervalMilliseconds(),
+                DEFAULT_EXCHANGE_INTERVAL_MILLIS);
+        if (exchangeIntervalMillis < 0L) {
+            throw new IllegalArgumentException("The exchangeIntervalMilliseconds (" + exchangeIntervalMillis
+                    + ") cannot be negative.");
+        }
+
+        DefaultPortfolioSearchPhase.Builder<Solution_> builder = new DefaultPortfolioSearchPhase.Builder<>(phaseIndex,
+                solverConfigPolicy.getLogIndentation(), phaseTermination, threadFactory, workerPhaseConfigLists,
+                exchangeIntervalMillis, phaseConfigPolicy.createChildThreadConfigPolicy(ChildThreadType.PART_THREAD));
+
+        EnvironmentMode environmentMode = phaseConfigPolicy.getEnvironmentMode();
+        if (environmentMode.isNonIntrusiveFullAsserted()) {
+            builder.setAssertStepScoreFromScratch(true);
+        }
+        if (environmentMode.isIntrusiveFastAsserted()) {
+            builder.setAssertExpectedStepScore(true);
+            builder.setAssertShadowVariablesAreNotStaleAfterStep(true);
+        }
+        return builder.build();
+    }
+
+    protected int resolveWorkerCount(String workerCount) {
+        int availableProcessorCount = getAvailableProcessors();
+        int resolvedWorkerCount;
+        if (workerCount == null || workerCount.equals(WORKER_COUNT_AUTO)) {
+            // Leave one for the Operating System and 1 for the solver thread, take the rest
+            resolvedWorkerCount = Math.max(1, availableProcessorCount - 2);
+        } else {
+            resolvedWorkerCount = ConfigUtils.resolvePoolSize("workerCount", workerCount, WORKER_COUNT_AUTO);
+            if (resolvedWorkerCount < 1) {
+                throw new IllegalArgumentException("The workerCount (" + workerCount
+                        + ") resulted in a resolvedWorkerCount (" + resolvedWorkerCount
+                        + ") that is lower than 1.");
+            }
+            if (resolvedWorkerCount > availableProcessorCount) {
+                LOGGER.debug("The resolvedWorkerCount ({}) is higher than "
+                        + "the availableProcessorCount ({}), so the JVM will "
+                        + "round-robin the CPU instead.", resolvedWorkerCount, availableProcessorCount);
+            }
+        }
+        return resolvedWorkerCount;
+    }
+
+    protected int getAvailableProcessors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
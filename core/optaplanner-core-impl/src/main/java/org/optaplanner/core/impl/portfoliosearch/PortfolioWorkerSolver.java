@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.partitionedsearch.PartitionSolver;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.portfoliosearch.exchange.BestSolutionExchange;
+import org.optaplanner.core.impl.portfoliosearch.exchange.BestSolutionExchangeTermination;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.Termination;
+
+/**
+ * Solves the whole problem on a portfolio worker thread.
+ * <p>
+ * Its phases also terminate on the {@link BestSolutionExchangeTermination}.
+ * If that happens before the worker itself terminates, the worker continues from the global best solution
+ * and restarts the phase that was terminated.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class PortfolioWorkerSolver<Solution_> extends PartitionSolver<Solution_> {
+
+    protected final BestSolutionExchange<Solution_> bestSolutionExchange;
+    protected final BestSolutionExchangeTermination<Solution_> exchangeTermination;
+
+    /**
+     * @param bestSolutionRecaller never null
+     * @param termination never null, terminates the worker
+     * @param phaseList never null, built with a solver termination
+     *        that also includes the exchangeTermination
+     * @param solverScope never null
+     * @param bestSolutionExchange never null
+     * @param exchangeTermination never null
+     */
+    public PortfolioWorkerSolver(BestSolutionRecaller<Solution_> bestSolutionRecaller, Termination<Solution_> termination,
+            List<Phase<Solution_>> phaseList, SolverScope<Solution_> solverScope,
+            BestSolutionExchange<Solution_> bestSolutionExchange,
+            BestSolutionExchangeTermination<Solution_> exchangeTermination) {
+        super(bestSolutionRecaller, termination, phaseList, solverScope);
+        this.bestSolutionExchange = bestSolutionExchange;
+        this.exchangeTermination = exchangeTermination;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    protected void runPhases(SolverScope<Solution_> solverScope) {
+        if (!solverScope.getSolutionDescriptor().hasMovableEntities(solverScope.getScoreDirector())) {
+            logger.info("Skipped all phases ({}): out of {} planning entities, none are movable (non-pinned).",
+                    phaseList.size(),
+                    solverScope.getSolutionDescriptor().getEntityCount(solverScope.getWorkingSolution()));
+            return;
+        }
+        int phaseIndex = 0;
+        while (!solverTermination.isSolverTerminated(solverScope) && phaseIndex < phaseList.size()) {
+            Phase<Solution_> phase = phaseList.get(phaseIndex);
+            phase.solve(solverScope);
+            if (exchangeTermination.isTriggered()) {
+                if (!solverTermination.isSolverTerminated(solverScope)) {
+                    // Restart the terminated phase from the global best solution.
+                    continueFromGlobalBestSolution(solverScope);
+                }
+                continue;
+            }
+            phaseIndex++;
+            // If there is a next phase, it starts from the best solution, which might differ from the working solution.
+            // If there isn't, no need to planning clone the best solution to the working solution.
+            if (phaseIndex < phaseList.size()) {
+                solverScope.setWorkingSolutionFromBestSolution();
+            }
+        }
+    }
+
+    private void continueFromGlobalBestSolution(SolverScope<Solution_> solverScope) {
+        // Read the version first, so a newer move is at worst exchanged again.
+        long bestSolutionVersion = bestSolutionExchange.getBestSolutionVersion();
+        PartitionChangeMove<Solution_> bestMove = bestSolutionExchange.getBestMove();
+        if (bestMove == null) {
+            throw new IllegalStateException("Impossible state: the bestSolutionExchange has version ("
+                    + bestSolutionVersion + ") but no bestMove.");
+        }
+        InnerScoreDirector<Solution_, ?> scoreDirector = solverScope.getScoreDirector();
+        // The move changes every movable entity, so it doesn't matter which solution the terminated phase left behind.
+        bestMove.rebase(scoreDirector).doMoveOnly(scoreDirector);
+        scoreDirector.calculateScore();
+        // The global best solution is at least as good as the best solution of this worker.
+        bestSolutionRecaller.updateBestSolutionAndFire(solverScope);
+        exchangeTermination.exchanged(bestSolutionVersion);
+        logger.debug("Portfolio worker continues from the global best solution with score ({}).",
+                solverScope.getBestScore());
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch.exchange;
+
+import java.util.Iterator;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.selector.common.iterator.UpcomingSelectionIterator;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+
+/**
+ * Passes the new best solutions of the worker threads to the solver thread and to the other worker threads.
+ * Only a solution that is better than every solution offered before it is kept,
+ * and if the solver thread hasn't taken it yet when a better one is offered, it is replaced.
+ * So the solver thread only ever applies improvements of the global best solution.
+ * Every kept solution gets the next {@link #getBestSolutionVersion() version},
+ * so a worker knows if the global best solution is better than its own without comparing scores,
+ * and can continue from it with {@link #getBestMove()}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class BestSolutionExchange<Solution_> implements Iterable<PartitionChangeMove<Solution_>> {
+
+    private volatile Score bestScore;
+    private volatile long bestSolutionVersion = 0L;
+    private PartitionChangeMove<Solution_> bestMove = null;
+    private PartitionChangeMove<Solution_> pendingMove = null;
+
+    private int openWorkerCount;
+    private long workersCalculationCount = 0L;
+    private int failedWorkerIndex = -1;
+    private Throwable throwable = null;
+
+    /**
+     * @param workerCount at least 1
+     * @param bestScore never null, the score of the solution that every worker starts from
+     */
+    public BestSolutionExchange(int workerCount, Score bestScore) {
+        this.openWorkerCount = workerCount;
+        this.bestScore = bestScore;
+    }
+
+    /**
+     * This method is thread-safe.
+     * A worker calls it to avoid creating a move for a solution that will be ignored anyway.
+     *
+     * @param score never null
+     * @return true if a solution with that score would be kept by {@link #offerBestSolution(Score, PartitionChangeMove)}
+     */
+    public boolean isImprovement(Score score) {
+        return score.compareTo(bestScore) > 0;
+    }
+
+    /**
+     * This method is thread-safe.
+     * Ignored if another worker has already offered a solution that is at least as good.
+     *
+     * @param score never null, the score of the worker's new best solution
+     * @param move never null, changes the working solution of the solver thread into the worker's new best solution
+     * @return the {@link #getBestSolutionVersion() version} of the offered solution, or -1 if it is ignored
+     */
+    public synchronized long offerBestSolution(Score score, PartitionChangeMove<Solution_> move) {
+        if (!isImprovement(score)) {
+            return -1L;
+        }
+        bestScore = score;
+        bestMove = move;
+        pendingMove = move;
+        bestSolutionVersion++;
+        notifyAll();
+        return bestSolutionVersion;
+    }
+
+    /**
+     * This method is thread-safe.
+     *
+     * @return at least 0, incremented by every solution that {@link #offerBestSolution(Score, PartitionChangeMove)}
+     *         keeps, 0 if the global best solution is still the solution that every worker starts from
+     */
+    public long getBestSolutionVersion() {
+        return bestSolutionVersion;
+    }
+
+    /**
+     * This method is thread-safe.
+     * A worker rebases the move to its own score director to continue from the global best solution.
+     * The move is never changed, so multiple workers can rebase it at the same time.
+     *
+     * @return null if the global best solution is still the solution that every worker starts from,
+     *         otherwise the move of the global best solution,
+     *         which is at least as recent as the {@link #getBestSolutionVersion() version} read before it
+     */
+    public synchronized PartitionChangeMove<Solution_> getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * This method is thread-safe.
+     *
+     * @param workerCalculationCount at least 0
+     */
+    public synchronized void addFinish(long workerCalculationCount) {
+        openWorkerCount--;
+        workersCalculationCount += workerCalculationCount;
+        notifyAll();
+    }
+
+    /**
+     * This method is thread-safe.
+     * The iteration throws an exception instead of returning the next move.
+     *
+     * @param workerIndex {@code 0 <= workerIndex < workerCount}
+     * @param throwable never null
+     */
+    public synchronized void addExceptionThrown(int workerIndex, Throwable throwable) {
+        if (this.throwable == null) {
+            this.failedWorkerIndex = workerIndex;
+            this.throwable = throwable;
+        }
+        notifyAll();
+    }
+
+    @Override
+    public Iterator<PartitionChangeMove<Solution_>> iterator() {
+        return new BestSolutionExchangeIterator();
+    }
+
+    private class BestSolutionExchangeIterator extends UpcomingSelectionIterator<PartitionChangeMove<Solution_>> {
+
+        @Override
+        protected PartitionChangeMove<Solution_> createUpcomingSelection() {
+            synchronized (BestSolutionExchange.this) {
+                while (true) {
+                    if (throwable != null) {
+                        throw new IllegalStateException("The portfolio worker thread with workerIndex ("
+                                + failedWorkerIndex + ") has thrown an exception."
+                                + " Relayed here in the parent thread.",
+                                throwable);
+                    }
+                    if (pendingMove != null) {
+                        PartitionChangeMove<Solution_> move = pendingMove;
+                        pendingMove = null;
+                        return move;
+                    }
+                    if (openWorkerCount <= 0) {
+                        return noUpcomingSelection();
+                    }
+                    try {
+                        BestSolutionExchange.this.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Solver thread was interrupted in Portfolio Search.", e);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Only reliable after the iteration has ended.
+     *
+     * @return at least 0
+     */
+    public synchronized long getWorkersCalculationCount() {
+        return workersCalculationCount;
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch.exchange;
+
+import java.time.Clock;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.solver.termination.AbstractTermination;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.ChildThreadType;
+
+/**
+ * Terminates the phases of a portfolio worker
+ * when the {@link BestSolutionExchange} holds a better solution than the worker's best solution,
+ * but at most once per exchange interval,
+ * so the worker can continue from that global best solution.
+ * <p>
+ * The worker's own solutions are not compared by score:
+ * every solution that the exchange keeps is better than the ones before it,
+ * so the worker only needs to remember the {@link BestSolutionExchange#getBestSolutionVersion() version}
+ * that it has offered or continued from.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class BestSolutionExchangeTermination<Solution_> extends AbstractTermination<Solution_> {
+
+    private final BestSolutionExchange<Solution_> bestSolutionExchange;
+    private final long exchangeIntervalMillis;
+    private final Clock clock;
+
+    private volatile long knownBestSolutionVersion = 0L;
+    private volatile long lastExchangeTimeMillis;
+    private volatile boolean triggered = false;
+
+    public BestSolutionExchangeTermination(BestSolutionExchange<Solution_> bestSolutionExchange,
+            long exchangeIntervalMillis) {
+        this(bestSolutionExchange, exchangeIntervalMillis, Clock.systemUTC());
+    }
+
+    protected BestSolutionExchangeTermination(BestSolutionExchange<Solution_> bestSolutionExchange,
+            long exchangeIntervalMillis, Clock clock) {
+        this.bestSolutionExchange = bestSolutionExchange;
+        this.exchangeIntervalMillis = exchangeIntervalMillis;
+        if (exchangeIntervalMillis < 0L) {
+            throw new IllegalArgumentException("The exchangeIntervalMillis (" + exchangeIntervalMillis
+                    + ") cannot be negative.");
+        }
+        this.clock = clock;
+        this.lastExchangeTimeMillis = clock.millis();
+    }
+
+    // ************************************************************************
+    // Exchange methods
+    // ************************************************************************
+
+    /**
+     * Called when the worker's own new best solution is kept by the exchange.
+     *
+     * @param bestSolutionVersion at least 1
+     */
+    public void offered(long bestSolutionVersion) {
+        if (bestSolutionVersion > knownBestSolutionVersion) {
+            knownBestSolutionVersion = bestSolutionVersion;
+        }
+    }
+
+    /**
+     * Called when the worker continues from the global best solution.
+     *
+     * @param bestSolutionVersion at least 0, the version read before the move of the global best solution
+     */
+    public void exchanged(long bestSolutionVersion) {
+        offered(bestSolutionVersion);
+        lastExchangeTimeMillis = clock.millis();
+        triggered = false;
+    }
+
+    /**
+     * @return true if this termination has terminated a phase since the last {@link #exchanged(long)}
+     */
+    public boolean isTriggered() {
+        return triggered;
+    }
+
+    // ************************************************************************
+    // Terminated methods
+    // ************************************************************************
+
+    @Override
+    public boolean isSolverTerminated(SolverScope<Solution_> solverScope) {
+        if (triggered) {
+            return true;
+        }
+        if (bestSolutionExchange.getBestSolutionVersion() <= knownBestSolutionVersion) {
+            return false;
+        }
+        if (clock.millis() - lastExchangeTimeMillis < exchangeIntervalMillis) {
+            return false;
+        }
+        triggered = true;
+        return true;
+    }
+
+    @Override
+    public boolean isPhaseTerminated(AbstractPhaseScope<Solution_> phaseScope) {
+        throw new IllegalStateException(BestSolutionExchangeTermination.class.getSimpleName()
+                + " configured only as solver termination."
+                + " It is always bridged to phase termination.");
+    }
+
+    // ************************************************************************
+    // Time gradient methods
+    // ************************************************************************
+
+    @Override
+    public double calculateSolverTimeGradient(SolverScope<Solution_> solverScope) {
+        return -1.0; // Not supported
+    }
+
+    @Override
+    public double calculatePhaseTimeGradient(AbstractPhaseScope<Solution_> phaseScope) {
+        throw new IllegalStateException(BestSolutionExchangeTermination.class.getSimpleName()
+                + " configured only as solver termination."
+                + " It is always bridged to phase termination.");
+    }
+
+    // ************************************************************************
+    // Other methods
+    // ************************************************************************
+
+    @Override
+    public Termination<Solution_> createChildThreadTermination(SolverScope<Solution_> solverScope,
+            ChildThreadType childThreadType) {
+        // It ignores the solverScope, so the child threads of the worker stop together with the worker's phase.
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BestSolutionExchange(" + exchangeIntervalMillis + ")";
+    }
+
+}
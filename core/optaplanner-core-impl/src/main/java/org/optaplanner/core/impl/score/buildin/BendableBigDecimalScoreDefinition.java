@@ -23,14 +23,35 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.stream.Stream;
 
+import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
 import org.optaplanner.core.impl.score.definition.AbstractBendableScoreDefinition;
 import org.optaplanner.core.impl.score.trend.InitializingScoreTrend;
 
 public class BendableBigDecimalScoreDefinition extends AbstractBendableScoreDefinition<BendableBigDecimalScore> {
 
+    private final int scale;
+
     public BendableBigDecimalScoreDefinition(int hardLevelsSize, int softLevelsSize) {
+        this(hardLevelsSize, softLevelsSize, PlanningScore.NO_BIG_DECIMAL_SCALE);
+    }
+
+    /**
+     * @param hardLevelsSize 0 or higher
+     * @param softLevelsSize 0 or higher
+     * @param scale 0 or higher, or {@link PlanningScore#NO_BIG_DECIMAL_SCALE}
+     */
+    public BendableBigDecimalScoreDefinition(int hardLevelsSize, int softLevelsSize, int scale) {
         super(hardLevelsSize, softLevelsSize);
+        this.scale = scale;
+    }
+
+    /**
+     * @return 0 or higher, or {@link PlanningScore#NO_BIG_DECIMAL_SCALE} if the scale is not fixed
+     * @see PlanningScore#bigDecimalScale()
+     */
+    public int getScale() {
+        return scale;
     }
 
     // ************************************************************************
@@ -22,14 +22,33 @@ package org.optaplanner.core.impl.score.buildin;
 import java.math.BigDecimal;
 import java.util.Arrays;
 
+import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
 import org.optaplanner.core.impl.score.definition.AbstractScoreDefinition;
 import org.optaplanner.core.impl.score.trend.InitializingScoreTrend;
 
 public class HardSoftBigDecimalScoreDefinition extends AbstractScoreDefinition<HardSoftBigDecimalScore> {
 
+    private final int scale;
+
     public HardSoftBigDecimalScoreDefinition() {
+        this(PlanningScore.NO_BIG_DECIMAL_SCALE);
+    }
+
+    /**
+     * @param scale 0 or higher, or {@link PlanningScore#NO_BIG_DECIMAL_SCALE}
+     */
+    public HardSoftBigDecimalScoreDefinition(int scale) {
         super(new String[] { "hard score", "soft score" });
+        this.scale = scale;
+    }
+
+    /**
+     * @return 0 or higher, or {@link PlanningScore#NO_BIG_DECIMAL_SCALE} if the scale is not fixed
+     * @see PlanningScore#bigDecimalScale()
+     */
+    public int getScale() {
+        return scale;
     }
 
     // ************************************************************************
@@ -22,14 +22,33 @@ package org.optaplanner.core.impl.score.buildin;
 import java.math.BigDecimal;
 import java.util.Arrays;
 
+import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.score.buildin.simplebigdecimal.SimpleBigDecimalScore;
 import org.optaplanner.core.impl.score.definition.AbstractScoreDefinition;
 import org.optaplanner.core.impl.score.trend.InitializingScoreTrend;
 
 public class SimpleBigDecimalScoreDefinition extends AbstractScoreDefinition<SimpleBigDecimalScore> {
 
+    private final int scale;
+
     public SimpleBigDecimalScoreDefinition() {
+        this(PlanningScore.NO_BIG_DECIMAL_SCALE);
+    }
+
+    /**
+     * @param scale 0 or higher, or {@link PlanningScore#NO_BIG_DECIMAL_SCALE}
+     */
+    public SimpleBigDecimalScoreDefinition(int scale) {
         super(new String[] { "score" });
+        this.scale = scale;
+    }
+
+    /**
+     * @return 0 or higher, or {@link PlanningScore#NO_BIG_DECIMAL_SCALE} if the scale is not fixed
+     * @see PlanningScore#bigDecimalScale()
+     */
+    public int getScale() {
+        return scale;
     }
 
     // ************************************************************************
@@ -528,12 +528,22 @@ public abstract class AbstractScoreDirector<Solution_, Score_ extends Score<Scor
     @Override
     public void afterProblemPropertyChanged(Object problemFactOrEntity) {
         if (isConstraintConfiguration(problemFactOrEntity)) {
-            setWorkingSolution(workingSolution); // Nuke everything and recalculate, constraint weights have changed.
+            afterConstraintConfigurationChanged();
         } else {
             variableListenerSupport.resetWorkingSolution(); // TODO do not nuke the variable listeners
         }
     }
 
+    /**
+     * Called when a property of the
+     * {@link org.optaplanner.core.api.domain.constraintweight.ConstraintConfiguration} has changed,
+     * so any constraint weight might have changed.
+     * Subclasses that can apply new constraint weights incrementally should override this method.
+     */
+    protected void afterConstraintConfigurationChanged() {
+        setWorkingSolution(workingSolution); // Nuke everything and recalculate, constraint weights have changed.
+    }
+
     @Override
     public void beforeProblemFactRemoved(Object problemFact) {
         if (isConstraintConfiguration(problemFact)) {
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An immutable snapshot of the work that a single node of a constraint stream network has done so far.
+ * A node shared by multiple constraints (through node sharing) reports all of them in {@link #getConstraintIdSet()}.
+ *
+ * @see ConstraintStreamNodeProfiler
+ */
+public final class ConstraintStreamNodeProfile {
+
+    /**
+     * Splits the time spent of every node evenly across the constraints that share it,
+     * to tell which constraints are the most expensive to calculate.
+     *
+     * @param nodeProfiles never null
+     * @return never null, sorted by constraint id, in nanoseconds
+     */
+    public static Map<String, Long> sumTimeSpentNanosPerConstraintId(Collection<ConstraintStreamNodeProfile> nodeProfiles) {
+        Map<String, Long> timeSpentMap = new TreeMap<>();
+        for (ConstraintStreamNodeProfile nodeProfile : nodeProfiles) {
+            Set<String> constraintIdSet = nodeProfile.getConstraintIdSet();
+            if (constraintIdSet.isEmpty()) {
+                continue;
+            }
+            long timeSpentNanosShare = nodeProfile.getTimeSpentNanos() / constraintIdSet.size();
+            for (String constraintId : constraintIdSet) {
+                timeSpentMap.merge(constraintId, timeSpentNanosShare, Long::sum);
+            }
+        }
+        return timeSpentMap;
+    }
+
+    private final long nodeId;
+    private final String nodeType;
+    private final Set<String> constraintIdSet;
+    private final long insertCount;
+    private final long updateCount;
+    private final long retractCount;
+    private final long propagationCount;
+    private final long indexSize;
+    private final long timeSpentNanos;
+
+    public ConstraintStreamNodeProfile(long nodeId, String nodeType, Set<String> constraintIdSet,
+            long insertCount, long updateCount, long retractCount, long propagationCount,
+            long indexSize, long timeSpentNanos) {
+        this.nodeId = nodeId;
+        this.nodeType = nodeType;
+        this.constraintIdSet = Set.copyOf(constraintIdSet);
+        this.insertCount = insertCount;
+        this.updateCount = updateCount;
+        this.retractCount = retractCount;
+        this.propagationCount = propagationCount;
+        this.indexSize = indexSize;
+        this.timeSpentNanos = timeSpentNanos;
+    }
+
+    /**
+     * @return unique within a single score director
+     */
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return never null, for example {@code IndexedJoinBiNode}
+     */
+    public String getNodeType() {
+        return nodeType;
+    }
+
+    /**
+     * @return never null, the ids of the constraints that use this node,
+     *         as composed by {@link org.optaplanner.core.api.score.constraint.ConstraintMatchTotal#composeConstraintId}
+     */
+    public Set<String> getConstraintIdSet() {
+        return constraintIdSet;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of tuples this node received as inserted
+     */
+    public long getInsertCount() {
+        return insertCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of tuples this node received as updated
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of tuples this node received as retracted
+     */
+    public long getRetractCount() {
+        return retractCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of inserts, updates and retracts this node sent to the nodes downstream
+     */
+    public long getPropagationCount() {
+        return propagationCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of tuples currently held in the indexes of this node,
+     *         0 if it has no indexes
+     */
+    public long getIndexSize() {
+        return indexSize;
+    }
+
+    /**
+     * Includes the time spent in the filters and scorers directly downstream of this node,
+     * because it calls those synchronously.
+     *
+     * @return {@code >= 0}
+     */
+    public long getTimeSpentNanos() {
+        return timeSpentNanos;
+    }
+
+    @Override
+    public String toString() {
+        return nodeType + "-" + nodeId + " " + constraintIdSet
+                + " (inserts: " + insertCount + ", updates: " + updateCount + ", retracts: " + retractCount
+                + ", propagations: " + propagationCount + ", index size: " + indexSize
+                + ", time spent: " + (timeSpentNanos / 1_000_000L) + " ms)";
+    }
+
+}
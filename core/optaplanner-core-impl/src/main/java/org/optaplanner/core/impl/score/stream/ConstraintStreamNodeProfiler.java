@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import java.util.List;
+
+/**
+ * Implemented by score directors that can report the work done by every node of their constraint stream network.
+ */
+public interface ConstraintStreamNodeProfiler {
+
+    /**
+     * @return true if {@link #getNodeProfileList()} is supported
+     */
+    boolean isNodeProfilingEnabled();
+
+    /**
+     * Takes a snapshot, so it is not meant to be called after every move.
+     *
+     * @return never null, one profile per node, in the order in which the nodes calculate the score
+     * @throws IllegalStateException if {@link #isNodeProfilingEnabled()} is false
+     */
+    List<ConstraintStreamNodeProfile> getNodeProfileList();
+
+}
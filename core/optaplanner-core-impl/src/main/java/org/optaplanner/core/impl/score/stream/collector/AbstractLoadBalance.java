@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.optaplanner.core.api.score.stream.common.LoadBalance;
+
+/**
+ * Derives the {@link LoadBalance} metrics from the count, sum and sum of squares of the loads,
+ * which the subclasses maintain incrementally.
+ * Therefore a change to a single load is O(1), regardless of the number of balanced items.
+ * <p>
+ * The metrics are memoized until the next change,
+ * because the constraint stream usually reads them more than once per change.
+ *
+ * @param <Balanced_> The type of the balanced items
+ * @param <Load_> The type of the load
+ */
+abstract class AbstractLoadBalance<Balanced_, Load_> implements LoadBalance<Balanced_, Load_> {
+
+    private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+    private BigDecimal squaredDeviation = null;
+    private BigDecimal unfairness = null;
+
+    /**
+     * @return {@code >= 0}, the number of balanced items with a load
+     */
+    abstract int getBalancedCount();
+
+    /**
+     * @return never null
+     */
+    abstract BigDecimal getSumAsBigDecimal();
+
+    /**
+     * @return never null
+     */
+    abstract BigDecimal getSumOfSquaresAsBigDecimal();
+
+    final void invalidate() {
+        squaredDeviation = null;
+        unfairness = null;
+    }
+
+    @Override
+    public final BigDecimal getSquaredDeviation() {
+        if (squaredDeviation == null) {
+            int count = getBalancedCount();
+            if (count == 0) {
+                squaredDeviation = BigDecimal.ZERO;
+            } else {
+                // (n * sum(x^2) - sum(x)^2) / n is exact up to the division, so it never goes below zero.
+                BigDecimal sum = getSumAsBigDecimal();
+                BigDecimal countAsBigDecimal = BigDecimal.valueOf(count);
+                squaredDeviation = countAsBigDecimal.multiply(getSumOfSquaresAsBigDecimal())
+                        .subtract(sum.multiply(sum))
+                        .divide(countAsBigDecimal, MATH_CONTEXT);
+            }
+        }
+        return squaredDeviation;
+    }
+
+    @Override
+    public final BigDecimal getUnfairness() {
+        if (unfairness == null) {
+            unfairness = getSquaredDeviation().sqrt(MATH_CONTEXT);
+        }
+        return unfairness;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{loads=" + getLoads() + ", unfairness=" + getUnfairness() + "}";
+    }
+
+}
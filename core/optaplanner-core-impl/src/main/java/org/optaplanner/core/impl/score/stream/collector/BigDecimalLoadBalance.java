@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.optaplanner.core.api.score.stream.ConstraintCollectors;
+import org.optaplanner.core.api.score.stream.common.LoadBalance;
+
+/**
+ * The result container of the
+ * {@link ConstraintCollectors#loadBalanceBigDecimal(java.util.function.Function, java.util.function.Function)}
+ * collectors.
+ *
+ * @param <Balanced_> The type of the balanced items
+ */
+public final class BigDecimalLoadBalance<Balanced_> extends AbstractLoadBalance<Balanced_, BigDecimal> {
+
+    private final Map<Balanced_, Load> loadMap = new HashMap<>();
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    /**
+     * @param balanced never null
+     * @param load never null
+     * @return never null, undoes the addition, without looking up the balanced item again unless its load disappears
+     */
+    public Runnable add(Balanced_ balanced, BigDecimal load) {
+        Load balancedLoad = loadMap.computeIfAbsent(balanced, key -> new Load());
+        balancedLoad.contributionCount++;
+        change(balancedLoad, load);
+        return () -> remove(balanced, balancedLoad, load);
+    }
+
+    private void remove(Balanced_ balanced, Load balancedLoad, BigDecimal load) {
+        change(balancedLoad, load.negate());
+        if (--balancedLoad.contributionCount == 0) {
+            loadMap.remove(balanced);
+        }
+    }
+
+    private void change(Load balancedLoad, BigDecimal delta) {
+        BigDecimal oldLoad = balancedLoad.value;
+        BigDecimal newLoad = oldLoad.add(delta);
+        balancedLoad.value = newLoad;
+        sum = sum.add(delta);
+        sumOfSquares = sumOfSquares.add(newLoad.multiply(newLoad)).subtract(oldLoad.multiply(oldLoad));
+        invalidate();
+    }
+
+    @Override
+    public Map<Balanced_, BigDecimal> getLoads() {
+        Map<Balanced_, BigDecimal> loads = new LinkedHashMap<>(loadMap.size());
+        loadMap.forEach((balanced, balancedLoad) -> loads.put(balanced, balancedLoad.value));
+        return loads;
+    }
+
+    @Override
+    public BigDecimal getSum() {
+        return sum;
+    }
+
+    @Override
+    int getBalancedCount() {
+        return loadMap.size();
+    }
+
+    @Override
+    BigDecimal getSumAsBigDecimal() {
+        return sum;
+    }
+
+    @Override
+    BigDecimal getSumOfSquaresAsBigDecimal() {
+        return sumOfSquares;
+    }
+
+    private static final class Load {
+
+        private BigDecimal value = BigDecimal.ZERO;
+        private int contributionCount = 0;
+
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.optaplanner.core.api.score.stream.ConstraintCollectors;
+import org.optaplanner.core.api.score.stream.common.LoadBalance;
+
+/**
+ * The result container of the {@link ConstraintCollectors#loadBalance(java.util.function.Function)} collectors
+ * with a {@code long} load.
+ *
+ * @param <Balanced_> The type of the balanced items
+ */
+public final class LongLoadBalance<Balanced_> extends AbstractLoadBalance<Balanced_, Long> {
+
+    private final Map<Balanced_, Load> loadMap = new HashMap<>();
+    private long sum = 0L;
+    private long sumOfSquares = 0L;
+    /**
+     * Null as long as the sum of squares fits in {@link #sumOfSquares}, which is the common case.
+     * Once a square overflows a long, the sum of squares is kept here instead.
+     */
+    private BigInteger bigSumOfSquares = null;
+
+    /**
+     * @param balanced never null
+     * @param load any
+     * @return never null, undoes the addition, without looking up the balanced item again unless its load disappears
+     */
+    public Runnable add(Balanced_ balanced, long load) {
+        Load existingLoad = loadMap.get(balanced);
+        Load balancedLoad = existingLoad == null ? new Load() : existingLoad;
+        // Changed before it is added, so an overflow leaves no empty load behind
+        change(balancedLoad, load);
+        if (existingLoad == null) {
+            loadMap.put(balanced, balancedLoad);
+        }
+        balancedLoad.contributionCount++;
+        return () -> remove(balanced, balancedLoad, load);
+    }
+
+    private void remove(Balanced_ balanced, Load balancedLoad, long load) {
+        change(balancedLoad, -load);
+        if (--balancedLoad.contributionCount == 0) {
+            loadMap.remove(balanced);
+        }
+    }
+
+    private void change(Load balancedLoad, long delta) {
+        long oldLoad = balancedLoad.value;
+        // The loads and their sum are returned as longs, so they fail fast instead of overflowing silently
+        long newLoad = Math.addExact(oldLoad, delta);
+        long newSum = Math.addExact(sum, delta);
+        changeSumOfSquares(oldLoad, newLoad);
+        balancedLoad.value = newLoad;
+        sum = newSum;
+        invalidate();
+    }
+
+    private void changeSumOfSquares(long oldLoad, long newLoad) {
+        if (bigSumOfSquares == null) {
+            try {
+                long squareDelta = Math.subtractExact(Math.multiplyExact(newLoad, newLoad),
+                        Math.multiplyExact(oldLoad, oldLoad));
+                sumOfSquares = Math.addExact(sumOfSquares, squareDelta);
+                return;
+            } catch (ArithmeticException e) {
+                // Fall back to BigInteger arithmetic from now on
+                bigSumOfSquares = BigInteger.valueOf(sumOfSquares);
+            }
+        }
+        BigInteger bigOldLoad = BigInteger.valueOf(oldLoad);
+        BigInteger bigNewLoad = BigInteger.valueOf(newLoad);
+        bigSumOfSquares = bigSumOfSquares.add(bigNewLoad.multiply(bigNewLoad))
+                .subtract(bigOldLoad.multiply(bigOldLoad));
+    }
+
+    @Override
+    public Map<Balanced_, Long> getLoads() {
+        Map<Balanced_, Long> loads = new LinkedHashMap<>(loadMap.size());
+        loadMap.forEach((balanced, balancedLoad) -> loads.put(balanced, balancedLoad.value));
+        return loads;
+    }
+
+    @Override
+    public Long getSum() {
+        return sum;
+    }
+
+    @Override
+    int getBalancedCount() {
+        return loadMap.size();
+    }
+
+    @Override
+    BigDecimal getSumAsBigDecimal() {
+        return BigDecimal.valueOf(sum);
+    }
+
+    @Override
+    BigDecimal getSumOfSquaresAsBigDecimal() {
+        return bigSumOfSquares == null ? BigDecimal.valueOf(sumOfSquares) : new BigDecimal(bigSumOfSquares);
+    }
+
+    private static final class Load {
+
+        private long value = 0L;
+        private int contributionCount = 0;
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+
+import org.optaplanner.core.api.score.stream.ConstraintCollectors;
+import org.optaplanner.core.impl.util.MutableLong;
+
+/**
+ * The result container of the {@link ConstraintCollectors#min()}, {@link ConstraintCollectors#max()}
+ * and {@link ConstraintCollectors#toSortedSet()} collectors of every arity.
+ * It counts how many times every distinct value (according to the comparator) was added,
+ * in a balanced tree, so {@link #add(Object)} and its undo are O(log n).
+ * <p>
+ * The first and last value are cached, so {@link #first()} and {@link #last()} are O(1).
+ * Those are called by the collector's finisher every time a group changes,
+ * which for a large group is far more often than the first or last value actually changes.
+ * Removing any other value than the first or last value never touches the cache.
+ *
+ * @param <Value_> the type of the values
+ */
+public final class SortedMultiset<Value_> {
+
+    private final Comparator<? super Value_> comparator;
+    private final TreeMap<Value_, MutableLong> countMap;
+    private Value_ first = null;
+    private Value_ last = null;
+
+    public SortedMultiset(Comparator<? super Value_> comparator) {
+        this.comparator = comparator;
+        this.countMap = new TreeMap<>(comparator);
+    }
+
+    /**
+     * @param value never null
+     * @return never null, undoes the addition of that value, without looking it up again unless it is the last one
+     */
+    public Runnable add(Value_ value) {
+        MutableLong count = countMap.get(value);
+        if (count == null) {
+            count = new MutableLong();
+            if (countMap.isEmpty()) {
+                first = value;
+                last = value;
+            } else {
+                if (comparator.compare(value, first) < 0) {
+                    first = value;
+                }
+                if (comparator.compare(value, last) > 0) {
+                    last = value;
+                }
+            }
+            countMap.put(value, count);
+        }
+        count.increment();
+        MutableLong addedCount = count;
+        return () -> remove(value, addedCount);
+    }
+
+    private void remove(Value_ value, MutableLong count) {
+        long newCount = count.decrement();
+        if (newCount > 0L) {
+            return;
+        }
+        if (newCount < 0L) {
+            throw new IllegalStateException("Impossible state: the value (" + value +
+                    ") is removed more times than it was added.");
+        }
+        countMap.remove(value);
+        if (countMap.isEmpty()) {
+            first = null;
+            last = null;
+            return;
+        }
+        if (comparator.compare(value, first) == 0) {
+            first = countMap.firstKey();
+        }
+        if (comparator.compare(value, last) == 0) {
+            last = countMap.lastKey();
+        }
+    }
+
+    /**
+     * @return null if empty, otherwise the lowest value; if multiple values are equal according to the comparator,
+     *         the instance that was added when none of them were present
+     */
+    public Value_ first() {
+        return first;
+    }
+
+    /**
+     * @return null if empty, otherwise the highest value, as defined by {@link #first()}
+     */
+    public Value_ last() {
+        return last;
+    }
+
+    /**
+     * @return never null, a live view of the distinct values
+     */
+    public NavigableSet<Value_> elementSet() {
+        return countMap.navigableKeySet();
+    }
+
+    public boolean isEmpty() {
+        return countMap.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return countMap.toString();
+    }
+
+}
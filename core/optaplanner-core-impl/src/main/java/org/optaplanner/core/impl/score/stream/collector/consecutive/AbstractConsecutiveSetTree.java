@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.optaplanner.core.api.score.stream.common.Break;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveInfo;
+import org.optaplanner.core.api.score.stream.common.Sequence;
+
+/**
+ * A {@code ConsecutiveSetTree} determines what values are consecutive. A sequence
+ * <i>x<sub>1</sub>,&nbsp;x<sub>2</sub>,&nbsp;x<sub>3</sub>,&nbsp;...,&nbsp;x<sub>n</sub></i>
+ * is understood to be consecutive by <i>d</i> iff
+ * <i>x<sub>2</sub> &minus; x<sub>1</sub> &le; d, x<sub>3</sub> &minus; x<sub>2</sub> &le; d, ..., x<sub>n</sub> &minus;
+ * x<sub>n-1</sub> &le; d</i>.
+ * This data structure can be thought as an interval tree that maps the point <i>p</i> to
+ * the interval <i>[p, p + d]</i>.
+ * <p>
+ * Adding or removing a value is O(log n).
+ * The subclasses decide how the point of a value is stored and compared,
+ * so that a tree of primitive points never boxes them.
+ * The lengths of a {@link Sequence} and a {@link Break} are only calculated when queried.
+ *
+ * @param <Value_> The type of value stored (examples: shifts)
+ * @param <Difference_> The type of the difference (examples: int, Duration)
+ */
+public abstract class AbstractConsecutiveSetTree<Value_, Difference_ extends Comparable<Difference_>>
+        implements ConsecutiveInfo<Value_, Difference_> {
+
+    private final Map<Value_, SequenceItem<Value_>> valueToItemMap;
+    private final NavigableSet<SequenceItem<Value_>> itemSet;
+    private final NavigableMap<SequenceItem<Value_>, SequenceImpl<Value_, Difference_>> startItemToSequence;
+    private final NavigableMap<SequenceItem<Value_>, BreakImpl<Value_, Difference_>> startItemToPreviousBreak;
+
+    private final MapValuesIterable<SequenceItem<Value_>, SequenceImpl<Value_, Difference_>> sequenceList;
+    private final MapValuesIterable<SequenceItem<Value_>, BreakImpl<Value_, Difference_>> breakList;
+
+    AbstractConsecutiveSetTree() {
+        valueToItemMap = new HashMap<>();
+        itemSet = new TreeSet<>(this::compare);
+        startItemToSequence = new TreeMap<>(this::compare);
+        startItemToPreviousBreak = new TreeMap<>(this::compare);
+        sequenceList = new MapValuesIterable<>(startItemToSequence);
+        breakList = new MapValuesIterable<>(startItemToPreviousBreak);
+    }
+
+    // Public API
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public Iterable<Sequence<Value_, Difference_>> getConsecutiveSequences() {
+        return (Iterable) sequenceList;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public Iterable<Break<Value_, Difference_>> getBreaks() {
+        return (Iterable) breakList;
+    }
+
+    public boolean remove(Value_ value) {
+        SequenceItem<Value_> item = valueToItemMap.get(value);
+        if (item == null) { // Item not in bag.
+            return false;
+        }
+        if (item.count > 1) { // Item still in bag.
+            item.count--;
+            return true;
+        }
+        valueToItemMap.remove(value);
+        itemSet.remove(item);
+        removeItem(item);
+        return true;
+    }
+
+    // Subclass API
+
+    /**
+     * @param value never null
+     * @return true if the value was already in the bag, in which case its count is incremented
+     */
+    final boolean incrementCount(Value_ value) {
+        SequenceItem<Value_> item = valueToItemMap.get(value);
+        if (item == null) {
+            return false;
+        }
+        item.count++;
+        return true;
+    }
+
+    /**
+     * @param item never null, the item of a value that is not yet in the bag
+     */
+    final void addItem(SequenceItem<Value_> item) {
+        valueToItemMap.put(item.value, item);
+        itemSet.add(item);
+        Map.Entry<SequenceItem<Value_>, SequenceImpl<Value_, Difference_>> beforeSequenceEntry =
+                startItemToSequence.floorEntry(item);
+        if (beforeSequenceEntry == null) {
+            addBeforeFirstSequence(item);
+            return;
+        }
+        SequenceImpl<Value_, Difference_> beforeSequence = beforeSequenceEntry.getValue();
+        if (compare(item, beforeSequence.lastItem) < 0) {
+            // Item is already in the bag; do nothing
+            return;
+        }
+        // Item is outside the bag
+        SequenceItem<Value_> firstAfterItem = startItemToSequence.higherKey(item);
+        if (firstAfterItem != null) {
+            addBetweenSequences(item, beforeSequence, firstAfterItem);
+        } else if (isWithinMaxDifference(beforeSequence.lastItem, item)) {
+            // We need to extend the first bag
+            // No break since afterItem is null
+            beforeSequence.setEnd(item);
+        } else {
+            // Start a new bag of consecutive items
+            SequenceImpl<Value_, Difference_> newSequence = new SequenceImpl<>(this, item);
+            startItemToSequence.put(item, newSequence);
+            startItemToPreviousBreak.put(item, new BreakImpl<>(beforeSequence, newSequence));
+        }
+    }
+
+    /**
+     * @param a never null
+     * @param b never null
+     * @return negative, zero or positive if the point of a is before, the same as or after the point of b
+     */
+    abstract int comparePoints(SequenceItem<Value_> a, SequenceItem<Value_> b);
+
+    /**
+     * @param from never null, not after to
+     * @param to never null
+     * @return true if the point of to minus the point of from is at most the maximum difference
+     */
+    abstract boolean isWithinMaxDifference(SequenceItem<Value_> from, SequenceItem<Value_> to);
+
+    /**
+     * @param from never null, not after to
+     * @param to never null
+     * @return never null, the point of to minus the point of from
+     */
+    abstract Difference_ getBreakLength(SequenceItem<Value_> from, SequenceItem<Value_> to);
+
+    /**
+     * @param first never null, not after last
+     * @param last never null
+     * @return never null, the point of last minus the point of first, plus the maximum difference
+     */
+    abstract Difference_ getSequenceLength(SequenceItem<Value_> first, SequenceItem<Value_> last);
+
+    // Protected API
+    Break<Value_, Difference_> getBreakBefore(SequenceItem<Value_> item) {
+        return startItemToPreviousBreak.get(item);
+    }
+
+    Break<Value_, Difference_> getBreakAfter(SequenceItem<Value_> item) {
+        Map.Entry<SequenceItem<Value_>, BreakImpl<Value_, Difference_>> entry = startItemToPreviousBreak.higherEntry(item);
+        if (entry != null) {
+            return entry.getValue();
+        }
+        return null;
+    }
+
+    NavigableSet<SequenceItem<Value_>> getItemSet() {
+        return itemSet;
+    }
+
+    private int compare(SequenceItem<Value_> a, SequenceItem<Value_> b) {
+        if (a == b) {
+            return 0;
+        }
+        int comparison = comparePoints(a, b);
+        if (comparison != 0) {
+            return comparison;
+        }
+        // Identity Hashcode for duplicate protection; we must always include duplicates.
+        // Ex: two different games on the same time slot
+        return Integer.compare(a.identityHashCode, b.identityHashCode);
+    }
+
+    private void addBeforeFirstSequence(SequenceItem<Value_> item) {
+        // No items before it
+        SequenceItem<Value_> firstAfterItem = startItemToSequence.higherKey(item);
+        if (firstAfterItem == null) {
+            // Start a new bag of consecutive items
+            // Bag have no other items, so no break
+            startItemToSequence.put(item, new SequenceImpl<>(this, item));
+        } else if (isWithinMaxDifference(item, firstAfterItem)) {
+            // We need to move the after bag to use item as key
+            SequenceImpl<Value_, Difference_> afterSequence = startItemToSequence.remove(firstAfterItem);
+            afterSequence.setStart(item);
+            // No break since this is the first sequence
+            startItemToSequence.put(item, afterSequence);
+        } else {
+            // Start a new bag of consecutive items
+            SequenceImpl<Value_, Difference_> afterSequence = startItemToSequence.get(firstAfterItem);
+            SequenceImpl<Value_, Difference_> newSequence = new SequenceImpl<>(this, item);
+            startItemToSequence.put(item, newSequence);
+            startItemToPreviousBreak.put(firstAfterItem, new BreakImpl<>(newSequence, afterSequence));
+        }
+    }
+
+    private void addBetweenSequences(SequenceItem<Value_> item, SequenceImpl<Value_, Difference_> beforeSequence,
+            SequenceItem<Value_> firstAfterItem) {
+        if (isWithinMaxDifference(beforeSequence.lastItem, item)) {
+            // We need to extend the first bag
+            if (isWithinMaxDifference(item, firstAfterItem)) {
+                // We need to merge the two bags
+                startItemToPreviousBreak.remove(firstAfterItem);
+                SequenceImpl<Value_, Difference_> afterSequence = startItemToSequence.remove(firstAfterItem);
+                beforeSequence.merge(afterSequence);
+                Map.Entry<SequenceItem<Value_>, BreakImpl<Value_, Difference_>> maybeNextBreak =
+                        startItemToPreviousBreak.higherEntry(firstAfterItem);
+                if (maybeNextBreak != null) {
+                    maybeNextBreak.getValue().setPreviousSequence(beforeSequence);
+                }
+            } else {
+                beforeSequence.setEnd(item);
+            }
+        } else if (isWithinMaxDifference(item, firstAfterItem)) {
+            // Don't need to extend the first bag, but need to move the after bag to use item as key
+            SequenceImpl<Value_, Difference_> afterSequence = startItemToSequence.remove(firstAfterItem);
+            afterSequence.setStart(item);
+            startItemToSequence.put(item, afterSequence);
+            BreakImpl<Value_, Difference_> previousBreak = startItemToPreviousBreak.remove(firstAfterItem);
+            startItemToPreviousBreak.put(item, previousBreak);
+        } else {
+            // Start a new bag of consecutive items
+            SequenceImpl<Value_, Difference_> newSequence = new SequenceImpl<>(this, item);
+            startItemToSequence.put(item, newSequence);
+            startItemToPreviousBreak.get(firstAfterItem).setPreviousSequence(newSequence);
+            startItemToPreviousBreak.put(item, new BreakImpl<>(beforeSequence, newSequence));
+        }
+    }
+
+    private void removeItem(SequenceItem<Value_> item) {
+        Map.Entry<SequenceItem<Value_>, SequenceImpl<Value_, Difference_>> sequenceEntry =
+                startItemToSequence.floorEntry(item);
+        SequenceItem<Value_> sequenceStart = sequenceEntry.getKey();
+        SequenceImpl<Value_, Difference_> sequence = sequenceEntry.getValue();
+
+        // Bag is empty if first item = last item
+        if (sequence.firstItem == sequence.lastItem) {
+            startItemToSequence.remove(sequenceStart);
+            BreakImpl<Value_, Difference_> removedBreak = startItemToPreviousBreak.remove(sequenceStart);
+            Map.Entry<SequenceItem<Value_>, BreakImpl<Value_, Difference_>> extendedBreakEntry =
+                    startItemToPreviousBreak.higherEntry(sequenceStart);
+            if (extendedBreakEntry != null) {
+                if (removedBreak != null) {
+                    extendedBreakEntry.getValue().setPreviousSequence(removedBreak.getPreviousSequence());
+                } else {
+                    startItemToPreviousBreak.remove(extendedBreakEntry.getKey());
+                }
+            }
+            return;
+        }
+
+        // Bag is not empty
+        removeItemFromSequence(sequence, item, sequenceStart);
+    }
+
+    private void removeItemFromSequence(SequenceImpl<Value_, Difference_> sequence, SequenceItem<Value_> item,
+            SequenceItem<Value_> sequenceStart) {
+        if (item == sequenceStart) {
+            // Change start key to the item after this one
+            sequence.setStart(itemSet.higher(item));
+            startItemToSequence.remove(sequenceStart);
+            BreakImpl<Value_, Difference_> extendedBreak = startItemToPreviousBreak.remove(sequenceStart);
+            SequenceItem<Value_> firstItem = sequence.firstItem;
+            startItemToSequence.put(firstItem, sequence);
+            if (extendedBreak != null) {
+                startItemToPreviousBreak.put(firstItem, extendedBreak);
+            }
+            return;
+        }
+        if (item == sequence.lastItem) {
+            // Set end key to the item before this one
+            // The break after this sequence derives its length from the new end
+            sequence.setEnd(itemSet.lower(item));
+            return;
+        }
+
+        SequenceItem<Value_> firstAfterItem = itemSet.higher(item);
+        SequenceItem<Value_> firstBeforeItem = itemSet.lower(item);
+        if (isWithinMaxDifference(firstBeforeItem, firstAfterItem)) {
+            // Bag is not split since the next two items are still close enough
+            return;
+        }
+
+        // Need to split bag into two halves
+        // Both halves are not empty as the item was not an endpoint
+        // Additional, the breaks before and after the broken sequence
+        // are not affected since an endpoint was not removed
+        SequenceImpl<Value_, Difference_> splitSequence = sequence.split(firstBeforeItem, firstAfterItem);
+        startItemToSequence.put(firstAfterItem, splitSequence);
+        startItemToPreviousBreak.put(firstAfterItem, new BreakImpl<>(sequence, splitSequence));
+        Map.Entry<SequenceItem<Value_>, BreakImpl<Value_, Difference_>> maybeNextBreak =
+                startItemToPreviousBreak.higherEntry(firstAfterItem);
+        if (maybeNextBreak != null) {
+            maybeNextBreak.getValue().setPreviousSequence(splitSequence);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Sequences {" +
+                "sequenceList=" + sequenceList +
+                ", breakList=" + breakList +
+                '}';
+    }
+
+}
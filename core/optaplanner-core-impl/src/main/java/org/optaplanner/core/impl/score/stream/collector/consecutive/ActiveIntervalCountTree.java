@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
+
+import java.util.SplittableRandom;
+
+/**
+ * Keeps the split points of an {@link IntervalTree} in order,
+ * together with the running number of intervals that are active after each split point.
+ * An interval cluster ends at the first split point after which no interval is active,
+ * so the clusters that remain after a removal are found without rescanning the removed interval's cluster.
+ * <p>
+ * It is a treap augmented with the sums and the minimum and maximum prefix sums of its subtrees.
+ * Putting, removing and every query is O(log n).
+ *
+ * @param <Interval_> The type of interval stored
+ * @param <Point_> The type of the interval endpoints
+ */
+final class ActiveIntervalCountTree<Interval_, Point_ extends Comparable<Point_>> {
+
+    // A fixed seed, so the shape of the tree does not depend on the run
+    private final SplittableRandom random = new SplittableRandom(0L);
+    private Node<Interval_, Point_> root = null;
+
+    // The results of the last split
+    private Node<Interval_, Point_> splitBefore;
+    private Node<Interval_, Point_> splitAfter;
+
+    /**
+     * Adds the split point, or updates it after intervals started or ended at it.
+     *
+     * @param splitPoint never null, the split point in the split point set
+     */
+    void put(IntervalSplitPoint<Interval_, Point_> splitPoint) {
+        split(root, splitPoint, false);
+        Node<Interval_, Point_> before = splitBefore;
+        split(splitAfter, splitPoint, true);
+        Node<Interval_, Point_> node = splitBefore;
+        Node<Interval_, Point_> after = splitAfter;
+        if (node == null) {
+            node = new Node<>(splitPoint, random.nextInt());
+        }
+        node.splitPoint = splitPoint;
+        node.update();
+        root = merge(merge(before, node), after);
+    }
+
+    void remove(IntervalSplitPoint<Interval_, Point_> splitPoint) {
+        split(root, splitPoint, false);
+        Node<Interval_, Point_> before = splitBefore;
+        split(splitAfter, splitPoint, true);
+        root = merge(before, splitAfter);
+    }
+
+    /**
+     * @param start never null, a split point in the tree at which no interval is active before it
+     * @return never null, the first split point at or after start after which no interval is active
+     */
+    IntervalSplitPoint<Interval_, Point_> getClusterEnd(IntervalSplitPoint<Interval_, Point_> start) {
+        split(root, start, false);
+        Node<Interval_, Point_> before = splitBefore;
+        Node<Interval_, Point_> after = splitAfter;
+        Node<Interval_, Point_> end = after;
+        int offset = sum(before);
+        while (true) {
+            if (end == null) {
+                throw new IllegalStateException("Impossible state: an interval is still active after the last split point ("
+                        + start + ").");
+            }
+            if (end.left != null && offset + end.left.minPrefixSum <= 0) {
+                end = end.left;
+                continue;
+            }
+            offset += sum(end.left) + end.getActiveCountChange();
+            if (offset <= 0) {
+                break;
+            }
+            end = end.right;
+        }
+        root = merge(before, after);
+        return end.splitPoint;
+    }
+
+    /**
+     * @param start never null
+     * @param end never null
+     * @return the number of distinct intervals starting between start and end, both inclusive
+     */
+    int countIntervalsStarting(IntervalSplitPoint<Interval_, Point_> start, IntervalSplitPoint<Interval_, Point_> end) {
+        split(root, start, false);
+        Node<Interval_, Point_> before = splitBefore;
+        split(splitAfter, end, true);
+        Node<Interval_, Point_> between = splitBefore;
+        int count = (between == null) ? 0 : between.startCountSum;
+        root = merge(before, merge(between, splitAfter));
+        return count;
+    }
+
+    /**
+     * @param start never null
+     * @param end never null
+     * @return true if more than one interval is active after any split point between start and end, both inclusive
+     */
+    boolean hasOverlap(IntervalSplitPoint<Interval_, Point_> start, IntervalSplitPoint<Interval_, Point_> end) {
+        split(root, start, false);
+        Node<Interval_, Point_> before = splitBefore;
+        split(splitAfter, end, true);
+        Node<Interval_, Point_> between = splitBefore;
+        boolean hasOverlap = between != null && sum(before) + between.maxPrefixSum > 1;
+        root = merge(before, merge(between, splitAfter));
+        return hasOverlap;
+    }
+
+    /**
+     * Splits the subtree into {@link #splitBefore} and {@link #splitAfter}.
+     *
+     * @param node sometimes null
+     * @param splitPoint never null
+     * @param inclusive true if a node equal to the split point goes into {@link #splitBefore}
+     */
+    private void split(Node<Interval_, Point_> node, IntervalSplitPoint<Interval_, Point_> splitPoint,
+            boolean inclusive) {
+        if (node == null) {
+            splitBefore = null;
+            splitAfter = null;
+            return;
+        }
+        int comparison = node.splitPoint.compareTo(splitPoint);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            split(node.right, splitPoint, inclusive);
+            node.right = splitBefore;
+            node.update();
+            splitBefore = node;
+        } else {
+            split(node.left, splitPoint, inclusive);
+            node.left = splitAfter;
+            node.update();
+            splitAfter = node;
+        }
+    }
+
+    /**
+     * @param before sometimes null, all of its split points are before those of after
+     * @param after sometimes null
+     * @return sometimes null
+     */
+    private Node<Interval_, Point_> merge(Node<Interval_, Point_> before, Node<Interval_, Point_> after) {
+        if (before == null) {
+            return after;
+        }
+        if (after == null) {
+            return before;
+        }
+        if (before.priority > after.priority) {
+            before.right = merge(before.right, after);
+            before.update();
+            return before;
+        } else {
+            after.left = merge(before, after.left);
+            after.update();
+            return after;
+        }
+    }
+
+    private static int sum(Node<?, ?> node) {
+        return (node == null) ? 0 : node.activeCountChangeSum;
+    }
+
+    private static final class Node<Interval_, Point_ extends Comparable<Point_>> {
+
+        private final int priority;
+        private IntervalSplitPoint<Interval_, Point_> splitPoint;
+        private Node<Interval_, Point_> left = null;
+        private Node<Interval_, Point_> right = null;
+
+        // Aggregated over the subtree, the prefix sums are relative to the first split point of the subtree
+        private int activeCountChangeSum;
+        private int minPrefixSum;
+        private int maxPrefixSum;
+        private int startCountSum;
+
+        private Node(IntervalSplitPoint<Interval_, Point_> splitPoint, int priority) {
+            this.splitPoint = splitPoint;
+            this.priority = priority;
+        }
+
+        private int getActiveCountChange() {
+            return splitPoint.intervalsStartingAtSplitPointSet.size() - splitPoint.intervalsEndingAtSplitPointSet.size();
+        }
+
+        private void update() {
+            int prefixSum = getActiveCountChange();
+            minPrefixSum = prefixSum;
+            maxPrefixSum = prefixSum;
+            startCountSum = splitPoint.intervalsStartingAtSplitPointSet.size();
+            if (left != null) {
+                prefixSum += left.activeCountChangeSum;
+                minPrefixSum = Math.min(left.minPrefixSum, prefixSum);
+                maxPrefixSum = Math.max(left.maxPrefixSum, prefixSum);
+                startCountSum += left.startCountSum;
+            }
+            if (right != null) {
+                minPrefixSum = Math.min(minPrefixSum, prefixSum + right.minPrefixSum);
+                maxPrefixSum = Math.max(maxPrefixSum, prefixSum + right.maxPrefixSum);
+                startCountSum += right.startCountSum;
+                prefixSum += right.activeCountChangeSum;
+            }
+            activeCountChangeSum = prefixSum;
+        }
+
+    }
+
+}
@@ -17,57 +17,49 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
-import org.optaplanner.examples.common.experimental.api.Break;
-import org.optaplanner.examples.common.experimental.api.Sequence;
+import org.optaplanner.core.api.score.stream.common.Break;
 
 final class BreakImpl<Value_, Difference_ extends Comparable<Difference_>>
         implements Break<Value_, Difference_> {
-    private Sequence<Value_, Difference_> previousSequence;
-    private Sequence<Value_, Difference_> nextSequence;
-    private Difference_ length;
+    private SequenceImpl<Value_, Difference_> previousSequence;
+    private final SequenceImpl<Value_, Difference_> nextSequence;
 
-    BreakImpl(Sequence<Value_, Difference_> previousSequence, Sequence<Value_, Difference_> nextSequence,
-            Difference_ length) {
+    BreakImpl(SequenceImpl<Value_, Difference_> previousSequence, SequenceImpl<Value_, Difference_> nextSequence) {
         this.previousSequence = previousSequence;
         this.nextSequence = nextSequence;
-        this.length = length;
     }
 
     @Override
-    public Sequence<Value_, Difference_> getPreviousSequence() {
+    public SequenceImpl<Value_, Difference_> getPreviousSequence() {
         return previousSequence;
     }
 
     @Override
-    public Sequence<Value_, Difference_> getNextSequence() {
+    public SequenceImpl<Value_, Difference_> getNextSequence() {
         return nextSequence;
     }
 
+    /**
+     * Calculated on demand from the adjacent sequences,
+     * so adding or removing a value never calculates a difference it does not need.
+     */
     @Override
     public Difference_ getLength() {
-        return length;
+        return previousSequence.getSourceTree().getBreakLength(previousSequence.lastItem, nextSequence.firstItem);
     }
 
-    void setPreviousSequence(Sequence<Value_, Difference_> previousSequence) {
+    void setPreviousSequence(SequenceImpl<Value_, Difference_> previousSequence) {
         this.previousSequence = previousSequence;
     }
 
-    void setNextSequence(Sequence<Value_, Difference_> nextSequence) {
-        this.nextSequence = nextSequence;
-    }
-
-    void setLength(Difference_ length) {
-        this.length = length;
-    }
-
     @Override
     public String toString() {
         return "Break{" +
                 "previousSequence=" + previousSequence +
                 ", nextSequence=" + nextSequence +
-                ", length=" + length +
+                ", length=" + getLength() +
                 '}';
     }
 }
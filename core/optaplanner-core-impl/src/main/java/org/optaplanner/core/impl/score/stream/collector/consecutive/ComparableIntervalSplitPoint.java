@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
+
+final class ComparableIntervalSplitPoint<Interval_, Point_ extends Comparable<Point_>>
+        extends IntervalSplitPoint<Interval_, Point_> {
+
+    private final Point_ splitPoint;
+
+    ComparableIntervalSplitPoint(Point_ splitPoint) {
+        this.splitPoint = splitPoint;
+    }
+
+    @Override
+    public Point_ getPoint() {
+        return splitPoint;
+    }
+
+    @Override
+    public int compareTo(IntervalSplitPoint<Interval_, Point_> other) {
+        return splitPoint.compareTo(((ComparableIntervalSplitPoint<Interval_, Point_>) other).splitPoint);
+    }
+
+}
@@ -17,7 +17,7 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
 import java.util.Map;
 import java.util.NavigableMap;
@@ -27,26 +27,29 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.BiFunction;
 
-import org.optaplanner.examples.common.experimental.api.ConsecutiveIntervalInfo;
-import org.optaplanner.examples.common.experimental.api.IntervalBreak;
-import org.optaplanner.examples.common.experimental.api.IntervalCluster;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveIntervalInfo;
+import org.optaplanner.core.api.score.stream.common.IntervalBreak;
+import org.optaplanner.core.api.score.stream.common.IntervalCluster;
 
 public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
         implements ConsecutiveIntervalInfo<Interval_, Point_, Difference_> {
     private final NavigableMap<IntervalSplitPoint<Interval_, Point_>, IntervalClusterImpl<Interval_, Point_, Difference_>> clusterStartSplitPointToCluster;
     private final NavigableSet<IntervalSplitPoint<Interval_, Point_>> splitPointSet;
+    private final ActiveIntervalCountTree<Interval_, Point_> activeIntervalCountTree;
     private final NavigableMap<IntervalSplitPoint<Interval_, Point_>, IntervalBreakImpl<Interval_, Point_, Difference_>> clusterStartSplitPointToNextBreak;
     private final Iterable<IntervalCluster<Interval_, Point_, Difference_>> intervalClusterIterable;
-    private final BiFunction<Point_, Point_, Difference_> differenceFunction;
+    private final BiFunction<IntervalSplitPoint<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>, Difference_> differenceFunction;
     private final Iterable<IntervalBreak<Interval_, Point_, Difference_>> breaksIterable;
 
     public ConsecutiveIntervalInfoImpl(TreeSet<IntervalSplitPoint<Interval_, Point_>> splitPointSet,
-            BiFunction<Point_, Point_, Difference_> differenceFunction) {
+            ActiveIntervalCountTree<Interval_, Point_> activeIntervalCountTree,
+            BiFunction<IntervalSplitPoint<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>, Difference_> differenceFunction) {
         this.clusterStartSplitPointToCluster = new TreeMap<>();
         this.clusterStartSplitPointToNextBreak = new TreeMap<>();
         this.intervalClusterIterable = new MapValuesIterable<>(clusterStartSplitPointToCluster);
         this.breaksIterable = new MapValuesIterable<>(clusterStartSplitPointToNextBreak);
         this.splitPointSet = splitPointSet;
+        this.activeIntervalCountTree = activeIntervalCountTree;
         this.differenceFunction = differenceFunction;
     }
 
@@ -104,8 +107,6 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
             var nextBreak = clusterStartSplitPointToNextBreak.get(firstIntersectedIntervalCluster.getStartSplitPoint());
             if (nextBreak != null) {
                 nextBreak.setPreviousCluster(firstIntersectedIntervalCluster);
-                nextBreak.setLength(differenceFunction.apply(nextBreak.getPreviousIntervalClusterEnd(),
-                        nextBreak.getNextIntervalClusterStart()));
             }
         }
     }
@@ -116,8 +117,7 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
         //     -----
         //----       -----
         IntervalSplitPoint<Interval_, Point_> startSplitPoint = splitPointSet.floor(interval.getStartSplitPoint());
-        IntervalClusterImpl<Interval_, Point_, Difference_> newCluster =
-                new IntervalClusterImpl<>(splitPointSet, differenceFunction, startSplitPoint);
+        IntervalClusterImpl<Interval_, Point_, Difference_> newCluster = createIntervalCluster(startSplitPoint);
         clusterStartSplitPointToCluster.put(startSplitPoint, newCluster);
 
         // If there a cluster after this interval, add a new break
@@ -126,9 +126,8 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
                 clusterStartSplitPointToCluster.higherEntry(startSplitPoint);
         if (nextClusterEntry != null) {
             IntervalClusterImpl<Interval_, Point_, Difference_> nextCluster = nextClusterEntry.getValue();
-            Difference_ difference = differenceFunction.apply(newCluster.getEnd(), nextCluster.getStart());
             IntervalBreakImpl<Interval_, Point_, Difference_> newBreak =
-                    new IntervalBreakImpl<>(newCluster, nextCluster, difference);
+                    new IntervalBreakImpl<>(newCluster, nextCluster, differenceFunction);
             clusterStartSplitPointToNextBreak.put(startSplitPoint, newBreak);
         }
 
@@ -139,9 +138,8 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
                 clusterStartSplitPointToCluster.lowerEntry(startSplitPoint);
         if (previousClusterEntry != null) {
             IntervalClusterImpl<Interval_, Point_, Difference_> previousCluster = previousClusterEntry.getValue();
-            Difference_ difference = differenceFunction.apply(previousCluster.getEnd(), newCluster.getStart());
             IntervalBreakImpl<Interval_, Point_, Difference_> newBreak =
-                    new IntervalBreakImpl<>(previousCluster, newCluster, difference);
+                    new IntervalBreakImpl<>(previousCluster, newCluster, differenceFunction);
             clusterStartSplitPointToNextBreak.put(previousClusterEntry.getKey(), newBreak);
         }
     }
@@ -160,11 +158,9 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
         }
 
         IntervalClusterImpl<Interval_, Point_, Difference_> clusterBeforeFirstIntersectedBreak =
-                (IntervalClusterImpl<Interval_, Point_, Difference_>) (intersectedIntervalBreakMap.firstEntry().getValue()
-                        .getPreviousIntervalCluster());
+                intersectedIntervalBreakMap.firstEntry().getValue().getPreviousCluster();
         IntervalClusterImpl<Interval_, Point_, Difference_> clusterAfterFinalIntersectedBreak =
-                (IntervalClusterImpl<Interval_, Point_, Difference_>) (intersectedIntervalBreakMap.lastEntry().getValue()
-                        .getNextIntervalCluster());
+                intersectedIntervalBreakMap.lastEntry().getValue().getNextCluster();
 
         // All breaks that are not the first or last intersected breaks will
         // be removed (as interval span them)
@@ -184,9 +180,6 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
                 IntervalBreakImpl<Interval_, Point_, Difference_> finalBreak =
                         intersectedIntervalBreakMap.lastEntry().getValue();
                 finalBreak.setPreviousCluster(intervalCluster);
-                finalBreak.setLength(
-                        differenceFunction.apply(finalBreak.getPreviousIntervalClusterEnd(),
-                                finalBreak.getNextIntervalClusterStart()));
                 intersectedIntervalBreakMap.clear();
                 clusterStartSplitPointToNextBreak.put(intervalCluster.getStartSplitPoint(), finalBreak);
             }
@@ -199,12 +192,8 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
                     intersectedIntervalBreakMap.firstEntry();
             IntervalBreakImpl<Interval_, Point_, Difference_> previousBreak = previousBreakEntry.getValue();
             previousBreak.setNextCluster(intervalCluster);
-            previousBreak.setLength(
-                    differenceFunction.apply(previousBreak.getPreviousIntervalClusterEnd(), intervalCluster.getStart()));
             intersectedIntervalBreakMap.clear();
-            clusterStartSplitPointToNextBreak
-                    .put(((IntervalClusterImpl<Interval_, Point_, Difference_>) (previousBreak
-                            .getPreviousIntervalCluster())).getStartSplitPoint(), previousBreak);
+            clusterStartSplitPointToNextBreak.put(previousBreak.getPreviousCluster().getStartSplitPoint(), previousBreak);
         } else {
             // Case: interval does not span either the first or final break
             // Ex:
@@ -212,16 +201,11 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
             //----  ------   -----
             IntervalBreakImpl<Interval_, Point_, Difference_> finalBreak =
                     intersectedIntervalBreakMap.lastEntry().getValue();
-            finalBreak.setLength(
-                    differenceFunction.apply(finalBreak.getPreviousIntervalClusterEnd(),
-                            finalBreak.getNextIntervalClusterStart()));
 
             Map.Entry<IntervalSplitPoint<Interval_, Point_>, IntervalBreakImpl<Interval_, Point_, Difference_>> previousBreakEntry =
                     intersectedIntervalBreakMap.firstEntry();
             IntervalBreakImpl<Interval_, Point_, Difference_> previousBreak = previousBreakEntry.getValue();
             previousBreak.setNextCluster(intervalCluster);
-            previousBreak.setLength(
-                    differenceFunction.apply(previousBreak.getPreviousIntervalClusterEnd(), intervalCluster.getStart()));
 
             intersectedIntervalBreakMap.clear();
             clusterStartSplitPointToNextBreak.put(previousBreakEntry.getKey(), previousBreak);
@@ -242,29 +226,30 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
 
         IntervalBreakImpl<Interval_, Point_, Difference_> previousBreak =
                 (previousBreakEntry != null) ? previousBreakEntry.getValue() : null;
-        IntervalClusterImpl<Interval_, Point_, Difference_> previousIntervalCluster = (previousBreak != null)
-                ? (IntervalClusterImpl<Interval_, Point_, Difference_>) previousBreak.getPreviousIntervalCluster()
-                : null;
+        IntervalClusterImpl<Interval_, Point_, Difference_> previousIntervalCluster =
+                (previousBreak != null) ? previousBreak.getPreviousCluster() : null;
 
-        for (IntervalClusterImpl<Interval_, Point_, Difference_> newIntervalCluster : intervalCluster
-                .removeInterval(interval)) {
+        // Each cluster that remains is found in O(log n),
+        // without rescanning the split points of the cluster the interval was in
+        IntervalSplitPoint<Interval_, Point_> newClusterStartSplitPoint =
+                splitPointSet.ceiling(intervalCluster.getStartSplitPoint());
+        while (newClusterStartSplitPoint != null
+                && !newClusterStartSplitPoint.isAfter(intervalCluster.getEndSplitPoint())) {
+            IntervalClusterImpl<Interval_, Point_, Difference_> newIntervalCluster =
+                    createIntervalCluster(newClusterStartSplitPoint);
             if (previousBreak != null) {
                 previousBreak.setNextCluster(newIntervalCluster);
-                previousBreak.setLength(differenceFunction.apply(previousBreak.getPreviousIntervalCluster().getEnd(),
-                        newIntervalCluster.getStart()));
-                clusterStartSplitPointToNextBreak
-                        .put(((IntervalClusterImpl<Interval_, Point_, Difference_>) previousBreak
-                                .getPreviousIntervalCluster()).getStartSplitPoint(), previousBreak);
+                clusterStartSplitPointToNextBreak.put(previousBreak.getPreviousCluster().getStartSplitPoint(),
+                        previousBreak);
             }
-            previousBreak = new IntervalBreakImpl<>(newIntervalCluster, null, null);
+            previousBreak = new IntervalBreakImpl<>(newIntervalCluster, null, differenceFunction);
             previousIntervalCluster = newIntervalCluster;
             clusterStartSplitPointToCluster.put(newIntervalCluster.getStartSplitPoint(), newIntervalCluster);
+            newClusterStartSplitPoint = splitPointSet.higher(newIntervalCluster.getEndSplitPoint());
         }
 
         if (nextIntervalClusterEntry != null && previousBreak != null) {
             previousBreak.setNextCluster(nextIntervalClusterEntry.getValue());
-            previousBreak.setLength(differenceFunction.apply(previousIntervalCluster.getEnd(),
-                    nextIntervalClusterEntry.getValue().getStart()));
             clusterStartSplitPointToNextBreak.put(previousIntervalCluster.getStartSplitPoint(),
                     previousBreak);
         } else if (previousBreakEntry != null && previousBreak == previousBreakEntry.getValue()) {
@@ -277,6 +262,14 @@ public final class ConsecutiveIntervalInfoImpl<Interval_, Point_ extends Compara
         }
     }
 
+    private IntervalClusterImpl<Interval_, Point_, Difference_>
+            createIntervalCluster(IntervalSplitPoint<Interval_, Point_> startSplitPoint) {
+        IntervalSplitPoint<Interval_, Point_> endSplitPoint = activeIntervalCountTree.getClusterEnd(startSplitPoint);
+        return new IntervalClusterImpl<>(splitPointSet, differenceFunction, startSplitPoint, endSplitPoint,
+                activeIntervalCountTree.countIntervalsStarting(startSplitPoint, endSplitPoint),
+                activeIntervalCountTree.hasOverlap(startSplitPoint, endSplitPoint));
+    }
+
     @Override
     public Iterable<IntervalCluster<Interval_, Point_, Difference_>> getIntervalClusters() {
         return intervalClusterIterable;
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
+
+import java.util.function.BiFunction;
+
+/**
+ * A {@link AbstractConsecutiveSetTree} for any {@link Comparable} point type.
+ * For int and long points, use {@link LongConsecutiveSetTree} instead, which does not box them.
+ *
+ * @param <Value_> The type of value stored (examples: shifts)
+ * @param <Point_> The type of the point (examples: int, LocalDateTime)
+ * @param <Difference_> The type of the difference (examples: int, Duration)
+ */
+public final class ConsecutiveSetTree<Value_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
+        extends AbstractConsecutiveSetTree<Value_, Difference_> {
+
+    private final BiFunction<Point_, Point_, Difference_> differenceFunction;
+    private final BiFunction<Difference_, Difference_, Difference_> sumFunction;
+    private final Difference_ maxDifference;
+
+    public ConsecutiveSetTree(BiFunction<Point_, Point_, Difference_> differenceFunction,
+            BiFunction<Difference_, Difference_, Difference_> sumFunction,
+            Difference_ maxDifference) {
+        this.differenceFunction = differenceFunction;
+        this.sumFunction = sumFunction;
+        this.maxDifference = maxDifference;
+    }
+
+    public boolean add(Value_ value, Point_ point) {
+        if (!incrementCount(value)) {
+            addItem(new ComparableSequenceItem<>(value, point));
+        }
+        return true;
+    }
+
+    @Override
+    int comparePoints(SequenceItem<Value_> a, SequenceItem<Value_> b) {
+        return getPoint(a).compareTo(getPoint(b));
+    }
+
+    @Override
+    boolean isWithinMaxDifference(SequenceItem<Value_> from, SequenceItem<Value_> to) {
+        return getBreakLength(from, to).compareTo(maxDifference) <= 0;
+    }
+
+    @Override
+    Difference_ getBreakLength(SequenceItem<Value_> from, SequenceItem<Value_> to) {
+        return differenceFunction.apply(getPoint(from), getPoint(to));
+    }
+
+    @Override
+    Difference_ getSequenceLength(SequenceItem<Value_> first, SequenceItem<Value_> last) {
+        return sumFunction.apply(maxDifference, getBreakLength(first, last));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Point_ getPoint(SequenceItem<Value_> item) {
+        return ((ComparableSequenceItem<Value_, Point_>) item).point;
+    }
+
+    private static final class ComparableSequenceItem<Value_, Point_> extends SequenceItem<Value_> {
+
+        private final Point_ point;
+
+        private ComparableSequenceItem(Value_ value, Point_ point) {
+            super(value);
+            this.point = point;
+        }
+
+    }
+
+}
@@ -17,25 +17,21 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
-
-import java.util.function.Function;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
 public final class Interval<Interval_, Point_ extends Comparable<Point_>> {
     private final Interval_ value;
     private final IntervalSplitPoint<Interval_, Point_> startSplitPoint;
     private final IntervalSplitPoint<Interval_, Point_> endSplitPoint;
 
-    public Interval(Interval_ value, Function<Interval_, Point_> startMapping,
-            Function<Interval_, Point_> endMapping) {
+    Interval(Interval_ value, IntervalSplitPoint<Interval_, Point_> startSplitPoint,
+            IntervalSplitPoint<Interval_, Point_> endSplitPoint) {
         this.value = value;
-        Point_ start = startMapping.apply(value);
-        Point_ end = endMapping.apply(value);
-        this.startSplitPoint = new IntervalSplitPoint<>(start);
-        if (start == end) {
-            this.endSplitPoint = this.startSplitPoint;
+        this.startSplitPoint = startSplitPoint;
+        if (startSplitPoint.compareTo(endSplitPoint) == 0) {
+            this.endSplitPoint = startSplitPoint;
         } else {
-            this.endSplitPoint = new IntervalSplitPoint<>(end);
+            this.endSplitPoint = endSplitPoint;
         }
     }
 
@@ -44,11 +40,11 @@ public final class Interval<Interval_, Point_ extends Comparable<Point_>> {
     }
 
     public Point_ getStart() {
-        return startSplitPoint.splitPoint;
+        return startSplitPoint.getPoint();
     }
 
     public Point_ getEnd() {
-        return endSplitPoint.splitPoint;
+        return endSplitPoint.getPoint();
     }
 
     public IntervalSplitPoint<Interval_, Point_> getStartSplitPoint() {
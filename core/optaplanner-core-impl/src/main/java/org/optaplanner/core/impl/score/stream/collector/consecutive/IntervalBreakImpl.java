@@ -17,22 +17,25 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
-import org.optaplanner.examples.common.experimental.api.IntervalBreak;
-import org.optaplanner.examples.common.experimental.api.IntervalCluster;
+import java.util.function.BiFunction;
+
+import org.optaplanner.core.api.score.stream.common.IntervalBreak;
+import org.optaplanner.core.api.score.stream.common.IntervalCluster;
 
 final class IntervalBreakImpl<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>>
         implements IntervalBreak<Interval_, Point_, Difference_> {
-    private IntervalCluster<Interval_, Point_, Difference_> previousCluster;
-    private IntervalCluster<Interval_, Point_, Difference_> nextCluster;
-    private Difference_ length;
+    private final BiFunction<IntervalSplitPoint<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>, Difference_> differenceFunction;
+    private IntervalClusterImpl<Interval_, Point_, Difference_> previousCluster;
+    private IntervalClusterImpl<Interval_, Point_, Difference_> nextCluster;
 
-    IntervalBreakImpl(IntervalCluster<Interval_, Point_, Difference_> previousCluster,
-            IntervalCluster<Interval_, Point_, Difference_> nextCluster, Difference_ length) {
+    IntervalBreakImpl(IntervalClusterImpl<Interval_, Point_, Difference_> previousCluster,
+            IntervalClusterImpl<Interval_, Point_, Difference_> nextCluster,
+            BiFunction<IntervalSplitPoint<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>, Difference_> differenceFunction) {
         this.previousCluster = previousCluster;
         this.nextCluster = nextCluster;
-        this.length = length;
+        this.differenceFunction = differenceFunction;
     }
 
     @Override
@@ -45,21 +48,29 @@ final class IntervalBreakImpl<Interval_, Point_ extends Comparable<Point_>, Diff
         return nextCluster;
     }
 
+    /**
+     * Calculated on demand from the adjacent clusters,
+     * so adding or removing an interval never calculates a difference it does not need.
+     */
     @Override
     public Difference_ getLength() {
-        return length;
+        return differenceFunction.apply(previousCluster.getEndSplitPoint(), nextCluster.getStartSplitPoint());
     }
 
-    void setPreviousCluster(IntervalCluster<Interval_, Point_, Difference_> previousCluster) {
-        this.previousCluster = previousCluster;
+    IntervalClusterImpl<Interval_, Point_, Difference_> getPreviousCluster() {
+        return previousCluster;
     }
 
-    void setNextCluster(IntervalCluster<Interval_, Point_, Difference_> nextCluster) {
-        this.nextCluster = nextCluster;
+    IntervalClusterImpl<Interval_, Point_, Difference_> getNextCluster() {
+        return nextCluster;
     }
 
-    void setLength(Difference_ length) {
-        this.length = length;
+    void setPreviousCluster(IntervalClusterImpl<Interval_, Point_, Difference_> previousCluster) {
+        this.previousCluster = previousCluster;
+    }
+
+    void setNextCluster(IntervalClusterImpl<Interval_, Point_, Difference_> nextCluster) {
+        this.nextCluster = nextCluster;
     }
 
     @Override
@@ -67,7 +78,7 @@ final class IntervalBreakImpl<Interval_, Point_ extends Comparable<Point_>, Diff
         return "IntervalBreak{" +
                 "previousCluster=" + previousCluster +
                 ", nextCluster=" + nextCluster +
-                ", length=" + length +
+                ", length=" + getLength() +
                 '}';
     }
 }
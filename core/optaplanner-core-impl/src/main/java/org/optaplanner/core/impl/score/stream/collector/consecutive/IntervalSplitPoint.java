@@ -17,36 +17,45 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
 import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Objects;
 import java.util.TreeSet;
 import java.util.stream.IntStream;
 
-public class IntervalSplitPoint<Interval_, Point_ extends Comparable<Point_>>
+/**
+ * A point where at least one interval of an {@link IntervalTree} starts or ends.
+ * The subclasses decide how the point is stored and compared,
+ * so that a tree of primitive points never boxes them.
+ *
+ * @param <Interval_> The type of interval stored
+ * @param <Point_> The type of the point
+ */
+public abstract class IntervalSplitPoint<Interval_, Point_ extends Comparable<Point_>>
         implements Comparable<IntervalSplitPoint<Interval_, Point_>> {
-    final Point_ splitPoint;
     Map<Interval_, Integer> startIntervalToCountMap;
     Map<Interval_, Integer> endIntervalToCountMap;
     TreeSet<Interval<Interval_, Point_>> intervalsStartingAtSplitPointSet;
     TreeSet<Interval<Interval_, Point_>> intervalsEndingAtSplitPointSet;
 
-    public IntervalSplitPoint(Point_ splitPoint) {
-        this.splitPoint = splitPoint;
-    }
+    /**
+     * @return never null, boxed if the point is a primitive
+     */
+    public abstract Point_ getPoint();
 
     protected void createCollections() {
         startIntervalToCountMap = new IdentityHashMap<>();
         endIntervalToCountMap = new IdentityHashMap<>();
         intervalsStartingAtSplitPointSet = new TreeSet<>(
-                Comparator.<Interval<Interval_, Point_>, Point_> comparing(Interval::getEnd)
+                Comparator.<Interval<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>> comparing(
+                        Interval::getEndSplitPoint)
                         .thenComparingInt(interval -> System.identityHashCode(interval.getValue())));
         intervalsEndingAtSplitPointSet = new TreeSet<>(
-                Comparator.<Interval<Interval_, Point_>, Point_> comparing(Interval::getStart)
+                Comparator.<Interval<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>> comparing(
+                        Interval::getStartSplitPoint)
                         .thenComparingInt(interval -> System.identityHashCode(interval.getValue())));
     }
 
@@ -103,16 +112,6 @@ public class IntervalSplitPoint<Interval_, Point_ extends Comparable<Point_>>
         return intervalsStartingAtSplitPointSet.isEmpty() && intervalsEndingAtSplitPointSet.isEmpty();
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        IntervalSplitPoint<?, ?> that = (IntervalSplitPoint<?, ?>) o;
-        return splitPoint.equals(that.splitPoint);
-    }
-
     public boolean isBefore(IntervalSplitPoint<Interval_, Point_> other) {
         return compareTo(other) < 0;
     }
@@ -121,18 +120,8 @@ public class IntervalSplitPoint<Interval_, Point_ extends Comparable<Point_>>
         return compareTo(other) > 0;
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(splitPoint);
-    }
-
-    @Override
-    public int compareTo(IntervalSplitPoint<Interval_, Point_> other) {
-        return splitPoint.compareTo(other.splitPoint);
-    }
-
     @Override
     public String toString() {
-        return splitPoint.toString();
+        return getPoint().toString();
     }
 }
@@ -17,30 +17,65 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
 import java.util.Iterator;
 import java.util.TreeSet;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-
+import java.util.function.ToLongFunction;
+
+/**
+ * Tracks the {@link org.optaplanner.core.api.score.stream.common.IntervalCluster interval clusters}
+ * and the breaks between them.
+ * <p>
+ * For int and long points, use {@link #ofLong(ToLongFunction, ToLongFunction)},
+ * which neither boxes the points nor the differences between them.
+ * The differences are only calculated when a cluster or break is queried.
+ *
+ * @param <Interval_> The type of interval stored
+ * @param <Point_> The type of the interval endpoints
+ * @param <Difference_> The type of difference between endpoints
+ */
 public final class IntervalTree<Interval_, Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>> {
 
-    private final Function<Interval_, Point_> startMapping;
-    private final Function<Interval_, Point_> endMapping;
+    /**
+     * @param startMapping never null
+     * @param endMapping never null
+     * @param <Interval_> The type of interval stored
+     * @return never null, a tree with primitive points, that reports them and their differences as {@link Long}
+     */
+    public static <Interval_> IntervalTree<Interval_, Long, Long> ofLong(ToLongFunction<Interval_> startMapping,
+            ToLongFunction<Interval_> endMapping) {
+        return new IntervalTree<>(
+                value -> new Interval<>(value, new LongIntervalSplitPoint<>(startMapping.applyAsLong(value)),
+                        new LongIntervalSplitPoint<>(endMapping.applyAsLong(value))),
+                (from, to) -> ((LongIntervalSplitPoint<Interval_>) from).differenceTo(to));
+    }
+
+    private final Function<Interval_, Interval<Interval_, Point_>> intervalFunction;
     private final TreeSet<IntervalSplitPoint<Interval_, Point_>> splitPointSet;
+    private final ActiveIntervalCountTree<Interval_, Point_> activeIntervalCountTree;
     private final ConsecutiveIntervalInfoImpl<Interval_, Point_, Difference_> consecutiveIntervalData;
 
     public IntervalTree(Function<Interval_, Point_> startMapping, Function<Interval_, Point_> endMapping,
             BiFunction<Point_, Point_, Difference_> differenceFunction) {
-        this.startMapping = startMapping;
-        this.endMapping = endMapping;
+        this(value -> new Interval<>(value, new ComparableIntervalSplitPoint<>(startMapping.apply(value)),
+                new ComparableIntervalSplitPoint<>(endMapping.apply(value))),
+                (from, to) -> differenceFunction.apply(from.getPoint(), to.getPoint()));
+    }
+
+    private IntervalTree(Function<Interval_, Interval<Interval_, Point_>> intervalFunction,
+            BiFunction<IntervalSplitPoint<Interval_, Point_>, IntervalSplitPoint<Interval_, Point_>, Difference_> differenceFunction) {
+        this.intervalFunction = intervalFunction;
         this.splitPointSet = new TreeSet<>();
-        this.consecutiveIntervalData = new ConsecutiveIntervalInfoImpl<>(splitPointSet, differenceFunction);
+        this.activeIntervalCountTree = new ActiveIntervalCountTree<>();
+        this.consecutiveIntervalData =
+                new ConsecutiveIntervalInfoImpl<>(splitPointSet, activeIntervalCountTree, differenceFunction);
     }
 
     public Interval<Interval_, Point_> getInterval(Interval_ intervalValue) {
-        return new Interval<>(intervalValue, startMapping, endMapping);
+        return intervalFunction.apply(intervalValue);
     }
 
     public boolean isEmpty() {
@@ -70,21 +105,25 @@ public final class IntervalTree<Interval_, Point_ extends Comparable<Point_>, Di
         boolean isChanged;
 
         IntervalSplitPoint<Interval_, Point_> flooredStartSplitPoint = splitPointSet.floor(startSplitPoint);
-        if (flooredStartSplitPoint == null || !flooredStartSplitPoint.equals(startSplitPoint)) {
+        if (flooredStartSplitPoint == null || flooredStartSplitPoint.compareTo(startSplitPoint) != 0) {
             splitPointSet.add(startSplitPoint);
             startSplitPoint.createCollections();
             isChanged = startSplitPoint.addIntervalStartingAtSplitPoint(interval);
+            activeIntervalCountTree.put(startSplitPoint);
         } else {
             isChanged = flooredStartSplitPoint.addIntervalStartingAtSplitPoint(interval);
+            activeIntervalCountTree.put(flooredStartSplitPoint);
         }
 
         IntervalSplitPoint<Interval_, Point_> ceilingEndSplitPoint = splitPointSet.ceiling(endSplitPoint);
-        if (ceilingEndSplitPoint == null || !ceilingEndSplitPoint.equals(endSplitPoint)) {
+        if (ceilingEndSplitPoint == null || ceilingEndSplitPoint.compareTo(endSplitPoint) != 0) {
             splitPointSet.add(endSplitPoint);
             endSplitPoint.createCollections();
             isChanged |= endSplitPoint.addIntervalEndingAtSplitPoint(interval);
+            activeIntervalCountTree.put(endSplitPoint);
         } else {
             isChanged |= ceilingEndSplitPoint.addIntervalEndingAtSplitPoint(interval);
+            activeIntervalCountTree.put(ceilingEndSplitPoint);
         }
 
         if (isChanged) {
@@ -105,6 +144,9 @@ public final class IntervalTree<Interval_, Point_ extends Comparable<Point_>, Di
         flooredStartSplitPoint.removeIntervalStartingAtSplitPoint(interval);
         if (flooredStartSplitPoint.isEmpty()) {
             splitPointSet.remove(flooredStartSplitPoint);
+            activeIntervalCountTree.remove(flooredStartSplitPoint);
+        } else {
+            activeIntervalCountTree.put(flooredStartSplitPoint);
         }
 
         IntervalSplitPoint<Interval_, Point_> ceilEndSplitPoint = splitPointSet.ceiling(endSplitPoint);
@@ -112,6 +154,9 @@ public final class IntervalTree<Interval_, Point_ extends Comparable<Point_>, Di
         ceilEndSplitPoint.removeIntervalEndingAtSplitPoint(interval);
         if (ceilEndSplitPoint.isEmpty()) {
             splitPointSet.remove(ceilEndSplitPoint);
+            activeIntervalCountTree.remove(ceilEndSplitPoint);
+        } else {
+            activeIntervalCountTree.put(ceilEndSplitPoint);
         }
 
         consecutiveIntervalData.removeInterval(interval);
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
+
+import java.util.function.LongFunction;
+
+/**
+ * A {@link AbstractConsecutiveSetTree} for int and long points.
+ * The points and the differences between them are primitives,
+ * only a queried {@link org.optaplanner.core.api.score.stream.common.Sequence#getLength() length} is boxed.
+ *
+ * @param <Value_> The type of value stored (examples: shifts)
+ * @param <Difference_> The type of the difference, {@link Integer} or {@link Long}
+ */
+public final class LongConsecutiveSetTree<Value_, Difference_ extends Comparable<Difference_>>
+        extends AbstractConsecutiveSetTree<Value_, Difference_> {
+
+    /**
+     * @param maxDifference {@code >= 0}
+     * @param <Value_> The type of value stored
+     * @return never null, a tree that reports its differences as {@link Integer}
+     */
+    public static <Value_> LongConsecutiveSetTree<Value_, Integer> ofInt(int maxDifference) {
+        return new LongConsecutiveSetTree<>(maxDifference, Math::toIntExact);
+    }
+
+    /**
+     * @param maxDifference {@code >= 0}
+     * @param <Value_> The type of value stored
+     * @return never null, a tree that reports its differences as {@link Long}
+     */
+    public static <Value_> LongConsecutiveSetTree<Value_, Long> ofLong(long maxDifference) {
+        return new LongConsecutiveSetTree<>(maxDifference, Long::valueOf);
+    }
+
+    private final long maxDifference;
+    private final LongFunction<Difference_> differenceFunction;
+
+    private LongConsecutiveSetTree(long maxDifference, LongFunction<Difference_> differenceFunction) {
+        this.maxDifference = maxDifference;
+        this.differenceFunction = differenceFunction;
+    }
+
+    public boolean add(Value_ value, long point) {
+        if (!incrementCount(value)) {
+            addItem(new LongSequenceItem<>(value, point));
+        }
+        return true;
+    }
+
+    @Override
+    int comparePoints(SequenceItem<Value_> a, SequenceItem<Value_> b) {
+        return Long.compare(getPoint(a), getPoint(b));
+    }
+
+    @Override
+    boolean isWithinMaxDifference(SequenceItem<Value_> from, SequenceItem<Value_> to) {
+        return getPoint(to) - getPoint(from) <= maxDifference;
+    }
+
+    @Override
+    Difference_ getBreakLength(SequenceItem<Value_> from, SequenceItem<Value_> to) {
+        return differenceFunction.apply(getPoint(to) - getPoint(from));
+    }
+
+    @Override
+    Difference_ getSequenceLength(SequenceItem<Value_> first, SequenceItem<Value_> last) {
+        return differenceFunction.apply(maxDifference + getPoint(last) - getPoint(first));
+    }
+
+    private static long getPoint(SequenceItem<?> item) {
+        return ((LongSequenceItem<?>) item).point;
+    }
+
+    private static final class LongSequenceItem<Value_> extends SequenceItem<Value_> {
+
+        private final long point;
+
+        private LongSequenceItem(Value_ value, long point) {
+            super(value);
+            this.point = point;
+        }
+
+    }
+
+}
@@ -17,45 +17,44 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
+import java.util.Iterator;
 import java.util.NavigableSet;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
-import org.optaplanner.examples.common.experimental.api.Break;
-import org.optaplanner.examples.common.experimental.api.Sequence;
+import org.optaplanner.core.api.score.stream.common.Break;
+import org.optaplanner.core.api.score.stream.common.Sequence;
 
 final class SequenceImpl<Value_, Difference_ extends Comparable<Difference_>> implements Sequence<Value_, Difference_> {
 
-    private final ConsecutiveSetTree<Value_, ?, Difference_> sourceTree;
-    private Value_ firstItem;
-    private Value_ lastItem;
+    private final AbstractConsecutiveSetTree<Value_, Difference_> sourceTree;
+    SequenceItem<Value_> firstItem;
+    SequenceItem<Value_> lastItem;
 
     // Memorized calculations
     private Difference_ length;
-    private NavigableSet<Value_> items;
 
-    SequenceImpl(ConsecutiveSetTree<Value_, ?, Difference_> sourceTree, Value_ item) {
+    SequenceImpl(AbstractConsecutiveSetTree<Value_, Difference_> sourceTree, SequenceItem<Value_> item) {
         this(sourceTree, item, item);
     }
 
-    SequenceImpl(ConsecutiveSetTree<Value_, ?, Difference_> sourceTree, Value_ firstItem, Value_ lastItem) {
+    SequenceImpl(AbstractConsecutiveSetTree<Value_, Difference_> sourceTree, SequenceItem<Value_> firstItem,
+            SequenceItem<Value_> lastItem) {
         this.sourceTree = sourceTree;
         this.firstItem = firstItem;
         this.lastItem = lastItem;
         length = null;
-        items = null;
     }
 
     @Override
     public Value_ getFirstItem() {
-        return firstItem;
+        return firstItem.value;
     }
 
     @Override
     public Value_ getLastItem() {
-        return lastItem;
+        return lastItem.value;
     }
 
     @Override
@@ -79,17 +78,14 @@ final class SequenceImpl<Value_, Difference_ extends Comparable<Difference_>> im
     }
 
     @Override
-    public NavigableSet<Value_> getItems() {
-        if (items == null) {
-            return items = sourceTree.getItemSet()
-                    .subSet(firstItem, true, lastItem, true);
-        }
-        return items;
+    public Iterable<Value_> getItems() {
+        NavigableSet<SequenceItem<Value_>> itemSubSet = getItemSubSet();
+        return () -> new ValueIterator<>(itemSubSet.iterator());
     }
 
     @Override
     public int getCount() {
-        return getItems().size();
+        return getItemSubSet().size();
     }
 
     @Override
@@ -97,17 +93,21 @@ final class SequenceImpl<Value_, Difference_ extends Comparable<Difference_>> im
         if (length == null) {
             // memoize length for later calls
             // (assignment returns the right hand side)
-            return length = sourceTree.getSequenceLength(this);
+            return length = sourceTree.getSequenceLength(firstItem, lastItem);
         }
         return length;
     }
 
-    void setStart(Value_ item) {
+    AbstractConsecutiveSetTree<Value_, Difference_> getSourceTree() {
+        return sourceTree;
+    }
+
+    void setStart(SequenceItem<Value_> item) {
         firstItem = item;
         invalidate();
     }
 
-    void setEnd(Value_ item) {
+    void setEnd(SequenceItem<Value_> item) {
         lastItem = item;
         invalidate();
     }
@@ -116,14 +116,16 @@ final class SequenceImpl<Value_, Difference_ extends Comparable<Difference_>> im
     // need to be invalidated
     void invalidate() {
         length = null;
-        items = null;
     }
 
-    SequenceImpl<Value_, Difference_> split(Value_ fromElement) {
-        NavigableSet<Value_> itemSet = getItems();
-        Value_ newSequenceStart = itemSet.higher(fromElement);
-        Value_ newSequenceEnd = lastItem;
-        setEnd(itemSet.lower(fromElement));
+    /**
+     * @param newEnd never null, the item before the removed item
+     * @param newSequenceStart never null, the item after the removed item
+     * @return never null, the sequence that starts at newSequenceStart and ends at the old end of this sequence
+     */
+    SequenceImpl<Value_, Difference_> split(SequenceItem<Value_> newEnd, SequenceItem<Value_> newSequenceStart) {
+        SequenceItem<Value_> newSequenceEnd = lastItem;
+        setEnd(newEnd);
         return new SequenceImpl<>(sourceTree, newSequenceStart, newSequenceEnd);
     }
 
@@ -133,8 +135,34 @@ final class SequenceImpl<Value_, Difference_ extends Comparable<Difference_>> im
         invalidate();
     }
 
+    private NavigableSet<SequenceItem<Value_>> getItemSubSet() {
+        return sourceTree.getItemSet().subSet(firstItem, true, lastItem, true);
+    }
+
     @Override
     public String toString() {
-        return getItems().stream().map(Objects::toString).collect(Collectors.joining(", ", "Sequence [", "]"));
+        return getItemSubSet().stream().map(SequenceItem::toString)
+                .collect(Collectors.joining(", ", "Sequence [", "]"));
+    }
+
+    private static final class ValueIterator<Value_> implements Iterator<Value_> {
+
+        private final Iterator<SequenceItem<Value_>> itemIterator;
+
+        private ValueIterator(Iterator<SequenceItem<Value_>> itemIterator) {
+            this.itemIterator = itemIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return itemIterator.hasNext();
+        }
+
+        @Override
+        public Value_ next() {
+            return itemIterator.next().value;
+        }
+
     }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
+
+import java.util.Objects;
+
+/**
+ * The key of a value in a {@link AbstractConsecutiveSetTree}.
+ * It holds the point of the value, so comparing two items never needs a map lookup.
+ *
+ * @param <Value_> The type of value stored
+ */
+abstract class SequenceItem<Value_> {
+
+    final Value_ value;
+    final int identityHashCode;
+    int count;
+
+    SequenceItem(Value_ value) {
+        this.value = value;
+        this.identityHashCode = System.identityHashCode(value);
+        this.count = 1;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toString(value);
+    }
+
+}
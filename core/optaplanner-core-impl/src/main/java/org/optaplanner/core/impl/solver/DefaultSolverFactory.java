@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.ConstraintStreamImplType;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
@@ -56,6 +57,7 @@ import org.optaplanner.core.impl.phase.PhaseFactory;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.ScoreDirectorFactoryFactory;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfiler;
 import org.optaplanner.core.impl.solver.change.DefaultProblemChangeDirector;
 import org.optaplanner.core.impl.solver.random.DefaultRandomFactory;
 import org.optaplanner.core.impl.solver.random.RandomFactory;
@@ -125,6 +127,14 @@ public final class DefaultSolverFactory<Solution_> implements SolverFactory<Solu
                     SolverMetric.CONSTRAINT_MATCH_TOTAL_STEP_SCORE.getMeterId(),
                     SolverMetric.CONSTRAINT_MATCH_TOTAL_BEST_SCORE.getMeterId());
         }
+        if (solverScope.isMetricEnabled(SolverMetric.CONSTRAINT_STREAM_NODE_PROFILE)
+                && !(innerScoreDirector instanceof ConstraintStreamNodeProfiler
+                        && ((ConstraintStreamNodeProfiler) innerScoreDirector).isNodeProfilingEnabled())) {
+            LOGGER.warn("The metric ({}) cannot function properly"
+                    + " because node profiling is not enabled on the ScoreDirector."
+                    + " Maybe enable constraintStreamNodeProfilingEnabled with Constraint Streams {}.",
+                    SolverMetric.CONSTRAINT_STREAM_NODE_PROFILE.getMeterId(), ConstraintStreamImplType.BAVET);
+        }
 
         Integer moveThreadCount_ = new MoveThreadCountResolver().resolveMoveThreadCount(solverConfig.getMoveThreadCount());
         BestSolutionRecaller<Solution_> bestSolutionRecaller =
@@ -20,10 +20,12 @@
 package org.optaplanner.core.impl.solver.thread;
 
 import org.optaplanner.core.impl.partitionedsearch.PartitionedSearchPhase;
+import org.optaplanner.core.impl.portfoliosearch.PortfolioSearchPhase;
 
 public enum ChildThreadType {
     /**
-     * Used by {@link PartitionedSearchPhase}.
+     * Used by {@link PartitionedSearchPhase} and {@link PortfolioSearchPhase}:
+     * the child thread solves a solution of its own, with a new score director.
      */
     PART_THREAD,
     /**
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.statistic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.config.solver.monitoring.SolverMetric;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfile;
+import org.optaplanner.core.impl.score.stream.ConstraintStreamNodeProfiler;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+public class ConstraintStreamNodeProfileStatistic<Solution_> implements SolverStatistic<Solution_> {
+
+    private final Map<Solver<Solution_>, PhaseLifecycleListenerAdapter<Solution_>> solverToPhaseLifecycleListenerMap =
+            new WeakHashMap<>();
+
+    @Override
+    public void unregister(Solver<Solution_> solver) {
+        PhaseLifecycleListenerAdapter<Solution_> listener = solverToPhaseLifecycleListenerMap.remove(solver);
+        if (listener != null) {
+            ((DefaultSolver<Solution_>) solver).removePhaseLifecycleListener(listener);
+        }
+    }
+
+    @Override
+    public void register(Solver<Solution_> solver) {
+        DefaultSolver<Solution_> defaultSolver = (DefaultSolver<Solution_>) solver;
+        ConstraintStreamNodeProfileStatisticListener<Solution_> listener = new ConstraintStreamNodeProfileStatisticListener<>();
+        solverToPhaseLifecycleListenerMap.put(solver, listener);
+        defaultSolver.addPhaseLifecycleListener(listener);
+    }
+
+    private static class ConstraintStreamNodeProfileStatisticListener<Solution_>
+            extends PhaseLifecycleListenerAdapter<Solution_> {
+
+        private static final String INSERT_COUNT_SUFFIX = ".node.inserts";
+        private static final String UPDATE_COUNT_SUFFIX = ".node.updates";
+        private static final String RETRACT_COUNT_SUFFIX = ".node.retracts";
+        private static final String PROPAGATION_COUNT_SUFFIX = ".node.propagations";
+        private static final String INDEX_SIZE_SUFFIX = ".node.index.size";
+        private static final String NODE_TIME_SPENT_SUFFIX = ".node.time.spent";
+        private static final String CONSTRAINT_TIME_SPENT_SUFFIX = ".constraint.time.spent";
+
+        private final Map<Tags, AtomicLong[]> nodeTagsToValuesMap = new ConcurrentHashMap<>();
+        private final Map<Tags, AtomicLong> constraintTagsToTimeSpentMap = new ConcurrentHashMap<>();
+
+        @Override
+        public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+            collect(stepScope.getPhaseScope().getSolverScope(), stepScope.getScoreDirector());
+        }
+
+        @Override
+        public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
+            collect(phaseScope.getSolverScope(), phaseScope.getScoreDirector());
+        }
+
+        private void collect(SolverScope<Solution_> solverScope, InnerScoreDirector<Solution_, ?> scoreDirector) {
+            if (!(scoreDirector instanceof ConstraintStreamNodeProfiler)) {
+                return;
+            }
+            ConstraintStreamNodeProfiler nodeProfiler = (ConstraintStreamNodeProfiler) scoreDirector;
+            if (!nodeProfiler.isNodeProfilingEnabled()) {
+                return;
+            }
+            List<ConstraintStreamNodeProfile> nodeProfileList = nodeProfiler.getNodeProfileList();
+            Tags solverTags = solverScope.getMonitoringTags();
+            for (ConstraintStreamNodeProfile nodeProfile : nodeProfileList) {
+                Tags tags = solverTags.and(
+                        "node.id", String.valueOf(nodeProfile.getNodeId()),
+                        "node.type", nodeProfile.getNodeType());
+                AtomicLong[] values = nodeTagsToValuesMap.computeIfAbsent(tags, this::registerNodeGauges);
+                values[0].set(nodeProfile.getInsertCount());
+                values[1].set(nodeProfile.getUpdateCount());
+                values[2].set(nodeProfile.getRetractCount());
+                values[3].set(nodeProfile.getPropagationCount());
+                values[4].set(nodeProfile.getIndexSize());
+                values[5].set(nodeProfile.getTimeSpentNanos());
+            }
+            ConstraintStreamNodeProfile.sumTimeSpentNanosPerConstraintId(nodeProfileList)
+                    .forEach((constraintId, timeSpentNanos) -> {
+                        Tags tags = solverTags.and("constraint.id", constraintId);
+                        constraintTagsToTimeSpentMap.computeIfAbsent(tags,
+                                key -> registerTimeSpentGauge(CONSTRAINT_TIME_SPENT_SUFFIX, key))
+                                .set(timeSpentNanos);
+                    });
+        }
+
+        private AtomicLong[] registerNodeGauges(Tags tags) {
+            String meterId = SolverMetric.CONSTRAINT_STREAM_NODE_PROFILE.getMeterId();
+            return new AtomicLong[] {
+                    Metrics.gauge(meterId + INSERT_COUNT_SUFFIX, tags, new AtomicLong()),
+                    Metrics.gauge(meterId + UPDATE_COUNT_SUFFIX, tags, new AtomicLong()),
+                    Metrics.gauge(meterId + RETRACT_COUNT_SUFFIX, tags, new AtomicLong()),
+                    Metrics.gauge(meterId + PROPAGATION_COUNT_SUFFIX, tags, new AtomicLong()),
+                    Metrics.gauge(meterId + INDEX_SIZE_SUFFIX, tags, new AtomicLong()),
+                    registerTimeSpentGauge(NODE_TIME_SPENT_SUFFIX, tags)
+            };
+        }
+
+        private static AtomicLong registerTimeSpentGauge(String suffix, Tags tags) {
+            // Reported in seconds, the base time unit of Micrometer.
+            return Metrics.gauge(SolverMetric.CONSTRAINT_STREAM_NODE_PROFILE.getMeterId() + suffix, tags, new AtomicLong(),
+                    timeSpentNanos -> timeSpentNanos.get() / 1_000_000_000.0);
+        }
+    }
+}
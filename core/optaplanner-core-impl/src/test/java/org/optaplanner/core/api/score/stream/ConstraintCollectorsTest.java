@@ -41,9 +41,13 @@ import static org.optaplanner.core.impl.testdata.util.PlannerTestUtils.asSortedS
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +62,11 @@ import org.junit.jupiter.api.Test;
 import org.optaplanner.core.api.function.QuadFunction;
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.score.stream.bi.BiConstraintCollector;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveInfo;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveIntervalInfo;
+import org.optaplanner.core.api.score.stream.common.IntervalCluster;
+import org.optaplanner.core.api.score.stream.common.LoadBalance;
+import org.optaplanner.core.api.score.stream.common.Sequence;
 import org.optaplanner.core.api.score.stream.quad.QuadConstraintCollector;
 import org.optaplanner.core.api.score.stream.tri.TriConstraintCollector;
 import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
@@ -3942,6 +3951,378 @@ class ConstraintCollectorsTest {
         assertResult(collector, container, Quadruple.of(0, null, null, null));
     }
 
+    @Test
+    void loadBalance() {
+        UniConstraintCollector<String, ?, LoadBalance<String, Long>> collector =
+                ConstraintCollectors.loadBalance(Function.identity());
+        Object container = collector.supplier().get();
+
+        // Default state.
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), 0L, "0");
+        // Add first value.
+        Runnable firstRetractor = accumulate(collector, container, "Ann");
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 1L), 1L, "0");
+        // Add second value, same as the first.
+        Runnable secondRetractor = accumulate(collector, container, "Ann");
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 2L), 2L, "0");
+        // Add third and fourth value, for another balanced item. Mean is 2, deviations are 1 and -1.
+        Runnable thirdRetractor = accumulate(collector, container, "Ann");
+        Runnable fourthRetractor = accumulate(collector, container, "Beth");
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 3L, "Beth", 1L), 4L, "2");
+        // Retract one instance of the first balanced item; the loads are equal.
+        secondRetractor.run();
+        thirdRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 1L, "Beth", 1L), 2L, "0");
+        // Retract the other values; there are no values now.
+        firstRetractor.run();
+        fourthRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), 0L, "0");
+    }
+
+    @Test
+    void loadBalanceWithLoad() {
+        UniConstraintCollector<Integer, ?, LoadBalance<Integer, Long>> collector =
+                ConstraintCollectors.loadBalance(i -> i % 2, i -> i);
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, 1);
+        Runnable secondRetractor = accumulate(collector, container, 4);
+        Runnable thirdRetractor = accumulate(collector, container, 5);
+        // Loads are 6 and 4. Mean is 5, deviations are 1 and -1.
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap(1, 6L, 0, 4L), 10L, "2");
+        thirdRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap(1, 1L, 0, 4L), 5L, "4.5");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), 0L, "0");
+    }
+
+    @Test
+    void loadBalanceBigDecimal() {
+        UniConstraintCollector<BigDecimal, ?, LoadBalance<Integer, BigDecimal>> collector =
+                ConstraintCollectors.loadBalanceBigDecimal(value -> value.signum(), Function.identity());
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, new BigDecimal("1.5"));
+        Runnable secondRetractor = accumulate(collector, container, new BigDecimal("2.5"));
+        Runnable thirdRetractor = accumulate(collector, container, new BigDecimal("-1"));
+        // Loads are 4 and -1. Mean is 1.5, deviations are 2.5 and -2.5.
+        assertLoadBalance(collector.finisher().apply(castContainer(container)),
+                asMap(1, new BigDecimal("4.0"), -1, new BigDecimal("-1")), new BigDecimal("3.0"), "12.5");
+        thirdRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)),
+                asMap(1, new BigDecimal("4.0")), new BigDecimal("4.0"), "0");
+        firstRetractor.run();
+        secondRetractor.run();
+        // Like sumBigDecimal(), the sum keeps the scale of the retracted loads.
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), new BigDecimal("0.0"), "0");
+    }
+
+    @Test
+    void loadBalanceBi() {
+        BiConstraintCollector<String, Integer, ?, LoadBalance<String, Long>> collector =
+                ConstraintCollectors.loadBalance((a, b) -> a, (a, b) -> b);
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, "Ann", 3);
+        Runnable secondRetractor = accumulate(collector, container, "Beth", 1);
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 3L, "Beth", 1L), 4L, "2");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), 0L, "0");
+    }
+
+    @Test
+    void loadBalanceBigDecimalBi() {
+        BiConstraintCollector<String, BigDecimal, ?, LoadBalance<String, BigDecimal>> collector =
+                ConstraintCollectors.loadBalanceBigDecimal((a, b) -> a, (a, b) -> b);
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, "Ann", BigDecimal.valueOf(3));
+        Runnable secondRetractor = accumulate(collector, container, "Beth", BigDecimal.ONE);
+        assertLoadBalance(collector.finisher().apply(castContainer(container)),
+                asMap("Ann", BigDecimal.valueOf(3), "Beth", BigDecimal.ONE), BigDecimal.valueOf(4), "2");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), BigDecimal.ZERO, "0");
+    }
+
+    @Test
+    void loadBalanceTri() {
+        TriConstraintCollector<String, Integer, Integer, ?, LoadBalance<String, Long>> collector =
+                ConstraintCollectors.loadBalance((a, b, c) -> a, (a, b, c) -> b + c);
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, "Ann", 2, 1);
+        Runnable secondRetractor = accumulate(collector, container, "Beth", 1, 0);
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 3L, "Beth", 1L), 4L, "2");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), 0L, "0");
+    }
+
+    @Test
+    void loadBalanceBigDecimalTri() {
+        TriConstraintCollector<String, BigDecimal, BigDecimal, ?, LoadBalance<String, BigDecimal>> collector =
+                ConstraintCollectors.loadBalanceBigDecimal((a, b, c) -> a, (a, b, c) -> b.add(c));
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, "Ann", BigDecimal.valueOf(2), BigDecimal.ONE);
+        Runnable secondRetractor = accumulate(collector, container, "Beth", BigDecimal.ONE, BigDecimal.ZERO);
+        assertLoadBalance(collector.finisher().apply(castContainer(container)),
+                asMap("Ann", BigDecimal.valueOf(3), "Beth", BigDecimal.ONE), BigDecimal.valueOf(4), "2");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), BigDecimal.ZERO, "0");
+    }
+
+    @Test
+    void loadBalanceQuad() {
+        QuadConstraintCollector<String, Integer, Integer, Integer, ?, LoadBalance<String, Long>> collector =
+                ConstraintCollectors.loadBalance((a, b, c, d) -> a, (a, b, c, d) -> b + c + d);
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor = accumulate(collector, container, "Ann", 1, 1, 1);
+        Runnable secondRetractor = accumulate(collector, container, "Beth", 1, 0, 0);
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), asMap("Ann", 3L, "Beth", 1L), 4L, "2");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), 0L, "0");
+    }
+
+    @Test
+    void loadBalanceBigDecimalQuad() {
+        QuadConstraintCollector<String, BigDecimal, BigDecimal, BigDecimal, ?, LoadBalance<String, BigDecimal>> collector =
+                ConstraintCollectors.loadBalanceBigDecimal((a, b, c, d) -> a, (a, b, c, d) -> b.add(c).add(d));
+        Object container = collector.supplier().get();
+
+        Runnable firstRetractor =
+                accumulate(collector, container, "Ann", BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        Runnable secondRetractor =
+                accumulate(collector, container, "Beth", BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO);
+        assertLoadBalance(collector.finisher().apply(castContainer(container)),
+                asMap("Ann", BigDecimal.valueOf(3), "Beth", BigDecimal.ONE), BigDecimal.valueOf(4), "2");
+        firstRetractor.run();
+        secondRetractor.run();
+        assertLoadBalance(collector.finisher().apply(castContainer(container)), emptyMap(), BigDecimal.ZERO, "0");
+    }
+
+    private static <Balanced_, Load_> void assertLoadBalance(LoadBalance<Balanced_, Load_> loadBalance,
+            Map<Balanced_, Load_> expectedLoads, Load_ expectedSum, String expectedSquaredDeviation) {
+        assertThat(loadBalance.getLoads()).isEqualTo(expectedLoads);
+        assertThat(loadBalance.getSum()).isEqualTo(expectedSum);
+        assertThat(loadBalance.getSquaredDeviation()).isEqualByComparingTo(expectedSquaredDeviation);
+        assertThat(loadBalance.getUnfairness())
+                .isEqualByComparingTo(new BigDecimal(expectedSquaredDeviation).sqrt(MathContext.DECIMAL64));
+    }
+
+    @Test
+    void toConsecutiveSequences() {
+        // Do a basic test w/o edge cases; edge cases are covered in ConsecutiveSetTreeTest
+        UniConstraintCollector<Integer, ?, ConsecutiveInfo<Integer, Integer>> collector =
+                ConstraintCollectors.toConsecutiveSequences(Integer::intValue);
+        Object container = collector.supplier().get();
+        // Add first value, sequence is [2]
+        int firstValue = 2;
+        Runnable firstRetractor = accumulate(collector, container, firstValue);
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2));
+        // Add second value, sequence is [1,2]
+        int secondValue = 1;
+        Runnable secondRetractor = accumulate(collector, container, secondValue);
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(1, 2));
+        // Add third value, same as the second. Sequence is [{1,1},2}]
+        Runnable thirdRetractor = accumulate(collector, container, secondValue);
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(1, 2));
+        // Add fourth value, not consecutive. Sequences are [1,2], [4]
+        Runnable fourthRetractor = accumulate(collector, container, 4);
+        ConsecutiveInfo<Integer, Integer> result = collector.finisher().apply(castContainer(container));
+        assertSequences(result, asList(1, 2), asList(4));
+        assertThat(result.getBreaks()).singleElement()
+                .satisfies(sequenceBreak -> assertThat(sequenceBreak.getLength()).isEqualTo(2));
+        // Retract one instance of the second value; nothing changes.
+        secondRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(1, 2), asList(4));
+        // Retract final instance of the second value and the fourth value; we only have one value now.
+        thirdRetractor.run();
+        fourthRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2));
+        // Retract last value; there are no values now.
+        firstRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)));
+    }
+
+    @Test
+    void toConsecutiveSequencesBi() {
+        BiConstraintCollector<Integer, Integer, ?, ConsecutiveInfo<Integer, Integer>> collector =
+                ConstraintCollectors.toConsecutiveSequences(Integer::sum, Integer::intValue);
+        Object container = collector.supplier().get();
+        Runnable firstRetractor = accumulate(collector, container, 1, 1);
+        Runnable secondRetractor = accumulate(collector, container, 2, 1);
+        Runnable thirdRetractor = accumulate(collector, container, 3, 2);
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2, 3), asList(5));
+        secondRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2), asList(5));
+        firstRetractor.run();
+        thirdRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)));
+    }
+
+    @Test
+    void toConsecutiveSequencesTri() {
+        TriConstraintCollector<Integer, Integer, Integer, ?, ConsecutiveInfo<Integer, Integer>> collector =
+                ConstraintCollectors.toConsecutiveSequences((a, b, c) -> a + b + c, Integer::intValue);
+        Object container = collector.supplier().get();
+        Runnable firstRetractor = accumulate(collector, container, 1, 1, 0);
+        Runnable secondRetractor = accumulate(collector, container, 2, 1, 0);
+        Runnable thirdRetractor = accumulate(collector, container, 3, 2, 0);
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2, 3), asList(5));
+        secondRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2), asList(5));
+        firstRetractor.run();
+        thirdRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)));
+    }
+
+    @Test
+    void toConsecutiveSequencesQuad() {
+        QuadConstraintCollector<Integer, Integer, Integer, Integer, ?, ConsecutiveInfo<Integer, Integer>> collector =
+                ConstraintCollectors.toConsecutiveSequences((a, b, c, d) -> a + b + c + d, Integer::intValue);
+        Object container = collector.supplier().get();
+        Runnable firstRetractor = accumulate(collector, container, 1, 1, 0, 0);
+        Runnable secondRetractor = accumulate(collector, container, 2, 1, 0, 0);
+        Runnable thirdRetractor = accumulate(collector, container, 3, 2, 0, 0);
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2, 3), asList(5));
+        secondRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)), asList(2), asList(5));
+        firstRetractor.run();
+        thirdRetractor.run();
+        assertSequences(collector.finisher().apply(castContainer(container)));
+    }
+
+    @Test
+    void toConsecutiveIntervals() {
+        // Do a basic test w/o edge cases; edge cases are covered in IntervalTreeTest
+        UniConstraintCollector<TestInterval, ?, ConsecutiveIntervalInfo<TestInterval, Integer, Integer>> collector =
+                ConstraintCollectors.toConsecutiveIntervals(TestInterval::getStart, TestInterval::getEnd,
+                        (Integer a, Integer b) -> b - a);
+        Object container = collector.supplier().get();
+        // Add first value, cluster is [(1,3)]
+        TestInterval firstValue = new TestInterval(1, 3);
+        Runnable firstRetractor = accumulate(collector, container, firstValue);
+        assertClusters(collector.finisher().apply(castContainer(container)), asList(firstValue));
+        // Add second value, cluster is [(1,3),(2,4)]
+        TestInterval secondValue = new TestInterval(2, 4);
+        Runnable secondRetractor = accumulate(collector, container, secondValue);
+        assertClusters(collector.finisher().apply(castContainer(container)), asList(firstValue, secondValue));
+        // Add third value, not overlapping. Clusters are [(1,3),(2,4)], [(6,7)]
+        TestInterval thirdValue = new TestInterval(6, 7);
+        Runnable thirdRetractor = accumulate(collector, container, thirdValue);
+        ConsecutiveIntervalInfo<TestInterval, Integer, Integer> result =
+                collector.finisher().apply(castContainer(container));
+        assertClusters(result, asList(firstValue, secondValue), asList(thirdValue));
+        assertThat(result.getBreaks()).singleElement()
+                .satisfies(intervalBreak -> assertThat(intervalBreak.getLength()).isEqualTo(2));
+        // Retract the second value.
+        secondRetractor.run();
+        assertClusters(collector.finisher().apply(castContainer(container)), asList(firstValue), asList(thirdValue));
+        // Retract the other values; there are no values now.
+        thirdRetractor.run();
+        firstRetractor.run();
+        assertClusters(collector.finisher().apply(castContainer(container)));
+    }
+
+    @Test
+    void toConsecutiveIntervalsLong() {
+        UniConstraintCollector<TestInterval, ?, ConsecutiveIntervalInfo<TestInterval, Long, Long>> collector =
+                ConstraintCollectors.toConsecutiveIntervals(TestInterval::getStart, (TestInterval interval) -> interval.getEnd());
+        Object container = collector.supplier().get();
+        TestInterval firstValue = new TestInterval(1, 3);
+        Runnable firstRetractor = accumulate(collector, container, firstValue);
+        TestInterval secondValue = new TestInterval(6, 7);
+        Runnable secondRetractor = accumulate(collector, container, secondValue);
+        ConsecutiveIntervalInfo<TestInterval, Long, Long> result = collector.finisher().apply(castContainer(container));
+        assertClusters(result, asList(firstValue), asList(secondValue));
+        assertThat(result.getIntervalClusters()).map(IntervalCluster::getLength).containsExactly(2L, 1L);
+        assertThat(result.getBreaks()).singleElement()
+                .satisfies(intervalBreak -> assertThat(intervalBreak.getLength()).isEqualTo(3L));
+        firstRetractor.run();
+        secondRetractor.run();
+        assertClusters(collector.finisher().apply(castContainer(container)));
+    }
+
+    @Test
+    void toConsecutiveTemporalIntervals() {
+        OffsetDateTime start = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        UniConstraintCollector<TestInterval, ?, ConsecutiveIntervalInfo<TestInterval, OffsetDateTime, Duration>> collector =
+                ConstraintCollectors.toConsecutiveTemporalIntervals(interval -> start.plusHours(interval.getStart()),
+                        interval -> start.plusHours(interval.getEnd()));
+        Object container = collector.supplier().get();
+        TestInterval firstValue = new TestInterval(1, 3);
+        Runnable firstRetractor = accumulate(collector, container, firstValue);
+        TestInterval secondValue = new TestInterval(6, 7);
+        Runnable secondRetractor = accumulate(collector, container, secondValue);
+        ConsecutiveIntervalInfo<TestInterval, OffsetDateTime, Duration> result =
+                collector.finisher().apply(castContainer(container));
+        assertClusters(result, asList(firstValue), asList(secondValue));
+        assertThat(result.getBreaks()).singleElement()
+                .satisfies(intervalBreak -> assertThat(intervalBreak.getLength()).isEqualTo(Duration.ofHours(3)));
+        firstRetractor.run();
+        secondRetractor.run();
+        assertClusters(collector.finisher().apply(castContainer(container)));
+    }
+
+    private static final class TestInterval {
+
+        private final int start;
+        private final int end;
+
+        public TestInterval(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + start + ", " + end + ")";
+        }
+    }
+
+    @SafeVarargs
+    private static <A> void assertSequences(ConsecutiveInfo<A, ?> consecutiveInfo, List<A>... expectedSequences) {
+        List<List<A>> actualSequences = new ArrayList<>();
+        for (Sequence<A, ?> sequence : consecutiveInfo.getConsecutiveSequences()) {
+            List<A> itemList = new ArrayList<>();
+            sequence.getItems().forEach(itemList::add);
+            actualSequences.add(itemList);
+        }
+        assertThat(actualSequences).containsExactly(expectedSequences);
+    }
+
+    @SafeVarargs
+    private static <A> void assertClusters(ConsecutiveIntervalInfo<A, ?, ?> consecutiveIntervalInfo,
+            List<A>... expectedClusters) {
+        List<List<A>> actualClusters = new ArrayList<>();
+        for (IntervalCluster<A, ?, ?> cluster : consecutiveIntervalInfo.getIntervalClusters()) {
+            List<A> intervalList = new ArrayList<>();
+            cluster.forEach(intervalList::add);
+            actualClusters.add(intervalList);
+        }
+        assertThat(actualClusters).containsExactly(expectedClusters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Container_> Container_ castContainer(Object container) {
+        return (Container_) container;
+    }
+
     private static <A, B, C, Container_, Result_> Runnable accumulate(
             TriConstraintCollector<A, B, C, Container_, Result_> collector, Object container, A valueA, B valueB,
             C valueC) {
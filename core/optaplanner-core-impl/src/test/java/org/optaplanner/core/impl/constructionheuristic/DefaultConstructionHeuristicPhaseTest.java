@@ -24,13 +24,19 @@ import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertCode;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.domain.list.TestdataListEntity;
+import org.optaplanner.core.impl.testdata.domain.list.TestdataListSolution;
+import org.optaplanner.core.impl.testdata.domain.list.TestdataListValue;
 import org.optaplanner.core.impl.testdata.domain.pinned.TestdataPinnedEntity;
 import org.optaplanner.core.impl.testdata.domain.pinned.TestdataPinnedSolution;
 import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
@@ -132,4 +138,69 @@ class DefaultConstructionHeuristicPhaseTest {
         assertThat(solution.getEntityList()).isEmpty();
     }
 
+    @Test
+    void solveWithListVariableAndMoveThreads() {
+        List<List<String>> expectedValueLists = solveListVariable(EnvironmentMode.REPRODUCIBLE, null,
+                TestdataListSolution.generateUninitializedSolution(20, 4));
+        assertThat(expectedValueLists).flatExtracting(valueList -> valueList).hasSize(20);
+        // Multithreaded solving is reproducible, so it picks the same moves as single threaded solving
+        assertThat(solveListVariable(EnvironmentMode.REPRODUCIBLE, "2",
+                TestdataListSolution.generateUninitializedSolution(20, 4)))
+                .isEqualTo(expectedValueLists);
+        assertThat(solveListVariable(EnvironmentMode.REPRODUCIBLE, "4",
+                TestdataListSolution.generateUninitializedSolution(20, 4)))
+                .isEqualTo(expectedValueLists);
+    }
+
+    @Test
+    void solveWithListVariableAndMoveThreadsInFullAssert() {
+        // Asserts the step and move scores, and that the move threads' shadow variables aren't stale after each step
+        List<List<String>> expectedValueLists = solveListVariable(EnvironmentMode.FULL_ASSERT, null,
+                TestdataListSolution.generateUninitializedSolution(10, 3));
+        assertThat(solveListVariable(EnvironmentMode.FULL_ASSERT, "2",
+                TestdataListSolution.generateUninitializedSolution(10, 3)))
+                .isEqualTo(expectedValueLists);
+    }
+
+    @Test
+    void solveWithPartiallyInitializedListVariableAndMoveThreads() {
+        List<List<String>> expectedValueLists = solveListVariable(EnvironmentMode.REPRODUCIBLE, null,
+                generatePartiallyInitializedListSolution());
+        assertThat(expectedValueLists).flatExtracting(valueList -> valueList).hasSize(20);
+        assertThat(expectedValueLists.get(0))
+                .containsSubsequence("Generated Value 0", "Generated Value 1", "Generated Value 2");
+        assertThat(solveListVariable(EnvironmentMode.REPRODUCIBLE, "3", generatePartiallyInitializedListSolution()))
+                .isEqualTo(expectedValueLists);
+    }
+
+    private static TestdataListSolution generatePartiallyInitializedListSolution() {
+        TestdataListSolution solution = TestdataListSolution.generateUninitializedSolution(20, 4);
+        // The move threads start from a clone of this solution, so they must see the values already assigned
+        TestdataListEntity entity = solution.getEntityList().get(0);
+        for (int i = 0; i < 3; i++) {
+            TestdataListValue value = solution.getValueList().get(i);
+            entity.getValueList().add(value);
+            value.setEntity(entity);
+            value.setIndex(i);
+        }
+        return solution;
+    }
+
+    private static List<List<String>> solveListVariable(EnvironmentMode environmentMode, String moveThreadCount,
+            TestdataListSolution solution) {
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(TestdataListSolution.class,
+                TestdataListEntity.class, TestdataListValue.class);
+        solverConfig.setPhaseConfigList(Collections.singletonList(new ConstructionHeuristicPhaseConfig()));
+        solverConfig.setEnvironmentMode(environmentMode);
+        solverConfig.setMoveThreadCount(moveThreadCount);
+
+        solution = PlannerTestUtils.solve(solverConfig, solution);
+        assertThat(solution.getScore().isSolutionInitialized()).isTrue();
+        return solution.getEntityList().stream()
+                .map(entity -> entity.getValueList().stream()
+                        .map(TestdataListValue::getCode)
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
 }
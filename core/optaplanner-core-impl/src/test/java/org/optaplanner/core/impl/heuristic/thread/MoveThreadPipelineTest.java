@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertCode;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.heuristic.move.DummyMove;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class MoveThreadPipelineTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoveThreadPipelineTest.class);
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executorService.shutdownNow();
+        if (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Thread pool didn't terminate within the timeout.");
+        }
+    }
+
+    @Test
+    void addMoveEvaluation() throws InterruptedException {
+        MoveThreadPipeline<TestdataSolution> pipeline = new MoveThreadPipeline<>(2, 4);
+        SetupOperation<TestdataSolution, SimpleScore> setupOperation = new SetupOperation<>(null);
+        pipeline.addOperation(0, setupOperation);
+        pipeline.addOperation(1, setupOperation);
+        pipeline.startNextStep(0);
+        for (int moveIndex = 0; moveIndex < 4; moveIndex++) {
+            pipeline.addMoveEvaluation(0, moveIndex, new DummyMove("a" + moveIndex));
+        }
+        assertThat(pipeline.takeOperation(0)).isSameAs(setupOperation);
+        assertEvaluation(0, pipeline.takeOperation(0), "a0");
+        assertEvaluation(2, pipeline.takeOperation(0), "a2");
+        assertThat(pipeline.takeOperation(1)).isSameAs(setupOperation);
+        assertEvaluation(1, pipeline.takeOperation(1), "a1");
+        assertEvaluation(3, pipeline.takeOperation(1), "a3");
+    }
+
+    @Test
+    void addMove() throws InterruptedException, ExecutionException {
+        MoveThreadPipeline<TestdataSolution> pipeline = new MoveThreadPipeline<>(2, 4);
+
+        pipeline.startNextStep(0);
+        for (int moveIndex = 0; moveIndex < 4; moveIndex++) {
+            pipeline.addMoveEvaluation(0, moveIndex, new DummyMove("a" + moveIndex));
+        }
+        evaluate(pipeline, 1, 0);
+        evaluate(pipeline, 1, 0);
+        evaluate(pipeline, 0, 0);
+        assertResult("a0", 0, pipeline.take());
+        assertResult("a1", -1, pipeline.take());
+        Future<?> moveThreadFuture = executorService.submit(() -> {
+            evaluate(pipeline, 0, 0);
+            return null;
+        });
+        // Waits until the move thread 0 has added the next move in order
+        assertResult("a2", -2, pipeline.take());
+        moveThreadFuture.get();
+        assertResult("a3", -3, pipeline.take());
+        pipeline.skipRemainingMoveEvaluations(0);
+
+        pipeline.startNextStep(1);
+        DummyMove b0 = new DummyMove("b0");
+        pipeline.addMoveEvaluation(1, 0, b0);
+        pipeline.addMoveEvaluation(1, 1, new DummyMove("b1"));
+        evaluate(pipeline, 1, 1);
+        pipeline.takeOperation(0);
+        pipeline.addUndoableMove(0, 1, 0);
+        MoveThreadPipeline.MoveResult<TestdataSolution> result = pipeline.take();
+        assertResult("b0", false, result);
+        // The solver thread gets back the move it added, not a rebased one
+        assertThat(result.getMove()).isSameAs(b0);
+        assertResult("b1", -1, pipeline.take());
+    }
+
+    @Test
+    void addMoveEvaluationInBatches() throws InterruptedException, ExecutionException {
+        // Every evaluation is fast enough to use the maximum batch size, once the first batch is taken
+        MoveThreadPipeline<TestdataSolution> pipeline = new MoveThreadPipeline<>(2, 16, Long.MAX_VALUE);
+
+        pipeline.startNextStep(0);
+        pipeline.addMoveEvaluation(0, 0, new DummyMove("a0"));
+        evaluate(pipeline, 0, 0);
+        assertResult("a0", 0, pipeline.take());
+        for (int moveIndex = 1; moveIndex < 10; moveIndex++) {
+            pipeline.addMoveEvaluation(0, moveIndex, new DummyMove("a" + moveIndex));
+        }
+        assertEvaluation(1, evaluate(pipeline, 1, 0), "a1", "a2", "a3", "a4");
+        assertEvaluation(5, evaluate(pipeline, 0, 0), "a5", "a6", "a7", "a8");
+        for (int moveIndex = 1; moveIndex < 9; moveIndex++) {
+            assertResult("a" + moveIndex, -moveIndex, pipeline.take());
+        }
+        Future<MoveEvaluationOperation<TestdataSolution>> moveThreadFuture =
+                executorService.submit(() -> evaluate(pipeline, 1, 0));
+        // The open batch isn't full, but it is added because its result is needed
+        assertResult("a9", -9, pipeline.take());
+        assertEvaluation(9, moveThreadFuture.get(), "a9");
+    }
+
+    @Test
+    void skipRemainingMoveEvaluations() throws InterruptedException {
+        MoveThreadPipeline<TestdataSolution> pipeline = new MoveThreadPipeline<>(2, 4);
+
+        pipeline.startNextStep(0);
+        for (int moveIndex = 0; moveIndex < 3; moveIndex++) {
+            pipeline.addMoveEvaluation(0, moveIndex, new DummyMove("a" + moveIndex));
+        }
+        evaluate(pipeline, 0, 0);
+        assertResult("a0", 0, pipeline.take());
+        assertThat(pipeline.isSkipped(0)).isFalse();
+        pipeline.skipRemainingMoveEvaluations(0);
+        assertThat(pipeline.isSkipped(0)).isTrue();
+        assertThat(pipeline.isSkipped(1)).isFalse();
+        // Discarded, because it is still being evaluated when the step is skipped
+        evaluate(pipeline, 0, 0);
+
+        pipeline.startNextStep(1);
+        pipeline.addMoveEvaluation(1, 0, new DummyMove("b0"));
+        evaluate(pipeline, 0, 1);
+        assertResult("b0", 0, pipeline.take());
+    }
+
+    @Test
+    void addOperationWaitsForLaggingMoveThread() throws InterruptedException, ExecutionException {
+        // The operation ring of each move thread has a capacity of 8
+        MoveThreadPipeline<TestdataSolution> pipeline = new MoveThreadPipeline<>(1, 1);
+        SetupOperation<TestdataSolution, SimpleScore> setupOperation = new SetupOperation<>(null);
+        Future<?> solverThreadFuture = executorService.submit(() -> {
+            for (int i = 0; i < 9; i++) {
+                pipeline.addOperation(0, setupOperation);
+            }
+        });
+        for (int i = 0; i < 9; i++) {
+            // The solver thread can only add the last operation once the move thread has released the first one
+            assertThat(pipeline.takeOperation(0)).isSameAs(setupOperation);
+        }
+        solverThreadFuture.get();
+    }
+
+    @Test
+    void addExceptionThrown() throws InterruptedException, ExecutionException {
+        MoveThreadPipeline<TestdataSolution> pipeline = new MoveThreadPipeline<>(2, 4);
+
+        pipeline.startNextStep(0);
+        for (int moveIndex = 0; moveIndex < 3; moveIndex++) {
+            pipeline.addMoveEvaluation(0, moveIndex, new DummyMove("a" + moveIndex));
+        }
+        evaluate(pipeline, 0, 0);
+        evaluate(pipeline, 0, 0);
+        IllegalArgumentException exception = new IllegalArgumentException();
+        Future<?> exceptionFuture = executorService.submit(() -> {
+            pipeline.addExceptionThrown(1, exception);
+        });
+        assertResult("a0", 0, pipeline.take());
+        // The solver thread waits for the move thread 1, which has thrown the exception
+        assertThatThrownBy(pipeline::take).hasCause(exception);
+        exceptionFuture.get();
+        assertThatThrownBy(() -> pipeline.startNextStep(1)).hasCause(exception);
+    }
+
+    /**
+     * Acts as the move thread: evaluates the next batch, with the negated moveIndex as the score of each move.
+     */
+    private MoveEvaluationOperation<TestdataSolution> evaluate(MoveThreadPipeline<TestdataSolution> pipeline,
+            int moveThreadIndex, int stepIndex) throws InterruptedException {
+        MoveEvaluationOperation<TestdataSolution> operation =
+                (MoveEvaluationOperation<TestdataSolution>) pipeline.takeOperation(moveThreadIndex);
+        for (int i = 0; i < operation.getMoveCount(); i++) {
+            int moveIndex = operation.getFirstMoveIndex() + i;
+            pipeline.addMove(moveThreadIndex, stepIndex, moveIndex, SimpleScore.of(-moveIndex));
+        }
+        return operation;
+    }
+
+    private void assertEvaluation(int firstMoveIndex, MoveThreadOperation<TestdataSolution> operation,
+            String... moveCodes) {
+        assertThat(operation).isInstanceOf(MoveEvaluationOperation.class);
+        MoveEvaluationOperation<TestdataSolution> moveEvaluationOperation =
+                (MoveEvaluationOperation<TestdataSolution>) operation;
+        assertThat(moveEvaluationOperation.getFirstMoveIndex()).isEqualTo(firstMoveIndex);
+        assertThat(moveEvaluationOperation.getMoveCount()).isEqualTo(moveCodes.length);
+        for (int i = 0; i < moveCodes.length; i++) {
+            assertCode(moveCodes[i], moveEvaluationOperation.getMove(i));
+        }
+    }
+
+    private void assertResult(String moveCode, int score, MoveThreadPipeline.MoveResult<TestdataSolution> result) {
+        assertCode(moveCode, result.getMove());
+        assertThat(result.getScore()).isEqualTo(SimpleScore.of(score));
+    }
+
+    private void assertResult(String moveCode, boolean doable, MoveThreadPipeline.MoveResult<TestdataSolution> result) {
+        assertCode(moveCode, result.getMove());
+        assertThat(result.isMoveDoable()).isEqualTo(doable);
+    }
+
+}
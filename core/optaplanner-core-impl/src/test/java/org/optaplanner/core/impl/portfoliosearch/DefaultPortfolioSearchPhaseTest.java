@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.calculator.EasyScoreCalculator;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.heuristic.selector.move.generic.SwapMoveSelectorConfig;
+import org.optaplanner.core.config.heuristic.selector.move.generic.list.ListChangeMoveSelectorConfig;
+import org.optaplanner.core.config.heuristic.selector.move.generic.list.ListSwapMoveSelectorConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.portfoliosearch.PortfolioSearchPhaseConfig;
+import org.optaplanner.core.config.portfoliosearch.PortfolioWorkerConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.partitionedsearch.TestdataFaultyEntity;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.portfoliosearch.scope.PortfolioSearchPhaseScope;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataEasyScoreCalculator;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.list.TestdataListEntity;
+import org.optaplanner.core.impl.testdata.domain.list.TestdataListSolution;
+import org.optaplanner.core.impl.testdata.domain.list.TestdataListValue;
+import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
+
+class DefaultPortfolioSearchPhaseTest {
+
+    @Test
+    @Timeout(5)
+    void workerCount() {
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(false, "3");
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        PortfolioSearchPhase<TestdataSolution> phase = (PortfolioSearchPhase<TestdataSolution>) solver.getPhaseList()
+                .get(0);
+        phase.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<>() {
+            @Override
+            public void phaseStarted(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                assertThat(((PortfolioSearchPhaseScope) phaseScope).getWorkerCount()).isEqualTo(3);
+            }
+
+            @Override
+            public void stepEnded(AbstractStepScope<TestdataSolution> stepScope) {
+                // Only the worker solutions that improve the global best solution are applied
+                assertThat(stepScope.getBestScoreImproved()).isTrue();
+            }
+        });
+        TestdataSolution solution = createSolution(5, 5, true);
+        solution = solver.solve(solution);
+        // Every entity has a different value
+        assertThat(solution.getScore()).isEqualTo(SimpleScore.of(-5));
+    }
+
+    @Test
+    @Timeout(5)
+    void workerCountFollowsWorkerConfigs() {
+        SolverConfig solverConfig = createSolverConfig(false, null);
+        PortfolioSearchPhaseConfig portfolioSearchPhaseConfig =
+                (PortfolioSearchPhaseConfig) solverConfig.getPhaseConfigList().get(0);
+        portfolioSearchPhaseConfig.withWorkerConfigs(new PortfolioWorkerConfig(), new PortfolioWorkerConfig());
+        DefaultSolver<TestdataSolution> solver =
+                (DefaultSolver<TestdataSolution>) SolverFactory.<TestdataSolution> create(solverConfig).buildSolver();
+        solver.getPhaseList().get(0).addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<>() {
+            @Override
+            public void phaseStarted(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                assertThat(((PortfolioSearchPhaseScope) phaseScope).getWorkerCount()).isEqualTo(2);
+            }
+        });
+        TestdataSolution solution = solver.solve(createSolution(5, 5, true));
+        assertThat(solution.getScore()).isEqualTo(SimpleScore.of(-5));
+    }
+
+    @Test
+    @Timeout(5)
+    void workerContinuesFromGlobalBestSolution() {
+        SolverConfig solverConfig = createSolverConfig(false, null);
+        PortfolioSearchPhaseConfig portfolioSearchPhaseConfig =
+                (PortfolioSearchPhaseConfig) solverConfig.getPhaseConfigList().get(0);
+        // Every entity starts with the same value, so no swap move is doable and the second worker can't improve.
+        // It only reaches the best score limit by continuing from the best solution of the first worker.
+        LocalSearchPhaseConfig swapOnlyPhaseConfig = new LocalSearchPhaseConfig()
+                .withMoveSelectorConfig(new SwapMoveSelectorConfig())
+                .withTerminationConfig(new TerminationConfig().withBestScoreLimit("-5"));
+        LocalSearchPhaseConfig changePhaseConfig = new LocalSearchPhaseConfig()
+                .withTerminationConfig(new TerminationConfig().withBestScoreLimit("-5"));
+        portfolioSearchPhaseConfig
+                .withExchangeIntervalMilliseconds(0L)
+                .withWorkerConfigs(new PortfolioWorkerConfig().withPhaseConfigs(changePhaseConfig),
+                        new PortfolioWorkerConfig().withPhaseConfigs(swapOnlyPhaseConfig));
+        Solver<TestdataSolution> solver = SolverFactory.<TestdataSolution> create(solverConfig).buildSolver();
+        TestdataSolution solution = solver.solve(createSolution(5, 5, true));
+        assertThat(solution.getScore()).isEqualTo(SimpleScore.of(-5));
+    }
+
+    @Test
+    @Timeout(5)
+    void listVariableWorkerContinuesFromGlobalBestSolution() {
+        SolverConfig solverConfig = PlannerTestUtils.buildSolverConfig(TestdataListSolution.class,
+                TestdataListEntity.class, TestdataListValue.class);
+        solverConfig.getScoreDirectorFactoryConfig()
+                .setEasyScoreCalculatorClass(TestdataListBalanceEasyScoreCalculator.class);
+        // A swap between 2 lists keeps their sizes, so the second worker can't improve.
+        // It only reaches the best score limit by continuing from the best solution of the first worker.
+        LocalSearchPhaseConfig swapOnlyPhaseConfig = new LocalSearchPhaseConfig()
+                .withMoveSelectorConfig(new ListSwapMoveSelectorConfig())
+                .withTerminationConfig(new TerminationConfig().withBestScoreLimit("-12"));
+        LocalSearchPhaseConfig changePhaseConfig = new LocalSearchPhaseConfig()
+                .withMoveSelectorConfig(new ListChangeMoveSelectorConfig())
+                .withTerminationConfig(new TerminationConfig().withBestScoreLimit("-12"));
+        solverConfig.setPhaseConfigList(List.of(new PortfolioSearchPhaseConfig()
+                .withExchangeIntervalMilliseconds(0L)
+                .withWorkerConfigs(new PortfolioWorkerConfig().withPhaseConfigs(changePhaseConfig),
+                        new PortfolioWorkerConfig().withPhaseConfigs(swapOnlyPhaseConfig))));
+        solverConfig.setEnvironmentMode(EnvironmentMode.FULL_ASSERT);
+
+        TestdataListSolution solution = TestdataListSolution.generateUninitializedSolution(6, 3);
+        List<TestdataListEntity> entityList = solution.getEntityList();
+        // Every value starts in the first list, which is the worst solution
+        entityList.set(0, TestdataListEntity.createWithValues(entityList.get(0).getCode(),
+                solution.getValueList().toArray(TestdataListValue[]::new)));
+
+        TestdataListSolution bestSolution = PlannerTestUtils.solve(solverConfig, solution);
+        assertThat(bestSolution.getScore()).isEqualTo(SimpleScore.of(-12));
+        // The best solution doesn't share a list with the solution of a worker
+        for (TestdataListEntity entity : bestSolution.getEntityList()) {
+            assertThat(entity.getValueList()).hasSize(2);
+            for (int i = 0; i < entity.getValueList().size(); i++) {
+                TestdataListValue value = entity.getValueList().get(i);
+                assertThat(value.getEntity()).isSameAs(entity);
+                assertThat(value.getIndex()).isEqualTo(i);
+            }
+        }
+    }
+
+    /**
+     * Penalizes the square of the size of every list, so the best solution has lists of equal size.
+     */
+    public static final class TestdataListBalanceEasyScoreCalculator
+            implements EasyScoreCalculator<TestdataListSolution, SimpleScore> {
+
+        @Override
+        public SimpleScore calculateScore(TestdataListSolution solution) {
+            int score = 0;
+            for (TestdataListEntity entity : solution.getEntityList()) {
+                int size = entity.getValueList().size();
+                score -= size * size;
+            }
+            return SimpleScore.of(score);
+        }
+
+    }
+
+    private static SolverFactory<TestdataSolution> createSolverFactory(boolean infinite, String workerCount) {
+        return SolverFactory.create(createSolverConfig(infinite, workerCount));
+    }
+
+    private static SolverConfig createSolverConfig(boolean infinite, String workerCount) {
+        SolverConfig solverConfig = PlannerTestUtils
+                .buildSolverConfig(TestdataSolution.class, TestdataEntity.class);
+        solverConfig.getScoreDirectorFactoryConfig().setEasyScoreCalculatorClass(TestdataEasyScoreCalculator.class);
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        if (!infinite) {
+            localSearchPhaseConfig.setTerminationConfig(new TerminationConfig().withBestScoreLimit("-5"));
+        }
+        PortfolioSearchPhaseConfig portfolioSearchPhaseConfig = new PortfolioSearchPhaseConfig()
+                .withWorkerCount(workerCount)
+                .withPhaseConfigs(new ConstructionHeuristicPhaseConfig(), localSearchPhaseConfig);
+        solverConfig.setPhaseConfigList(List.of(portfolioSearchPhaseConfig));
+        return solverConfig;
+    }
+
+    private static TestdataSolution createSolution(int entities, int values, boolean initialized) {
+        TestdataSolution solution = TestdataSolution.generateSolution(values, entities);
+        for (TestdataEntity entity : solution.getEntityList()) {
+            // All entities share the same value, which is the worst solution
+            entity.setValue(initialized ? solution.getValueList().get(0) : null);
+        }
+        return solution;
+    }
+
+    @Test
+    @Timeout(5)
+    void exceptionPropagation() {
+        TestdataSolution solution = createSolution(4, 10, false);
+        solution.getEntityList().add(new TestdataFaultyEntity("XYZ"));
+
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(false, "2");
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+        assertThatIllegalStateException()
+                .isThrownBy(() -> solver.solve(solution))
+                .withMessageMatching(".*workerIndex.*Relayed.*")
+                .withRootCauseExactlyInstanceOf(TestdataFaultyEntity.TestException.class);
+    }
+
+    @Test
+    @Timeout(5)
+    void terminateEarly() throws InterruptedException, ExecutionException {
+        TestdataSolution solution = createSolution(2, 10, false);
+
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(true, "2");
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+        CountDownLatch solvingStarted = new CountDownLatch(1);
+        ((DefaultSolver<TestdataSolution>) solver).addPhaseLifecycleListener(
+                new PhaseLifecycleListenerAdapter<>() {
+                    @Override
+                    public void solvingStarted(SolverScope<TestdataSolution> solverScope) {
+                        solvingStarted.countDown();
+                    }
+                });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<TestdataSolution> solutionFuture = executor.submit(() -> solver.solve(solution));
+
+        // make sure solver has started solving before terminating early
+        solvingStarted.await();
+        assertThat(solver.terminateEarly()).isTrue();
+        assertThat(solver.isTerminateEarly()).isTrue();
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(solutionFuture.get()).isNotNull();
+    }
+
+}
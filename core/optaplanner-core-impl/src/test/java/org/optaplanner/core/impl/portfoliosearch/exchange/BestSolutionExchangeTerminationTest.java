@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch.exchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.solver.scope.SolverScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+class BestSolutionExchangeTerminationTest {
+
+    @Test
+    void forNegativeExchangeInterval_exceptionIsThrown() {
+        BestSolutionExchange<TestdataSolution> exchange = new BestSolutionExchange<>(2, SimpleScore.of(-10));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BestSolutionExchangeTermination<>(exchange, -1L))
+                .withMessageContaining("cannot be negative");
+    }
+
+    @Test
+    void solverTermination() {
+        SolverScope<TestdataSolution> solverScope = mock(SolverScope.class);
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        BestSolutionExchange<TestdataSolution> exchange = new BestSolutionExchange<>(2, SimpleScore.of(-10));
+        BestSolutionExchangeTermination<TestdataSolution> termination =
+                new BestSolutionExchangeTermination<>(exchange, 1000L, clock);
+        assertThat(termination.isSolverTerminated(solverScope)).isFalse();
+
+        // Its own best solution doesn't terminate it
+        termination.offered(exchange.offerBestSolution(SimpleScore.of(-8), buildMove()));
+        when(clock.millis()).thenReturn(2000L);
+        assertThat(termination.isSolverTerminated(solverScope)).isFalse();
+
+        // The best solution of another worker does
+        long bestSolutionVersion = exchange.offerBestSolution(SimpleScore.of(-6), buildMove());
+        assertThat(termination.isSolverTerminated(solverScope)).isTrue();
+        assertThat(termination.isTriggered()).isTrue();
+        // Until it continues from that best solution
+        termination.exchanged(bestSolutionVersion);
+        assertThat(termination.isTriggered()).isFalse();
+        assertThat(termination.isSolverTerminated(solverScope)).isFalse();
+
+        // Not before the exchange interval has elapsed
+        exchange.offerBestSolution(SimpleScore.of(-4), buildMove());
+        when(clock.millis()).thenReturn(2999L);
+        assertThat(termination.isSolverTerminated(solverScope)).isFalse();
+        when(clock.millis()).thenReturn(3000L);
+        assertThat(termination.isSolverTerminated(solverScope)).isTrue();
+    }
+
+    private PartitionChangeMove<TestdataSolution> buildMove() {
+        return new PartitionChangeMove<>(null, -1);
+    }
+
+}
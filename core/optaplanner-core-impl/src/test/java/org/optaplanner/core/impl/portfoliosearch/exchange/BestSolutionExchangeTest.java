@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.portfoliosearch.exchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class BestSolutionExchangeTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BestSolutionExchangeTest.class);
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executorService.shutdownNow();
+        if (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Thread pool didn't terminate within the timeout.");
+        }
+    }
+
+    @Test
+    void offerBestSolution() throws ExecutionException, InterruptedException {
+        BestSolutionExchange<TestdataSolution> exchange = new BestSolutionExchange<>(2, SimpleScore.of(-10));
+        Iterator<PartitionChangeMove<TestdataSolution>> it = exchange.iterator();
+        assertThat(exchange.isImprovement(SimpleScore.of(-10))).isFalse();
+        assertThat(exchange.isImprovement(SimpleScore.of(-9))).isTrue();
+
+        PartitionChangeMove<TestdataSolution> moveA1 = buildMove();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-8), moveA1)).get();
+        assertThat(it.next()).isSameAs(moveA1);
+
+        PartitionChangeMove<TestdataSolution> moveB1 = buildMove();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-6), moveB1)).get(); // Replaced
+        PartitionChangeMove<TestdataSolution> moveA2 = buildMove();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-7), moveA2)).get(); // Ignored
+        PartitionChangeMove<TestdataSolution> moveB2 = buildMove();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-5), moveB2)).get();
+        assertThat(exchange.isImprovement(SimpleScore.of(-5))).isFalse();
+        assertThat(it.next()).isSameAs(moveB2);
+
+        executorService.submit(() -> exchange.addFinish(100L)).get();
+        PartitionChangeMove<TestdataSolution> moveA3 = buildMove();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-2), moveA3)).get();
+        executorService.submit(() -> exchange.addFinish(23L)).get();
+        assertThat(it.next()).isSameAs(moveA3);
+        assertThat(it).isExhausted();
+        assertThat(exchange.getWorkersCalculationCount()).isEqualTo(123L);
+    }
+
+    @Test
+    void addExceptionThrown() throws ExecutionException, InterruptedException {
+        BestSolutionExchange<TestdataSolution> exchange = new BestSolutionExchange<>(2, SimpleScore.of(-10));
+        Iterator<PartitionChangeMove<TestdataSolution>> it = exchange.iterator();
+
+        PartitionChangeMove<TestdataSolution> moveA1 = buildMove();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-8), moveA1)).get();
+        assertThat(it.next()).isSameAs(moveA1);
+        IllegalArgumentException exception = new IllegalArgumentException();
+        executorService.submit(() -> exchange.addExceptionThrown(1, exception)).get();
+        executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-6), buildMove())).get();
+        assertThatIllegalStateException().isThrownBy(it::hasNext)
+                .withMessageContaining("workerIndex (1)")
+                .withCause(exception);
+    }
+
+    @Test
+    void bestSolutionVersion() throws ExecutionException, InterruptedException {
+        BestSolutionExchange<TestdataSolution> exchange = new BestSolutionExchange<>(2, SimpleScore.of(-10));
+        Iterator<PartitionChangeMove<TestdataSolution>> it = exchange.iterator();
+        assertThat(exchange.getBestSolutionVersion()).isZero();
+        assertThat(exchange.getBestMove()).isNull();
+
+        PartitionChangeMove<TestdataSolution> moveA1 = buildMove();
+        assertThat(executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-8), moveA1)).get())
+                .isEqualTo(1L);
+        assertThat(executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-9), buildMove())).get())
+                .isEqualTo(-1L);
+        assertThat(exchange.getBestSolutionVersion()).isEqualTo(1L);
+        assertThat(exchange.getBestMove()).isSameAs(moveA1);
+
+        // Consuming the move on the solver thread doesn't remove it for the workers
+        assertThat(it.next()).isSameAs(moveA1);
+        assertThat(exchange.getBestMove()).isSameAs(moveA1);
+
+        PartitionChangeMove<TestdataSolution> moveB1 = buildMove();
+        assertThat(executorService.submit(() -> exchange.offerBestSolution(SimpleScore.of(-6), moveB1)).get())
+                .isEqualTo(2L);
+        assertThat(exchange.getBestSolutionVersion()).isEqualTo(2L);
+        assertThat(exchange.getBestMove()).isSameAs(moveB1);
+    }
+
+    PartitionChangeMove<TestdataSolution> buildMove() {
+        return new PartitionChangeMove<>(null, -1);
+    }
+
+}
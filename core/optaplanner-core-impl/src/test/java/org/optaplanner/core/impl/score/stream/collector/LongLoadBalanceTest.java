@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongLoadBalanceTest {
+
+    @Test
+    void incrementalMatchesRecalculated() {
+        Random random = new Random(37);
+        LongLoadBalance<Integer> loadBalance = new LongLoadBalance<>();
+        List<Runnable> undoList = new ArrayList<>();
+        List<int[]> addedList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            if (!addedList.isEmpty() && random.nextDouble() < 0.4) {
+                int index = random.nextInt(addedList.size());
+                addedList.remove(index);
+                undoList.remove(index).run();
+            } else {
+                int[] added = { random.nextInt(20), random.nextInt(10) - 2 };
+                addedList.add(added);
+                undoList.add(loadBalance.add(added[0], added[1]));
+            }
+
+            Map<Integer, Long> expectedLoads = new HashMap<>();
+            for (int[] added : addedList) {
+                expectedLoads.merge(added[0], (long) added[1], Long::sum);
+            }
+            long expectedSum = expectedLoads.values().stream().mapToLong(Long::longValue).sum();
+            BigDecimal expectedSquaredDeviation = BigDecimal.ZERO;
+            if (!expectedLoads.isEmpty()) {
+                BigDecimal mean = BigDecimal.valueOf(expectedSum)
+                        .divide(BigDecimal.valueOf(expectedLoads.size()), MathContext.DECIMAL128);
+                for (long load : expectedLoads.values()) {
+                    BigDecimal deviation = BigDecimal.valueOf(load).subtract(mean);
+                    expectedSquaredDeviation = expectedSquaredDeviation.add(deviation.multiply(deviation));
+                }
+            }
+            assertThat(loadBalance.getLoads()).isEqualTo(expectedLoads);
+            assertThat(loadBalance.getSum()).isEqualTo(expectedSum);
+            assertThat(loadBalance.getSquaredDeviation().round(MathContext.DECIMAL32))
+                    .isEqualByComparingTo(expectedSquaredDeviation.round(MathContext.DECIMAL32));
+        }
+    }
+
+    @Test
+    void zeroLoadStillCountsAsBalanced() {
+        LongLoadBalance<String> loadBalance = new LongLoadBalance<>();
+        Runnable undo = loadBalance.add("Ann", 0L);
+        loadBalance.add("Beth", 2L);
+        // Ann has no load, but is still balanced against Beth. Mean is 1, deviations are -1 and 1.
+        assertThat(loadBalance.getLoads()).containsOnlyKeys("Ann", "Beth");
+        assertThat(loadBalance.getSquaredDeviation()).isEqualByComparingTo("2");
+        undo.run();
+        assertThat(loadBalance.getLoads()).containsOnlyKeys("Beth");
+        assertThat(loadBalance.getSquaredDeviation()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void squaresOverflowingLong() {
+        LongLoadBalance<String> loadBalance = new LongLoadBalance<>();
+        loadBalance.add("Ann", 2_000_000_000L);
+        Runnable undo = loadBalance.add("Ann", 2_000_000_000L);
+        // The square of 6_000_000_000 no longer fits in a long
+        loadBalance.add("Beth", 6_000_000_000L);
+        // Mean is 5_000_000_000, deviations are -1_000_000_000 and 1_000_000_000.
+        assertThat(loadBalance.getSum()).isEqualTo(10_000_000_000L);
+        assertThat(loadBalance.getSquaredDeviation()).isEqualByComparingTo("2E+18");
+        undo.run();
+        // Mean is 4_000_000_000, deviations are -2_000_000_000 and 2_000_000_000.
+        assertThat(loadBalance.getSquaredDeviation()).isEqualByComparingTo("8E+18");
+    }
+
+    @Test
+    void sumOverflowingLong() {
+        LongLoadBalance<String> loadBalance = new LongLoadBalance<>();
+        loadBalance.add("Ann", Long.MAX_VALUE);
+        assertThatExceptionOfType(ArithmeticException.class)
+                .isThrownBy(() -> loadBalance.add("Beth", 1L));
+        assertThat(loadBalance.getLoads()).containsOnlyKeys("Ann");
+        assertThat(loadBalance.getSum()).isEqualTo(Long.MAX_VALUE);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.collector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class SortedMultisetTest {
+
+    @Test
+    void addAndUndo() {
+        SortedMultiset<Integer> multiset = new SortedMultiset<>(Comparator.naturalOrder());
+        assertThat(multiset.isEmpty()).isTrue();
+        assertThat(multiset.first()).isNull();
+        assertThat(multiset.last()).isNull();
+
+        Runnable undo5 = multiset.add(5);
+        Runnable undo2 = multiset.add(2);
+        Runnable undo9 = multiset.add(9);
+        Runnable undo2Again = multiset.add(2);
+        assertThat(multiset.first()).isEqualTo(2);
+        assertThat(multiset.last()).isEqualTo(9);
+        assertThat(multiset.elementSet()).containsExactly(2, 5, 9);
+
+        undo2.run();
+        assertThat(multiset.first()).isEqualTo(2);
+        undo2Again.run();
+        assertThat(multiset.first()).isEqualTo(5);
+        assertThat(multiset.elementSet()).containsExactly(5, 9);
+        undo9.run();
+        assertThat(multiset.first()).isEqualTo(5);
+        assertThat(multiset.last()).isEqualTo(5);
+        undo5.run();
+        assertThat(multiset.isEmpty()).isTrue();
+        assertThat(multiset.first()).isNull();
+        assertThat(multiset.last()).isNull();
+
+        assertThatIllegalStateException().isThrownBy(undo5::run);
+    }
+
+    @Test
+    void customComparatorKeepsFirstAddedInstance() {
+        SortedMultiset<String> multiset = new SortedMultiset<>(Comparator.comparing(String::length));
+        Runnable undoAnn = multiset.add("Ann");
+        multiset.add("Bob");
+        multiset.add("Cathy");
+        assertThat(multiset.first()).isEqualTo("Ann");
+        assertThat(multiset.last()).isEqualTo("Cathy");
+        // Bob is equal to Ann according to the comparator, so it is counted as Ann.
+        undoAnn.run();
+        assertThat(multiset.first()).isEqualTo("Ann");
+        assertThat(multiset.elementSet()).containsExactly("Ann", "Cathy");
+    }
+
+    @Test
+    void matchesTreeMapUnderRandomChurn() {
+        SortedMultiset<Integer> multiset = new SortedMultiset<>(Comparator.reverseOrder());
+        TreeMap<Integer, Integer> expectedCountMap = new TreeMap<>(Comparator.reverseOrder());
+        List<Integer> addedValueList = new ArrayList<>();
+        List<Runnable> undoList = new ArrayList<>();
+        Random random = new Random(37L);
+        for (int i = 0; i < 10_000; i++) {
+            if (undoList.isEmpty() || random.nextInt(5) < 3) {
+                int value = random.nextInt(100);
+                undoList.add(multiset.add(value));
+                addedValueList.add(value);
+                expectedCountMap.merge(value, 1, Integer::sum);
+            } else {
+                int index = random.nextInt(undoList.size());
+                undoList.remove(index).run();
+                int value = addedValueList.remove(index);
+                expectedCountMap.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+            }
+            if (expectedCountMap.isEmpty()) {
+                assertThat(multiset.first()).isNull();
+                assertThat(multiset.last()).isNull();
+            } else {
+                assertThat(multiset.first()).isEqualTo(expectedCountMap.firstKey());
+                assertThat(multiset.last()).isEqualTo(expectedCountMap.lastKey());
+            }
+        }
+        assertThat(multiset.elementSet()).containsExactlyElementsOf(expectedCountMap.keySet());
+    }
+
+}
@@ -17,15 +17,17 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.TreeMap;
@@ -34,26 +36,41 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
-import org.optaplanner.examples.common.experimental.api.Break;
-import org.optaplanner.examples.common.experimental.api.ConsecutiveInfo;
-import org.optaplanner.examples.common.experimental.api.Sequence;
+import org.optaplanner.core.api.score.stream.common.Break;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveInfo;
+import org.optaplanner.core.api.score.stream.common.Sequence;
 
 class ConsecutiveSetTreeTest {
 
-    private ConsecutiveSetTree<AtomicInteger, Integer, Integer> getIntegerConsecutiveSetTree() {
-        return new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 1, 0);
+    private LongConsecutiveSetTree<AtomicInteger, Integer> getIntegerConsecutiveSetTree() {
+        return LongConsecutiveSetTree.ofInt(1);
     }
 
-    private <ValueType_, DifferenceType_ extends Comparable<DifferenceType_>> Break<ValueType_, DifferenceType_> getBreak(
-            ConsecutiveInfo<ValueType_, DifferenceType_> consecutiveData, ValueType_ start, ValueType_ end,
-            DifferenceType_ length) {
-        for (Break<ValueType_, DifferenceType_> sequenceBreak : consecutiveData.getBreaks()) {
-            if (sequenceBreak.getPreviousSequenceEnd().equals(start) && sequenceBreak.getNextSequenceStart().equals(end)) {
-                return sequenceBreak;
-            }
+    private static <Value_, Difference_ extends Comparable<Difference_>> void assertBreak(
+            Break<Value_, Difference_> sequenceBreak, Value_ start, Value_ end, Difference_ length) {
+        assertThat(sequenceBreak.getPreviousSequenceEnd()).isSameAs(start);
+        assertThat(sequenceBreak.getNextSequenceStart()).isSameAs(end);
+        assertThat(sequenceBreak.getLength()).isEqualTo(length);
+    }
+
+    /**
+     * Describes the sequences and breaks by their items and lengths,
+     * so that two trees can be compared without comparing their internals.
+     */
+    private static <Value_, Difference_ extends Comparable<Difference_>> List<String> describe(
+            ConsecutiveInfo<Value_, Difference_> consecutiveInfo) {
+        List<String> description = new ArrayList<>();
+        for (Sequence<Value_, Difference_> sequence : consecutiveInfo.getConsecutiveSequences()) {
+            List<Value_> itemList = new ArrayList<>();
+            sequence.getItems().forEach(itemList::add);
+            description.add("Sequence " + itemList + " count=" + sequence.getCount() + " length=" + sequence.getLength()
+                    + " first=" + sequence.isFirst() + " last=" + sequence.isLast());
+        }
+        for (Break<Value_, Difference_> sequenceBreak : consecutiveInfo.getBreaks()) {
+            description.add("Break " + sequenceBreak.getPreviousSequenceEnd() + " -> " + sequenceBreak.getNextSequenceStart()
+                    + " length=" + sequenceBreak.getLength());
         }
-        throw new IllegalStateException("Unable to find sequence with start (" + start + ") and end (" + end + ") in ("
-                + consecutiveData.getConsecutiveSequences() + ")");
+        return description;
     }
 
     private static AtomicInteger atomic(int value) {
@@ -62,7 +79,7 @@ class ConsecutiveSetTreeTest {
 
     @Test
     void testNonconsecutiveNumbers() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger start1 = atomic(3);
         AtomicInteger middle3 = atomic(5);
         AtomicInteger end7 = atomic(5);
@@ -77,13 +94,13 @@ class ConsecutiveSetTreeTest {
         assertThat(breakList).hasSize(2);
 
         assertThat(tree.getConsecutiveSequences()).allMatch(seq -> seq.getCount() == 1);
-        assertThat(breakList.get(0)).usingRecursiveComparison().isEqualTo(getBreak(tree, start1, middle3, 2));
-        assertThat(breakList.get(1)).usingRecursiveComparison().isEqualTo(getBreak(tree, middle3, end7, 4));
+        assertBreak(breakList.get(0), start1, middle3, 2);
+        assertBreak(breakList.get(1), middle3, end7, 4);
     }
 
     @Test
     void testConsecutiveNumbers() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger breakStart3 = atomic(3);
         AtomicInteger breakEnd5 = atomic(5);
 
@@ -103,12 +120,12 @@ class ConsecutiveSetTreeTest {
 
         assertThat(sequenceList.get(0).getCount()).isEqualTo(3);
         assertThat(sequenceList.get(1).getCount()).isEqualTo(4);
-        assertThat(breakList.get(0)).usingRecursiveComparison().isEqualTo(getBreak(tree, breakStart3, breakEnd5, 2));
+        assertBreak(breakList.get(0), breakStart3, breakEnd5, 2);
     }
 
     @Test
     void testDuplicateNumbers() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger duplicateValue = atomic(3);
         tree.add(atomic(1), 1);
         tree.add(atomic(2), 2);
@@ -144,7 +161,7 @@ class ConsecutiveSetTreeTest {
 
     @Test
     void testConsecutiveReverseNumbers() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger breakStart3 = atomic(3);
         AtomicInteger breakEnd5 = atomic(5);
 
@@ -164,12 +181,12 @@ class ConsecutiveSetTreeTest {
 
         assertThat(sequenceList.get(0).getCount()).isEqualTo(3);
         assertThat(sequenceList.get(1).getCount()).isEqualTo(4);
-        assertThat(breakList.get(0)).usingRecursiveComparison().isEqualTo(getBreak(tree, breakStart3, breakEnd5, 2));
+        assertBreak(breakList.get(0), breakStart3, breakEnd5, 2);
     }
 
     @Test
     void testJoinOfTwoChains() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         tree.add(atomic(1), 1);
         tree.add(atomic(2), 2);
         tree.add(atomic(3), 3);
@@ -190,7 +207,7 @@ class ConsecutiveSetTreeTest {
 
     @Test
     void testBreakOfChain() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger removed4 = atomic(4);
         AtomicInteger breakStart3 = atomic(3);
         AtomicInteger breakEnd5 = atomic(5);
@@ -215,12 +232,12 @@ class ConsecutiveSetTreeTest {
         assertThat(sequenceList.get(0).getCount()).isEqualTo(3);
         assertThat(sequenceList.get(1).getCount()).isEqualTo(3);
         assertThat(breakList).hasSize(1);
-        assertThat(breakList.get(0)).usingRecursiveComparison().isEqualTo(getBreak(tree, breakStart3, breakEnd5, 2));
+        assertBreak(breakList.get(0), breakStart3, breakEnd5, 2);
     }
 
     @Test
     void testChainRemoval() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger removed1 = atomic(1);
         AtomicInteger removed2 = atomic(2);
         AtomicInteger removed3 = atomic(3);
@@ -251,7 +268,7 @@ class ConsecutiveSetTreeTest {
 
     @Test
     void testShorteningOfChain() {
-        ConsecutiveSetTree<AtomicInteger, Integer, Integer> tree = getIntegerConsecutiveSetTree();
+        LongConsecutiveSetTree<AtomicInteger, Integer> tree = getIntegerConsecutiveSetTree();
         AtomicInteger start = atomic(1);
         AtomicInteger end = atomic(7);
 
@@ -289,8 +306,9 @@ class ConsecutiveSetTreeTest {
         TreeMap<Integer, Integer> valueToCountMap = new TreeMap<>();
 
         // Tree we are testing is at most difference 2
-        ConsecutiveSetTree<Integer, Integer, Integer> tree =
-                new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 2, 0);
+        LongConsecutiveSetTree<Integer, Integer> tree = LongConsecutiveSetTree.ofInt(2);
+        ConsecutiveSetTree<Integer, Integer, Integer> comparableTree =
+                new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 2);
 
         for (int i = 0; i < 1000; i++) {
             int value = random.nextInt(64);
@@ -300,26 +318,25 @@ class ConsecutiveSetTreeTest {
                         .collect(Collectors.joining(", ", "Removing " + value + " from [", "]"));
                 valueToCountMap.computeIfPresent(value, (key, count) -> (count == 1) ? null : count - 1);
                 tree.remove(value);
+                comparableTree.remove(value);
             } else {
                 op = valueToCountMap.keySet().stream().map(Object::toString)
                         .collect(Collectors.joining(", ", "Adding " + value + " to [", "]"));
                 valueToCountMap.merge(value, 1, Integer::sum);
                 tree.add(value, value);
+                comparableTree.add(value, value);
             }
 
-            ConsecutiveSetTree<Integer, Integer, Integer> freshTree =
-                    new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 2, 0);
+            LongConsecutiveSetTree<Integer, Integer> freshTree = LongConsecutiveSetTree.ofInt(2);
             for (Map.Entry<Integer, Integer> entry : valueToCountMap.entrySet()) {
                 IntStream.range(0, entry.getValue()).map(index -> entry.getKey()).forEach(key -> freshTree.add(key, key));
             }
 
-            assertThat(tree.getConsecutiveSequences()).as("Mismatched Sequence: " + op)
-                    .usingRecursiveComparison()
-                    .ignoringFields("sourceTree")
-                    .isEqualTo(freshTree.getConsecutiveSequences());
-            assertThat(tree.getBreaks()).as("Mismatched Break: " + op)
-                    .usingRecursiveComparison()
-                    .isEqualTo(freshTree.getBreaks());
+            List<String> expectedDescription = describe(freshTree);
+            assertThat(describe(tree)).as("Mismatched tree: " + op)
+                    .isEqualTo(expectedDescription);
+            assertThat(describe(comparableTree)).as("Mismatched comparable tree: " + op)
+                    .isEqualTo(expectedDescription);
         }
     }
 
@@ -330,8 +347,9 @@ class ConsecutiveSetTreeTest {
                 new TreeMap<>(Comparator.<Integer, Integer> comparing(Math::abs).thenComparing(System::identityHashCode));
 
         // Tree we are absolute value consecutive
-        ConsecutiveSetTree<Integer, Integer, Integer> tree =
-                new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 2, 0);
+        LongConsecutiveSetTree<Integer, Integer> tree = LongConsecutiveSetTree.ofInt(2);
+        ConsecutiveSetTree<Integer, Integer, Integer> comparableTree =
+                new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 2);
 
         for (int i = 0; i < 1000; i++) {
             int value = random.nextInt(64) - 32;
@@ -341,28 +359,60 @@ class ConsecutiveSetTreeTest {
                         .collect(Collectors.joining(", ", "Removing " + value + " from [", "]"));
                 valueToCountMap.computeIfPresent(value, (key, count) -> (count == 1) ? null : count - 1);
                 tree.remove(value);
+                comparableTree.remove(value);
             } else {
                 op = valueToCountMap.keySet().stream().map(Object::toString)
                         .collect(Collectors.joining(", ", "Adding " + value + " to [", "]"));
                 valueToCountMap.merge(value, 1, Integer::sum);
                 tree.add(value, Math.abs(value));
+                comparableTree.add(value, Math.abs(value));
             }
 
-            ConsecutiveSetTree<Integer, Integer, Integer> freshTree =
-                    new ConsecutiveSetTree<>((a, b) -> b - a, Integer::sum, 2, 0);
+            LongConsecutiveSetTree<Integer, Integer> freshTree = LongConsecutiveSetTree.ofInt(2);
             for (Map.Entry<Integer, Integer> entry : valueToCountMap.entrySet()) {
                 IntStream.range(0, entry.getValue()).map(index -> entry.getKey())
                         .forEach(key -> freshTree.add(key, Math.abs(key)));
             }
 
-            assertThat(tree.getConsecutiveSequences()).as("Mismatched Sequence: " + op)
-                    .usingRecursiveComparison()
-                    .ignoringFields("sourceTree")
-                    .isEqualTo(freshTree.getConsecutiveSequences());
-            assertThat(tree.getBreaks()).as("Mismatched Break: " + op)
-                    .usingRecursiveComparison()
-                    .isEqualTo(freshTree.getBreaks());
+            List<String> expectedDescription = describe(freshTree);
+            assertThat(describe(tree)).as("Mismatched tree: " + op)
+                    .isEqualTo(expectedDescription);
+            assertThat(describe(comparableTree)).as("Mismatched comparable tree: " + op)
+                    .isEqualTo(expectedDescription);
+        }
+    }
+
+    @Test
+    void testAddAndRemoveOnlyCompareNeighbours() {
+        AtomicInteger differenceCount = new AtomicInteger();
+        AtomicInteger sumCount = new AtomicInteger();
+        ConsecutiveSetTree<Integer, Integer, Integer> tree = new ConsecutiveSetTree<>(
+                (a, b) -> {
+                    differenceCount.incrementAndGet();
+                    return b - a;
+                },
+                (a, b) -> {
+                    sumCount.incrementAndGet();
+                    return a + b;
+                }, 2);
+        Random random = new Random(1);
+        List<Integer> addedList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            differenceCount.set(0);
+            if (!addedList.isEmpty() && random.nextDouble() < 0.4) {
+                tree.remove(addedList.remove(random.nextInt(addedList.size())));
+            } else {
+                Integer value = random.nextInt(256);
+                addedList.add(value);
+                tree.add(value, value);
+            }
+            // Only the neighbours of the added or removed value are checked, never the whole sequence.
+            assertThat(differenceCount.get()).isLessThanOrEqualTo(2);
         }
+        // Sequence lengths are only calculated when queried.
+        assertThat(sumCount.get()).isZero();
+        tree.getConsecutiveSequences().forEach(Sequence::getLength);
+        assertThat(sumCount.get()).isEqualTo(new IterableList<>(tree.getConsecutiveSequences()).size());
     }
 
     private static class Timeslot {
@@ -378,7 +428,7 @@ class ConsecutiveSetTreeTest {
     @Test
     void testTimeslotConsecutive() {
         ConsecutiveSetTree<Timeslot, OffsetDateTime, Duration> tree = new ConsecutiveSetTree<>(
-                Duration::between, Duration::plus, Duration.ofDays(1), Duration.ZERO);
+                Duration::between, Duration::plus, Duration.ofDays(1));
 
         Timeslot t1 = new Timeslot(0, 1);
         Timeslot t2 = new Timeslot(1, 2);
@@ -406,7 +456,6 @@ class ConsecutiveSetTreeTest {
         assertThat(sequenceIterator.next().getItems()).containsExactly(t3, t4, t5);
 
         assertThat(breakList).hasSize(1);
-        assertThat(breakIterator.next()).usingRecursiveComparison()
-                .isEqualTo(getBreak(tree, t2, t3, Duration.ofDays(2)));
+        assertBreak(breakIterator.next(), t2, t3, Duration.ofDays(2));
     }
 }
@@ -17,7 +17,7 @@
  * under the License.
  */
 
-package org.optaplanner.examples.common.experimental.impl;
+package org.optaplanner.core.impl.score.stream.collector.consecutive;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -28,11 +28,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
-import org.optaplanner.examples.common.experimental.api.IntervalBreak;
-import org.optaplanner.examples.common.experimental.api.IntervalCluster;
+import org.optaplanner.core.api.score.stream.common.ConsecutiveIntervalInfo;
+import org.optaplanner.core.api.score.stream.common.IntervalBreak;
+import org.optaplanner.core.api.score.stream.common.IntervalCluster;
 
 class IntervalTreeTest {
     private static class TestInterval {
@@ -345,6 +347,30 @@ class IntervalTreeTest {
         return first.hashCode() - second.hashCode();
     }
 
+    private static int difference(IntervalSplitPoint<TestInterval, Integer> from,
+            IntervalSplitPoint<TestInterval, Integer> to) {
+        return to.getPoint() - from.getPoint();
+    }
+
+    private static IntervalClusterImpl<TestInterval, Integer, Integer> recomputeIntervalCluster(
+            TreeSet<IntervalSplitPoint<TestInterval, Integer>> splitPoints, IntervalSplitPoint<TestInterval, Integer> start) {
+        int activeIntervals = 0;
+        int count = 0;
+        boolean hasOverlap = false;
+        IntervalSplitPoint<TestInterval, Integer> current = start;
+        IntervalSplitPoint<TestInterval, Integer> end;
+        do {
+            count += current.intervalsStartingAtSplitPointSet.size();
+            activeIntervals += current.intervalsStartingAtSplitPointSet.size() - current.intervalsEndingAtSplitPointSet.size();
+            if (activeIntervals > 1) {
+                hasOverlap = true;
+            }
+            end = current;
+            current = splitPoints.higher(current);
+        } while (activeIntervals > 0 && current != null);
+        return new IntervalClusterImpl<>(splitPoints, IntervalTreeTest::difference, start, end, count, hasOverlap);
+    }
+
     // Compare the mutable version with the recompute version
     @Test
     void testRandomIntervals() {
@@ -362,8 +388,7 @@ class IntervalTreeTest {
                 int to = from + random.nextInt(5);
                 TestInterval data = new TestInterval(from, to);
                 Interval<TestInterval, Integer> interval = intervalToInstanceMap.computeIfAbsent(data, tree::getInterval);
-                Interval<TestInterval, Integer> treeInterval =
-                        new Interval<>(data, TestInterval::getStart, TestInterval::getEnd);
+                Interval<TestInterval, Integer> treeInterval = tree.getInterval(data);
                 splitPoints.add(treeInterval.getStartSplitPoint());
                 splitPoints.add(treeInterval.getEndSplitPoint());
 
@@ -406,13 +431,13 @@ class IntervalTreeTest {
                 List<IntervalClusterImpl<TestInterval, Integer, Integer>> intervalClusterList = new ArrayList<>();
                 List<IntervalBreakImpl<TestInterval, Integer, Integer>> breakList = new ArrayList<>();
                 while (current != null) {
-                    intervalClusterList.add(new IntervalClusterImpl<>(splitPoints, (a, b) -> a - b, current));
+                    intervalClusterList.add(recomputeIntervalCluster(splitPoints, current));
                     if (previous != null) {
                         IntervalClusterImpl<TestInterval, Integer, Integer> before =
                                 intervalClusterList.get(intervalClusterList.size() - 2);
                         IntervalClusterImpl<TestInterval, Integer, Integer> after =
                                 intervalClusterList.get(intervalClusterList.size() - 1);
-                        breakList.add(new IntervalBreakImpl<>(before, after, after.getStart() - before.getEnd()));
+                        breakList.add(new IntervalBreakImpl<>(before, after, IntervalTreeTest::difference));
                     }
                     previous = current;
                     current = splitPoints.higher(intervalClusterList.get(intervalClusterList.size() - 1).getEndSplitPoint());
@@ -432,6 +457,134 @@ class IntervalTreeTest {
         }
     }
 
+    @Test
+    void testLongIntervalsMatchComparableIntervals() {
+        Random random = new Random(1);
+        IntervalTree<TestInterval, Integer, Integer> comparableTree = getIntegerIntervalTree();
+        IntervalTree<TestInterval, Long, Long> longTree = IntervalTree.ofLong(TestInterval::getStart, TestInterval::getEnd);
+        Map<TestInterval, Interval<TestInterval, Integer>> comparableIntervalMap = new HashMap<>();
+        Map<TestInterval, Interval<TestInterval, Long>> longIntervalMap = new HashMap<>();
+        List<TestInterval> addedList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            if (!addedList.isEmpty() && random.nextDouble() < 0.4) {
+                TestInterval removed = addedList.remove(random.nextInt(addedList.size()));
+                comparableTree.remove(comparableIntervalMap.get(removed));
+                longTree.remove(longIntervalMap.get(removed));
+            } else {
+                int from = random.nextInt(64);
+                TestInterval added = new TestInterval(from, from + random.nextInt(5));
+                addedList.add(added);
+                comparableTree.add(comparableIntervalMap.computeIfAbsent(added, comparableTree::getInterval));
+                longTree.add(longIntervalMap.computeIfAbsent(added, longTree::getInterval));
+            }
+            assertThat(describe(longTree.getConsecutiveIntervalData()))
+                    .isEqualTo(describe(comparableTree.getConsecutiveIntervalData()));
+        }
+    }
+
+    @Test
+    void testAddAndRemoveNeverCalculateDifferences() {
+        Random random = new Random(1);
+        AtomicInteger differenceCount = new AtomicInteger();
+        IntervalTree<TestInterval, Integer, Integer> tree = new IntervalTree<>(TestInterval::getStart, TestInterval::getEnd,
+                (a, b) -> {
+                    differenceCount.incrementAndGet();
+                    return b - a;
+                });
+        Map<TestInterval, Interval<TestInterval, Integer>> intervalMap = new HashMap<>();
+        List<TestInterval> addedList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            if (!addedList.isEmpty() && random.nextDouble() < 0.4) {
+                tree.remove(intervalMap.get(addedList.remove(random.nextInt(addedList.size()))));
+            } else {
+                int from = random.nextInt(256);
+                TestInterval added = new TestInterval(from, from + random.nextInt(5));
+                addedList.add(added);
+                tree.add(intervalMap.computeIfAbsent(added, tree::getInterval));
+            }
+        }
+        assertThat(differenceCount.get()).isZero();
+        verifyBreaks(tree);
+        assertThat(differenceCount.get()).isPositive();
+    }
+
+    @Test
+    void testRemovalCostDoesNotGrowWithClusterSize() {
+        int smallClusterComparisonCount = countComparisonsToSplitAndMergeCluster(1_000);
+        int largeClusterComparisonCount = countComparisonsToSplitAndMergeCluster(100_000);
+        // Rescanning the cluster would compare at least once per split point
+        assertThat(largeClusterComparisonCount)
+                .isLessThan(2 * smallClusterComparisonCount)
+                .isLessThan(1_000);
+    }
+
+    private static int countComparisonsToSplitAndMergeCluster(int intervalCount) {
+        AtomicInteger comparisonCount = new AtomicInteger();
+        IntervalTree<TestInterval, CountingPoint, Integer> tree = new IntervalTree<>(
+                interval -> new CountingPoint(interval.getStart(), comparisonCount),
+                interval -> new CountingPoint(interval.getEnd(), comparisonCount),
+                (a, b) -> b.value - a.value);
+        // Touching intervals, so they are all in the same cluster
+        List<Interval<TestInterval, CountingPoint>> intervalList = new ArrayList<>(intervalCount);
+        for (int i = 0; i < intervalCount; i++) {
+            Interval<TestInterval, CountingPoint> interval = tree.getInterval(new TestInterval(i, i + 1));
+            intervalList.add(interval);
+            tree.add(interval);
+        }
+        assertThat(tree.getConsecutiveIntervalData().getIntervalClusters()).hasSize(1);
+
+        Interval<TestInterval, CountingPoint> middleInterval = intervalList.get(intervalCount / 2);
+        comparisonCount.set(0);
+        tree.remove(middleInterval);
+        int removeComparisonCount = comparisonCount.get();
+        assertThat(tree.getConsecutiveIntervalData().getIntervalClusters()).hasSize(2);
+
+        comparisonCount.set(0);
+        tree.add(middleInterval);
+        int addComparisonCount = comparisonCount.get();
+        assertThat(tree.getConsecutiveIntervalData().getIntervalClusters()).hasSize(1);
+        assertThat(tree.getConsecutiveIntervalData().getIntervalClusters().iterator().next()).hasSize(intervalCount);
+        return removeComparisonCount + addComparisonCount;
+    }
+
+    private static final class CountingPoint implements Comparable<CountingPoint> {
+
+        private final int value;
+        private final AtomicInteger comparisonCount;
+
+        private CountingPoint(int value, AtomicInteger comparisonCount) {
+            this.value = value;
+            this.comparisonCount = comparisonCount;
+        }
+
+        @Override
+        public int compareTo(CountingPoint other) {
+            comparisonCount.incrementAndGet();
+            return Integer.compare(value, other.value);
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(value);
+        }
+    }
+
+    private static <Point_ extends Comparable<Point_>, Difference_ extends Comparable<Difference_>> List<String> describe(
+            ConsecutiveIntervalInfo<TestInterval, Point_, Difference_> consecutiveIntervalInfo) {
+        List<String> description = new ArrayList<>();
+        for (IntervalCluster<TestInterval, Point_, Difference_> cluster : consecutiveIntervalInfo.getIntervalClusters()) {
+            List<TestInterval> intervalList = new ArrayList<>();
+            cluster.forEach(intervalList::add);
+            description.add("Cluster " + intervalList + " start=" + cluster.getStart() + " end=" + cluster.getEnd()
+                    + " length=" + cluster.getLength() + " overlap=" + cluster.hasOverlap());
+        }
+        for (IntervalBreak<TestInterval, Point_, Difference_> intervalBreak : consecutiveIntervalInfo.getBreaks()) {
+            description.add("Break " + intervalBreak.getPreviousIntervalClusterEnd() + " -> "
+                    + intervalBreak.getNextIntervalClusterStart() + " length=" + intervalBreak.getLength());
+        }
+        return description;
+    }
+
     private String formatIntervalTree(IntervalTree<TestInterval, Integer, Integer> intervalTree) {
         List<List<TestInterval>> listOfIntervalClusters = new ArrayList<>();
         for (IntervalCluster<TestInterval, Integer, Integer> cluster : intervalTree.getConsecutiveIntervalData()
@@ -300,6 +300,7 @@ class OptaPlannerProcessor {
                     || solverConfig.getScoreDirectorFactoryConfig().getScoreDrlFileList() == null) {
                 disableANC(solverConfig);
             }
+            disableFanOutCompilation(solverConfig);
         }
 
         Set<Class<?>> reflectiveClassSet = new LinkedHashSet<>();
@@ -342,6 +343,14 @@ class OptaPlannerProcessor {
         solverConfig.getScoreDirectorFactoryConfig().setDroolsAlphaNetworkCompilationEnabled(false);
     }
 
+    private void disableFanOutCompilation(SolverConfig solverConfig) {
+        // The generated classes are defined at runtime, which a native image does not support
+        if (Boolean.TRUE.equals(solverConfig.getScoreDirectorFactoryConfig().getConstraintStreamFanOutCompilationEnabled())) {
+            log.warn("Disabling constraint stream fan-out compilation since this is a native build.");
+            solverConfig.getScoreDirectorFactoryConfig().setConstraintStreamFanOutCompilationEnabled(false);
+        }
+    }
+
     private void generateConstraintVerifier(SolverConfig solverConfig,
             BuildProducer<SyntheticBeanBuildItem> syntheticBeanBuildItemBuildProducer) {
         String constraintVerifierClassName = DotNames.CONSTRAINT_VERIFIER.toString();